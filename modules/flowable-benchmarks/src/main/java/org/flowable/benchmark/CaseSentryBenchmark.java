@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.cmmn.engine.CmmnEngine;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Completes a human task of a case, which triggers the evaluation of the sentries (with if parts) of five other plan items.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CaseSentryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CmmnEngineState {
+
+        protected CmmnEngine cmmnEngine;
+
+        @Setup(Level.Trial)
+        public void createCmmnEngine() {
+            CmmnEngineConfiguration cmmnEngineConfiguration = CmmnEngineConfiguration.createStandaloneInMemCmmnEngineConfiguration();
+            cmmnEngineConfiguration.setCmmnEngineName("benchmark-" + UUID.randomUUID());
+            cmmnEngineConfiguration.setJdbcUrl("jdbc:h2:mem:" + cmmnEngineConfiguration.getCmmnEngineName() + ";DB_CLOSE_DELAY=-1");
+            cmmnEngine = cmmnEngineConfiguration.buildCmmnEngine();
+
+            cmmnEngine.getCmmnRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/benchmark/sentryCase.cmmn")
+                    .deploy();
+        }
+
+        @TearDown(Level.Trial)
+        public void closeCmmnEngine() {
+            cmmnEngine.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CaseInstanceState {
+
+        protected String caseInstanceId;
+        protected String reviewTaskId;
+
+        @Setup(Level.Invocation)
+        public void startCaseInstance(CmmnEngineState state) {
+            caseInstanceId = state.cmmnEngine.getCmmnRuntimeService().createCaseInstanceBuilder()
+                    .caseDefinitionKey("sentryCase")
+                    .variable("score", 60)
+                    .start()
+                    .getId();
+            reviewTaskId = state.cmmnEngine.getCmmnTaskService().createTaskQuery()
+                    .caseInstanceId(caseInstanceId)
+                    .taskDefinitionKey("review")
+                    .singleResult()
+                    .getId();
+        }
+
+        @TearDown(Level.Invocation)
+        public void terminateCaseInstance(CmmnEngineState state) {
+            state.cmmnEngine.getCmmnRuntimeService().terminateCaseInstance(caseInstanceId);
+        }
+    }
+
+    @Benchmark
+    public void completeTaskAndEvaluateSentries(CmmnEngineState engineState, CaseInstanceState caseInstanceState) {
+        engineState.cmmnEngine.getCmmnTaskService().complete(caseInstanceState.reviewTaskId);
+    }
+}
@@ -0,0 +1,72 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a decision table with a FIRST hit policy on a DMN engine with an embedded H2 database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecisionExecutionBenchmark {
+
+    protected DmnEngine dmnEngine;
+
+    @Setup(Level.Trial)
+    public void createDmnEngine() {
+        DmnEngineConfiguration dmnEngineConfiguration = DmnEngineConfiguration.createStandaloneInMemDmnEngineConfiguration();
+        dmnEngineConfiguration.setEngineName("benchmark-" + UUID.randomUUID());
+        dmnEngineConfiguration.setJdbcUrl("jdbc:h2:mem:" + dmnEngineConfiguration.getEngineName() + ";DB_CLOSE_DELAY=-1");
+        dmnEngine = dmnEngineConfiguration.buildDmnEngine();
+
+        dmnEngine.getDmnRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/benchmark/benchmarkDecision.dmn")
+                .deploy();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDmnEngine() {
+        dmnEngine.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> executeDecision() {
+        return dmnEngine.getDmnDecisionService().createExecuteDecisionBuilder()
+                .decisionKey("benchmarkDecision")
+                .variable("age", 42)
+                .variable("category", "gold")
+                .executeWithSingleResult();
+    }
+}
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.flowable.common.engine.impl.variable.MapDelegateVariableContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses and evaluates expressions through the {@link DefaultExpressionManager}, outside of an engine.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionBenchmark {
+
+    @Param({ "${a + b}", "${a > 5 && b < 10}", "${name == 'kermit' ? 'frog' : 'other'}", "${items[1]}", "${empty items ? 0 : items.size()}" })
+    public String expressionText;
+
+    @Param({ "true", "false" })
+    public boolean expressionCacheEnabled;
+
+    // -1 interprets the expression, 0 compiles it on the first evaluation
+    @Param({ "-1", "0" })
+    public int expressionCompilationThreshold;
+
+    protected DefaultExpressionManager expressionManager;
+    protected Expression expression;
+    protected VariableContainer variableContainer;
+
+    @Setup(Level.Trial)
+    public void createExpressionManager() {
+        expressionManager = new DefaultExpressionManager(new HashMap<>());
+        if (expressionCacheEnabled) {
+            expressionManager.setExpressionCache(new DefaultDeploymentCache<>(100));
+        }
+        expressionManager.setExpressionCompilationThreshold(expressionCompilationThreshold);
+        expression = expressionManager.createExpression(expressionText);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 7);
+        variables.put("b", 3);
+        variables.put("name", "kermit");
+        variables.put("items", Arrays.asList("one", "two", "three"));
+        variableContainer = new MapDelegateVariableContainer(variables, VariableContainer.empty());
+    }
+
+    @Benchmark
+    public Object createAndEvaluate() {
+        return expressionManager.createExpression(expressionText).getValue(variableContainer);
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        return expression.getValue(variableContainer);
+    }
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.common.engine.impl.persistence.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts rows with ids of the different {@link IdGenerator} implementations into a table with a primary key,
+ * showing the effect of the id order on the inserts into the primary key index as the table grows.
+ * <p>
+ * Runs against an embedded H2 database by default. Another database can be used by passing the
+ * flowable.benchmark.jdbc.url, flowable.benchmark.jdbc.username and flowable.benchmark.jdbc.password system properties
+ * (with -jvmArgs), e.g. for PostgreSQL: -jvmArgs "-Dflowable.benchmark.jdbc.url=jdbc:postgresql://localhost:5432/flowable".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorInsertBenchmark {
+
+    protected static final int ROWS_PER_TRANSACTION = 100;
+
+    @Param({ "strongUuid", "timeOrderedUuid" })
+    public String idGeneratorType;
+
+    protected IdGenerator idGenerator;
+    protected Connection connection;
+    protected PreparedStatement insertStatement;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        switch (idGeneratorType) {
+        case "strongUuid":
+            idGenerator = new StrongUuidGenerator();
+            break;
+        case "timeOrderedUuid":
+            idGenerator = new TimeOrderedUuidGenerator();
+            break;
+        default:
+            throw new FlowableIllegalArgumentException("Unknown id generator type " + idGeneratorType);
+        }
+
+        connection = DriverManager.getConnection(
+                System.getProperty("flowable.benchmark.jdbc.url", "jdbc:h2:mem:id-generator-benchmark;DB_CLOSE_DELAY=-1"),
+                System.getProperty("flowable.benchmark.jdbc.username", "sa"),
+                System.getProperty("flowable.benchmark.jdbc.password", ""));
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists BENCHMARK_ID_INSERT");
+            statement.execute("create table BENCHMARK_ID_INSERT (ID_ varchar(64) not null, NAME_ varchar(255), primary key (ID_))");
+        }
+        connection.commit();
+
+        insertStatement = connection.prepareStatement("insert into BENCHMARK_ID_INSERT (ID_, NAME_) values (?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        insertStatement.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table BENCHMARK_ID_INSERT");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertRows() throws SQLException {
+        for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+            insertStatement.setString(1, idGenerator.getNextId());
+            insertStatement.setString(2, "benchmark");
+            insertStatement.executeUpdate();
+        }
+        connection.commit();
+    }
+}
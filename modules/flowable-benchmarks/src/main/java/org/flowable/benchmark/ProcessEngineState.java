@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.util.UUID;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.TaskService;
+import org.flowable.engine.repository.DeploymentBuilder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A process engine on an embedded H2 database, with the benchmark processes deployed.
+ */
+@State(Scope.Benchmark)
+public class ProcessEngineState {
+
+    protected static final String[] PROCESS_RESOURCES = {
+            "org/flowable/benchmark/startEndProcess.bpmn20.xml",
+            "org/flowable/benchmark/serviceTaskChainProcess.bpmn20.xml",
+            "org/flowable/benchmark/parallelGatewayProcess.bpmn20.xml",
+            "org/flowable/benchmark/multiInstanceProcess.bpmn20.xml",
+            "org/flowable/benchmark/userTaskProcess.bpmn20.xml"
+    };
+
+    protected ProcessEngine processEngine;
+
+    @Setup(Level.Trial)
+    public void createProcessEngine() {
+        ProcessEngineConfiguration processEngineConfiguration = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setEngineName("benchmark-" + UUID.randomUUID());
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:" + processEngineConfiguration.getEngineName() + ";DB_CLOSE_DELAY=-1");
+        processEngine = processEngineConfiguration.buildProcessEngine();
+
+        DeploymentBuilder deploymentBuilder = processEngine.getRepositoryService().createDeployment();
+        for (String resource : PROCESS_RESOURCES) {
+            deploymentBuilder.addClasspathResource(resource);
+        }
+        deploymentBuilder.deploy();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeProcessEngine() {
+        processEngine.close();
+    }
+
+    public ProcessEngine getProcessEngine() {
+        return processEngine;
+    }
+
+    public RuntimeService getRuntimeService() {
+        return processEngine.getRuntimeService();
+    }
+
+    public TaskService getTaskService() {
+        return processEngine.getTaskService();
+    }
+}
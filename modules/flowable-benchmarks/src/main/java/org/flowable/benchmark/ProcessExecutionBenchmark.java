@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes processes that run from start to end in one transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessExecutionBenchmark {
+
+    protected List<Integer> multiInstanceElements;
+
+    @Setup(Level.Trial)
+    public void createMultiInstanceElements() {
+        multiInstanceElements = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            multiInstanceElements.add(i);
+        }
+    }
+
+    @Benchmark
+    public ProcessInstance startProcess(ProcessEngineState state) {
+        return state.getRuntimeService().startProcessInstanceByKey("startEndProcess");
+    }
+
+    @Benchmark
+    public ProcessInstance serviceTaskChain(ProcessEngineState state) {
+        return state.getRuntimeService().createProcessInstanceBuilder()
+                .processDefinitionKey("serviceTaskChainProcess")
+                .variable("counter", 0)
+                .start();
+    }
+
+    @Benchmark
+    public ProcessInstance parallelGatewayForkJoin(ProcessEngineState state) {
+        return state.getRuntimeService().createProcessInstanceBuilder()
+                .processDefinitionKey("parallelGatewayProcess")
+                .variable("counter", 0)
+                .start();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MINUTES)
+    public ProcessInstance multiInstanceWith1000Elements(ProcessEngineState state) {
+        // Transient, so the collection itself isn't serialized and stored
+        return state.getRuntimeService().createProcessInstanceBuilder()
+                .processDefinitionKey("multiInstanceProcess")
+                .transientVariable("elements", multiInstanceElements)
+                .start();
+    }
+}
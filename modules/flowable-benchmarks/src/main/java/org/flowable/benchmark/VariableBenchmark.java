@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Sets and gets a process instance variable, for every variable type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariableBenchmark {
+
+    @Param({ "null", "string", "longString", "boolean", "short", "integer", "long", "double", "bigdecimal", "biginteger",
+            "date", "instant", "localdate", "localdatetime", "uuid", "bytes", "serializable", "json" })
+    public String variableType;
+
+    protected Object value;
+    protected String processInstanceId;
+
+    @Setup(Level.Trial)
+    public void startProcessInstance(ProcessEngineState state) {
+        value = createValue(state);
+        processInstanceId = state.getRuntimeService().startProcessInstanceByKey("userTaskProcess").getId();
+        state.getRuntimeService().setVariable(processInstanceId, "benchmarkVariable", value);
+    }
+
+    @Benchmark
+    public void setVariable(ProcessEngineState state) {
+        state.getRuntimeService().setVariable(processInstanceId, "benchmarkVariable", value);
+    }
+
+    @Benchmark
+    public Object getVariable(ProcessEngineState state) {
+        return state.getRuntimeService().getVariable(processInstanceId, "benchmarkVariable");
+    }
+
+    protected Object createValue(ProcessEngineState state) {
+        switch (variableType) {
+        case "null":
+            return null;
+        case "string":
+            return "benchmark value";
+        case "longString":
+            return "benchmark value ".repeat(500);
+        case "boolean":
+            return Boolean.TRUE;
+        case "short":
+            return (short) 42;
+        case "integer":
+            return 42;
+        case "long":
+            return 42L;
+        case "double":
+            return 42.5d;
+        case "bigdecimal":
+            return new BigDecimal("42.123456789");
+        case "biginteger":
+            return new BigInteger("4212345678901234567890");
+        case "date":
+            return new Date();
+        case "instant":
+            return Instant.now();
+        case "localdate":
+            return LocalDate.now();
+        case "localdatetime":
+            return LocalDateTime.now();
+        case "uuid":
+            return UUID.randomUUID();
+        case "bytes":
+            return new byte[1024];
+        case "serializable":
+            return new ArrayList<>(Arrays.asList("one", "two", "three"));
+        case "json":
+            ObjectNode objectNode = ((ProcessEngineConfigurationImpl) state.getProcessEngine().getProcessEngineConfiguration()).getObjectMapper().createObjectNode();
+            objectNode.put("name", "kermit");
+            objectNode.put("age", 42);
+            objectNode.putArray("friends").add("gonzo").add("fozzie");
+            return objectNode;
+        default:
+            throw new FlowableIllegalArgumentException("Unknown variable type " + variableType);
+        }
+    }
+}
@@ -138,6 +138,7 @@ import org.flowable.cmmn.engine.impl.job.AsyncLeaveActivePlanItemInstanceJobHand
 import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationJobHandler;
 import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationStatusJobHandler;
 import org.flowable.cmmn.engine.impl.job.CmmnHistoryCleanupJobHandler;
+import org.flowable.cmmn.engine.impl.job.CmmnHistoryCleanupPartitionJobHandler;
 import org.flowable.cmmn.engine.impl.job.ExternalWorkerTaskCompleteJobHandler;
 import org.flowable.cmmn.engine.impl.job.TriggerTimerEventJobHandler;
 import org.flowable.cmmn.engine.impl.listener.CmmnListenerFactory;
@@ -235,6 +236,7 @@ import org.flowable.cmmn.image.impl.DefaultCaseDiagramGenerator;
 import org.flowable.cmmn.validation.CaseValidator;
 import org.flowable.cmmn.validation.CaseValidatorFactory;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.flowable.common.engine.api.async.AsyncTaskInvoker;
 import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
@@ -250,6 +252,7 @@ import org.flowable.common.engine.impl.ServiceConfigurator;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskInvoker;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
 import org.flowable.common.engine.impl.calendar.BusinessCalendarManager;
 import org.flowable.common.engine.impl.calendar.CycleBusinessCalendar;
 import org.flowable.common.engine.impl.calendar.DueDateBusinessCalendar;
@@ -260,6 +263,7 @@ import org.flowable.common.engine.impl.cfg.BeansConfigurationHelper;
 import org.flowable.common.engine.impl.cfg.mail.MailServerInfo;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.SchemaManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.el.FlowableAstFunctionCreator;
 import org.flowable.common.engine.impl.el.function.VariableBase64ExpressionFunction;
@@ -318,6 +322,7 @@ import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncRunnableExecutionExceptionHandler;
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
+import org.flowable.job.service.impl.asyncexecutor.JobAcquisitionControllerFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
@@ -341,6 +346,7 @@ import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.history.InternalHistoryVariableManager;
 import org.flowable.variable.service.impl.db.IbatisVariableTypeHandler;
 import org.flowable.variable.service.impl.db.VariableDbSchemaManager;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.ByteArrayType;
 import org.flowable.variable.service.impl.types.DateType;
@@ -467,6 +473,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected int expressionCompilationThreshold = -1; // negative value to never compile expressions
 
     // Scripting support
     protected ScriptingEngines scriptingEngines;
@@ -542,6 +549,17 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected boolean jsonVariableTypeTrackObjects = true;
 
+    /**
+     * When true, new JSON variables are stored in the binary Smile format by the {@link BinaryJsonType}, instead of as text.
+     * Binary JSON variables remain readable when this is switched off again.
+     */
+    protected boolean binaryJsonVariableTypeEnabled;
+
+    /**
+     * The size in bytes above which binary JSON variables are compressed. A negative value (the default) disables the compression.
+     */
+    protected int binaryJsonVariableTypeCompressionThreshold = -1;
+
     protected List<CaseInstanceMigrationCallback> caseInstanceMigrationCallbacks;
 
     // Set Http Client config defaults
@@ -581,6 +599,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected List<AsyncRunnableExecutionExceptionHandler> customAsyncRunnableExecutionExceptionHandlers;
     protected boolean addDefaultExceptionHandler = true;
     protected FailedJobCommandFactory failedJobCommandFactory;
+    protected JobAcquisitionControllerFactory jobAcquisitionControllerFactory;
+    protected boolean jobAcquisitionSkipLockedEnabled;
+    protected int jobShardCount;
     protected InternalJobParentStateResolver internalJobParentStateResolver;
     protected List<String> enabledJobCategories;
     protected String jobExecutionScope = JobServiceConfiguration.JOB_EXECUTION_SCOPE_CMMN;
@@ -640,6 +661,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     /**
      * The thread factory that the async task executor should use.
+     * Also used in virtual thread mode, in which case the jobs are executed on the threads of this factory instead of on virtual threads.
      */
     protected ThreadFactory asyncExecutorThreadFactory;
 
@@ -682,6 +704,8 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
     protected Duration cleanInstancesEndedAfter = Duration.ofDays(365);
     protected int cleanInstancesBatchSize = 100;
+    protected int cleanInstancesPartitionCount;
+    protected Duration cleanInstancesPartitionPause = Duration.ZERO;
     protected CmmnHistoryCleaningManager cmmnHistoryCleaningManager;
     
     protected Map<String, HistoryJobHandler> historyJobHandlers;
@@ -1005,9 +1029,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             }
             
             if (isExpressionCacheEnabled) {
-                cmmnExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
+                cmmnExpressionManager.setExpressionCache(new ExpressionCache(expressionCacheSize));
                 cmmnExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
             }
+
+            cmmnExpressionManager.setExpressionCompilationThreshold(expressionCompilationThreshold);
             
             expressionManager = cmmnExpressionManager;
         }
@@ -1501,9 +1527,17 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
+            BinaryJsonType binaryJsonType = new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryJsonVariableTypeCompressionThreshold);
+            if (binaryJsonVariableTypeEnabled) {
+                variableTypes.addType(binaryJsonType);
+            }
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             // longJsonType only needed for reading purposes
             variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            if (!binaryJsonVariableTypeEnabled) {
+                // binaryJsonType only needed for reading purposes
+                variableTypes.addType(binaryJsonType);
+            }
             variableTypes.addType(new CmmnAggregatedVariableType(this));
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
@@ -1690,6 +1724,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         jobHandlers.put(AsyncLeaveActivePlanItemInstanceJobHandler.TYPE, new AsyncLeaveActivePlanItemInstanceJobHandler());
         jobHandlers.put(AsyncInitializePlanModelJobHandler.TYPE, new AsyncInitializePlanModelJobHandler());
         jobHandlers.put(CmmnHistoryCleanupJobHandler.TYPE, new CmmnHistoryCleanupJobHandler());
+        jobHandlers.put(CmmnHistoryCleanupPartitionJobHandler.TYPE, new CmmnHistoryCleanupPartitionJobHandler());
         jobHandlers.put(ExternalWorkerTaskCompleteJobHandler.TYPE, new ExternalWorkerTaskCompleteJobHandler(this));
         addJobHandler(new CaseInstanceMigrationJobHandler());
         addJobHandler(new CaseInstanceMigrationStatusJobHandler());
@@ -1854,6 +1889,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.jobServiceConfiguration.setEventDispatcher(this.eventDispatcher);
         this.jobServiceConfiguration.setBusinessCalendarManager(this.businessCalendarManager);
         this.jobServiceConfiguration.setFailedJobCommandFactory(this.failedJobCommandFactory);
+        this.jobServiceConfiguration.setJobAcquisitionControllerFactory(this.jobAcquisitionControllerFactory);
+        this.jobServiceConfiguration.setJobAcquisitionSkipLockedEnabled(this.jobAcquisitionSkipLockedEnabled);
+        this.jobServiceConfiguration.setJobShardCount(this.jobShardCount);
 
         this.jobServiceConfiguration.init();
         
@@ -1891,6 +1929,23 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     }
 
     protected void initAsyncTaskExecutor() {
+        if (asyncExecutorThreadFactory != null && asyncExecutorConfiguration.isVirtualThreadsEnabled()) {
+            throw new FlowableIllegalArgumentException("Virtual threads are enabled, they can't be combined with the configured async executor thread factory "
+                    + asyncExecutorThreadFactory);
+        }
+
+        if (this.asyncTaskExecutor == null && asyncExecutorConfiguration.isVirtualThreadsEnabled()) {
+            // The concurrency of virtual threads is bounded by the database connections instead of by a thread pool
+            int maxConcurrentJobs = asyncExecutorConfiguration.getVirtualThreadsMaxConcurrentJobs() > 0
+                    ? asyncExecutorConfiguration.getVirtualThreadsMaxConcurrentJobs() : getDataSourceMaxActiveConnections();
+            VirtualThreadAsyncTaskExecutor virtualThreadAsyncTaskExecutor = new VirtualThreadAsyncTaskExecutor(
+                    getOrCreateAsyncExecutorTaskExecutorConfiguration(), maxConcurrentJobs);
+            virtualThreadAsyncTaskExecutor.start();
+            this.shutdownAsyncTaskExecutor = true;
+
+            this.asyncTaskExecutor = virtualThreadAsyncTaskExecutor;
+        }
+
         if (this.asyncTaskExecutor == null) {
             DefaultAsyncTaskExecutor defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor(getOrCreateAsyncExecutorTaskExecutorConfiguration());
 
@@ -2787,6 +2842,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    public CmmnEngineConfiguration setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+        return this;
+    }
+
     public DelegateExpressionFieldInjectionMode getDelegateExpressionFieldInjectionMode() {
         return delegateExpressionFieldInjectionMode;
     }
@@ -3100,6 +3164,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isBinaryJsonVariableTypeEnabled() {
+        return binaryJsonVariableTypeEnabled;
+    }
+
+    public CmmnEngineConfiguration setBinaryJsonVariableTypeEnabled(boolean binaryJsonVariableTypeEnabled) {
+        this.binaryJsonVariableTypeEnabled = binaryJsonVariableTypeEnabled;
+        return this;
+    }
+
+    public int getBinaryJsonVariableTypeCompressionThreshold() {
+        return binaryJsonVariableTypeCompressionThreshold;
+    }
+
+    public CmmnEngineConfiguration setBinaryJsonVariableTypeCompressionThreshold(int binaryJsonVariableTypeCompressionThreshold) {
+        this.binaryJsonVariableTypeCompressionThreshold = binaryJsonVariableTypeCompressionThreshold;
+        return this;
+    }
+
     public CaseDiagramGenerator getCaseDiagramGenerator() {
         return caseDiagramGenerator;
     }
@@ -3254,6 +3336,41 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public JobAcquisitionControllerFactory getJobAcquisitionControllerFactory() {
+        return jobAcquisitionControllerFactory;
+    }
+
+    public CmmnEngineConfiguration setJobAcquisitionControllerFactory(JobAcquisitionControllerFactory jobAcquisitionControllerFactory) {
+        this.jobAcquisitionControllerFactory = jobAcquisitionControllerFactory;
+        return this;
+    }
+
+    public boolean isJobAcquisitionSkipLockedEnabled() {
+        return jobAcquisitionSkipLockedEnabled;
+    }
+
+    /**
+     * Acquire async, timer and history jobs with SELECT ... FOR UPDATE SKIP LOCKED on PostgreSQL, Oracle and MySQL 8+,
+     * which avoids optimistic locking exceptions when many nodes are acquiring jobs at the same time.
+     */
+    public CmmnEngineConfiguration setJobAcquisitionSkipLockedEnabled(boolean jobAcquisitionSkipLockedEnabled) {
+        this.jobAcquisitionSkipLockedEnabled = jobAcquisitionSkipLockedEnabled;
+        return this;
+    }
+
+    public int getJobShardCount() {
+        return jobShardCount;
+    }
+
+    /**
+     * The number of shards new async and timer jobs are spread over, based on their process or case instance.
+     * Jobs only get a shard key when this is larger than 0, which is required for sharded job acquisition.
+     */
+    public CmmnEngineConfiguration setJobShardCount(int jobShardCount) {
+        this.jobShardCount = jobShardCount;
+        return this;
+    }
+
     public BusinessCalendarManager getBusinessCalendarManager() {
         return businessCalendarManager;
     }
@@ -4513,6 +4630,32 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public int getCleanInstancesPartitionCount() {
+        return cleanInstancesPartitionCount;
+    }
+
+    /**
+     * Sets the number of partitions by end time in which the history cleanup splits the case instances to remove.
+     * Each partition is removed by its own async job, with set based delete statements.
+     * 0 (the default) removes the case instances with a sequential batch through the {@link CmmnHistoryCleaningManager}.
+     */
+    public CmmnEngineConfiguration setCleanInstancesPartitionCount(int cleanInstancesPartitionCount) {
+        this.cleanInstancesPartitionCount = cleanInstancesPartitionCount;
+        return this;
+    }
+
+    public Duration getCleanInstancesPartitionPause() {
+        return cleanInstancesPartitionPause;
+    }
+
+    /**
+     * Sets the time between two batches of case instances removed from the same history cleanup partition.
+     */
+    public CmmnEngineConfiguration setCleanInstancesPartitionPause(Duration cleanInstancesPartitionPause) {
+        this.cleanInstancesPartitionPause = cleanInstancesPartitionPause;
+        return this;
+    }
+
     public CmmnHistoryCleaningManager getCmmnHistoryCleaningManager() {
         return cmmnHistoryCleaningManager;
     }
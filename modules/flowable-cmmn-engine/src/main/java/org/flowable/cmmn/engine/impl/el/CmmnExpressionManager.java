@@ -30,5 +30,14 @@ public class CmmnExpressionManager extends VariableScopeExpressionManager {
     protected ELResolver createVariableElResolver() {
         return new CmmnVariableScopeELResolver();
     }
+
+    @Override
+    protected boolean isFastPathIdentifier(String identifier) {
+        return super.isFastPathIdentifier(identifier)
+                && !CmmnVariableScopeELResolver.CASE_INSTANCE_KEY.equals(identifier)
+                && !CmmnVariableScopeELResolver.PLAN_ITEM_INSTANCE_KEY.equals(identifier)
+                && !CmmnVariableScopeELResolver.PLAN_ITEM_INSTANCES_KEY.equals(identifier)
+                && !CmmnVariableScopeELResolver.TASK_KEY.equals(identifier);
+    }
     
 }
@@ -12,11 +12,19 @@
  */
 package org.flowable.cmmn.engine.impl.job;
 
+import java.util.Date;
+import java.util.List;
+
 import org.flowable.batch.api.BatchQuery;
+import org.flowable.cmmn.api.CmmnHistoryCleaningManager;
+import org.flowable.cmmn.api.CmmnManagementService;
 import org.flowable.cmmn.api.history.HistoricCaseInstanceQuery;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.cmmn.engine.impl.delete.DeleteCaseInstanceBatchConstants;
+import org.flowable.cmmn.engine.impl.history.HistoricCaseInstanceQueryImpl;
 import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.history.HistoryCleanupPartition;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobHandler;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
@@ -37,24 +45,63 @@ public class CmmnHistoryCleanupJobHandler implements JobHandler {
     public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
         CmmnEngineConfiguration cmmnEngineConfiguration = CommandContextUtil.getCmmnEngineConfiguration(commandContext);
 
-        long inProgressDeletions = cmmnEngineConfiguration.getCmmnManagementService()
-                .createBatchQuery()
-                .searchKey(DEFAULT_BATCH_NAME)
-                .status(DeleteCaseInstanceBatchConstants.STATUS_IN_PROGRESS)
-                .count();
-        if (inProgressDeletions > 0) {
-            return;
-        }
+        if (cmmnEngineConfiguration.getCleanInstancesPartitionCount() > 0) {
+            schedulePartitionedCleanup(cmmnEngineConfiguration, commandContext);
 
-        int batchSize = cmmnEngineConfiguration.getCleanInstancesBatchSize();
-        HistoricCaseInstanceQuery query = cmmnEngineConfiguration.getCmmnHistoryCleaningManager().createHistoricCaseInstanceCleaningQuery();
-        
-        query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        } else {
+            long inProgressDeletions = cmmnEngineConfiguration.getCmmnManagementService()
+                    .createBatchQuery()
+                    .searchKey(DEFAULT_BATCH_NAME)
+                    .status(DeleteCaseInstanceBatchConstants.STATUS_IN_PROGRESS)
+                    .count();
+            if (inProgressDeletions > 0) {
+                return;
+            }
+
+            int batchSize = cmmnEngineConfiguration.getCleanInstancesBatchSize();
+            HistoricCaseInstanceQuery query = cmmnEngineConfiguration.getCmmnHistoryCleaningManager().createHistoricCaseInstanceCleaningQuery();
+
+            query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        }
 
         BatchQuery batchCleaningQuery = cmmnEngineConfiguration.getCmmnHistoryCleaningManager().createBatchCleaningQuery();
         if (batchCleaningQuery != null) {
             batchCleaningQuery.deleteWithRelatedData();
         }
     }
-    
+
+    protected void schedulePartitionedCleanup(CmmnEngineConfiguration cmmnEngineConfiguration, CommandContext commandContext) {
+        CmmnManagementService managementService = cmmnEngineConfiguration.getCmmnManagementService();
+        long partitionsInProgress = managementService.createJobQuery().handlerType(CmmnHistoryCleanupPartitionJobHandler.TYPE).count()
+                + managementService.createTimerJobQuery().handlerType(CmmnHistoryCleanupPartitionJobHandler.TYPE).count();
+        if (partitionsInProgress > 0) {
+            return;
+        }
+
+        Date endedBefore = getEndedBefore(cmmnEngineConfiguration);
+        Date earliestEndTime = (Date) CommandContextUtil.getDbSqlSession(commandContext)
+                .selectOne("selectHistoryCleanupEarliestCaseInstanceEndTime", endedBefore);
+
+        List<HistoryCleanupPartition> partitions = HistoryCleanupPartition.create(earliestEndTime, endedBefore,
+                cmmnEngineConfiguration.getCleanInstancesPartitionCount());
+        for (HistoryCleanupPartition partition : partitions) {
+            CmmnHistoryCleanupPartitionJobHandler.schedulePartitionCleanup(cmmnEngineConfiguration, partition, null);
+        }
+    }
+
+    /**
+     * The cleanup time of the partitioned cleanup is the finished before time of the cleaning query of the {@link CmmnHistoryCleaningManager},
+     * the set based deletes of the partitioned cleanup don't apply any other criteria of that query.
+     */
+    protected Date getEndedBefore(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        CmmnHistoryCleaningManager cmmnHistoryCleaningManager = cmmnEngineConfiguration.getCmmnHistoryCleaningManager();
+        HistoricCaseInstanceQuery query = cmmnHistoryCleaningManager.createHistoricCaseInstanceCleaningQuery();
+        Date endedBefore = query instanceof HistoricCaseInstanceQueryImpl ? ((HistoricCaseInstanceQueryImpl) query).getFinishedBefore() : null;
+        if (endedBefore == null) {
+            throw new FlowableException("The partitioned history cleanup needs a cleaning query with a finished before time, which "
+                    + cmmnHistoryCleaningManager.getClass().getName() + " does not create");
+        }
+        return endedBefore;
+    }
+
 }
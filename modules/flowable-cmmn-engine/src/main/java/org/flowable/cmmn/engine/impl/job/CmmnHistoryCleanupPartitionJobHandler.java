@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.job;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.common.engine.impl.history.HistoryCleanupPartition;
+import org.flowable.common.engine.impl.history.PartitionedHistoryCleaner;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.JobService;
+import org.flowable.job.service.TimerJobService;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+/**
+ * Removes a batch of the finished case instances of a {@link HistoryCleanupPartition} with their history,
+ * after which the rest of the partition is handed to a new job.
+ */
+public class CmmnHistoryCleanupPartitionJobHandler implements JobHandler {
+
+    public static final String TYPE = "cmmn-history-cleanup-partition";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        CmmnEngineConfiguration cmmnEngineConfiguration = CommandContextUtil.getCmmnEngineConfiguration(commandContext);
+        HistoryCleanupPartition partition = HistoryCleanupPartition.fromJson(cmmnEngineConfiguration.getObjectMapper(), configuration);
+
+        HistoryCleanupPartition remainingPartition = createHistoryCleaner(cmmnEngineConfiguration).cleanChunk(
+                CommandContextUtil.getDbSqlSession(commandContext), partition, cmmnEngineConfiguration.getCleanInstancesBatchSize(),
+                Collections.emptyMap());
+
+        if (remainingPartition != null) {
+            schedulePartitionCleanup(cmmnEngineConfiguration, remainingPartition, cmmnEngineConfiguration.getCleanInstancesPartitionPause());
+        }
+    }
+
+    protected PartitionedHistoryCleaner createHistoryCleaner(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        List<String> deleteStatements = new ArrayList<>();
+        deleteStatements.add("decrementHistoryCleanupCaseVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupCaseVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupCaseVariables");
+        deleteStatements.add("decrementHistoryCleanupCaseTaskVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupCaseTaskVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupCaseTaskVariables");
+        deleteStatements.add("deleteHistoryCleanupCaseTaskIdentityLinks");
+        deleteStatements.add("deleteHistoryCleanupCaseTaskLogEntries");
+        deleteStatements.add("deleteHistoryCleanupCaseTasks");
+        deleteStatements.add("deleteHistoryCleanupCaseIdentityLinks");
+        if (cmmnEngineConfiguration.isEnableEntityLinks()) {
+            deleteStatements.add("deleteHistoryCleanupCaseEntityLinks");
+        }
+        deleteStatements.add("deleteHistoryCleanupMilestoneInstances");
+        deleteStatements.add("deleteHistoryCleanupPlanItemInstances");
+        deleteStatements.add("deleteHistoryCleanupCaseInstances");
+        return new PartitionedHistoryCleaner("selectHistoryCleanupCaseInstanceIds", deleteStatements);
+    }
+
+    public static void schedulePartitionCleanup(CmmnEngineConfiguration cmmnEngineConfiguration, HistoryCleanupPartition partition, Duration pause) {
+        String jobHandlerConfiguration = partition.toJson(cmmnEngineConfiguration.getObjectMapper());
+        if (pause != null && !pause.isZero() && !pause.isNegative()) {
+            TimerJobService timerJobService = cmmnEngineConfiguration.getJobServiceConfiguration().getTimerJobService();
+            TimerJobEntity timerJob = timerJobService.createTimerJob();
+            timerJob.setJobType(JobEntity.JOB_TYPE_TIMER);
+            timerJob.setRevision(1);
+            timerJob.setJobHandlerType(TYPE);
+            timerJob.setJobHandlerConfiguration(jobHandlerConfiguration);
+            timerJob.setScopeType(ScopeTypes.CMMN);
+            timerJob.setDuedate(new Date(cmmnEngineConfiguration.getClock().getCurrentTime().getTime() + pause.toMillis()));
+            timerJobService.scheduleTimerJob(timerJob);
+
+        } else {
+            JobService jobService = cmmnEngineConfiguration.getJobServiceConfiguration().getJobService();
+            JobEntity cleanupJob = jobService.createJob();
+            cleanupJob.setJobHandlerType(TYPE);
+            cleanupJob.setJobHandlerConfiguration(jobHandlerConfiguration);
+            cleanupJob.setScopeType(ScopeTypes.CMMN);
+            jobService.createAsyncJob(cleanupJob, false);
+            jobService.scheduleAsyncJob(cleanupJob);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.flowable.cmmn.api.CmmnHistoryService;
+import org.flowable.cmmn.api.CmmnManagementService;
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.CmmnTaskService;
+import org.flowable.cmmn.api.history.HistoricCaseInstance;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.job.CmmnHistoryCleanupJobHandler;
+import org.flowable.cmmn.engine.impl.job.CmmnHistoryCleanupPartitionJobHandler;
+import org.flowable.cmmn.engine.test.CmmnConfigurationResource;
+import org.flowable.cmmn.engine.test.CmmnDeployment;
+import org.flowable.cmmn.engine.test.FlowableCmmnTest;
+import org.flowable.cmmn.engine.test.impl.CmmnJobTestHelper;
+import org.flowable.common.engine.impl.runtime.Clock;
+import org.flowable.job.api.Job;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+@FlowableCmmnTest
+@CmmnConfigurationResource("flowable.historyclean.partitioned.cmmn.cfg.xml")
+public class HistoricDataPartitionedCleanupTest {
+
+    @Test
+    @CmmnDeployment(resources = "org/flowable/cmmn/test/human-task-milestone-model.cmmn")
+    public void testHistoryCleanupInPartitions(CmmnEngineConfiguration cmmnEngineConfiguration, CmmnRuntimeService cmmnRuntimeService,
+            CmmnHistoryService cmmnHistoryService, CmmnTaskService cmmnTaskService, CmmnManagementService cmmnManagementService) {
+
+        List<String> caseInstanceIds = new ArrayList<>();
+        try {
+            Clock clock = cmmnEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+
+            for (int i = 0; i < 10; i++) {
+                CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("oneTaskCase").start();
+                caseInstanceIds.add(caseInstance.getId());
+                cmmnRuntimeService.setVariable(caseInstance.getId(), "testVar", "testValue" + i);
+
+                if (i < 7) {
+                    Task task = cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).singleResult();
+                    cmmnTaskService.setVariableLocal(task.getId(), "taskVar", "taskValue" + i);
+                    cmmnTaskService.complete(task.getId());
+                }
+
+                cal.add(Calendar.DAY_OF_YEAR, 1);
+                clock.setCurrentCalendar(cal);
+            }
+        } finally {
+            cmmnEngineConfiguration.resetClock();
+        }
+
+        Job cleanupJob = cmmnManagementService.moveTimerToExecutableJob(
+                cmmnManagementService.createTimerJobQuery().handlerType(CmmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+        cmmnManagementService.executeJob(cleanupJob.getId());
+
+        assertThat(cmmnManagementService.createJobQuery().handlerType(CmmnHistoryCleanupPartitionJobHandler.TYPE).count()).isEqualTo(3);
+        assertThat(cmmnHistoryService.createHistoricCaseInstanceQuery().count()).isEqualTo(10);
+
+        CmmnJobTestHelper.waitForJobExecutorToProcessAllAsyncJobs(cmmnEngineConfiguration, 10000, 200, true);
+
+        assertThat(cmmnManagementService.createJobQuery().count()).isZero();
+        assertThat(cmmnHistoryService.createHistoricCaseInstanceQuery().list())
+                .extracting(HistoricCaseInstance::getId)
+                .containsExactlyInAnyOrder(caseInstanceIds.get(7), caseInstanceIds.get(8), caseInstanceIds.get(9));
+
+        for (int i = 0; i < 10; i++) {
+            String caseInstanceId = caseInstanceIds.get(i);
+            long expectedRows = i < 7 ? 0 : 1;
+            assertThat(cmmnHistoryService.createHistoricTaskInstanceQuery().caseInstanceId(caseInstanceId).count()).isEqualTo(expectedRows);
+            assertThat(cmmnHistoryService.createHistoricPlanItemInstanceQuery().planItemInstanceCaseInstanceId(caseInstanceId).count())
+                    .isEqualTo(expectedRows * 2);
+            assertThat(cmmnHistoryService.createHistoricMilestoneInstanceQuery().milestoneInstanceCaseInstanceId(caseInstanceId).count())
+                    .isEqualTo(expectedRows);
+            assertThat(cmmnHistoryService.createHistoricVariableInstanceQuery().caseInstanceId(caseInstanceId).count()).isEqualTo(expectedRows);
+            assertThat(cmmnHistoryService.createHistoricTaskLogEntryQuery().caseInstanceId(caseInstanceId).count()).isEqualTo(expectedRows);
+            assertThat(cmmnHistoryService.getHistoricIdentityLinksForCaseInstance(caseInstanceId)).hasSize((int) expectedRows);
+        }
+        assertThat(cmmnHistoryService.createHistoricVariableInstanceQuery().variableName("taskVar").count()).isZero();
+
+        cmmnManagementService.deleteTimerJob(cmmnManagementService.createTimerJobQuery().handlerType(CmmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+    }
+
+}
@@ -32,6 +32,7 @@ import org.flowable.common.engine.impl.HasExpressionManagerEngineConfiguration;
 import org.flowable.common.engine.impl.cfg.BeansConfigurationHelper;
 import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
 import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
@@ -154,6 +155,10 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     protected Collection<ELResolver> preDefaultELResolvers;
     protected Collection<ELResolver> preBeanELResolvers;
     protected Collection<ELResolver> postDefaultELResolvers;
+    protected boolean isExpressionCacheEnabled = true;
+    protected int expressionCacheSize = 4096;
+    protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected int expressionCompilationThreshold = -1; // negative value to never compile expressions
 
     // DEPLOYERS
     // ////////////////////////////////////////////////////////////////
@@ -451,6 +456,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
                 postDefaultELResolvers.forEach(dmnExpressionManager::addPostDefaultResolver);
             }
 
+            if (isExpressionCacheEnabled) {
+                dmnExpressionManager.setExpressionCache(new ExpressionCache(expressionCacheSize));
+                dmnExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
+            }
+
+            dmnExpressionManager.setExpressionCompilationThreshold(expressionCompilationThreshold);
+
             expressionManager = dmnExpressionManager;
         }
 
@@ -882,6 +894,42 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isExpressionCacheEnabled() {
+        return isExpressionCacheEnabled;
+    }
+
+    public DmnEngineConfiguration setExpressionCacheEnabled(boolean isExpressionCacheEnabled) {
+        this.isExpressionCacheEnabled = isExpressionCacheEnabled;
+        return this;
+    }
+
+    public int getExpressionCacheSize() {
+        return expressionCacheSize;
+    }
+
+    public DmnEngineConfiguration setExpressionCacheSize(int expressionCacheSize) {
+        this.expressionCacheSize = expressionCacheSize;
+        return this;
+    }
+
+    public int getExpressionTextLengthCacheLimit() {
+        return expressionTextLengthCacheLimit;
+    }
+
+    public DmnEngineConfiguration setExpressionTextLengthCacheLimit(int expressionTextLengthCacheLimit) {
+        this.expressionTextLengthCacheLimit = expressionTextLengthCacheLimit;
+        return this;
+    }
+
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    public DmnEngineConfiguration setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+        return this;
+    }
+
     public DmnEngineConfiguration addPostDefaultELResolver(ELResolver elResolver) {
         if (this.postDefaultELResolvers == null) {
             this.postDefaultELResolvers = new ArrayList<>();
@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.api.management;
+
+/**
+ * The aggregated executions of one SQL statement by one type of command, for one definition key,
+ * as collected by the sampling SQL statement profiler.
+ * The counts only include the sampled command executions.
+ */
+public class SqlStatementProfile {
+
+    protected String commandName;
+    protected String definitionKey;
+    protected String statementId;
+    protected long commandCount;
+    protected long statementCount;
+    protected long totalTimeNanos;
+    protected long maxTimeNanos;
+
+    public SqlStatementProfile() {
+
+    }
+
+    public SqlStatementProfile(String commandName, String definitionKey, String statementId) {
+        this.commandName = commandName;
+        this.definitionKey = definitionKey;
+        this.statementId = statementId;
+    }
+
+    /**
+     * The average number of executions of the statement per command execution.
+     * A high number usually means the statement is executed in a loop, instead of fetching the data at once.
+     */
+    public double getStatementsPerCommand() {
+        return commandCount > 0 ? (double) statementCount / commandCount : 0;
+    }
+
+    public long getAverageTimeNanos() {
+        return statementCount > 0 ? totalTimeNanos / statementCount : 0;
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public void setCommandName(String commandName) {
+        this.commandName = commandName;
+    }
+
+    public String getDefinitionKey() {
+        return definitionKey;
+    }
+
+    public void setDefinitionKey(String definitionKey) {
+        this.definitionKey = definitionKey;
+    }
+
+    public String getStatementId() {
+        return statementId;
+    }
+
+    public void setStatementId(String statementId) {
+        this.statementId = statementId;
+    }
+
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    public void setCommandCount(long commandCount) {
+        this.commandCount = commandCount;
+    }
+
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    public void setStatementCount(long statementCount) {
+        this.statementCount = statementCount;
+    }
+
+    public long getTotalTimeNanos() {
+        return totalTimeNanos;
+    }
+
+    public void setTotalTimeNanos(long totalTimeNanos) {
+        this.totalTimeNanos = totalTimeNanos;
+    }
+
+    public long getMaxTimeNanos() {
+        return maxTimeNanos;
+    }
+
+    public void setMaxTimeNanos(long maxTimeNanos) {
+        this.maxTimeNanos = maxTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStatementProfile[commandName=" + commandName + ", definitionKey=" + definitionKey + ", statementId=" + statementId
+                + ", commandCount=" + commandCount + ", statementCount=" + statementCount + ", totalTimeNanos=" + totalTimeNanos + "]";
+    }
+}
@@ -84,6 +84,9 @@ import org.flowable.common.engine.impl.db.LogSqlExecutionTimePlugin;
 import org.flowable.common.engine.impl.db.MybatisTypeAliasConfigurator;
 import org.flowable.common.engine.impl.db.MybatisTypeHandlerConfigurator;
 import org.flowable.common.engine.impl.db.SchemaManager;
+import org.flowable.common.engine.impl.db.profiler.SqlStatementProfiler;
+import org.flowable.common.engine.impl.db.profiler.SqlStatementProfilingCommandInterceptor;
+import org.flowable.common.engine.impl.db.profiler.SqlStatementProfilingPlugin;
 import org.flowable.common.engine.impl.event.EventDispatchAction;
 import org.flowable.common.engine.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.common.engine.impl.interceptor.Command;
@@ -104,8 +107,11 @@ import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.common.engine.impl.persistence.TimeOrderedUuidGenerator;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.cache.SharedEntityCache;
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayCodec;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManagerImpl;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
@@ -234,6 +240,31 @@ public abstract class AbstractEngineConfiguration {
      */
     protected int maxNrOfStatementsInBulkInsert = 100;
 
+    /**
+     * If set to true, updates and deletes of the same type are flushed as JDBC batches, instead of one statement at a time.
+     * The update count of every batched row is still checked for optimistic locking,
+     * which requires a JDBC driver that returns the update counts of batched statements. Default false.
+     */
+    protected boolean isBatchFlushEnabled;
+
+    /**
+     * If set to true, entities implementing DirtyTrackingEntity record their own changes, instead of a snapshot of their
+     * persistent state being taken when loaded and compared on flush. Default false.
+     */
+    protected boolean isDirtyTrackingEnabled;
+
+    /**
+     * An optional cache of entities shared by all transactions, used when an entity of one of its cached classes is selected by id.
+     * Only meant for entities that never or rarely change, see {@link SharedEntityCache}. Default null, meaning no shared cache is used.
+     */
+    protected SharedEntityCache sharedEntityCache;
+
+    /**
+     * An optional sampling profiler of the SQL statements executed by commands, see {@link SqlStatementProfiler}.
+     * Default null, meaning no statements are profiled.
+     */
+    protected SqlStatementProfiler sqlStatementProfiler;
+
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 55; // currently Execution has most params (35). 2000 / 35 = 57.
 
     protected String mybatisMappingFile;
@@ -352,6 +383,19 @@ public abstract class AbstractEngineConfiguration {
     protected PropertyEntityManager propertyEntityManager;
     protected ByteArrayEntityManager byteArrayEntityManager;
 
+    /**
+     * The size in bytes above which byte arrays (ACT_GE_BYTEARRAY) are stored compressed. Of the deployment resources, only the ones of the
+     * process engine are compressed: the CMMN, DMN and app engines store their deployment resources in their own tables, uncompressed.
+     * Compressed rows are recognized when they are read, so this can be changed at any time. Default -1: nothing is compressed.
+     */
+    protected int byteArrayCompressionThreshold = -1;
+
+    /**
+     * If set to true, byte arrays that are written often with the same content (e.g. the exception stacktraces of failing jobs)
+     * are stored once and shared by all their references. Default false.
+     */
+    protected boolean byteArrayDeduplicationEnabled;
+
     protected List<EngineDeployer> customPreDeployers;
     protected List<EngineDeployer> customPostDeployers;
     protected List<EngineDeployer> deployers;
@@ -416,6 +460,12 @@ public abstract class AbstractEngineConfiguration {
     protected IdGenerator idGenerator;
     protected boolean usePrefixId;
 
+    /**
+     * If set to true and no id generator is configured, the {@link TimeOrderedUuidGenerator} is used, generating ids that increase over time.
+     * New rows are then added at the end of the primary key indexes, instead of at random places. Default false.
+     */
+    protected boolean useTimeOrderedIdGenerator;
+
     protected Clock clock;
     protected ObjectMapper objectMapper;
 
@@ -595,6 +645,9 @@ public abstract class AbstractEngineConfiguration {
     public void initCommandInterceptors() {
         if (commandInterceptors == null) {
             commandInterceptors = new ArrayList<>();
+            if (sqlStatementProfiler != null) {
+                commandInterceptors.add(new SqlStatementProfilingCommandInterceptor(sqlStatementProfiler));
+            }
             if (customPreCommandInterceptors != null) {
                 commandInterceptors.addAll(customPreCommandInterceptors);
             }
@@ -683,7 +736,7 @@ public abstract class AbstractEngineConfiguration {
 
     public void initIdGenerator() {
         if (idGenerator == null) {
-            idGenerator = new StrongUuidGenerator();
+            idGenerator = useTimeOrderedIdGenerator ? new TimeOrderedUuidGenerator() : new StrongUuidGenerator();
         }
     }
 
@@ -720,7 +773,12 @@ public abstract class AbstractEngineConfiguration {
         }
 
         if (byteArrayEntityManager == null) {
-            byteArrayEntityManager = new ByteArrayEntityManagerImpl(byteArrayDataManager, getEngineCfgKey(), this::getEventDispatcher);
+            ByteArrayEntityManagerImpl byteArrayEntityManagerImpl = new ByteArrayEntityManagerImpl(byteArrayDataManager, getEngineCfgKey(), this::getEventDispatcher);
+            if (byteArrayCompressionThreshold >= 0) {
+                byteArrayEntityManagerImpl.setCodec(new ByteArrayCodec(byteArrayCompressionThreshold));
+            }
+            byteArrayEntityManagerImpl.setDeduplicationEnabled(byteArrayDeduplicationEnabled);
+            byteArrayEntityManager = byteArrayEntityManagerImpl;
         }
 
         if (tableDataManager == null) {
@@ -786,6 +844,9 @@ public abstract class AbstractEngineConfiguration {
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchFlushEnabled(isBatchFlushEnabled);
+        dbSqlSessionFactory.setDirtyTrackingEnabled(isDirtyTrackingEnabled);
+        dbSqlSessionFactory.setSharedEntityCache(sharedEntityCache);
 
         initDbSqlSessionFactoryEntitySettings();
 
@@ -893,6 +954,9 @@ public abstract class AbstractEngineConfiguration {
         if (isEnableLogSqlExecutionTime()) {
             initMyBatisLogSqlExecutionTimePlugin(configuration);
         }
+        if (sqlStatementProfiler != null) {
+            configuration.addInterceptor(new SqlStatementProfilingPlugin(sqlStatementProfiler));
+        }
 
         configuration = parseMybatisConfiguration(parser);
         return configuration;
@@ -1254,6 +1318,18 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    /**
+     * The maximum number of connections of the data source that can be active at the same time.
+     * This is the maximum of the pool when the data source is a MyBatis {@link PooledDataSource} (e.g. created from the JDBC properties),
+     * and {@link #getJdbcMaxActiveConnections()} otherwise, as the size of the pool of other data sources can't be determined.
+     */
+    public int getDataSourceMaxActiveConnections() {
+        if (dataSource instanceof PooledDataSource) {
+            return ((PooledDataSource) dataSource).getPoolMaximumActiveConnections();
+        }
+        return jdbcMaxActiveConnections;
+    }
+
     public int getJdbcMaxIdleConnections() {
         return jdbcMaxIdleConnections;
     }
@@ -1371,6 +1447,15 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isUseTimeOrderedIdGenerator() {
+        return useTimeOrderedIdGenerator;
+    }
+
+    public AbstractEngineConfiguration setUseTimeOrderedIdGenerator(boolean useTimeOrderedIdGenerator) {
+        this.useTimeOrderedIdGenerator = useTimeOrderedIdGenerator;
+        return this;
+    }
+
     public String getXmlEncoding() {
         return xmlEncoding;
     }
@@ -1569,6 +1654,42 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isBatchFlushEnabled() {
+        return isBatchFlushEnabled;
+    }
+
+    public AbstractEngineConfiguration setBatchFlushEnabled(boolean isBatchFlushEnabled) {
+        this.isBatchFlushEnabled = isBatchFlushEnabled;
+        return this;
+    }
+
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public AbstractEngineConfiguration setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+        return this;
+    }
+
+    public SharedEntityCache getSharedEntityCache() {
+        return sharedEntityCache;
+    }
+
+    public AbstractEngineConfiguration setSharedEntityCache(SharedEntityCache sharedEntityCache) {
+        this.sharedEntityCache = sharedEntityCache;
+        return this;
+    }
+
+    public SqlStatementProfiler getSqlStatementProfiler() {
+        return sqlStatementProfiler;
+    }
+
+    public AbstractEngineConfiguration setSqlStatementProfiler(SqlStatementProfiler sqlStatementProfiler) {
+        this.sqlStatementProfiler = sqlStatementProfiler;
+        return this;
+    }
+
     public Set<Class<?>> getCustomMybatisMappers() {
         return customMybatisMappers;
     }
@@ -1968,6 +2089,24 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public int getByteArrayCompressionThreshold() {
+        return byteArrayCompressionThreshold;
+    }
+
+    public AbstractEngineConfiguration setByteArrayCompressionThreshold(int byteArrayCompressionThreshold) {
+        this.byteArrayCompressionThreshold = byteArrayCompressionThreshold;
+        return this;
+    }
+
+    public boolean isByteArrayDeduplicationEnabled() {
+        return byteArrayDeduplicationEnabled;
+    }
+
+    public AbstractEngineConfiguration setByteArrayDeduplicationEnabled(boolean byteArrayDeduplicationEnabled) {
+        this.byteArrayDeduplicationEnabled = byteArrayDeduplicationEnabled;
+        return this;
+    }
+
     public TableDataManager getTableDataManager() {
         return tableDataManager;
     }
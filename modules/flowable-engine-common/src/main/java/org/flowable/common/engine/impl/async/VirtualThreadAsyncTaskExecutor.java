@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import static org.flowable.common.engine.impl.util.ExceptionUtil.sneakyThrow;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link AsyncTaskExecutor} that runs every task on its own virtual thread.
+ * <p>
+ * There is no thread pool and no queue: the number of tasks that can run concurrently is bounded by a {@link Semaphore}
+ * with {@link #getMaxConcurrentTasks()} permits. Typically this is set to the size of the database connection pool,
+ * as every job needs a connection during its execution anyway.
+ * A task that is offered when no permit is available is rejected with a {@link RejectedExecutionException},
+ * and {@link #getRemainingCapacity()} returns the number of available permits.
+ * <p>
+ * Virtual threads are only available on Java 21+. When running on an older JVM, platform threads are used instead.
+ */
+public class VirtualThreadAsyncTaskExecutor implements AsyncTaskExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadAsyncTaskExecutor.class);
+
+    protected final AsyncTaskExecutorConfiguration configuration;
+
+    protected final int maxConcurrentTasks;
+
+    protected final Semaphore permits;
+
+    protected ThreadFactory threadFactory;
+
+    protected volatile boolean shutdown;
+
+    public VirtualThreadAsyncTaskExecutor(int maxConcurrentTasks) {
+        this(new AsyncTaskExecutorConfiguration(), maxConcurrentTasks);
+    }
+
+    public VirtualThreadAsyncTaskExecutor(AsyncTaskExecutorConfiguration configuration, int maxConcurrentTasks) {
+        if (maxConcurrentTasks <= 0) {
+            throw new FlowableIllegalArgumentException("maxConcurrentTasks must be greater than 0");
+        }
+        this.configuration = configuration;
+        if (StringUtils.isEmpty(this.configuration.getThreadPoolNamingPattern())) {
+            this.configuration.setThreadPoolNamingPattern("flowable-async-job-executor-virtual-thread-%d");
+        }
+        this.maxConcurrentTasks = maxConcurrentTasks;
+        this.permits = new Semaphore(maxConcurrentTasks);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Virtual thread task executor has been shut down");
+        }
+
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("All " + maxConcurrentTasks + " permits of the virtual thread task executor are in use");
+        }
+
+        try {
+            Thread thread = getOrCreateThreadFactory().newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            thread.start();
+
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> submit(Runnable task) {
+        return CompletableFuture.runAsync(task, this::execute);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception exception) {
+                sneakyThrow(exception);
+                return null;
+            }
+        }, this::execute);
+    }
+
+    public void start() {
+        shutdown = false;
+        getOrCreateThreadFactory();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+
+        // Waits for the configured time to finish all currently executing tasks.
+        // Once all permits can be acquired, no task is running anymore.
+        long secondsToWaitOnShutdown = configuration.getAwaitTerminationPeriod().getSeconds();
+        try {
+            if (permits.tryAcquire(maxConcurrentTasks, secondsToWaitOnShutdown, TimeUnit.SECONDS)) {
+                permits.release(maxConcurrentTasks);
+            } else {
+                LOGGER.warn("Timeout during shutdown of virtual thread task executor. The current running tasks could not end within {} seconds after shutdown operation.",
+                        secondsToWaitOnShutdown);
+            }
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted while shutting down the virtual thread task executor. ", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected ThreadFactory getOrCreateThreadFactory() {
+        if (threadFactory == null) {
+            String namingPattern = configuration.getThreadPoolNamingPattern();
+            ThreadFactory virtualThreadFactory = createVirtualThreadFactory(namingPattern);
+            if (virtualThreadFactory != null) {
+                LOGGER.info("Creating virtual thread factory with naming pattern {} and {} max concurrent tasks", namingPattern, maxConcurrentTasks);
+                threadFactory = virtualThreadFactory;
+            } else {
+                LOGGER.warn("Virtual threads are not supported by this JVM, using platform threads with naming pattern {} instead", namingPattern);
+                threadFactory = new BasicThreadFactory.Builder().namingPattern(namingPattern).build();
+            }
+        }
+        return threadFactory;
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} producing virtual threads that are named according to the given pattern
+     * (a {@link String#format(String, Object...)} pattern with one numeric argument).
+     *
+     * @return the thread factory, or {@code null} if the running JVM does not support virtual threads
+     */
+    public static ThreadFactory createVirtualThreadFactory(String namingPattern) {
+        ThreadFactory delegate;
+        try {
+            // Accessed reflectively, as the engine is still compiled against Java 17
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            delegate = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Virtual threads are not available", e);
+            return null;
+        }
+
+        if (StringUtils.isEmpty(namingPattern)) {
+            return delegate;
+        }
+
+        AtomicLong threadCount = new AtomicLong();
+        return runnable -> {
+            Thread thread = delegate.newThread(runnable);
+            thread.setName(String.format(namingPattern, threadCount.incrementAndGet()));
+            return thread;
+        };
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new thread from the given factory for every task,
+     * see {@code Executors#newThreadPerTaskExecutor(ThreadFactory)}.
+     *
+     * @return the executor service, or {@code null} if the running JVM does not support thread per task executors
+     */
+    public static ExecutorService createThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            // Accessed reflectively, as the engine is still compiled against Java 17
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Thread per task executors are not available", e);
+            return null;
+        }
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return createVirtualThreadFactory(null) != null;
+    }
+
+    public AsyncTaskExecutorConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public int getMaxConcurrentTasks() {
+        return maxConcurrentTasks;
+    }
+
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    /**
+     * Sets the factory that creates the thread of every task.
+     * When set, this factory is used as is and no virtual threads are created by this executor.
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return permits.availablePermits();
+    }
+}
@@ -113,6 +113,10 @@ public abstract class AbstractSqlScriptBasedDbSchemaManager implements SchemaMan
     }
 
     public boolean isTablePresent(String tableName) {
+        return isTablePresent(tableName, JDBC_METADATA_TABLE_TYPES);
+    }
+
+    protected boolean isTablePresent(String tableName, String[] tableTypes) {
         // ACT-1610: in case the prefix IS the schema itself, we don't add the
         // prefix, since the check is already aware of the schema
         DbSqlSession dbSqlSession = getDbSqlSession();
@@ -160,7 +164,7 @@ public abstract class AbstractSqlScriptBasedDbSchemaManager implements SchemaMan
             }
 
             try {
-                tables = databaseMetaData.getTables(catalog, schema, tableName, JDBC_METADATA_TABLE_TYPES);
+                tables = databaseMetaData.getTables(catalog, schema, tableName, tableTypes);
                 return tables.next();
             } finally {
                 try {
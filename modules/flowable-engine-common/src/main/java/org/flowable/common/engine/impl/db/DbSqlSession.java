@@ -14,6 +14,8 @@
 package org.flowable.common.engine.impl.db;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -23,17 +25,32 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-
+import java.util.function.Predicate;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.api.query.CacheAwareQuery;
 import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionListener;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.Session;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.common.engine.impl.persistence.cache.SharedEntityCache;
 import org.flowable.common.engine.impl.persistence.entity.AlwaysUpdatedPersistentObject;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +76,9 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations = new HashMap<>();
     protected List<Entity> updatedObjects = new ArrayList<>();
 
+    // Statements executed by a batch executor don't mark the sql session as dirty, so commit and rollback need to be forced
+    protected boolean batchStatementsExecuted;
+
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
         this.entityCache = entityCache;
@@ -103,6 +123,11 @@ public class DbSqlSession implements Session {
     // ///////////////////////////////////////////////////////////////////
 
     public void update(Entity entity) {
+        if (entity instanceof DirtyTrackingEntity && ((DirtyTrackingEntity) entity).isDirtyTrackingActive()) {
+            // The explicit update is done with the state as it was loaded, like for entities without dirty tracking
+            entity.setOriginalPersistentState(((DirtyTrackingEntity) entity).getTrackedOriginalPersistentState());
+            ((DirtyTrackingEntity) entity).stopDirtyTracking();
+        }
         entityCache.put(entity, false); // false -> we don't store state, meaning it will always be seen as changed
         entity.setUpdated(true);
     }
@@ -126,6 +151,15 @@ public class DbSqlSession implements Session {
         bulkDeleteOperations.get(entityClass).add(new BulkDeleteOperation(dbSqlSessionFactory.mapStatement(statement), parameter));
     }
 
+    /**
+     * Executes the delete statement immediately, instead of when the session is flushed.
+     * Returns the number of deleted rows.
+     */
+    public int directDelete(String statement, Object parameters) {
+        String deleteStatement = dbSqlSessionFactory.mapStatement(statement);
+        return getSqlSession().delete(deleteStatement, parameters);
+    }
+
     public void delete(Entity entity) {
         Class<? extends Entity> clazz = entity.getClass();
         if (!deletedObjects.containsKey(clazz)) {
@@ -281,6 +315,19 @@ public class DbSqlSession implements Session {
         }
     }
     
+    /**
+     * Selects at most maxResults objects by only reading that many rows of the result set,
+     * for statements that can't restrict the number of rows in SQL.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public List selectListWithRowLimit(String statement, ListQueryParameterObject parameter, int maxResults) {
+        parameter.setDatabaseType(dbSqlSessionFactory.getDatabaseType());
+        statement = dbSqlSessionFactory.mapStatement(statement);
+        RowBounds rowBounds = maxResults >= 0 ? new RowBounds(0, maxResults) : RowBounds.DEFAULT;
+        List loadedObjects = sqlSession.selectList(statement, parameter, rowBounds);
+        return cacheLoadOrStore(loadedObjects, parameter);
+    }
+
     public Object selectOne(String statement, Object parameter) {
         statement = dbSqlSessionFactory.mapStatement(statement);
         Object result = sqlSession.selectOne(statement, parameter);
@@ -306,6 +353,18 @@ public class DbSqlSession implements Session {
             }
         }
 
+        SharedEntityCache sharedEntityCache = dbSqlSessionFactory.getSharedEntityCache();
+        boolean useSharedCache = sharedEntityCache != null && sharedEntityCache.isCached(entityClass);
+        long sharedCacheInvalidationCount = 0L;
+        if (useSharedCache) {
+            entity = sharedEntityCache.get(entityClass, id);
+            if (entity != null) {
+                cacheLoadedEntity(entity);
+                return entity;
+            }
+            sharedCacheInvalidationCount = sharedEntityCache.getInvalidationCount(entityClass);
+        }
+
         String selectStatement = dbSqlSessionFactory.getSelectStatement(entityClass);
         selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
         entity = (T) sqlSession.selectOne(selectStatement, id);
@@ -313,7 +372,10 @@ public class DbSqlSession implements Session {
             return null;
         }
 
-        entityCache.put(entity, true); // true -> store state so we can see later if it is updated later on
+        if (useSharedCache) {
+            sharedEntityCache.put(entity, sharedCacheInvalidationCount);
+        }
+        cacheLoadedEntity(entity);
         return entity;
     }
 
@@ -349,10 +411,21 @@ public class DbSqlSession implements Session {
             }
             return cachedEntity;
         }
-        entityCache.put(entity, true);
+        cacheLoadedEntity(entity);
         return entity;
     }
 
+    protected void cacheLoadedEntity(Entity entity) {
+        if (dbSqlSessionFactory.isDirtyTrackingEnabled() && entity instanceof DirtyTrackingEntity) {
+            // No need to store the state, the entity records its own changes from now on
+            ((DirtyTrackingEntity) entity).startDirtyTracking();
+            entityCache.put(entity, false);
+
+        } else {
+            entityCache.put(entity, true); // true -> store state so we can see later if it is updated later on
+        }
+    }
+
     // flush
     // ////////////////////////////////////////////////////////////////////
 
@@ -360,14 +433,45 @@ public class DbSqlSession implements Session {
     public void flush() {
         determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
         removeUnnecessaryOperations();
+        invalidateSharedEntityCache(); // Needs to be done before the flush, as the flush clears the updated and deleted objects
 
         if (LOGGER.isDebugEnabled()) {
             debugFlush();
         }
 
+        List<DbSqlSessionFlushListener> flushListeners = dbSqlSessionFactory.getFlushListeners();
+        if (flushListeners == null || flushListeners.isEmpty()) {
+            flushInserts();
+            flushUpdates();
+            flushDeletes();
+            return;
+        }
+
+        // The counts need to be taken before the flush, as the flush clears the inserted, updated and deleted objects
+        int insertCount = countEntities(insertedObjects);
+        int updateCount = updatedObjects.size();
+        int deleteCount = countEntities(deletedObjects);
+        for (List<BulkDeleteOperation> operations : bulkDeleteOperations.values()) {
+            deleteCount += operations.size();
+        }
+
+        long start = System.nanoTime();
         flushInserts();
         flushUpdates();
         flushDeletes();
+        long durationNanos = System.nanoTime() - start;
+
+        for (DbSqlSessionFlushListener flushListener : flushListeners) {
+            flushListener.flushed(insertCount, updateCount, deleteCount, durationNanos);
+        }
+    }
+
+    protected int countEntities(Map<Class<? extends Entity>, Map<String, Entity>> objects) {
+        int count = 0;
+        for (Map<String, Entity> entities : objects.values()) {
+            count += entities.size();
+        }
+        return count;
     }
 
     /**
@@ -402,6 +506,59 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Removes the updated and deleted entities from the {@link SharedEntityCache} once the transaction is committed.
+     * Bulk deletes remove all entities of their class, as the deleted ids are not known.
+     */
+    protected void invalidateSharedEntityCache() {
+        SharedEntityCache sharedEntityCache = dbSqlSessionFactory.getSharedEntityCache();
+        if (sharedEntityCache == null) {
+            return;
+        }
+
+        Map<Class<?>, Set<String>> invalidatedIds = new HashMap<>();
+        Set<Class<?>> invalidatedClasses = new HashSet<>();
+        for (Entity updatedObject : updatedObjects) {
+            if (sharedEntityCache.isCached(updatedObject.getClass())) {
+                invalidatedIds.computeIfAbsent(updatedObject.getClass(), key -> new HashSet<>()).add(updatedObject.getId());
+            }
+        }
+        for (Class<? extends Entity> entityClass : deletedObjects.keySet()) {
+            if (sharedEntityCache.isCached(entityClass) && !deletedObjects.get(entityClass).isEmpty()) {
+                invalidatedIds.computeIfAbsent(entityClass, key -> new HashSet<>()).addAll(deletedObjects.get(entityClass).keySet());
+            }
+        }
+        for (Class<? extends Entity> entityClass : bulkDeleteOperations.keySet()) {
+            if (sharedEntityCache.isCached(entityClass)) {
+                invalidatedClasses.add(entityClass);
+            }
+        }
+
+        if (invalidatedIds.isEmpty() && invalidatedClasses.isEmpty()) {
+            return;
+        }
+
+        TransactionListener invalidationListener = commandContext -> {
+            invalidatedIds.forEach((entityClass, ids) -> {
+                if (!invalidatedClasses.contains(entityClass)) {
+                    for (String id : ids) {
+                        sharedEntityCache.invalidate(entityClass, id);
+                    }
+                }
+            });
+            for (Class<?> entityClass : invalidatedClasses) {
+                sharedEntityCache.invalidateAll(entityClass);
+            }
+        };
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, invalidationListener);
+        } else {
+            invalidationListener.execute(null);
+        }
+    }
+
     public void determineUpdatedObjects() {
         updatedObjects = new ArrayList<>();
         Map<Class<?>, Map<String, CachedEntity>> cachedObjects = entityCache.getAllCachedEntities();
@@ -420,6 +577,10 @@ public class DbSqlSession implements Session {
                         (cachedEntity instanceof AlwaysUpdatedPersistentObject || !isEntityToBeDeleted(cachedEntity)) &&
                         cachedObject.hasChanged()) {
 
+                    if (cachedEntity instanceof DirtyTrackingEntity && ((DirtyTrackingEntity) cachedEntity).isDirtyTrackingActive()) {
+                        // Only built for changed entities, the update statements use it to only update the changed columns
+                        cachedEntity.setOriginalPersistentState(((DirtyTrackingEntity) cachedEntity).getTrackedOriginalPersistentState());
+                    }
                     updatedObjects.add(cachedEntity);
                 }
             }
@@ -567,13 +728,13 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+        if (dbSqlSessionFactory.isBatchFlushEnabled() && updatedObjects.size() > 1) {
+            flushBatchUpdates();
+            return;
+        }
 
-            if (updateStatement == null) {
-                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
-            }
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = getMappedUpdateStatement(updatedObject);
 
             LOGGER.debug("updating: {}", updatedObject);
 
@@ -591,6 +752,37 @@ public class DbSqlSession implements Session {
         updatedObjects.clear();
     }
 
+    /**
+     * Executes the updates as JDBC batches, one batch per update statement.
+     * The update count of every row is checked, so optimistic locking works the same as with regular updates.
+     */
+    protected void flushBatchUpdates() {
+        Map<String, List<Entity>> updatesByStatement = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            LOGGER.debug("updating (batched): {}", updatedObject);
+            updatesByStatement.computeIfAbsent(getMappedUpdateStatement(updatedObject), statement -> new ArrayList<>()).add(updatedObject);
+        }
+
+        executeBatch(updatesByStatement, entity -> true);
+
+        for (Entity updatedObject : updatedObjects) {
+            if (updatedObject instanceof HasRevision) {
+                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+            }
+        }
+        updatedObjects.clear();
+    }
+
+    protected String getMappedUpdateStatement(Entity updatedObject) {
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        }
+        return updateStatement;
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -633,6 +825,11 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBatchFlushEnabled() && entitiesToDelete.size() > 1) {
+            flushBatchDeleteEntities(entityClass, entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
             String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
             deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -653,17 +850,82 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Executes the deletes as JDBC batches. Like with regular deletes, only the update counts of entities with a revision are checked.
+     */
+    protected void flushBatchDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        Map<String, List<Entity>> deletesByStatement = new LinkedHashMap<>();
+        for (Entity entity : entitiesToDelete) {
+            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+            if (deleteStatement == null) {
+                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+            }
+            deletesByStatement.computeIfAbsent(deleteStatement, statement -> new ArrayList<>()).add(entity);
+        }
+
+        executeBatch(deletesByStatement, entity -> entity instanceof HasRevision);
+    }
+
+    /**
+     * Executes the given statements through a MyBatis batch executor sharing the connection of this session,
+     * and throws a {@link FlowableOptimisticLockingException} when a checked row was not updated or deleted.
+     */
+    protected void executeBatch(Map<String, List<Entity>> entitiesByStatement, Predicate<Entity> checkUpdateCount) {
+        Configuration configuration = sqlSession.getConfiguration();
+        Executor batchExecutor = configuration.newExecutor(new SharedConnectionTransaction(sqlSession.getConnection()), ExecutorType.BATCH);
+        batchStatementsExecuted = true;
+        try {
+            for (Map.Entry<String, List<Entity>> entry : entitiesByStatement.entrySet()) {
+                MappedStatement mappedStatement = configuration.getMappedStatement(entry.getKey());
+                for (Entity entity : entry.getValue()) {
+                    batchExecutor.update(mappedStatement, entity);
+                }
+            }
+
+            for (BatchResult batchResult : batchExecutor.flushStatements()) {
+                int[] updateCounts = batchResult.getUpdateCounts();
+                List<Object> parameterObjects = batchResult.getParameterObjects();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    Entity entity = (Entity) parameterObjects.get(i);
+                    if (!checkUpdateCount.test(entity)) {
+                        continue;
+                    }
+
+                    if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                        throw new FlowableException("The JDBC driver does not return the update counts of batched statements, "
+                                + "which are needed for optimistic locking. Batch flushing needs to be disabled for this database.");
+                    } else if (updateCounts[i] == 0) {
+                        throw new FlowableOptimisticLockingException(entity + " was updated by another transaction concurrently");
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            throw ExceptionFactory.wrapException("Error flushing batched statements.  Cause: " + e, e);
+
+        } finally {
+            batchExecutor.close(false);
+            ErrorContext.instance().reset();
+
+            // The local cache of the regular executor is not aware of the batched statements
+            sqlSession.clearCache();
+        }
+    }
+
     @Override
     public void close() {
         sqlSession.close();
     }
 
     public void commit() {
-        sqlSession.commit();
+        sqlSession.commit(batchStatementsExecuted);
+        batchStatementsExecuted = false;
     }
 
     public void rollback() {
-        sqlSession.rollback();
+        sqlSession.rollback(batchStatementsExecuted);
+        batchStatementsExecuted = false;
     }
 
     public <T> T getCustomMapper(Class<T> type) {
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.flowable.common.engine.api.FlowableException;
@@ -29,6 +30,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.Session;
 import org.flowable.common.engine.impl.interceptor.SessionFactory;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.common.engine.impl.persistence.cache.SharedEntityCache;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 
 /**
@@ -62,6 +64,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<>();
 
     protected int maxNrOfStatementsInBulkInsert = 100;
+
+    protected boolean isBatchFlushEnabled;
+
+    protected boolean isDirtyTrackingEnabled;
+
+    protected SharedEntityCache sharedEntityCache;
+
+    protected List<DbSqlSessionFlushListener> flushListeners;
     
     protected Map<String, Class<?>> logicalNameToClassMapping = new ConcurrentHashMap<>();
     
@@ -202,6 +212,45 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
 
+    public boolean isBatchFlushEnabled() {
+        return isBatchFlushEnabled;
+    }
+
+    public void setBatchFlushEnabled(boolean isBatchFlushEnabled) {
+        this.isBatchFlushEnabled = isBatchFlushEnabled;
+    }
+
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public void setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+    }
+
+    public SharedEntityCache getSharedEntityCache() {
+        return sharedEntityCache;
+    }
+
+    public void setSharedEntityCache(SharedEntityCache sharedEntityCache) {
+        this.sharedEntityCache = sharedEntityCache;
+    }
+
+    public List<DbSqlSessionFlushListener> getFlushListeners() {
+        return flushListeners;
+    }
+
+    public void setFlushListeners(List<DbSqlSessionFlushListener> flushListeners) {
+        this.flushListeners = flushListeners;
+    }
+
+    public void addFlushListener(DbSqlSessionFlushListener flushListener) {
+        if (flushListeners == null) {
+            flushListeners = new CopyOnWriteArrayList<>();
+        }
+        flushListeners.add(flushListener);
+    }
+
     public Map<Class<?>, String> getBulkInsertStatements() {
         return bulkInsertStatements;
     }
@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db;
+
+/**
+ * Notified by a {@link DbSqlSession} every time it flushes, with the number of entities that are written.
+ * Listeners are registered on the {@link DbSqlSessionFactory} and are called for every flush of every session,
+ * so implementations need to be thread-safe and cheap.
+ */
+public interface DbSqlSessionFlushListener {
+
+    /**
+     * Called after the flush has been executed.
+     *
+     * @param insertCount the number of inserted entities
+     * @param updateCount the number of updated entities
+     * @param deleteCount the number of deleted entities plus the number of bulk delete statements
+     * @param durationNanos the time it took to execute the flush, in nanoseconds
+     */
+    void flushed(int insertCount, int updateCount, int deleteCount, long durationNanos);
+
+}
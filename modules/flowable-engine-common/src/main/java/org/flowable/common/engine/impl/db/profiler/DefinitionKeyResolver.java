@@ -0,0 +1,30 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db.profiler;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * Determines the key of the definition (e.g. the process definition) a command is working on,
+ * so that the statements executed by the command can be attributed to it.
+ */
+public interface DefinitionKeyResolver {
+
+    /**
+     * Called after the statements of a profiled command, until a key is found.
+     *
+     * @return the definition key, or null when it can't be determined (yet)
+     */
+    String resolveDefinitionKey(CommandContext commandContext);
+
+}
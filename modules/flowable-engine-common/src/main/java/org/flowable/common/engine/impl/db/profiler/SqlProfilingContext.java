@@ -0,0 +1,66 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db.profiler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the statements executed by one profiled command, on the thread executing the command.
+ */
+public class SqlProfilingContext {
+
+    protected final String commandName;
+    protected String definitionKey;
+    protected boolean resolvingDefinitionKey;
+    protected final Map<String, long[]> statements = new HashMap<>();
+
+    public SqlProfilingContext(String commandName) {
+        this.commandName = commandName;
+    }
+
+    public void addStatement(String statementId, long durationNanos) {
+        long[] countAndTime = statements.computeIfAbsent(statementId, key -> new long[3]);
+        countAndTime[0]++;
+        countAndTime[1] += durationNanos;
+        countAndTime[2] = Math.max(countAndTime[2], durationNanos);
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public String getDefinitionKey() {
+        return definitionKey;
+    }
+
+    public void setDefinitionKey(String definitionKey) {
+        this.definitionKey = definitionKey;
+    }
+
+    public boolean isResolvingDefinitionKey() {
+        return resolvingDefinitionKey;
+    }
+
+    public void setResolvingDefinitionKey(boolean resolvingDefinitionKey) {
+        this.resolvingDefinitionKey = resolvingDefinitionKey;
+    }
+
+    /**
+     * The executed statements, mapped to their number of executions, total time and maximum time in nanoseconds.
+     */
+    public Map<String, long[]> getStatements() {
+        return statements;
+    }
+
+}
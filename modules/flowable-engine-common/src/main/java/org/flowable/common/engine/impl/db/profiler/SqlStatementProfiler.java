@@ -0,0 +1,273 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db.profiler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.management.SqlStatementProfile;
+import org.flowable.common.engine.impl.interceptor.Command;
+
+/**
+ * A sampling profiler of the SQL statements executed by commands, meant to be used in production.
+ * <p>
+ * Only a fraction of the command executions ({@link #setSampleRate(double)}) is profiled. For a profiled command, every MyBatis statement
+ * is timed and attributed to the command class and the definition key determined by the {@link DefinitionKeyResolver}.
+ * The aggregates are kept per time window ({@link #setWindowDuration(Duration)}): the current and the previous window are retained,
+ * so the reported numbers cover between one and two windows. The number of aggregates per window is bounded by
+ * {@link #setMaxAggregates(int)}; statements for new combinations are not recorded once a window is full.
+ */
+public class SqlStatementProfiler {
+
+    public static final double DEFAULT_SAMPLE_RATE = 0.01;
+    public static final int DEFAULT_MAX_AGGREGATES = 1000;
+    public static final Duration DEFAULT_WINDOW_DURATION = Duration.ofMinutes(10);
+
+    protected double sampleRate = DEFAULT_SAMPLE_RATE;
+    protected int maxAggregates = DEFAULT_MAX_AGGREGATES;
+    protected Duration windowDuration = DEFAULT_WINDOW_DURATION;
+    protected DefinitionKeyResolver definitionKeyResolver;
+
+    protected final ThreadLocal<SqlProfilingContext> currentContext = new ThreadLocal<>();
+    protected volatile Window currentWindow;
+    protected volatile Window previousWindow;
+
+    public SqlStatementProfiler() {
+        this.currentWindow = new Window(currentTimeMillis());
+    }
+
+    public boolean isSampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public SqlProfilingContext getCurrentContext() {
+        return currentContext.get();
+    }
+
+    public SqlProfilingContext startProfiling(Command<?> command) {
+        SqlProfilingContext profilingContext = new SqlProfilingContext(getCommandName(command));
+        currentContext.set(profilingContext);
+        return profilingContext;
+    }
+
+    public void stopProfiling(SqlProfilingContext profilingContext) {
+        currentContext.remove();
+
+        if (profilingContext.getStatements().isEmpty()) {
+            return;
+        }
+
+        Window window = getCurrentWindow();
+        for (Map.Entry<String, long[]> statement : profilingContext.getStatements().entrySet()) {
+            StatementKey key = new StatementKey(profilingContext.getCommandName(), profilingContext.getDefinitionKey(), statement.getKey());
+            window.record(key, statement.getValue(), maxAggregates);
+        }
+    }
+
+    /**
+     * Returns the statements with the highest total time in the current and previous window, highest first.
+     */
+    public List<SqlStatementProfile> getTopStatements(int maxResults) {
+        // Rotate the windows first, so an outdated previous window is not reported
+        Window current = getCurrentWindow();
+        Window previous = previousWindow;
+        Map<StatementKey, SqlStatementProfile> profiles = new HashMap<>();
+        if (previous != null) {
+            previous.addTo(profiles);
+        }
+        current.addTo(profiles);
+
+        List<SqlStatementProfile> result = new ArrayList<>(profiles.values());
+        result.sort(Comparator.comparingLong(SqlStatementProfile::getTotalTimeNanos).reversed());
+        return result.size() > maxResults ? new ArrayList<>(result.subList(0, maxResults)) : result;
+    }
+
+    /**
+     * The number of statements that were not recorded in the current and previous window, because the window was full.
+     */
+    public long getDroppedStatementCount() {
+        Window current = getCurrentWindow();
+        Window previous = previousWindow;
+        return current.droppedStatements.sum() + (previous != null ? previous.droppedStatements.sum() : 0);
+    }
+
+    public synchronized void reset() {
+        previousWindow = null;
+        currentWindow = new Window(currentTimeMillis());
+    }
+
+    protected Window getCurrentWindow() {
+        Window window = currentWindow;
+        long now = currentTimeMillis();
+        if (now - window.startTime < windowDuration.toMillis()) {
+            return window;
+        }
+
+        synchronized (this) {
+            window = currentWindow;
+            if (now - window.startTime >= windowDuration.toMillis()) {
+                // When more than one window has passed, the current window is no longer the previous one
+                previousWindow = now - window.startTime < 2 * windowDuration.toMillis() ? window : null;
+                window = new Window(now);
+                currentWindow = window;
+            }
+            return window;
+        }
+    }
+
+    protected String getCommandName(Command<?> command) {
+        String name = command.getClass().getName();
+        // Every lambda gets its own generated class, they are grouped under the class that declares them
+        int lambdaIndex = name.indexOf("$$Lambda");
+        return lambdaIndex > 0 ? name.substring(0, lambdaIndex) : name;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public SqlStatementProfiler setSampleRate(double sampleRate) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new FlowableIllegalArgumentException("sampleRate must be between 0 and 1, but was " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    public int getMaxAggregates() {
+        return maxAggregates;
+    }
+
+    public SqlStatementProfiler setMaxAggregates(int maxAggregates) {
+        if (maxAggregates <= 0) {
+            throw new FlowableIllegalArgumentException("maxAggregates must be positive, but was " + maxAggregates);
+        }
+        this.maxAggregates = maxAggregates;
+        return this;
+    }
+
+    public Duration getWindowDuration() {
+        return windowDuration;
+    }
+
+    public SqlStatementProfiler setWindowDuration(Duration windowDuration) {
+        if (windowDuration == null || windowDuration.isNegative() || windowDuration.isZero()) {
+            throw new FlowableIllegalArgumentException("windowDuration must be positive, but was " + windowDuration);
+        }
+        this.windowDuration = windowDuration;
+        return this;
+    }
+
+    public DefinitionKeyResolver getDefinitionKeyResolver() {
+        return definitionKeyResolver;
+    }
+
+    public SqlStatementProfiler setDefinitionKeyResolver(DefinitionKeyResolver definitionKeyResolver) {
+        this.definitionKeyResolver = definitionKeyResolver;
+        return this;
+    }
+
+    protected static class Window {
+
+        protected final long startTime;
+        protected final Map<StatementKey, StatementAggregate> aggregates = new ConcurrentHashMap<>();
+        protected final LongAdder droppedStatements = new LongAdder();
+
+        public Window(long startTime) {
+            this.startTime = startTime;
+        }
+
+        public void record(StatementKey key, long[] countTimeAndMax, int maxAggregates) {
+            StatementAggregate aggregate = aggregates.get(key);
+            if (aggregate == null) {
+                if (aggregates.size() >= maxAggregates) {
+                    droppedStatements.add(countTimeAndMax[0]);
+                    return;
+                }
+                aggregate = aggregates.computeIfAbsent(key, k -> new StatementAggregate());
+            }
+
+            aggregate.commandCount.increment();
+            aggregate.statementCount.add(countTimeAndMax[0]);
+            aggregate.totalTimeNanos.add(countTimeAndMax[1]);
+            aggregate.maxTimeNanos.accumulateAndGet(countTimeAndMax[2], Math::max);
+        }
+
+        public void addTo(Map<StatementKey, SqlStatementProfile> profiles) {
+            for (Map.Entry<StatementKey, StatementAggregate> entry : aggregates.entrySet()) {
+                StatementKey key = entry.getKey();
+                StatementAggregate aggregate = entry.getValue();
+                SqlStatementProfile profile = profiles.computeIfAbsent(key,
+                        k -> new SqlStatementProfile(k.commandName, k.definitionKey, k.statementId));
+                profile.setCommandCount(profile.getCommandCount() + aggregate.commandCount.sum());
+                profile.setStatementCount(profile.getStatementCount() + aggregate.statementCount.sum());
+                profile.setTotalTimeNanos(profile.getTotalTimeNanos() + aggregate.totalTimeNanos.sum());
+                profile.setMaxTimeNanos(Math.max(profile.getMaxTimeNanos(), aggregate.maxTimeNanos.get()));
+            }
+        }
+    }
+
+    protected static class StatementAggregate {
+
+        protected final LongAdder commandCount = new LongAdder();
+        protected final LongAdder statementCount = new LongAdder();
+        protected final LongAdder totalTimeNanos = new LongAdder();
+        protected final AtomicLong maxTimeNanos = new AtomicLong();
+    }
+
+    protected static class StatementKey {
+
+        protected final String commandName;
+        protected final String definitionKey;
+        protected final String statementId;
+
+        public StatementKey(String commandName, String definitionKey, String statementId) {
+            this.commandName = commandName;
+            this.definitionKey = definitionKey;
+            this.statementId = statementId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey other = (StatementKey) o;
+            return Objects.equals(commandName, other.commandName) && Objects.equals(definitionKey, other.definitionKey)
+                    && Objects.equals(statementId, other.statementId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(commandName, definitionKey, statementId);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db.profiler;
+
+import org.flowable.common.engine.impl.interceptor.AbstractCommandInterceptor;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Decides whether a command is profiled, and hands the statements it executed to the {@link SqlStatementProfiler} when it is done.
+ * Needs to be the first command interceptor, so that the statements of the flush are included.
+ * Statements of nested commands are attributed to the outermost command.
+ */
+public class SqlStatementProfilingCommandInterceptor extends AbstractCommandInterceptor {
+
+    protected SqlStatementProfiler sqlStatementProfiler;
+
+    public SqlStatementProfilingCommandInterceptor(SqlStatementProfiler sqlStatementProfiler) {
+        this.sqlStatementProfiler = sqlStatementProfiler;
+    }
+
+    @Override
+    public <T> T execute(CommandConfig config, Command<T> command, CommandExecutor commandExecutor) {
+        if (sqlStatementProfiler.getCurrentContext() != null || !sqlStatementProfiler.isSampled()) {
+            return next.execute(config, command, commandExecutor);
+        }
+
+        SqlProfilingContext profilingContext = sqlStatementProfiler.startProfiling(command);
+        try {
+            return next.execute(config, command, commandExecutor);
+        } finally {
+            sqlStatementProfiler.stopProfiling(profilingContext);
+        }
+    }
+
+}
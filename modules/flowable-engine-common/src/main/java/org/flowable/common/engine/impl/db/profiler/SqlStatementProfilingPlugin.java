@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db.profiler;
+
+import java.util.Properties;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * MyBatis plugin that records the statements executed on behalf of a profiled command.
+ * Statements executed outside of a profiled command only pay for a thread local lookup.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class })
+})
+public class SqlStatementProfilingPlugin implements Interceptor {
+
+    protected SqlStatementProfiler sqlStatementProfiler;
+
+    public SqlStatementProfilingPlugin(SqlStatementProfiler sqlStatementProfiler) {
+        this.sqlStatementProfiler = sqlStatementProfiler;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        SqlProfilingContext profilingContext = sqlStatementProfiler.getCurrentContext();
+        if (profilingContext == null) {
+            return invocation.proceed();
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            return invocation.proceed();
+
+        } finally {
+            MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+            profilingContext.addStatement(mappedStatement.getId(), System.nanoTime() - startTime);
+
+            // The resolver could execute statements itself
+            if (profilingContext.getDefinitionKey() == null && !profilingContext.isResolvingDefinitionKey()
+                    && sqlStatementProfiler.getDefinitionKeyResolver() != null) {
+                resolveDefinitionKey(profilingContext);
+            }
+        }
+    }
+
+    protected void resolveDefinitionKey(SqlProfilingContext profilingContext) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            profilingContext.setResolvingDefinitionKey(true);
+            try {
+                profilingContext.setDefinitionKey(sqlStatementProfiler.getDefinitionKeyResolver().resolveDefinitionKey(commandContext));
+            } finally {
+                profilingContext.setResolvingDefinitionKey(false);
+            }
+        }
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+
+    }
+}
@@ -159,6 +159,20 @@ public final class TreeValueExpression extends ValueExpression {
 		return node.getValueReference(bindings, context);
 	}
 
+	/**
+	 * @return the root of the parse tree
+	 */
+	public ExpressionNode getNode() {
+		return node;
+	}
+
+	/**
+	 * @return the function and variable bindings of this expression
+	 */
+	public Bindings getBindings() {
+		return bindings;
+	}
+
 	/**
 	 * Answer <code>true</code> if this could be used as an lvalue.
 	 * This is the case for eval expressions consisting of a simple identifier or
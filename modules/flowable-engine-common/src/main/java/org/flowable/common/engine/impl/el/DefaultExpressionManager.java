@@ -21,6 +21,9 @@ import java.util.function.BiFunction;
 import org.flowable.common.engine.api.delegate.Expression;
 import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
 import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.common.engine.impl.el.compiler.CompilingValueExpression;
+import org.flowable.common.engine.impl.el.compiler.ExpressionCompiler;
 import org.flowable.common.engine.impl.javax.el.ArrayELResolver;
 import org.flowable.common.engine.impl.javax.el.BeanELResolver;
 import org.flowable.common.engine.impl.javax.el.CompositeELResolver;
@@ -55,6 +58,9 @@ public class DefaultExpressionManager implements ExpressionManager {
     
     protected DeploymentCache<Expression> expressionCache;
     protected int expressionTextLengthCacheLimit = -1;
+    protected boolean fastPathEnabled = true;
+    protected ExpressionCompiler expressionCompiler = new ExpressionCompiler();
+    protected int expressionCompilationThreshold = -1; // negative value to never compile expressions
     
     protected List<ELResolver> preDefaultResolvers;
     protected List<ELResolver> postDefaultResolvers;
@@ -86,7 +92,16 @@ public class DefaultExpressionManager implements ExpressionManager {
         String expressionText = text.trim();
         
         ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expressionText, Object.class);
+        if (isCompilationEnabled() && valueExpression instanceof TreeValueExpression) {
+            valueExpression = new CompilingValueExpression((TreeValueExpression) valueExpression, expressionCompiler, expressionCompilationThreshold);
+        }
         Expression expression = createJuelExpression(text, valueExpression);
+        if (useFastPath()) {
+            Expression fastPathExpression = FastPathExpression.create(expressionText, expression, this::isFastPathIdentifier);
+            if (fastPathExpression != null) {
+                expression = fastPathExpression;
+            }
+        }
         
         if (isCacheEnabled(text)) {
             expressionCache.add(text, expression);
@@ -99,10 +114,30 @@ public class DefaultExpressionManager implements ExpressionManager {
         return expressionCache != null && (expressionTextLengthCacheLimit < 0 || text.length() <= expressionTextLengthCacheLimit);
     }
 
+    protected boolean isCompilationEnabled() {
+        return expressionCompiler != null && expressionCompilationThreshold >= 0;
+    }
+
     protected Expression createJuelExpression(String expression, ValueExpression valueExpression) {
         return new JuelExpression(this, valueExpression, expression);
     }
 
+    /**
+     * Whether simple expressions are evaluated by a {@link FastPathExpression}.
+     * This is only the case for the default expression factory, whose type conversions the fast path follows.
+     */
+    protected boolean useFastPath() {
+        return fastPathEnabled && expressionFactory instanceof FlowableExpressionFactory;
+    }
+
+    /**
+     * Whether the given identifier resolves to the variable with that name when the variable container has it.
+     * Subclasses with a variable resolver that resolves other identifiers before the variables need to exclude those.
+     */
+    protected boolean isFastPathIdentifier(String identifier) {
+        return !VariableContainerELResolver.LOGGED_IN_USER_KEY.equals(identifier);
+    }
+
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
     }
@@ -235,6 +270,34 @@ public class DefaultExpressionManager implements ExpressionManager {
         this.expressionTextLengthCacheLimit = expressionTextLengthCacheLimit;
     }
 
+    public boolean isFastPathEnabled() {
+        return fastPathEnabled;
+    }
+
+    public void setFastPathEnabled(boolean fastPathEnabled) {
+        this.fastPathEnabled = fastPathEnabled;
+    }
+
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
+
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    /**
+     * Sets the number of times an expression is interpreted before it is compiled.
+     * A negative value (the default) disables the compilation, 0 compiles the expressions on their first evaluation.
+     */
+    public void setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+    }
+
     public void addPreDefaultResolver(ELResolver elResolver) {
         if (this.preDefaultResolvers == null) {
             this.preDefaultResolvers = new ArrayList<>();
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.FrequencyEvictingCache;
+
+/**
+ * A bounded cache for parsed {@link Expression} instances, keyed by the expression text.
+ * <p>
+ * The least frequently used expressions are evicted when the cache grows beyond its limit, see {@link FrequencyEvictingCache}.
+ * <p>
+ * The cache keeps the number of hits of every cached expression, and the overall hit and miss counts.
+ */
+public class ExpressionCache implements DeploymentCache<Expression> {
+
+    protected final FrequencyEvictingCache<CachedExpression> cache;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+
+    public ExpressionCache(int limit) {
+        this.cache = new FrequencyEvictingCache<>("Expression cache", limit);
+    }
+
+    @Override
+    public Expression get(String id) {
+        CachedExpression cachedExpression = cache.get(id);
+        if (cachedExpression == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        cachedExpression.hitCount.increment();
+        return cachedExpression.expression;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return cache.containsKey(id);
+    }
+
+    @Override
+    public void add(String id, Expression expression) {
+        cache.put(id, new CachedExpression(expression));
+    }
+
+    @Override
+    public void remove(String id) {
+        cache.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public Collection<Expression> getAll() {
+        List<Expression> expressions = new ArrayList<>(cache.size());
+        for (CachedExpression cachedExpression : cache.values()) {
+            expressions.add(cachedExpression.expression);
+        }
+        return expressions;
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    public int getLimit() {
+        return cache.getLimit();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * The fraction of the lookups that found the expression in the cache, or 0 when there were no lookups yet.
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long lookups = hits + missCount.sum();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Returns the number of hits of every cached expression since it was added to the cache, most hits first.
+     */
+    public Map<String, Long> getExpressionHitCounts() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(cache.size());
+        cache.forEach((expressionText, cachedExpression) -> entries.add(Map.entry(expressionText, cachedExpression.hitCount.sum())));
+        entries.sort(Map.Entry.<String, Long> comparingByValue(Comparator.reverseOrder()));
+
+        Map<String, Long> hitCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            hitCounts.put(entry.getKey(), entry.getValue());
+        }
+        return hitCounts;
+    }
+
+    protected static class CachedExpression {
+
+        protected final Expression expression;
+        protected final LongAdder hitCount = new LongAdder();
+
+        public CachedExpression(Expression expression) {
+            this.expression = expression;
+        }
+    }
+}
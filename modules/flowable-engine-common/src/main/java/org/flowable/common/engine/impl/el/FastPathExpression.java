@@ -0,0 +1,182 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import java.io.Serializable;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.BooleanOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.TypeConverter;
+
+/**
+ * An {@link Expression} for the most common simple expressions: a single variable, like <code>${approved}</code>,
+ * and the comparison of a variable with another variable or a literal, like <code>${status == 'open'}</code> or <code>${a != b}</code>.
+ * <p>
+ * These expressions are evaluated directly on the variable container, without evaluating the JUEL tree or setting up an ELContext.
+ * Whenever an identifier is not a variable of the container, or the evaluation fails, the full JUEL expression is evaluated instead,
+ * so the result is always the one of the JUEL expression.
+ */
+public class FastPathExpression implements Expression {
+
+    private static final long serialVersionUID = 1L;
+
+    protected static final String OPERAND = "([A-Za-z_][A-Za-z0-9_]*|'[^'\\\\]*'|\"[^\"\\\\]*\"|[0-9]{1,18})";
+    protected static final Pattern VARIABLE_PATTERN = Pattern.compile("^\\$\\{\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*}$");
+    protected static final Pattern COMPARISON_PATTERN = Pattern.compile("^\\$\\{\\s*" + OPERAND + "\\s*(==|!=)\\s*" + OPERAND + "\\s*}$");
+
+    protected final Expression juelExpression;
+    protected final Operand left;
+    protected final boolean negated;
+    protected final Operand right;
+
+    protected FastPathExpression(Expression juelExpression, Operand left, boolean negated, Operand right) {
+        this.juelExpression = juelExpression;
+        this.left = left;
+        this.negated = negated;
+        this.right = right;
+    }
+
+    /**
+     * Returns a fast path expression for the given expression text, or null when the text is not one of the supported simple expressions.
+     *
+     * @param juelExpression the JUEL expression for the same text, used when the fast path can't be taken
+     * @param fastPathIdentifier whether an identifier can be resolved as a variable of the variable container,
+     *                           which is not the case for identifiers that are resolved before the variables, like <code>execution</code>
+     */
+    public static FastPathExpression create(String expressionText, Expression juelExpression, Predicate<String> fastPathIdentifier) {
+        Matcher variableMatcher = VARIABLE_PATTERN.matcher(expressionText);
+        if (variableMatcher.matches()) {
+            Operand operand = createOperand(variableMatcher.group(1), fastPathIdentifier);
+            return operand != null && operand.variableName != null ? new FastPathExpression(juelExpression, operand, false, null) : null;
+        }
+
+        Matcher comparisonMatcher = COMPARISON_PATTERN.matcher(expressionText);
+        if (comparisonMatcher.matches()) {
+            Operand left = createOperand(comparisonMatcher.group(1), fastPathIdentifier);
+            Operand right = createOperand(comparisonMatcher.group(3), fastPathIdentifier);
+            if (left != null && right != null) {
+                return new FastPathExpression(juelExpression, left, "!=".equals(comparisonMatcher.group(2)), right);
+            }
+        }
+
+        return null;
+    }
+
+    protected static Operand createOperand(String text, Predicate<String> fastPathIdentifier) {
+        char first = text.charAt(0);
+        if (first == '\'' || first == '"') {
+            return Operand.literal(text.substring(1, text.length() - 1));
+        } else if (Character.isDigit(first)) {
+            return Operand.literal(Long.valueOf(text));
+        }
+
+        switch (text) {
+            case "true":
+                return Operand.literal(Boolean.TRUE);
+            case "false":
+                return Operand.literal(Boolean.FALSE);
+            case "null":
+                return Operand.literal(null);
+            case "empty":
+            case "not":
+            case "and":
+            case "or":
+            case "div":
+            case "mod":
+            case "eq":
+            case "ne":
+            case "lt":
+            case "gt":
+            case "le":
+            case "ge":
+            case "instanceof":
+                // Reserved words of the expression language
+                return null;
+            default:
+                return fastPathIdentifier.test(text) ? Operand.variable(text) : null;
+        }
+    }
+
+    @Override
+    public Object getValue(VariableContainer variableContainer) {
+        if (variableContainer == null || !left.isResolvable(variableContainer) || (right != null && !right.isResolvable(variableContainer))) {
+            return juelExpression.getValue(variableContainer);
+        }
+
+        Object leftValue = left.getValue(variableContainer);
+        if (right == null) {
+            return leftValue;
+        }
+
+        Object rightValue = right.getValue(variableContainer);
+        try {
+            boolean equal = BooleanOperations.eq(TypeConverter.DEFAULT, leftValue, rightValue);
+            return negated != equal;
+        } catch (RuntimeException e) {
+            // Let the JUEL expression report the failure
+            return juelExpression.getValue(variableContainer);
+        }
+    }
+
+    @Override
+    public void setValue(Object value, VariableContainer variableContainer) {
+        juelExpression.setValue(value, variableContainer);
+    }
+
+    @Override
+    public String getExpressionText() {
+        return juelExpression.getExpressionText();
+    }
+
+    public Expression getJuelExpression() {
+        return juelExpression;
+    }
+
+    @Override
+    public String toString() {
+        return juelExpression.toString();
+    }
+
+    protected static class Operand implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final String variableName;
+        protected final Object literal;
+
+        protected Operand(String variableName, Object literal) {
+            this.variableName = variableName;
+            this.literal = literal;
+        }
+
+        public static Operand variable(String variableName) {
+            return new Operand(variableName, null);
+        }
+
+        public static Operand literal(Object literal) {
+            return new Operand(null, literal);
+        }
+
+        public boolean isResolvable(VariableContainer variableContainer) {
+            return variableName == null || variableContainer.hasVariable(variableName);
+        }
+
+        public Object getValue(VariableContainer variableContainer) {
+            return variableName != null ? variableContainer.getVariable(variableName) : literal;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * A node of a compiled expression tree.
+ * The bindings, literals and operators of the expression are resolved when the node is created,
+ * so evaluating it only needs the context.
+ */
+@FunctionalInterface
+public interface CompiledNode {
+
+    Object eval(ELContext context);
+
+}
@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.ValueExpression;
+import org.flowable.common.engine.impl.javax.el.ValueReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ValueExpression} that is interpreted until it has been evaluated a number of times,
+ * after which it is compiled with an {@link ExpressionCompiler} and evaluated through the compiled tree.
+ * When the expression can't be compiled, it keeps being interpreted.
+ * Everything except {@link #getValue(ELContext)} is delegated to the interpreted expression.
+ */
+public class CompilingValueExpression extends ValueExpression {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompilingValueExpression.class);
+
+    protected final TreeValueExpression expression;
+    protected final int compilationThreshold;
+    protected transient ExpressionCompiler compiler;
+
+    // Not synchronized: it doesn't matter whether the compilation happens a few evaluations later
+    protected transient int evaluationCount;
+    protected transient volatile boolean compilationAttempted;
+    protected transient volatile CompiledNode compiledNode;
+
+    /**
+     * @param compilationThreshold the number of evaluations that are interpreted before the expression is compiled
+     */
+    public CompilingValueExpression(TreeValueExpression expression, ExpressionCompiler compiler, int compilationThreshold) {
+        this.expression = expression;
+        this.compiler = compiler;
+        this.compilationThreshold = compilationThreshold;
+    }
+
+    @Override
+    public Object getValue(ELContext context) {
+        CompiledNode node = compiledNode;
+        if (node == null && !compilationAttempted && ++evaluationCount > compilationThreshold) {
+            node = compile();
+        }
+
+        if (node != null) {
+            return expression.getBindings().convert(node.eval(context), expression.getExpectedType());
+        }
+        return expression.getValue(context);
+    }
+
+    protected synchronized CompiledNode compile() {
+        if (!compilationAttempted) {
+            if (compiler != null) {
+                try {
+                    compiledNode = compiler.compile(expression);
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Could not compile expression {}, it will be interpreted", expression.getExpressionString(), e);
+                }
+            }
+            compilationAttempted = true;
+        }
+        return compiledNode;
+    }
+
+    public boolean isCompiled() {
+        return compiledNode != null;
+    }
+
+    @Override
+    public Class<?> getExpectedType() {
+        return expression.getExpectedType();
+    }
+
+    @Override
+    public Class<?> getType(ELContext context) {
+        return expression.getType(context);
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context) {
+        return expression.isReadOnly(context);
+    }
+
+    @Override
+    public void setValue(ELContext context, Object value) {
+        expression.setValue(context, value);
+    }
+
+    @Override
+    public ValueReference getValueReference(ELContext context) {
+        return expression.getValueReference(context);
+    }
+
+    @Override
+    public String getExpressionString() {
+        return expression.getExpressionString();
+    }
+
+    @Override
+    public boolean isLiteralText() {
+        return expression.isLiteralText();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj.getClass() == getClass()) {
+            return expression.equals(((CompilingValueExpression) obj).expression);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompilingValueExpression(" + expression.getExpressionString() + ")";
+    }
+}
@@ -0,0 +1,398 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.BooleanOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.LocalMessages;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.NumberOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.TypeConverter;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.ExpressionNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBinary;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBoolean;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBracket;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstChoice;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstComposite;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstDot;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstEval;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstIdentifier;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNested;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNull;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNumber;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstString;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstText;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstUnary;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.PropertyNotFoundException;
+
+/**
+ * Compiles the parse tree of a {@link TreeValueExpression} into a tree of {@link CompiledNode}s.
+ * <p>
+ * The interpreter dispatches every node through its operator objects and looks up the variable bindings on each evaluation.
+ * The compiled tree resolves these once: operators are bound to their operation, literals and constant sub expressions
+ * are evaluated up front and unbound identifiers go straight to the {@link org.flowable.common.engine.impl.javax.el.ELResolver}.
+ * Properties and identifiers are still resolved through the resolvers of the context, so the result is always the same as the interpreter's.
+ * <p>
+ * Nodes that are not supported (functions, method invocations, bound variables, custom nodes) are delegated to the interpreter.
+ * When nothing of the expression can be compiled, {@link #compile(TreeValueExpression)} returns null.
+ */
+public class ExpressionCompiler {
+
+    protected static final Map<AstBinary.Operator, BinaryOperation> BINARY_OPERATIONS = new HashMap<>();
+    protected static final Map<AstUnary.Operator, UnaryOperation> UNARY_OPERATIONS = new HashMap<>();
+
+    static {
+        BINARY_OPERATIONS.put(AstBinary.ADD, NumberOperations::add);
+        BINARY_OPERATIONS.put(AstBinary.SUB, NumberOperations::sub);
+        BINARY_OPERATIONS.put(AstBinary.MUL, NumberOperations::mul);
+        BINARY_OPERATIONS.put(AstBinary.DIV, NumberOperations::div);
+        BINARY_OPERATIONS.put(AstBinary.MOD, NumberOperations::mod);
+        BINARY_OPERATIONS.put(AstBinary.EQ, BooleanOperations::eq);
+        BINARY_OPERATIONS.put(AstBinary.NE, BooleanOperations::ne);
+        BINARY_OPERATIONS.put(AstBinary.LT, BooleanOperations::lt);
+        BINARY_OPERATIONS.put(AstBinary.GT, BooleanOperations::gt);
+        BINARY_OPERATIONS.put(AstBinary.LE, BooleanOperations::le);
+        BINARY_OPERATIONS.put(AstBinary.GE, BooleanOperations::ge);
+
+        UNARY_OPERATIONS.put(AstUnary.NEG, NumberOperations::neg);
+        UNARY_OPERATIONS.put(AstUnary.EMPTY, BooleanOperations::empty);
+        UNARY_OPERATIONS.put(AstUnary.NOT, (converter, value) -> !converter.convert(value, Boolean.class));
+    }
+
+    /**
+     * @return the compiled expression, or null when the expression can't be compiled
+     */
+    public CompiledNode compile(TreeValueExpression expression) {
+        ExpressionNode root = expression.getNode();
+        if (!(root instanceof AstNode)) {
+            return null;
+        }
+
+        CompiledNode compiledNode = compileNode((AstNode) root, expression.getBindings());
+        if (compiledNode instanceof InterpretedNode) {
+            return null;
+        }
+        return compiledNode;
+    }
+
+    protected CompiledNode compileNode(AstNode node, Bindings bindings) {
+        Class<?> nodeClass = node.getClass();
+        if (nodeClass == AstEval.class || nodeClass == AstNested.class) {
+            return compileNode(getChild(node, 0), bindings);
+
+        } else if (nodeClass == AstText.class || nodeClass == AstString.class || nodeClass == AstNumber.class
+                || nodeClass == AstBoolean.class || nodeClass == AstNull.class) {
+            return new ConstantNode(node.eval(bindings, null));
+
+        } else if (nodeClass == AstIdentifier.class) {
+            AstIdentifier identifier = (AstIdentifier) node;
+            if (bindings != null && bindings.isVariableBound(identifier.getIndex())) {
+                return new InterpretedNode(node, bindings);
+            }
+            return new IdentifierNode(identifier.getName());
+
+        } else if (nodeClass == AstBinary.class) {
+            return compileBinary((AstBinary) node, bindings);
+
+        } else if (nodeClass == AstUnary.class) {
+            return compileUnary((AstUnary) node, bindings);
+
+        } else if (nodeClass == AstChoice.class) {
+            return new ChoiceNode(bindings, compileNode(getChild(node, 0), bindings), compileNode(getChild(node, 1), bindings),
+                    compileNode(getChild(node, 2), bindings));
+
+        } else if (nodeClass == AstComposite.class) {
+            CompiledNode[] parts = new CompiledNode[node.getCardinality()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = compileNode(getChild(node, i), bindings);
+            }
+            return new CompositeNode(bindings, parts);
+
+        } else if (nodeClass == AstDot.class) {
+            AstDot dot = (AstDot) node;
+            return new PropertyNode(compileNode(getChild(dot, 0), bindings), new ConstantNode(dot.getPropertyName()), dot.isStrict());
+
+        } else if (nodeClass == AstBracket.class) {
+            AstBracket bracket = (AstBracket) node;
+            return new PropertyNode(compileNode(getChild(bracket, 0), bindings), compileNode(getChild(bracket, 1), bindings), bracket.isStrict());
+        }
+
+        return new InterpretedNode(node, bindings);
+    }
+
+    protected CompiledNode compileBinary(AstBinary node, Bindings bindings) {
+        AstBinary.Operator operator = node.getOperator();
+        CompiledNode left = compileNode(getChild(node, 0), bindings);
+        CompiledNode right = compileNode(getChild(node, 1), bindings);
+
+        CompiledNode compiledNode;
+        if (operator == AstBinary.AND) {
+            compiledNode = new AndNode(bindings, left, right);
+        } else if (operator == AstBinary.OR) {
+            compiledNode = new OrNode(bindings, left, right);
+        } else if (BINARY_OPERATIONS.containsKey(operator)) {
+            compiledNode = new BinaryNode(bindings, BINARY_OPERATIONS.get(operator), left, right);
+        } else {
+            return new InterpretedNode(node, bindings);
+        }
+
+        if (left instanceof ConstantNode && right instanceof ConstantNode) {
+            return foldConstant(compiledNode);
+        }
+        return compiledNode;
+    }
+
+    protected CompiledNode compileUnary(AstUnary node, Bindings bindings) {
+        UnaryOperation operation = UNARY_OPERATIONS.get(node.getOperator());
+        if (operation == null) {
+            return new InterpretedNode(node, bindings);
+        }
+
+        CompiledNode child = compileNode(getChild(node, 0), bindings);
+        CompiledNode compiledNode = new UnaryNode(bindings, operation, child);
+        if (child instanceof ConstantNode) {
+            return foldConstant(compiledNode);
+        }
+        return compiledNode;
+    }
+
+    protected AstNode getChild(AstNode node, int index) {
+        return (AstNode) node.getChild(index);
+    }
+
+    /**
+     * Evaluates an operation on constants once. When the evaluation fails, the operation is kept,
+     * so the failure is reported when the expression is evaluated, like the interpreter does.
+     */
+    protected CompiledNode foldConstant(CompiledNode node) {
+        try {
+            return new ConstantNode(node.eval(null));
+        } catch (RuntimeException e) {
+            return node;
+        }
+    }
+
+    @FunctionalInterface
+    protected interface BinaryOperation {
+
+        Object apply(TypeConverter converter, Object left, Object right);
+    }
+
+    @FunctionalInterface
+    protected interface UnaryOperation {
+
+        Object apply(TypeConverter converter, Object value);
+    }
+
+    protected static class ConstantNode implements CompiledNode {
+
+        protected final Object value;
+
+        public ConstantNode(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            return value;
+        }
+    }
+
+    protected static class InterpretedNode implements CompiledNode {
+
+        protected final AstNode node;
+        protected final Bindings bindings;
+
+        public InterpretedNode(AstNode node, Bindings bindings) {
+            this.node = node;
+            this.bindings = bindings;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            return node.eval(bindings, context);
+        }
+    }
+
+    protected static class IdentifierNode implements CompiledNode {
+
+        protected final String name;
+
+        public IdentifierNode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            context.setPropertyResolved(false);
+            Object result = context.getELResolver().getValue(context, null, name);
+            if (!context.isPropertyResolved()) {
+                throw new PropertyNotFoundException(LocalMessages.get("error.identifier.property.notfound", name));
+            }
+            return result;
+        }
+    }
+
+    protected static class PropertyNode implements CompiledNode {
+
+        protected final CompiledNode prefix;
+        protected final CompiledNode property;
+        protected final boolean strict;
+
+        public PropertyNode(CompiledNode prefix, CompiledNode property, boolean strict) {
+            this.prefix = prefix;
+            this.property = property;
+            this.strict = strict;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            Object base = prefix.eval(context);
+            if (base == null) {
+                return null;
+            }
+            Object propertyValue = property.eval(context);
+            if (propertyValue == null && strict) {
+                return null;
+            }
+            context.setPropertyResolved(false);
+            Object result = context.getELResolver().getValue(context, base, propertyValue);
+            if (!context.isPropertyResolved()) {
+                throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", propertyValue, base));
+            }
+            return result;
+        }
+    }
+
+    protected static class BinaryNode implements CompiledNode {
+
+        protected final TypeConverter converter;
+        protected final BinaryOperation operation;
+        protected final CompiledNode left;
+        protected final CompiledNode right;
+
+        public BinaryNode(TypeConverter converter, BinaryOperation operation, CompiledNode left, CompiledNode right) {
+            this.converter = converter;
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            return operation.apply(converter, left.eval(context), right.eval(context));
+        }
+    }
+
+    protected static class AndNode implements CompiledNode {
+
+        protected final TypeConverter converter;
+        protected final CompiledNode left;
+        protected final CompiledNode right;
+
+        public AndNode(TypeConverter converter, CompiledNode left, CompiledNode right) {
+            this.converter = converter;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            Boolean value = converter.convert(left.eval(context), Boolean.class);
+            return Boolean.TRUE.equals(value) ? converter.convert(right.eval(context), Boolean.class) : Boolean.FALSE;
+        }
+    }
+
+    protected static class OrNode implements CompiledNode {
+
+        protected final TypeConverter converter;
+        protected final CompiledNode left;
+        protected final CompiledNode right;
+
+        public OrNode(TypeConverter converter, CompiledNode left, CompiledNode right) {
+            this.converter = converter;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            Boolean value = converter.convert(left.eval(context), Boolean.class);
+            return Boolean.TRUE.equals(value) ? Boolean.TRUE : converter.convert(right.eval(context), Boolean.class);
+        }
+    }
+
+    protected static class UnaryNode implements CompiledNode {
+
+        protected final TypeConverter converter;
+        protected final UnaryOperation operation;
+        protected final CompiledNode child;
+
+        public UnaryNode(TypeConverter converter, UnaryOperation operation, CompiledNode child) {
+            this.converter = converter;
+            this.operation = operation;
+            this.child = child;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            return operation.apply(converter, child.eval(context));
+        }
+    }
+
+    protected static class ChoiceNode implements CompiledNode {
+
+        protected final TypeConverter converter;
+        protected final CompiledNode question;
+        protected final CompiledNode yes;
+        protected final CompiledNode no;
+
+        public ChoiceNode(TypeConverter converter, CompiledNode question, CompiledNode yes, CompiledNode no) {
+            this.converter = converter;
+            this.question = question;
+            this.yes = yes;
+            this.no = no;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            Boolean value = converter.convert(question.eval(context), Boolean.class);
+            return value.booleanValue() ? yes.eval(context) : no.eval(context);
+        }
+    }
+
+    protected static class CompositeNode implements CompiledNode {
+
+        protected final TypeConverter converter;
+        protected final CompiledNode[] parts;
+
+        public CompositeNode(TypeConverter converter, CompiledNode[] parts) {
+            this.converter = converter;
+            this.parts = parts;
+        }
+
+        @Override
+        public Object eval(ELContext context) {
+            StringBuilder builder = new StringBuilder();
+            for (CompiledNode part : parts) {
+                builder.append(converter.convert(part.eval(context), String.class));
+            }
+            return builder.toString();
+        }
+    }
+}
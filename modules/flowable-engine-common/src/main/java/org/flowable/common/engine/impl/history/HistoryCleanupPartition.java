@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.history;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A part of the finished instances that are removed by the history cleanup: the instances that ended in a time range,
+ * and that have an id greater than the last id that was already removed.
+ * Partitions with different time ranges are cleaned up independently of each other.
+ */
+public class HistoryCleanupPartition {
+
+    protected Date startTime;
+    protected Date endTime;
+    protected String afterId;
+
+    /**
+     * @param startTime the inclusive start of the end time range
+     * @param endTime the exclusive end of the end time range
+     * @param afterId the instances with an id up to and including this id are already removed, null if none are
+     */
+    public HistoryCleanupPartition(Date startTime, Date endTime, String afterId) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Splits the time range between the earliest end time and the ended before time in partitions of equal length.
+     * Returns no partitions when the earliest end time is not before the ended before time.
+     */
+    public static List<HistoryCleanupPartition> create(Date earliestEndTime, Date endedBefore, int partitionCount) {
+        List<HistoryCleanupPartition> partitions = new ArrayList<>(partitionCount);
+        if (earliestEndTime == null || !earliestEndTime.before(endedBefore)) {
+            return partitions;
+        }
+
+        long start = earliestEndTime.getTime();
+        long end = endedBefore.getTime();
+        long partitionLength = Math.max(1, (end - start + partitionCount - 1) / partitionCount);
+        for (long partitionStart = start; partitionStart < end; partitionStart += partitionLength) {
+            long partitionEnd = Math.min(partitionStart + partitionLength, end);
+            partitions.add(new HistoryCleanupPartition(new Date(partitionStart), new Date(partitionEnd), null));
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns the part of this partition that remains after the instances up to and including the given id were removed.
+     */
+    public HistoryCleanupPartition next(String lastId) {
+        return new HistoryCleanupPartition(startTime, endTime, lastId);
+    }
+
+    public String toJson(ObjectMapper objectMapper) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("startTime", startTime.getTime());
+        node.put("endTime", endTime.getTime());
+        if (afterId != null) {
+            node.put("afterId", afterId);
+        }
+        return node.toString();
+    }
+
+    public static HistoryCleanupPartition fromJson(ObjectMapper objectMapper, String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return new HistoryCleanupPartition(new Date(node.path("startTime").longValue()), new Date(node.path("endTime").longValue()),
+                    node.path("afterId").textValue());
+
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not read history cleanup partition " + json, e);
+        }
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    public String getAfterId() {
+        return afterId;
+    }
+
+    @Override
+    public String toString() {
+        return "HistoryCleanupPartition[startTime=" + startTime + ", endTime=" + endTime + ", afterId=" + afterId + "]";
+    }
+}
@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.history;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Removes the finished instances of a {@link HistoryCleanupPartition} chunk by chunk, with set based delete statements.
+ * <p>
+ * The select statement returns the ids of the instances of the partition in ascending order.
+ * The delete statements remove the rows of one history table each, for the instances of the partition with an id up to the last id of the chunk.
+ * They are executed in the given order, so the rows that other rows are found through need to be deleted last.
+ * Update statements can be part of them as well, like for dereferencing the deduplicated byte arrays of the deleted rows.
+ * All statements get a {@link ListQueryParameterObject} with a map parameter holding
+ * the {@code startTime}, {@code endTime}, {@code afterId} and {@code lastId} of the chunk, next to the given parameters.
+ */
+public class PartitionedHistoryCleaner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedHistoryCleaner.class);
+
+    protected String selectInstanceIdsStatement;
+    protected List<String> deleteStatements;
+
+    public PartitionedHistoryCleaner(String selectInstanceIdsStatement, List<String> deleteStatements) {
+        this.selectInstanceIdsStatement = selectInstanceIdsStatement;
+        this.deleteStatements = deleteStatements;
+    }
+
+    /**
+     * Removes at most chunkSize instances of the partition.
+     *
+     * @return the partition with the remaining instances, or null if all instances of the partition have been removed
+     */
+    @SuppressWarnings("unchecked")
+    public HistoryCleanupPartition cleanChunk(DbSqlSession dbSqlSession, HistoryCleanupPartition partition, int chunkSize, Map<String, Object> parameters) {
+        Map<String, Object> chunkParameters = createParameters(partition, parameters);
+
+        ListQueryParameterObject parameterObject = new ListQueryParameterObject(chunkParameters, 0, chunkSize);
+        List<String> instanceIds = dbSqlSession.selectList(selectInstanceIdsStatement, parameterObject);
+        if (instanceIds.isEmpty()) {
+            return null;
+        }
+
+        String lastId = instanceIds.get(instanceIds.size() - 1);
+        chunkParameters.put("lastId", lastId);
+        executeDeleteStatements(dbSqlSession, partition, parameterObject);
+
+        return instanceIds.size() < chunkSize ? null : partition.next(lastId);
+    }
+
+    /**
+     * Removes all instances of the partition with one execution of each delete statement, without selecting their ids first.
+     */
+    public void cleanAll(DbSqlSession dbSqlSession, HistoryCleanupPartition partition, Map<String, Object> parameters) {
+        executeDeleteStatements(dbSqlSession, partition, new ListQueryParameterObject(createParameters(partition, parameters), 0, Integer.MAX_VALUE));
+    }
+
+    protected Map<String, Object> createParameters(HistoryCleanupPartition partition, Map<String, Object> parameters) {
+        Map<String, Object> partitionParameters = new HashMap<>(parameters);
+        partitionParameters.put("startTime", partition.getStartTime());
+        partitionParameters.put("endTime", partition.getEndTime());
+        partitionParameters.put("afterId", partition.getAfterId());
+        return partitionParameters;
+    }
+
+    protected void executeDeleteStatements(DbSqlSession dbSqlSession, HistoryCleanupPartition partition, ListQueryParameterObject parameterObject) {
+        for (String deleteStatement : deleteStatements) {
+            int deletedRows = dbSqlSession.directDelete(deleteStatement, parameterObject);
+            LOGGER.debug("History cleanup of {} deleted {} rows with {}", partition, deletedRows, deleteStatement);
+        }
+    }
+
+    public String getSelectInstanceIdsStatement() {
+        return selectInstanceIdsStatement;
+    }
+
+    public List<String> getDeleteStatements() {
+        return deleteStatements;
+    }
+}
@@ -19,6 +19,10 @@ import java.beans.FeatureDescriptor;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collections;
@@ -73,6 +77,8 @@ public class BeanELResolver extends ELResolver {
 		
 		private Method readMethod;
 		private Method writedMethod;
+		private MethodHandle readHandle;
+		private boolean readHandleResolved;
 
 		public BeanProperty(Class<?> owner, PropertyDescriptor descriptor) {
 			this.owner = owner;
@@ -90,6 +96,25 @@ public class BeanELResolver extends ELResolver {
 			return readMethod;
 		}
 
+		/**
+		 * The read method as a method handle of type (Object)Object, which avoids the reflective
+		 * invocation on every read. Returns null when the read method can't be unreflected.
+		 */
+		public MethodHandle getReadHandle(Object base) {
+			if (!readHandleResolved) {
+				Method method = getReadMethod(base);
+				if (method != null) {
+					try {
+						readHandle = MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+					} catch (IllegalAccessException | WrongMethodTypeException e) {
+						readHandle = null;
+					}
+				}
+				readHandleResolved = true;
+			}
+			return readHandle;
+		}
+
 		public Method getWriteMethod(Object base) {
 			if (writedMethod == null) {
 				writedMethod = Util.getMethod(owner, base, descriptor.getWriteMethod());
@@ -281,16 +306,26 @@ public class BeanELResolver extends ELResolver {
 		if (isResolvable(base)) {
 			BeanProperty beanProperty = toBeanProperty(base, property);
 			if (beanProperty != null) {
-				Method method = beanProperty.getReadMethod(base);
-				if (method != null) {
+				MethodHandle handle = beanProperty.getReadHandle(base);
+				if (handle != null) {
 					try {
-						result = method.invoke(base);
-					} catch (InvocationTargetException e) {
-						throw new ELException(e.getCause());
-					} catch (Exception e) {
+						result = (Object) handle.invokeExact(base);
+					} catch (Throwable e) {
 						throw new ELException(e);
 					}
 					context.setPropertyResolved(true);
+				} else {
+					Method method = beanProperty.getReadMethod(base);
+					if (method != null) {
+						try {
+							result = method.invoke(base);
+						} catch (InvocationTargetException e) {
+							throw new ELException(e.getCause());
+						} catch (Exception e) {
+							throw new ELException(e);
+						}
+						context.setPropertyResolved(true);
+					}
 				}
 			}
 		}
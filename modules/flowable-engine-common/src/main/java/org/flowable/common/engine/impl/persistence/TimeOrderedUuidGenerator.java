@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+
+/**
+ * {@link IdGenerator} implementation generating time-ordered (version 7) UUIDs, as described in RFC 9562.
+ * <p>
+ * The ids start with the current time in milliseconds, so ids generated later sort after ids generated earlier,
+ * both as UUID and as string. Hence, new rows are inserted at the end of the primary key indexes instead of at random places.
+ * Within the same millisecond, a 12-bit counter keeps the ids of this generator increasing; the remaining 62 bits are random.
+ * <p>
+ * Different engines on the same classloader share the same counter, so their ids are ordered too.
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator {
+
+    protected static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    protected static final int COUNTER_BITS = 12;
+
+    // The current time in milliseconds shifted left by COUNTER_BITS, combined with the counter
+    protected static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    @Override
+    public String getNextId() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long mostSignificantBits = ((timestampAndCounter >>> COUNTER_BITS) << 16) // 48 bits unix time in milliseconds
+                | 0x7000L // version 7
+                | (timestampAndCounter & 0xFFFL); // 12 bits counter
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variant 2
+
+        // The generator is shared by all threads of the engine, so each id is formatted in its own buffer
+        byte[] buffer = new byte[36];
+        formatHex(buffer, 0, mostSignificantBits >>> 32, 8);
+        buffer[8] = '-';
+        formatHex(buffer, 9, mostSignificantBits >>> 16, 4);
+        buffer[13] = '-';
+        formatHex(buffer, 14, mostSignificantBits, 4);
+        buffer[18] = '-';
+        formatHex(buffer, 19, leastSignificantBits >>> 48, 4);
+        buffer[23] = '-';
+        formatHex(buffer, 24, leastSignificantBits, 12);
+        return new String(buffer, StandardCharsets.US_ASCII);
+    }
+
+    protected long nextTimestampAndCounter() {
+        long timestamp = currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestampAndCounter.get();
+            // When the clock didn't move forward, or went back, the counter is increased.
+            // A counter overflow moves the timestamp ahead of the clock, which keeps the ids increasing.
+            long next = timestamp > last ? timestamp : last + 1;
+            if (lastTimestampAndCounter.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected static void formatHex(byte[] buffer, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ package org.flowable.common.engine.impl.persistence.cache;
 
 import java.util.HashMap;
 
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 
 /**
@@ -59,6 +60,10 @@ public class CachedEntity {
     }
 
     public boolean hasChanged() {
+        if (entity instanceof DirtyTrackingEntity && ((DirtyTrackingEntity) entity).isDirtyTrackingActive()) {
+            return ((DirtyTrackingEntity) entity).isDirty();
+        }
+
         Object currentPersistentState = entity.getPersistentState();
         return currentPersistentState != null && !entity.getPersistentState().equals(originalPersistentState)
                 || currentPersistentState == null && originalPersistentState != null;
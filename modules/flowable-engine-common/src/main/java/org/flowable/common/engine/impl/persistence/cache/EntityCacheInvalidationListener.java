@@ -0,0 +1,26 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+/**
+ * Receives the invalidations published on an {@link EntityCacheInvalidationBus}.
+ */
+public interface EntityCacheInvalidationListener {
+
+    /**
+     * @param entityClassName the name of the class of the changed entity
+     * @param entityId the id of the changed entity, or null when all entities of the class need to be invalidated
+     */
+    void onInvalidation(String entityClassName, String entityId);
+
+}
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An {@link EntityCacheInvalidationBus} that directly notifies the listeners in the same JVM.
+ */
+public class InMemoryEntityCacheInvalidationBus implements EntityCacheInvalidationBus {
+
+    protected List<EntityCacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publishInvalidation(String entityClassName, String entityId) {
+        for (EntityCacheInvalidationListener listener : listeners) {
+            listener.onInvalidation(entityClassName, entityId);
+        }
+    }
+
+    @Override
+    public void addListener(EntityCacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(EntityCacheInvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+}
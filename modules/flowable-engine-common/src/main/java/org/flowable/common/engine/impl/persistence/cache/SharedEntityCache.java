@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import org.flowable.common.engine.impl.persistence.entity.Entity;
+
+/**
+ * A cache of entities that is shared by all transactions of an engine, consulted when an entity is selected by id
+ * and it is not in the {@link EntityCache} of the current command yet.
+ * <p>
+ * Only entity classes of rows that never or rarely change should be cached: a cached entity is removed when the engine itself
+ * updates or deletes it, but changes made by statements that don't go through an entity are only picked up when the cached entity expires.
+ */
+public interface SharedEntityCache {
+
+    /**
+     * Whether entities of the given class are kept in this cache.
+     */
+    boolean isCached(Class<?> entityClass);
+
+    /**
+     * Returns a copy of the cached entity, or null when the entity is not cached or expired.
+     * Every call returns a new copy, so the returned entity can be changed without affecting other transactions.
+     */
+    <T extends Entity> T get(Class<T> entityClass, String id);
+
+    /**
+     * Returns the number of invalidations of the given entity class so far.
+     * It needs to be fetched before the entity is loaded from the database and passed to {@link #put(Entity, long)}.
+     */
+    long getInvalidationCount(Class<?> entityClass);
+
+    /**
+     * Caches a copy of the entity, unless an entity of its class was invalidated since the given invalidation count was fetched,
+     * as the entity might have been loaded before that change was committed.
+     */
+    void put(Entity entity, long invalidationCount);
+
+    /**
+     * Removes the entity with the given id from this cache and from all caches listening to the same {@link EntityCacheInvalidationBus}.
+     */
+    void invalidate(Class<?> entityClass, String id);
+
+    /**
+     * Removes all entities of the given class from this cache and from all caches listening to the same {@link EntityCacheInvalidationBus}.
+     */
+    void invalidateAll(Class<?> entityClass);
+
+}
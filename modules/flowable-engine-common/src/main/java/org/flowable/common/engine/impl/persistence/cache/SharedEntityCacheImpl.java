@@ -0,0 +1,298 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
+import org.flowable.common.engine.impl.persistence.entity.AbstractEntityNoRevision;
+import org.flowable.common.engine.impl.persistence.entity.Entity;
+
+/**
+ * Default {@link SharedEntityCache}, keeping a region with its own time to live and maximum size for every cached entity class.
+ * When a region is full, the least recently used entity is removed.
+ * <p>
+ * Entities are stored and handed out as copies, created with the no-arg constructor of the entity class.
+ * Only fields holding immutable values (primitives, strings, enums, numbers) and dates and byte arrays are copied,
+ * other fields keep the value set by the constructor. Registering an entity class with other (non transient) fields fails,
+ * unless these fields are explicitly named as not copied, e.g. because they are lazily loaded when they are not set.
+ * The state tracking fields of {@link AbstractEntity} and {@link AbstractEntityNoRevision} are set up again when the copy is
+ * put in the entity cache of the command, and don't need to be named.
+ */
+public class SharedEntityCacheImpl implements SharedEntityCache, EntityCacheInvalidationListener {
+
+    protected static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class, BigInteger.class));
+
+    protected Map<Class<?>, CacheRegion> regions = new ConcurrentHashMap<>();
+    protected Map<String, CacheRegion> regionsByClassName = new ConcurrentHashMap<>();
+    protected static final Set<Class<?>> STATE_TRACKING_CLASSES = new HashSet<>(Arrays.asList(AbstractEntity.class, AbstractEntityNoRevision.class));
+
+    protected Map<Class<?>, List<Field>> copiedFields = new ConcurrentHashMap<>();
+
+    protected EntityCacheInvalidationBus invalidationBus;
+
+    public SharedEntityCacheImpl() {
+        this(new InMemoryEntityCacheInvalidationBus());
+    }
+
+    public SharedEntityCacheImpl(EntityCacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.addListener(this);
+    }
+
+    /**
+     * Caches the entities of the given class, for at most the given time to live and keeping at most maxSize entities.
+     *
+     * @throws FlowableIllegalArgumentException if the entity class has fields that can't be copied
+     */
+    public SharedEntityCacheImpl addCachedEntityClass(Class<? extends Entity> entityClass, Duration timeToLive, int maxSize) {
+        return addCachedEntityClass(entityClass, timeToLive, maxSize, new String[0]);
+    }
+
+    /**
+     * Caches the entities of the given class, for at most the given time to live and keeping at most maxSize entities.
+     * The fields with the given names are not copied, and keep the value set by the constructor in the handed out entities.
+     *
+     * @throws FlowableIllegalArgumentException if the entity class has other fields that can't be copied
+     */
+    public SharedEntityCacheImpl addCachedEntityClass(Class<? extends Entity> entityClass, Duration timeToLive, int maxSize, String... uncopiedFields) {
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new FlowableIllegalArgumentException("The time to live of cached " + entityClass.getName() + " entities needs to be positive");
+        }
+        if (maxSize <= 0) {
+            throw new FlowableIllegalArgumentException("The maximum size of the cache for " + entityClass.getName() + " entities needs to be positive");
+        }
+
+        List<String> uncopyableFields = getUncopyableFields(entityClass);
+        uncopyableFields.removeAll(Arrays.asList(uncopiedFields));
+        if (!uncopyableFields.isEmpty()) {
+            throw new FlowableIllegalArgumentException("Cached " + entityClass.getName() + " entities can't be copied, as the fields " + uncopyableFields
+                    + " don't hold immutable values, dates or byte arrays. These fields need to be transient or named as not copied");
+        }
+
+        CacheRegion region = new CacheRegion(timeToLive.toMillis(), maxSize);
+        regions.put(entityClass, region);
+        regionsByClassName.put(entityClass.getName(), region);
+        return this;
+    }
+
+    @Override
+    public boolean isCached(Class<?> entityClass) {
+        return regions.containsKey(entityClass);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> T get(Class<T> entityClass, String id) {
+        CacheRegion region = regions.get(entityClass);
+        if (region == null || id == null) {
+            return null;
+        }
+
+        Entity entity = region.get(id, currentTimeMillis());
+        if (entity == null) {
+            return null;
+        }
+        return (T) copy(entity);
+    }
+
+    @Override
+    public long getInvalidationCount(Class<?> entityClass) {
+        CacheRegion region = regions.get(entityClass);
+        return region != null ? region.invalidationCount.get() : 0L;
+    }
+
+    @Override
+    public void put(Entity entity, long invalidationCount) {
+        CacheRegion region = regions.get(entity.getClass());
+        if (region == null || entity.getId() == null) {
+            return;
+        }
+        region.put(entity.getId(), copy(entity), invalidationCount, currentTimeMillis());
+    }
+
+    @Override
+    public void invalidate(Class<?> entityClass, String id) {
+        invalidationBus.publishInvalidation(entityClass.getName(), id);
+    }
+
+    @Override
+    public void invalidateAll(Class<?> entityClass) {
+        invalidationBus.publishInvalidation(entityClass.getName(), null);
+    }
+
+    @Override
+    public void onInvalidation(String entityClassName, String entityId) {
+        CacheRegion region = regionsByClassName.get(entityClassName);
+        if (region != null) {
+            region.invalidate(entityId);
+        }
+    }
+
+    public int size(Class<?> entityClass) {
+        CacheRegion region = regions.get(entityClass);
+        return region != null ? region.size() : 0;
+    }
+
+    protected Entity copy(Entity entity) {
+        try {
+            Entity copy = entity.getClass().getDeclaredConstructor().newInstance();
+            for (Field field : getCopiedFields(entity.getClass())) {
+                field.set(copy, copyValue(field.get(entity)));
+            }
+            return copy;
+
+        } catch (ReflectiveOperationException e) {
+            throw new FlowableException("Could not copy " + entity + " for the shared entity cache", e);
+        }
+    }
+
+    protected Object copyValue(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value;
+    }
+
+    protected List<Field> getCopiedFields(Class<?> entityClass) {
+        return copiedFields.computeIfAbsent(entityClass, clazz -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && isCopiedType(field.getType())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(fields);
+        });
+    }
+
+    protected List<String> getUncopyableFields(Class<?> entityClass) {
+        List<String> fields = new ArrayList<>();
+        for (Class<?> current = entityClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (STATE_TRACKING_CLASSES.contains(current)) {
+                continue;
+            }
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()
+                        && (Modifier.isFinal(modifiers) || !isCopiedType(field.getType()))) {
+                    fields.add(field.getName());
+                }
+            }
+        }
+        return fields;
+    }
+
+    protected boolean isCopiedType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type) || Date.class.isAssignableFrom(type) || type == byte[].class;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected static class CacheRegion {
+
+        protected final long timeToLiveInMillis;
+        protected final AtomicLong invalidationCount = new AtomicLong();
+        protected final Map<String, CacheEntry> entries;
+
+        public CacheRegion(long timeToLiveInMillis, int maxSize) {
+            this.timeToLiveInMillis = timeToLiveInMillis;
+
+            // Access-ordered, so the least recently used entity is removed first
+            this.entries = Collections.synchronizedMap(new LinkedHashMap<String, CacheEntry>(maxSize + 1, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > maxSize;
+                }
+
+            });
+        }
+
+        public Entity get(String id, long now) {
+            CacheEntry entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expirationTime <= now) {
+                entries.remove(id, entry);
+                return null;
+            }
+            return entry.entity;
+        }
+
+        public void put(String id, Entity entity, long expectedInvalidationCount, long now) {
+            synchronized (entries) {
+                // Checked while holding the lock, so a concurrent invalidation either happens before or removes the new entry
+                if (invalidationCount.get() == expectedInvalidationCount) {
+                    entries.put(id, new CacheEntry(entity, now + timeToLiveInMillis));
+                }
+            }
+        }
+
+        public void invalidate(String id) {
+            synchronized (entries) {
+                invalidationCount.incrementAndGet();
+                if (id != null) {
+                    entries.remove(id);
+                } else {
+                    entries.clear();
+                }
+            }
+        }
+
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    protected static class CacheEntry {
+
+        protected final Entity entity;
+        protected final long expirationTime;
+
+        public CacheEntry(Entity entity, long expirationTime) {
+            this.entity = entity;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+}
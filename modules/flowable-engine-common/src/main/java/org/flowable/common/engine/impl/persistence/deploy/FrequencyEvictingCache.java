@@ -0,0 +1,172 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded map that evicts the least frequently used values, used by the caches that keep parsed artifacts.
+ * <p>
+ * Lookups and additions don't take a lock. When the map grows beyond its limit,
+ * the least frequently used tenth of the values is evicted by the thread that is adding, except for the value it added.
+ * Every time as many values were added as the map can hold, the frequencies of the values are halved,
+ * so values that were only used in the past don't stay in the map forever.
+ */
+public class FrequencyEvictingCache<V> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FrequencyEvictingCache.class);
+
+    // Far enough from the maximum int, so concurrent increments can't overflow
+    protected static final int MAX_FREQUENCY = Integer.MAX_VALUE / 2;
+
+    protected final String name;
+    protected final int limit;
+    protected final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    protected final ReentrantLock evictionLock = new ReentrantLock();
+    protected final AtomicInteger additionsSinceAging = new AtomicInteger();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param name the name of the cache, used in log messages
+     */
+    public FrequencyEvictingCache(String name, int limit) {
+        if (limit <= 0) {
+            throw new FlowableIllegalArgumentException("limit must be positive, but was " + limit);
+        }
+        this.name = name;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the value, and counts it as used, or null when there is no value for the key.
+     */
+    public V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.frequency.get() < MAX_FREQUENCY) {
+            entry.frequency.incrementAndGet();
+        }
+        return entry.value;
+    }
+
+    public boolean containsKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    public void put(String key, V value) {
+        entries.put(key, new Entry<>(value));
+        additionsSinceAging.incrementAndGet();
+        if (entries.size() > limit) {
+            evict(key);
+        }
+    }
+
+    protected void evict(String addedKey) {
+        // Only one thread evicts, the others don't wait for it
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            int evictCount = entries.size() - (limit - limit / 10);
+            if (evictCount <= 0) {
+                return;
+            }
+
+            List<Map.Entry<String, Entry<V>>> sortedEntries = new ArrayList<>(entries.entrySet());
+            sortedEntries.sort(Comparator.comparingInt(entry -> entry.getValue().frequency.get()));
+            int evicted = 0;
+            for (int i = 0; evicted < evictCount && i < sortedEntries.size(); i++) {
+                Map.Entry<String, Entry<V>> entry = sortedEntries.get(i);
+                if (!entry.getKey().equals(addedKey) && entries.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                    evictionCount.increment();
+                    if (LOGGER.isTraceEnabled()) {
+                        LOGGER.trace("{} limit is reached, {} is evicted", name, entry.getKey());
+                    }
+                }
+            }
+
+            if (additionsSinceAging.get() >= limit) {
+                additionsSinceAging.set(0);
+                for (Entry<V> entry : entries.values()) {
+                    entry.frequency.updateAndGet(frequency -> frequency >> 1);
+                }
+            }
+
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>(entries.size());
+        for (Entry<V> entry : entries.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    public void forEach(BiConsumer<String, V> action) {
+        for (Map.Entry<String, Entry<V>> entry : entries.entrySet()) {
+            action.accept(entry.getKey(), entry.getValue().value);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    protected static class Entry<V> {
+
+        protected final V value;
+
+        // Starts at 1, so a new value is not the first one to be evicted
+        protected final AtomicInteger frequency = new AtomicInteger(1);
+
+        public Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores byte arrays by key outside of the Java heap, in a memory-mapped temporary file.
+ * <p>
+ * The file is mapped in segments, the byte arrays are appended to the current segment.
+ * A byte array that doesn't fit in a segment gets a segment of its own.
+ * Only the location of every byte array is kept on the heap.
+ * <p>
+ * The space of removed or replaced byte arrays is reused: a segment without byte arrays is reused for later byte arrays,
+ * and the byte arrays of a segment of which less than a quarter is still used are moved to the current segment, so it can be reused too.
+ * The file itself only shrinks on {@link #clear()}.
+ * <p>
+ * Access to the stored bytes is synchronized, as the file can be truncated by {@link #clear()} while it is read.
+ */
+public class MemoryMappedByteStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryMappedByteStore.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    // A segment is compacted when less than 1 / COMPACTION_RATIO of it is used
+    protected static final int COMPACTION_RATIO = 4;
+
+    protected final Path file;
+    protected final int segmentSize;
+    protected final FileChannel channel;
+
+    protected final List<Segment> freeSegments = new ArrayList<>();
+    protected final Map<String, Location> locations = new HashMap<>();
+    protected Segment currentSegment;
+    protected long mappedSize;
+    protected int segmentPosition;
+    protected long usedBytes;
+
+    /**
+     * @param directory the directory for the file, or null to use the default temporary directory
+     */
+    public MemoryMappedByteStore(Path directory, int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new FlowableIllegalArgumentException("segmentSize must be positive, but was " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        try {
+            this.file = directory != null ? Files.createTempFile(directory, "flowable-", ".store") : Files.createTempFile("flowable-", ".store");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new FlowableException("Could not create memory mapped store file", e);
+        }
+        file.toFile().deleteOnExit();
+    }
+
+    public MemoryMappedByteStore() {
+        this(null, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public synchronized void put(String key, byte[] bytes) {
+        if (!channel.isOpen()) {
+            throw new FlowableException("Memory mapped store " + file + " is closed");
+        }
+
+        Location previousLocation = locations.put(key, write(bytes));
+        usedBytes += bytes.length;
+        if (previousLocation != null) {
+            release(previousLocation);
+        }
+    }
+
+    protected Location write(byte[] bytes) {
+        Segment segment;
+        int offset;
+        if (bytes.length > segmentSize) {
+            segment = acquireSegment(bytes.length);
+            offset = 0;
+        } else {
+            if (currentSegment == null || segmentPosition + bytes.length > segmentSize) {
+                Segment previousSegment = currentSegment;
+                currentSegment = acquireSegment(segmentSize);
+                segmentPosition = 0;
+                if (previousSegment != null && previousSegment.usedBytes == 0) {
+                    freeSegments.add(previousSegment);
+                }
+            }
+            segment = currentSegment;
+            offset = segmentPosition;
+            segmentPosition += bytes.length;
+        }
+
+        segment.buffer.put(offset, bytes);
+        segment.usedBytes += bytes.length;
+        return new Location(segment, offset, bytes.length);
+    }
+
+    /**
+     * Returns a free segment of at least the given size, or maps a new one.
+     */
+    protected Segment acquireSegment(int size) {
+        for (int i = 0; i < freeSegments.size(); i++) {
+            if (freeSegments.get(i).buffer.capacity() >= size) {
+                return freeSegments.remove(i);
+            }
+        }
+
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, mappedSize, size);
+            mappedSize += size;
+            return new Segment(buffer);
+        } catch (IOException e) {
+            throw new FlowableException("Could not map " + size + " bytes of " + file, e);
+        }
+    }
+
+    /**
+     * Gives back the space of a byte array that is no longer stored.
+     * The segment is freed when it doesn't hold other byte arrays, or compacted when it is mostly unused.
+     */
+    protected void release(Location location) {
+        usedBytes -= location.length;
+        Segment segment = location.segment;
+        segment.usedBytes -= location.length;
+        if (segment == currentSegment) {
+            return;
+        }
+
+        if (segment.usedBytes == 0) {
+            freeSegments.add(segment);
+        } else if (segment.usedBytes < segment.buffer.capacity() / COMPACTION_RATIO) {
+            compact(segment);
+        }
+    }
+
+    /**
+     * Moves the byte arrays of the segment to the current segment, and frees the segment.
+     */
+    protected void compact(Segment segment) {
+        for (Map.Entry<String, Location> entry : locations.entrySet()) {
+            Location location = entry.getValue();
+            if (location.segment == segment) {
+                byte[] bytes = new byte[location.length];
+                segment.buffer.get(location.offset, bytes);
+                entry.setValue(write(bytes));
+                segment.usedBytes -= location.length;
+            }
+        }
+        freeSegments.add(segment);
+    }
+
+    /**
+     * Returns a copy of the stored bytes, or null when nothing is stored for the key.
+     */
+    public synchronized byte[] get(String key) {
+        Location location = locations.get(key);
+        if (location == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[location.length];
+        location.segment.buffer.get(location.offset, bytes);
+        return bytes;
+    }
+
+    public synchronized boolean contains(String key) {
+        return locations.containsKey(key);
+    }
+
+    public synchronized void remove(String key) {
+        Location location = locations.remove(key);
+        if (location != null) {
+            release(location);
+        }
+    }
+
+    public synchronized void clear() {
+        locations.clear();
+        freeSegments.clear();
+        currentSegment = null;
+        segmentPosition = 0;
+        usedBytes = 0;
+        mappedSize = 0;
+        try {
+            channel.truncate(0);
+        } catch (IOException e) {
+            throw new FlowableException("Could not truncate " + file, e);
+        }
+    }
+
+    public synchronized int size() {
+        return locations.size();
+    }
+
+    /**
+     * The number of bytes of the byte arrays that are currently stored.
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * The number of bytes of the file that are mapped, including the space of removed byte arrays that is not reused yet.
+     */
+    public synchronized long getMappedSize() {
+        return mappedSize;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() {
+        locations.clear();
+        freeSegments.clear();
+        currentSegment = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new FlowableException("Could not close " + file, e);
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Some platforms don't delete a file that is still mapped, it is deleted on exit then
+            LOGGER.debug("Could not delete {}", file, e);
+        }
+    }
+
+    protected static class Segment {
+
+        protected final MappedByteBuffer buffer;
+        protected int usedBytes;
+
+        public Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    protected static class Location {
+
+        protected final Segment segment;
+        protected final int offset;
+        protected final int length;
+
+        public Location(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
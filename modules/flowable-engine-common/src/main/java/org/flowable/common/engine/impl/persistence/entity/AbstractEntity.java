@@ -12,6 +12,10 @@
  */
 package org.flowable.common.engine.impl.persistence.entity;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 import org.flowable.common.engine.impl.db.HasRevision;
 
 /**
@@ -30,6 +34,9 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     
     protected Object originalPersistentState;
 
+    protected boolean dirtyTrackingActive;
+    protected Map<String, Object> changedPropertyOriginalValues;
+
     @Override
     public String getId() {
         return id;
@@ -94,4 +101,55 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     public void setOriginalPersistentState(Object persistentState) {
         this.originalPersistentState = persistentState;
     }
+
+    // dirty tracking, used by subclasses implementing DirtyTrackingEntity
+
+    public void startDirtyTracking() {
+        this.dirtyTrackingActive = true;
+        this.changedPropertyOriginalValues = null;
+    }
+
+    public void stopDirtyTracking() {
+        this.dirtyTrackingActive = false;
+        this.changedPropertyOriginalValues = null;
+    }
+
+    public boolean isDirtyTrackingActive() {
+        return dirtyTrackingActive;
+    }
+
+    public boolean isDirty() {
+        return changedPropertyOriginalValues != null && !changedPropertyOriginalValues.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public Object getTrackedOriginalPersistentState() {
+        Map<String, Object> trackedOriginalPersistentState = (Map<String, Object>) getPersistentState();
+        if (changedPropertyOriginalValues != null) {
+            trackedOriginalPersistentState.putAll(changedPropertyOriginalValues);
+        }
+        return trackedOriginalPersistentState;
+    }
+
+    /**
+     * Records the change of a persistent property when dirty tracking is active, and returns the new value.
+     * Typically used in a setter as {@code this.name = trackChange("name", this.name, name);}
+     */
+    protected <T> T trackChange(String property, T currentValue, T newValue) {
+        if (dirtyTrackingActive) {
+            if (changedPropertyOriginalValues != null && changedPropertyOriginalValues.containsKey(property)) {
+                if (Objects.equals(changedPropertyOriginalValues.get(property), newValue)) {
+                    // Back to the original value
+                    changedPropertyOriginalValues.remove(property);
+                }
+
+            } else if (!Objects.equals(currentValue, newValue)) {
+                if (changedPropertyOriginalValues == null) {
+                    changedPropertyOriginalValues = new HashMap<>();
+                }
+                changedPropertyOriginalValues.put(property, currentValue);
+            }
+        }
+        return newValue;
+    }
 }
@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.util.IoUtil;
+
+/**
+ * Converts the bytes of a byte array to the bytes that are stored in the database, and back.
+ * <p>
+ * Byte arrays larger than the compression threshold are stored GZIP compressed. Whether the stored bytes are compressed
+ * is kept next to them, in the COMPRESSED_ column of ACT_GE_BYTEARRAY, and never derived from the bytes themselves.
+ * All other byte arrays, including all the rows that were written before the compression was enabled, are stored as is,
+ * so stored byte arrays stay readable whatever their content or the compression threshold is.
+ */
+public class ByteArrayCodec {
+
+    protected final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold the size in bytes above which byte arrays are compressed, a negative value to never compress
+     */
+    public ByteArrayCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Returns the compressed bytes, or the given array itself when the bytes are stored as is.
+     */
+    public byte[] encode(byte[] bytes) {
+        if (bytes == null || compressionThreshold < 0 || bytes.length <= compressionThreshold) {
+            return bytes;
+        }
+
+        byte[] compressedBytes = compress(bytes);
+        // Content that doesn't compress well is stored as is
+        return compressedBytes.length < bytes.length ? compressedBytes : bytes;
+    }
+
+    public static byte[] decode(byte[] storedBytes, boolean compressed) {
+        if (!compressed || storedBytes == null) {
+            return storedBytes;
+        }
+        return decompress(storedBytes);
+    }
+
+    public static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4 + 32);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        } catch (IOException e) {
+            throw new FlowableException("Could not compress byte array", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    public static byte[] decompress(byte[] compressedBytes) {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressedBytes))) {
+            return IoUtil.readInputStream(gzipInputStream, "compressed byte array");
+        } catch (IOException e) {
+            throw new FlowableException("Could not decompress byte array", e);
+        }
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+}
@@ -28,7 +28,10 @@ public class ByteArrayEntityImpl extends AbstractEntity implements ByteArrayEnti
 
     protected String name;
     protected byte[] bytes;
+    protected byte[] storedBytes;
+    protected boolean compressed;
     protected String deploymentId;
+    protected transient ByteArrayCodec codec;
 
     public ByteArrayEntityImpl() {
 
@@ -41,12 +44,43 @@ public class ByteArrayEntityImpl extends AbstractEntity implements ByteArrayEnti
 
     @Override
     public byte[] getBytes() {
+        if (bytes == null && storedBytes != null) {
+            bytes = ByteArrayCodec.decode(storedBytes, compressed);
+        }
         return bytes;
     }
 
+    /**
+     * The bytes as they are stored in the database, which are compressed when the codec of this byte array compresses them.
+     */
+    public byte[] getStoredBytes() {
+        if (storedBytes == null && bytes != null) {
+            storedBytes = codec != null ? codec.encode(bytes) : bytes;
+            compressed = storedBytes != bytes;
+        }
+        return storedBytes;
+    }
+
+    public void setStoredBytes(byte[] storedBytes) {
+        this.storedBytes = storedBytes;
+        this.bytes = null;
+    }
+
+    /**
+     * Whether the stored bytes are compressed. Rows without the flag, like the ones written before compression existed, are not.
+     */
+    public boolean isCompressed() {
+        getStoredBytes();
+        return compressed;
+    }
+
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
     @Override
     public Object getPersistentState() {
-        return new PersistentState(name, bytes);
+        return new PersistentState(name, getStoredBytes());
     }
 
     // getters and setters ////////////////////////////////////////////////////////
@@ -74,11 +108,20 @@ public class ByteArrayEntityImpl extends AbstractEntity implements ByteArrayEnti
     @Override
     public void setBytes(byte[] bytes) {
         this.bytes = bytes;
+        this.storedBytes = null;
+    }
+
+    public ByteArrayCodec getCodec() {
+        return codec;
+    }
+
+    public void setCodec(ByteArrayCodec codec) {
+        this.codec = codec;
     }
 
     @Override
     public String toString() {
-        return "ByteArrayEntity[id=" + id + ", name=" + name + ", size=" + (bytes != null ? bytes.length : 0) + "]";
+        return "ByteArrayEntity[id=" + id + ", name=" + name + ", size=" + (getBytes() != null ? getBytes().length : 0) + "]";
     }
 
     // Wrapper for a byte array, needed to do byte array comparisons
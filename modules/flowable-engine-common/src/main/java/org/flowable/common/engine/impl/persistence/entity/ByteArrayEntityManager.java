@@ -36,4 +36,28 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
      */
     void bulkDeleteByteArraysById(List<String> byteArrayEntityIds);
 
+    /**
+     * Whether {@link #insertDeduplicated(String, byte[])} shares the byte arrays with the same name and content.
+     */
+    boolean isDeduplicationEnabled();
+
+    /**
+     * Inserts a byte array that is shared by everything referencing the same name and content, when deduplication is enabled.
+     * When such a byte array exists already, a reference is added to it instead of inserting a new one.
+     * Deleting a deduplicated byte array removes one reference, the byte array itself is deleted with its last reference.
+     * <p>
+     * Deduplicated byte arrays can't be changed: to change the bytes, the byte array needs to be deleted and a new one needs to be inserted.
+     */
+    ByteArrayEntity insertDeduplicated(String name, byte[] bytes);
+
+    /**
+     * @return whether the byte array with the given id is shared through {@link #insertDeduplicated(String, byte[])}
+     */
+    boolean isDeduplicated(String byteArrayEntityId);
+
+    /**
+     * @return the id of the deduplicated byte array with the given name and content
+     */
+    String getDeduplicatedId(String name, byte[] bytes);
+
 }
\ No newline at end of file
@@ -13,11 +13,19 @@
 
 package org.flowable.common.engine.impl.persistence.entity;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.function.Supplier;
 
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
 import org.flowable.common.engine.impl.persistence.entity.data.ByteArrayDataManager;
+
 /**
  * @author Joram Barrez
  * @author Marcus Klimstra (CGI)
@@ -26,7 +34,11 @@ public class ByteArrayEntityManagerImpl
     extends AbstractEntityManager<ByteArrayEntity, ByteArrayDataManager>
     implements ByteArrayEntityManager {
 
+    protected static final String DEDUPLICATED_ID_PREFIX = "sha224-";
+
     protected Supplier<FlowableEventDispatcher> eventDispatcherSupplier;
+    protected ByteArrayCodec codec;
+    protected boolean deduplicationEnabled;
 
     public ByteArrayEntityManagerImpl(ByteArrayDataManager byteArrayDataManager, String engineType, Supplier<FlowableEventDispatcher> eventDispatcherSupplier) {
         super(byteArrayDataManager, engineType);
@@ -38,14 +50,113 @@ public class ByteArrayEntityManagerImpl
         return dataManager.findAll();
     }
 
+    @Override
+    public ByteArrayEntity findById(String entityId) {
+        ByteArrayEntity byteArrayEntity = super.findById(entityId);
+        if (byteArrayEntity instanceof ByteArrayEntityImpl && codec != null) {
+            ((ByteArrayEntityImpl) byteArrayEntity).setCodec(codec);
+        }
+        return byteArrayEntity;
+    }
+
+    @Override
+    public ByteArrayEntity create() {
+        ByteArrayEntity byteArrayEntity = super.create();
+        if (byteArrayEntity instanceof ByteArrayEntityImpl && codec != null) {
+            ((ByteArrayEntityImpl) byteArrayEntity).setCodec(codec);
+        }
+        return byteArrayEntity;
+    }
+
+    @Override
+    public void delete(ByteArrayEntity entity, boolean fireDeleteEvent) {
+        if (isDeduplicated(entity.getId())) {
+            dataManager.decrementReferenceCount(entity.getId());
+        } else {
+            super.delete(entity, fireDeleteEvent);
+        }
+    }
+
     @Override
     public void deleteByteArrayById(String byteArrayEntityId) {
-        dataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
+        if (isDeduplicated(byteArrayEntityId)) {
+            dataManager.decrementReferenceCount(byteArrayEntityId);
+        } else {
+            dataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
+        }
     }
 
     @Override
     public void bulkDeleteByteArraysById(List<String> byteArrayEntityIds) {
-        dataManager.bulkDeleteByteArraysNoRevisionCheck(byteArrayEntityIds);
+        List<String> byteArrayEntityIdsToDelete = new ArrayList<>(byteArrayEntityIds.size());
+        for (String byteArrayEntityId : byteArrayEntityIds) {
+            if (isDeduplicated(byteArrayEntityId)) {
+                dataManager.decrementReferenceCount(byteArrayEntityId);
+            } else {
+                byteArrayEntityIdsToDelete.add(byteArrayEntityId);
+            }
+        }
+
+        if (!byteArrayEntityIdsToDelete.isEmpty()) {
+            dataManager.bulkDeleteByteArraysNoRevisionCheck(byteArrayEntityIdsToDelete);
+        }
+    }
+
+    @Override
+    public ByteArrayEntity insertDeduplicated(String name, byte[] bytes) {
+        ByteArrayEntity byteArrayEntity = create();
+        byteArrayEntity.setName(name);
+        byteArrayEntity.setBytes(bytes);
+
+        if (!deduplicationEnabled) {
+            insert(byteArrayEntity);
+            return byteArrayEntity;
+        }
+
+        String deduplicatedId = getDeduplicatedId(name, bytes);
+        ByteArrayEntity existingByteArrayEntity = findById(deduplicatedId);
+        if (existingByteArrayEntity == null) {
+            byteArrayEntity.setId(deduplicatedId);
+            if (dataManager.insertDeduplicated(byteArrayEntity)) {
+                return byteArrayEntity;
+            }
+            // Inserted by a concurrent transaction since it was looked up
+            existingByteArrayEntity = byteArrayEntity;
+        }
+
+        if (!dataManager.incrementReferenceCount(existingByteArrayEntity)) {
+            throw new FlowableOptimisticLockingException("Deduplicated byte array " + deduplicatedId + " was deleted by another transaction");
+        }
+        return existingByteArrayEntity;
+    }
+
+    @Override
+    public boolean isDeduplicationEnabled() {
+        return deduplicationEnabled;
+    }
+
+    @Override
+    public boolean isDeduplicated(String byteArrayEntityId) {
+        return byteArrayEntityId != null && byteArrayEntityId.startsWith(DEDUPLICATED_ID_PREFIX);
+    }
+
+    @Override
+    public String getDeduplicatedId(String name, byte[] bytes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-224");
+            if (name != null) {
+                messageDigest.update(name.getBytes(StandardCharsets.UTF_8));
+            }
+            messageDigest.update((byte) 0);
+            if (bytes != null) {
+                messageDigest.update(bytes);
+            }
+            // Hex instead of Base64, ids are compared case insensitive on some databases
+            return DEDUPLICATED_ID_PREFIX + HexFormat.of().formatHex(messageDigest.digest());
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new FlowableException("Could not create the id of a deduplicated byte array", e);
+        }
     }
 
     @Override
@@ -56,4 +167,16 @@ public class ByteArrayEntityManagerImpl
     public void setEventDispatcherSupplier(Supplier<FlowableEventDispatcher> eventDispatcherSupplier) {
         this.eventDispatcherSupplier = eventDispatcherSupplier;
     }
+
+    public ByteArrayCodec getCodec() {
+        return codec;
+    }
+
+    public void setCodec(ByteArrayCodec codec) {
+        this.codec = codec;
+    }
+
+    public void setDeduplicationEnabled(boolean deduplicationEnabled) {
+        this.deduplicationEnabled = deduplicationEnabled;
+    }
 }
@@ -94,15 +94,46 @@ public class ByteArrayRef implements Serializable {
         }
     }
 
+    /**
+     * Same as {@link #setValue(String, String, String)}, but the byte array is shared with all other references with the same name and value
+     * when the deduplication of byte arrays is enabled (see {@link ByteArrayEntityManager#insertDeduplicated(String, byte[])}).
+     * Only meant for values that are written often with the same content, such as exception stacktraces.
+     */
+    public void setDeduplicatedValue(String name, String value, String engineType) {
+        this.name = name;
+        if (value != null) {
+            setBytes(value.getBytes(StandardCharsets.UTF_8), engineType, true);
+        }
+    }
+
     protected void setBytes(byte[] bytes, String engineType) {
+        setBytes(bytes, engineType, false);
+    }
+
+    protected void setBytes(byte[] bytes, String engineType, boolean deduplicate) {
+        if (id != null) {
+            ByteArrayEntityManager byteArrayEntityManager = getEngineConfiguration(engineType).getByteArrayEntityManager();
+            if (byteArrayEntityManager.isDeduplicated(id)) {
+                // A shared byte array can't be changed, the reference is moved to another byte array instead
+                if (bytes != null && id.equals(byteArrayEntityManager.getDeduplicatedId(name, bytes))) {
+                    return;
+                }
+                delete(engineType);
+            }
+        }
+
         if (id == null) {
             if (bytes != null) {
                 AbstractEngineConfiguration engineConfiguration = getEngineConfiguration(engineType);
                 ByteArrayEntityManager byteArrayEntityManager = engineConfiguration.getByteArrayEntityManager();
-                entity = byteArrayEntityManager.create();
-                entity.setName(name);
-                entity.setBytes(bytes);
-                byteArrayEntityManager.insert(entity);
+                if (deduplicate && byteArrayEntityManager.isDeduplicationEnabled()) {
+                    entity = byteArrayEntityManager.insertDeduplicated(name, bytes);
+                } else {
+                    entity = byteArrayEntityManager.create();
+                    entity.setName(name);
+                    entity.setBytes(bytes);
+                    byteArrayEntityManager.insert(entity);
+                }
                 id = entity.getId();
                 deleted = false;
             }
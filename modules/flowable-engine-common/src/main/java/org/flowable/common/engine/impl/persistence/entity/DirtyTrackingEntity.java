@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+/**
+ * An {@link Entity} that records the changes to its persistent properties itself.
+ * When dirty tracking is enabled, no snapshot of the persistent state is taken when such an entity is loaded,
+ * and the flush only looks at the entities that actually recorded a change.
+ * <p>
+ * Implementations need to record every change to a property of their persistent state,
+ * using the same keys as the map returned by {@link #getPersistentState()}.
+ *
+ * @see AbstractEntity#trackChange(String, Object, Object)
+ */
+public interface DirtyTrackingEntity extends Entity {
+
+    /**
+     * Forgets the recorded changes, and records every change from now on.
+     */
+    void startDirtyTracking();
+
+    /**
+     * Stops recording changes, after which the entity is handled like any other entity.
+     */
+    void stopDirtyTracking();
+
+    boolean isDirtyTrackingActive();
+
+    /**
+     * Whether a persistent property has a different value than when the dirty tracking was started.
+     */
+    boolean isDirty();
+
+    /**
+     * Returns the persistent state as it was when the dirty tracking was started,
+     * built from the current persistent state and the original values of the changed properties.
+     */
+    Object getTrackedOriginalPersistentState();
+
+}
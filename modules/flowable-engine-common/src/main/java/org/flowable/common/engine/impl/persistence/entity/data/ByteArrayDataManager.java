@@ -27,4 +27,23 @@ public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
 
     void bulkDeleteByteArraysNoRevisionCheck(List<String> byteArrayEntityIds);
 
+    /**
+     * Inserts a deduplicated byte array right away, unless it was inserted by another transaction already.
+     *
+     * @return false when the byte array was inserted by another transaction, in which case nothing was inserted
+     */
+    boolean insertDeduplicated(ByteArrayEntity byteArrayEntity);
+
+    /**
+     * Adds a reference to a deduplicated byte array.
+     *
+     * @return false when the byte array doesn't exist anymore
+     */
+    boolean incrementReferenceCount(ByteArrayEntity byteArrayEntity);
+
+    /**
+     * Removes a reference to a deduplicated byte array, and deletes it when the session is flushed if that was the last reference.
+     */
+    void decrementReferenceCount(String byteArrayEntityId);
+
 }
@@ -12,10 +12,12 @@
  */
 package org.flowable.common.engine.impl.persistence.entity.data.impl;
 
+import java.sql.SQLException;
 import java.util.List;
 
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
+import org.flowable.common.engine.impl.db.DbSqlSession;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntity;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityImpl;
 import org.flowable.common.engine.impl.persistence.entity.data.ByteArrayDataManager;
@@ -57,6 +59,48 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
         getDbSqlSession().delete("deleteByteArraysNoRevisionCheck", byteArrayEntityIds, ByteArrayEntityImpl.class);
     }
 
+    @Override
+    public boolean insertDeduplicated(ByteArrayEntity byteArrayEntity) {
+        // Inserted right away instead of when the session is flushed,
+        // so that a byte array inserted by a concurrent transaction is referenced instead
+        try {
+            if (getDbSqlSession().directInsert("insertDeduplicatedByteArray", byteArrayEntity) == 0) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            if (isConstraintViolation(e)) {
+                return false;
+            }
+            throw e;
+        }
+        getEntityCache().put(byteArrayEntity, true);
+        return true;
+    }
+
+    @Override
+    public boolean incrementReferenceCount(ByteArrayEntity byteArrayEntity) {
+        return getDbSqlSession().directUpdate("incrementByteArrayReferenceCount", byteArrayEntity.getId()) == 1;
+    }
+
+    @Override
+    public void decrementReferenceCount(String byteArrayEntityId) {
+        DbSqlSession dbSqlSession = getDbSqlSession();
+        dbSqlSession.directUpdate("decrementByteArrayReferenceCount", byteArrayEntityId);
+        dbSqlSession.delete("deleteUnreferencedByteArray", byteArrayEntityId, ByteArrayEntityImpl.class);
+    }
+
+    protected boolean isConstraintViolation(Throwable exception) {
+        Throwable cause = exception;
+        while (cause != null) {
+            // SQL state class 23 is an integrity constraint violation
+            if (cause instanceof SQLException && ((SQLException) cause).getSQLState() != null && ((SQLException) cause).getSQLState().startsWith("23")) {
+                return true;
+            }
+            cause = cause.getCause() != cause ? cause.getCause() : null;
+        }
+        return false;
+    }
+
     @Override
     protected IdGenerator getIdGenerator() {
         return idGenerator;
@@ -12,6 +12,7 @@ CREATE TABLE if not exists ACT_GE_BYTEARRAY  (
     DEPLOYMENT_ID_ varchar(64),
     BYTES_ bytea,
     GENERATED_ boolean,
+    COMPRESSED_ boolean,
     primary key (ID_)
 );
 
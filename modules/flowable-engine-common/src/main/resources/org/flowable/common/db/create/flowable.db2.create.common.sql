@@ -12,6 +12,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ varchar(64),
     BYTES_ BLOB,
     GENERATED_ smallint check(GENERATED_ in (1,0)),
+    COMPRESSED_ smallint check(COMPRESSED_ in (1,0)),
     primary key (ID_)
 );
 
@@ -12,6 +12,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ varchar(64),
     BYTES_ longvarbinary,
     GENERATED_ bit,
+    COMPRESSED_ bit,
     primary key (ID_)
 );
 
@@ -12,6 +12,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ nvarchar(64),
     BYTES_  varbinary(max),
     GENERATED_ tinyint,
+    COMPRESSED_ tinyint,
     primary key (ID_)
 );
 
@@ -12,6 +12,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ varchar(64),
     BYTES_ LONGBLOB,
     GENERATED_ TINYINT,
+    COMPRESSED_ TINYINT,
     primary key (ID_)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
 
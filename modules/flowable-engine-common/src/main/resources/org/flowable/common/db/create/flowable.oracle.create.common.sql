@@ -12,6 +12,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ NVARCHAR2(64),
     BYTES_ BLOB,
     GENERATED_ NUMBER(1,0) CHECK (GENERATED_ IN (1,0)),
+    COMPRESSED_ NUMBER(1,0) CHECK (COMPRESSED_ IN (1,0)),
     primary key (ID_)
 );
 
@@ -0,0 +1 @@
+alter table ACT_GE_BYTEARRAY add column COMPRESSED_ TINYINT;
@@ -0,0 +1 @@
+alter table ACT_GE_BYTEARRAY add COMPRESSED_ NUMBER(1,0) CHECK (COMPRESSED_ IN (1,0));
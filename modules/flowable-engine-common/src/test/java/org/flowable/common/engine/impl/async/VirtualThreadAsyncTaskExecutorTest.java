@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadAsyncTaskExecutorTest {
+
+    protected VirtualThreadAsyncTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        AsyncTaskExecutorConfiguration configuration = new AsyncTaskExecutorConfiguration();
+        configuration.setAwaitTerminationPeriod(Duration.ofSeconds(5));
+        executor = new VirtualThreadAsyncTaskExecutor(configuration, 2);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void remainingCapacityFollowsRunningTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        assertThat(executor.getRemainingCapacity()).isEqualTo(2);
+
+        executor.execute(blockingTask);
+        executor.execute(blockingTask);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getRemainingCapacity()).isZero();
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+
+        long end = System.currentTimeMillis() + 5000;
+        while (executor.getRemainingCapacity() < 2 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getRemainingCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    void submitCallable() throws Exception {
+        assertThat(executor.submit(() -> "result").get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+
+    @Test
+    void rejectAfterShutdown() {
+        executor.shutdown();
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void invalidMaxConcurrentTasks() {
+        assertThatThrownBy(() -> new VirtualThreadAsyncTaskExecutor(0))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+}
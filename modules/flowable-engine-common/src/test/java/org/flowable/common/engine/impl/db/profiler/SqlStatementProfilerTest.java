@@ -0,0 +1,126 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db.profiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.management.SqlStatementProfile;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementProfilerTest {
+
+    @Test
+    void statementsAreAggregatedPerCommandAndDefinitionKey() {
+        TestSqlStatementProfiler profiler = new TestSqlStatementProfiler();
+
+        Command<Void> command = commandContext -> null;
+        for (int i = 0; i < 2; i++) {
+            SqlProfilingContext profilingContext = profiler.startProfiling(command);
+            assertThat(profiler.getCurrentContext()).isSameAs(profilingContext);
+            profilingContext.setDefinitionKey("oneTask");
+            profilingContext.addStatement("selectExecution", 100);
+            profilingContext.addStatement("selectExecution", 300);
+            profilingContext.addStatement("insertTask", 50);
+            profiler.stopProfiling(profilingContext);
+            assertThat(profiler.getCurrentContext()).isNull();
+        }
+
+        List<SqlStatementProfile> profiles = profiler.getTopStatements(10);
+        assertThat(profiles)
+                .extracting(SqlStatementProfile::getStatementId, SqlStatementProfile::getDefinitionKey, SqlStatementProfile::getCommandCount,
+                        SqlStatementProfile::getStatementCount, SqlStatementProfile::getTotalTimeNanos, SqlStatementProfile::getMaxTimeNanos)
+                .containsExactly(
+                        tuple("selectExecution", "oneTask", 2L, 4L, 800L, 300L),
+                        tuple("insertTask", "oneTask", 2L, 2L, 100L, 50L));
+        assertThat(profiles.get(0).getStatementsPerCommand()).isEqualTo(2.0);
+        assertThat(profiles.get(0).getAverageTimeNanos()).isEqualTo(200L);
+        assertThat(profiles.get(0).getCommandName()).isEqualTo(SqlStatementProfilerTest.class.getName());
+
+        assertThat(profiler.getTopStatements(1)).hasSize(1);
+    }
+
+    @Test
+    void newStatementsAreDroppedWhenWindowIsFull() {
+        TestSqlStatementProfiler profiler = new TestSqlStatementProfiler();
+        profiler.setMaxAggregates(2);
+
+        SqlProfilingContext profilingContext = profiler.startProfiling(commandContext -> null);
+        profilingContext.addStatement("first", 10);
+        profilingContext.addStatement("second", 10);
+        profilingContext.addStatement("third", 10);
+        profiler.stopProfiling(profilingContext);
+
+        assertThat(profiler.getTopStatements(10)).hasSize(2);
+        assertThat(profiler.getDroppedStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyCurrentAndPreviousWindowAreReported() {
+        TestSqlStatementProfiler profiler = new TestSqlStatementProfiler();
+        profiler.setWindowDuration(Duration.ofMinutes(1));
+
+        record(profiler, "first");
+        profiler.time = Duration.ofSeconds(90).toMillis();
+        record(profiler, "second");
+        assertThat(profiler.getTopStatements(10)).extracting(SqlStatementProfile::getStatementId).containsExactlyInAnyOrder("first", "second");
+
+        profiler.time = Duration.ofSeconds(150).toMillis();
+        assertThat(profiler.getTopStatements(10)).extracting(SqlStatementProfile::getStatementId).containsExactly("second");
+
+        profiler.time = Duration.ofMinutes(10).toMillis();
+        assertThat(profiler.getTopStatements(10)).isEmpty();
+    }
+
+    @Test
+    void reset() {
+        TestSqlStatementProfiler profiler = new TestSqlStatementProfiler();
+        record(profiler, "first");
+
+        profiler.reset();
+
+        assertThat(profiler.getTopStatements(10)).isEmpty();
+    }
+
+    @Test
+    void sampling() {
+        SqlStatementProfiler profiler = new SqlStatementProfiler();
+        assertThat(profiler.setSampleRate(1.0).isSampled()).isTrue();
+        assertThat(profiler.setSampleRate(0.0).isSampled()).isFalse();
+
+        assertThatThrownBy(() -> profiler.setSampleRate(1.5)).isInstanceOf(FlowableIllegalArgumentException.class);
+        assertThatThrownBy(() -> profiler.setMaxAggregates(0)).isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+
+    protected void record(SqlStatementProfiler profiler, String statementId) {
+        SqlProfilingContext profilingContext = profiler.startProfiling(commandContext -> null);
+        profilingContext.addStatement(statementId, 10);
+        profiler.stopProfiling(profilingContext);
+    }
+
+    protected static class TestSqlStatementProfiler extends SqlStatementProfiler {
+
+        protected long time;
+
+        @Override
+        protected long currentTimeMillis() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.junit.jupiter.api.Test;
+
+class ExpressionCacheTest {
+
+    @Test
+    void frequentlyUsedExpressionsSurviveEviction() {
+        ExpressionCache cache = new ExpressionCache(10);
+        for (int i = 0; i < 10; i++) {
+            cache.add("${var" + i + "}", new FixedValue(i));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(cache.get("${var0}")).isNotNull();
+            assertThat(cache.get("${var1}")).isNotNull();
+        }
+
+        for (int i = 10; i < 30; i++) {
+            cache.add("${var" + i + "}", new FixedValue(i));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.contains("${var0}")).isTrue();
+        assertThat(cache.contains("${var1}")).isTrue();
+        assertThat(cache.getEvictionCount()).isEqualTo(30 - cache.size());
+    }
+
+    @Test
+    void statistics() {
+        ExpressionCache cache = new ExpressionCache(10);
+        Expression expression = new FixedValue("value");
+
+        assertThat(cache.get("${a}")).isNull();
+        cache.add("${a}", expression);
+        cache.add("${b}", new FixedValue("other"));
+        assertThat(cache.get("${a}")).isSameAs(expression);
+        assertThat(cache.get("${a}")).isSameAs(expression);
+        assertThat(cache.get("${b}")).isNotNull();
+
+        assertThat(cache.getHitCount()).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.75);
+        assertThat(cache.getExpressionHitCounts()).containsExactly(entry("${a}", 2L),
+                entry("${b}", 1L));
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getAll()).isEmpty();
+    }
+
+    @Test
+    void limitMustBePositive() {
+        assertThatThrownBy(() -> new ExpressionCache(0)).isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.el.compiler.CompilingValueExpression;
+import org.junit.jupiter.api.Test;
+
+class ExpressionCompilerTest {
+
+    @Test
+    void compiledExpressionsGiveSameResultsAsInterpreter() {
+        DefaultExpressionManager compilingExpressionManager = createExpressionManager(0);
+        DefaultExpressionManager interpretingExpressionManager = createExpressionManager(-1);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 7);
+        variables.put("b", 3L);
+        variables.put("decimal", new BigDecimal("2.5"));
+        variables.put("name", "kermit");
+        variables.put("flag", "true");
+        variables.put("nullValue", null);
+        variables.put("items", Arrays.asList("one", "two", "three"));
+        variables.put("map", Collections.singletonMap("key", "value"));
+        variables.put("person", new Person("Kermit", 42));
+
+        String[] expressions = {
+                "${a + b}", "${a - b * 2}", "${a / b}", "${a % b}", "${-a}", "${a + decimal}", "${1 + 2 * 3}",
+                "${a > 5 && b < 10}", "${a < 5 || flag}", "${!flag}", "${not (a == 7)}", "${a >= b}", "${a <= b}", "${a != b}",
+                "${name == 'kermit' ? 'frog' : 'other'}", "${empty items ? 0 : items[1]}", "${empty nullValue}",
+                "${map.key}", "${map['key']}", "${map['missing']}", "${items[a - 6]}", "${nullValue.property}",
+                "${person.name}", "${person.age > 40}", "Hello ${name}, ${a + b}!", "${items.size()}", "plain text"
+        };
+
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(variables);
+        for (String expressionText : expressions) {
+            assertThat(compilingExpressionManager.createExpression(expressionText).getValue(variableContainer)).as(expressionText)
+                    .isEqualTo(interpretingExpressionManager.createExpression(expressionText).getValue(variableContainer));
+        }
+    }
+
+    @Test
+    void expressionIsCompiledAfterThreshold() {
+        DefaultExpressionManager expressionManager = createExpressionManager(2);
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(Collections.singletonMap("a", 7));
+
+        JuelExpression expression = (JuelExpression) expressionManager.createExpression("${a > 5}");
+        CompilingValueExpression valueExpression = (CompilingValueExpression) expression.valueExpression;
+
+        assertThat(expression.getValue(variableContainer)).isEqualTo(true);
+        assertThat(expression.getValue(variableContainer)).isEqualTo(true);
+        assertThat(valueExpression.isCompiled()).isFalse();
+
+        assertThat(expression.getValue(variableContainer)).isEqualTo(true);
+        assertThat(valueExpression.isCompiled()).isTrue();
+    }
+
+    @Test
+    void uncompilableExpressionIsInterpreted() {
+        DefaultExpressionManager expressionManager = createExpressionManager(0);
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(Collections.singletonMap("items", Arrays.asList("one", "two")));
+
+        JuelExpression expression = (JuelExpression) expressionManager.createExpression("${items.size()}");
+
+        assertThat(expression.getValue(variableContainer)).isEqualTo(2);
+        assertThat(((CompilingValueExpression) expression.valueExpression).isCompiled()).isFalse();
+    }
+
+    @Test
+    void compiledExpressionReportsUnknownProperty() {
+        DefaultExpressionManager expressionManager = createExpressionManager(0);
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(Collections.singletonMap("a", 7));
+
+        assertThatThrownBy(() -> expressionManager.createExpression("${a + unknown}").getValue(variableContainer))
+                .isInstanceOf(FlowableException.class)
+                .hasMessage("Unknown property used in expression: ${a + unknown}");
+    }
+
+    @Test
+    void disabledByDefault() {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(null);
+        expressionManager.setFastPathEnabled(false);
+
+        JuelExpression expression = (JuelExpression) expressionManager.createExpression("${a > 5}");
+        assertThat(expression.valueExpression).isNotInstanceOf(CompilingValueExpression.class);
+    }
+
+    protected DefaultExpressionManager createExpressionManager(int compilationThreshold) {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(null);
+        expressionManager.setFastPathEnabled(false);
+        expressionManager.setExpressionCompilationThreshold(compilationThreshold);
+        return expressionManager;
+    }
+
+    public static class Person {
+
+        protected final String name;
+        protected final int age;
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
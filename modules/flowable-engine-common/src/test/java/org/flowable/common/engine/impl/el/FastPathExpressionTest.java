@@ -0,0 +1,118 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.identity.Authentication;
+import org.junit.jupiter.api.Test;
+
+class FastPathExpressionTest {
+
+    @Test
+    void simpleExpressionsUseFastPath() {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(null);
+
+        assertThat(expressionManager.createExpression("${myVar}")).isInstanceOf(FastPathExpression.class);
+        assertThat(expressionManager.createExpression("${ a == b }")).isInstanceOf(FastPathExpression.class);
+        assertThat(expressionManager.createExpression("${status != 'open'}")).isInstanceOf(FastPathExpression.class);
+        assertThat(expressionManager.createExpression("${count == 5}")).isInstanceOf(FastPathExpression.class);
+        assertThat(expressionManager.createExpression("${approved == true}")).isInstanceOf(FastPathExpression.class);
+
+        assertThat(expressionManager.createExpression("${a.b}")).isInstanceOf(JuelExpression.class);
+        assertThat(expressionManager.createExpression("${a > b}")).isInstanceOf(JuelExpression.class);
+        assertThat(expressionManager.createExpression("${a eq b}")).isInstanceOf(JuelExpression.class);
+        assertThat(expressionManager.createExpression("${'it\\'s' == a}")).isInstanceOf(JuelExpression.class);
+        assertThat(expressionManager.createExpression("${authenticatedUserId}")).isInstanceOf(JuelExpression.class);
+        assertThat(expressionManager.createExpression("prefix ${a}")).isInstanceOf(JuelExpression.class);
+        assertThat(expressionManager.createExpression("#{a}")).isInstanceOf(JuelExpression.class);
+    }
+
+    @Test
+    void fastPathGivesSameResultsAsJuel() {
+        DefaultExpressionManager fastPathExpressionManager = new DefaultExpressionManager(null);
+        DefaultExpressionManager juelExpressionManager = new DefaultExpressionManager(null);
+        juelExpressionManager.setFastPathEnabled(false);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("text", "5");
+        variables.put("number", 5);
+        variables.put("longNumber", 5L);
+        variables.put("decimal", new BigDecimal("5.0"));
+        variables.put("doubleNumber", 5.0d);
+        variables.put("flag", true);
+        variables.put("flagText", "true");
+        variables.put("nullValue", null);
+        variables.put("status", "open");
+
+        String[] expressions = {
+                "${text}", "${number}", "${nullValue}",
+                "${text == number}", "${number == longNumber}", "${decimal == number}", "${doubleNumber == number}",
+                "${flag == flagText}", "${flag == true}", "${flag != false}", "${nullValue == null}", "${text != null}",
+                "${status == 'open'}", "${status == \"closed\"}", "${number == 5}", "${number != 6}", "${'open' == status}"
+        };
+
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(variables);
+        for (String expressionText : expressions) {
+            Expression fastPathExpression = fastPathExpressionManager.createExpression(expressionText);
+            assertThat(fastPathExpression).as(expressionText).isInstanceOf(FastPathExpression.class);
+            assertThat(fastPathExpression.getValue(variableContainer)).as(expressionText)
+                    .isEqualTo(juelExpressionManager.createExpression(expressionText).getValue(variableContainer));
+        }
+    }
+
+    @Test
+    void fallsBackToJuelForOtherIdentifiers() {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(Collections.singletonMap("myBean", "beanValue"));
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(Collections.singletonMap("myVar", "beanValue"));
+
+        Expression expression = expressionManager.createExpression("${myBean == myVar}");
+        assertThat(expression).isInstanceOf(FastPathExpression.class);
+        assertThat(expression.getValue(variableContainer)).isEqualTo(true);
+
+        assertThatThrownBy(() -> expressionManager.createExpression("${unknown}").getValue(variableContainer))
+                .isInstanceOf(FlowableException.class)
+                .hasMessage("Unknown property used in expression: ${unknown}");
+    }
+
+    @Test
+    void authenticatedUserIdIsNotReadFromVariables() {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(null);
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(Collections.singletonMap("authenticatedUserId", "variable"));
+
+        Authentication.setAuthenticatedUserId("kermit");
+        try {
+            assertThat(expressionManager.createExpression("${authenticatedUserId == 'kermit'}").getValue(variableContainer)).isEqualTo(true);
+        } finally {
+            Authentication.setAuthenticatedUserId(null);
+        }
+    }
+
+    @Test
+    void setValueUsesJuel() {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(null);
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(Collections.singletonMap("myVar", "old"));
+
+        expressionManager.createExpression("${myVar}").setValue("new", variableContainer);
+
+        assertThat(variableContainer.getVariable("myVar")).isEqualTo("new");
+    }
+}
@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void idIsVersion7Uuid() {
+        long before = System.currentTimeMillis();
+        String id = new TimeOrderedUuidGenerator().getNextId();
+
+        assertThat(id).hasSize(36).matches("[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}");
+        UUID uuid = UUID.fromString(id);
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.toString()).isEqualTo(id);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void idsAreIncreasing() {
+        TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            ids.add(idGenerator.getNextId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void idsAreIncreasingWhenClockGoesBack() {
+        long[] now = { System.currentTimeMillis() + 10000L };
+        TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator() {
+
+            @Override
+            protected long currentTimeMillis() {
+                return now[0];
+            }
+        };
+
+        String first = idGenerator.getNextId();
+        now[0] -= 5000L;
+        String second = idGenerator.getNextId();
+        now[0] += 6000L;
+        String third = idGenerator.getNextId();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(third).isGreaterThan(second);
+        assertThat(UUID.fromString(third).getMostSignificantBits() >>> 16).isEqualTo(now[0]);
+    }
+
+    @Test
+    void concurrentIdsAreUnique() throws Exception {
+        TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(ids).hasSize(80000);
+    }
+}
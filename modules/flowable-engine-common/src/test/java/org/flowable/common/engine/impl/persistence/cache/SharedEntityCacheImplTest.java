@@ -0,0 +1,185 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.persistence.entity.AbstractEntityNoRevision;
+import org.junit.jupiter.api.Test;
+
+class SharedEntityCacheImplTest {
+
+    @Test
+    void getReturnsCopy() {
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl()
+                .addCachedEntityClass(TestEntity.class, Duration.ofMinutes(1), 10);
+
+        TestEntity entity = new TestEntity("1", "name", new Date(1000L));
+        cache.put(entity, cache.getInvalidationCount(TestEntity.class));
+        entity.name = "changed";
+
+        TestEntity cached = cache.get(TestEntity.class, "1");
+        assertThat(cached).isNotSameAs(entity);
+        assertThat(cached.getId()).isEqualTo("1");
+        assertThat(cached.name).isEqualTo("name");
+        assertThat(cached.time).isEqualTo(new Date(1000L));
+
+        cached.name = "changed";
+        cached.time.setTime(2000L);
+        assertThat(cache.get(TestEntity.class, "1").name).isEqualTo("name");
+        assertThat(cache.get(TestEntity.class, "1").time).isEqualTo(new Date(1000L));
+    }
+
+    @Test
+    void onlyConfiguredClassesAreCached() {
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl();
+        assertThat(cache.isCached(TestEntity.class)).isFalse();
+
+        cache.put(new TestEntity("1", "name", null), 0L);
+        assertThat(cache.get(TestEntity.class, "1")).isNull();
+    }
+
+    @Test
+    void expiredEntitiesAreRemoved() {
+        long[] now = { 0L };
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl() {
+
+            @Override
+            protected long currentTimeMillis() {
+                return now[0];
+            }
+        }.addCachedEntityClass(TestEntity.class, Duration.ofSeconds(10), 10);
+
+        cache.put(new TestEntity("1", "name", null), 0L);
+        now[0] = 9999L;
+        assertThat(cache.get(TestEntity.class, "1")).isNotNull();
+
+        now[0] = 10000L;
+        assertThat(cache.get(TestEntity.class, "1")).isNull();
+        assertThat(cache.size(TestEntity.class)).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedEntityIsRemovedWhenFull() {
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl()
+                .addCachedEntityClass(TestEntity.class, Duration.ofMinutes(1), 2);
+
+        cache.put(new TestEntity("1", "one", null), 0L);
+        cache.put(new TestEntity("2", "two", null), 0L);
+        assertThat(cache.get(TestEntity.class, "1")).isNotNull();
+
+        cache.put(new TestEntity("3", "three", null), 0L);
+        assertThat(cache.size(TestEntity.class)).isEqualTo(2);
+        assertThat(cache.get(TestEntity.class, "1")).isNotNull();
+        assertThat(cache.get(TestEntity.class, "2")).isNull();
+        assertThat(cache.get(TestEntity.class, "3")).isNotNull();
+    }
+
+    @Test
+    void invalidationIsPublishedToAllCaches() {
+        InMemoryEntityCacheInvalidationBus bus = new InMemoryEntityCacheInvalidationBus();
+        SharedEntityCacheImpl cache1 = new SharedEntityCacheImpl(bus).addCachedEntityClass(TestEntity.class, Duration.ofMinutes(1), 10);
+        SharedEntityCacheImpl cache2 = new SharedEntityCacheImpl(bus).addCachedEntityClass(TestEntity.class, Duration.ofMinutes(1), 10);
+
+        cache1.put(new TestEntity("1", "one", null), 0L);
+        cache1.put(new TestEntity("2", "two", null), 0L);
+        cache2.put(new TestEntity("1", "one", null), 0L);
+        cache2.put(new TestEntity("2", "two", null), 0L);
+
+        cache1.invalidate(TestEntity.class, "1");
+        assertThat(cache1.get(TestEntity.class, "1")).isNull();
+        assertThat(cache2.get(TestEntity.class, "1")).isNull();
+        assertThat(cache2.get(TestEntity.class, "2")).isNotNull();
+
+        cache2.invalidateAll(TestEntity.class);
+        assertThat(cache1.size(TestEntity.class)).isZero();
+        assertThat(cache2.size(TestEntity.class)).isZero();
+    }
+
+    @Test
+    void putIsIgnoredAfterConcurrentInvalidation() {
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl()
+                .addCachedEntityClass(TestEntity.class, Duration.ofMinutes(1), 10);
+
+        long invalidationCount = cache.getInvalidationCount(TestEntity.class);
+        cache.invalidate(TestEntity.class, "1");
+        cache.put(new TestEntity("1", "stale", null), invalidationCount);
+        assertThat(cache.get(TestEntity.class, "1")).isNull();
+
+        cache.put(new TestEntity("1", "fresh", null), cache.getInvalidationCount(TestEntity.class));
+        assertThat(cache.get(TestEntity.class, "1").name).isEqualTo("fresh");
+    }
+
+    @Test
+    void invalidConfiguration() {
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl();
+        assertThatThrownBy(() -> cache.addCachedEntityClass(TestEntity.class, Duration.ZERO, 10))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.addCachedEntityClass(TestEntity.class, Duration.ofMinutes(1), 0))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+
+    @Test
+    void entityWithUncopyableFieldIsRejected() {
+        SharedEntityCacheImpl cache = new SharedEntityCacheImpl();
+        assertThatThrownBy(() -> cache.addCachedEntityClass(TestEntityWithList.class, Duration.ofMinutes(1), 10))
+                .isInstanceOf(FlowableIllegalArgumentException.class)
+                .hasMessageContaining("[values]");
+
+        cache.addCachedEntityClass(TestEntityWithList.class, Duration.ofMinutes(1), 10, "values");
+        TestEntityWithList entity = new TestEntityWithList();
+        entity.setId("1");
+        entity.values.add("value");
+        cache.put(entity, 0L);
+
+        TestEntityWithList cached = cache.get(TestEntityWithList.class, "1");
+        assertThat(cached.values).isEmpty();
+    }
+
+    public static class TestEntityWithList extends TestEntity {
+
+        protected List<String> values = new ArrayList<>();
+    }
+
+    public static class TestEntity extends AbstractEntityNoRevision {
+
+        protected String name;
+        protected Date time;
+
+        public TestEntity() {
+        }
+
+        public TestEntity(String id, String name, Date time) {
+            this.id = id;
+            this.name = name;
+            this.time = time;
+        }
+
+        @Override
+        public String getIdPrefix() {
+            return "";
+        }
+
+        @Override
+        public Object getPersistentState() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencyEvictingCacheTest {
+
+    @Test
+    void addedValueIsNotEvicted() {
+        FrequencyEvictingCache<String> cache = new FrequencyEvictingCache<>("test", 10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+            for (int j = 0; j < 5; j++) {
+                cache.get("key" + i);
+            }
+        }
+
+        cache.put("added", "value");
+
+        assertThat(cache.containsKey("added")).isTrue();
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.getEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void frequenciesAreAged() {
+        FrequencyEvictingCache<String> cache = new FrequencyEvictingCache<>("test", 10);
+        cache.put("old", "value");
+        for (int i = 0; i < 3; i++) {
+            cache.get("old");
+        }
+
+        // The old value was used more often than the others, but only before the frequencies were halved repeatedly
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.put("key" + round + "-" + i, "value");
+                cache.get("key" + round + "-" + i);
+                cache.get("key" + round + "-" + i);
+            }
+        }
+
+        assertThat(cache.containsKey("old")).isFalse();
+    }
+}
@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MemoryMappedByteStoreTest {
+
+    protected MemoryMappedByteStore store;
+
+    @BeforeEach
+    void createStore() {
+        store = new MemoryMappedByteStore(null, 64);
+    }
+
+    @AfterEach
+    void closeStore() {
+        store.close();
+    }
+
+    @Test
+    void storesBytesAcrossSegments() {
+        for (int i = 0; i < 20; i++) {
+            store.put("key" + i, ("value " + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(store.size()).isEqualTo(20);
+        assertThat(store.getMappedSize()).isGreaterThan(64);
+        for (int i = 0; i < 20; i++) {
+            assertThat(new String(store.get("key" + i), StandardCharsets.UTF_8)).isEqualTo("value " + i);
+        }
+        assertThat(store.get("unknown")).isNull();
+    }
+
+    @Test
+    void storesBytesLargerThanSegment() {
+        byte[] bytes = "large".repeat(100).getBytes(StandardCharsets.UTF_8);
+        store.put("small", new byte[] { 1, 2, 3 });
+        store.put("large", bytes);
+
+        assertThat(store.get("large")).isEqualTo(bytes);
+        assertThat(store.get("small")).containsExactly(1, 2, 3);
+        assertThat(store.getUsedBytes()).isEqualTo(bytes.length + 3);
+    }
+
+    @Test
+    void replacesAndRemovesBytes() {
+        store.put("key", new byte[] { 1 });
+        store.put("key", new byte[] { 2, 3 });
+        assertThat(store.get("key")).containsExactly(2, 3);
+        assertThat(store.getUsedBytes()).isEqualTo(2);
+
+        store.remove("key");
+        assertThat(store.contains("key")).isFalse();
+        assertThat(store.getUsedBytes()).isZero();
+    }
+
+    @Test
+    void reusesSpaceOfRemovedBytes() {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 8; i++) {
+                store.put("key" + i, new byte[32]);
+            }
+            for (int i = 0; i < 8; i++) {
+                store.remove("key" + i);
+            }
+        }
+
+        assertThat(store.getUsedBytes()).isZero();
+        assertThat(store.getMappedSize()).isLessThanOrEqualTo(5 * 64);
+    }
+
+    @Test
+    void compactsMostlyUnusedSegments() {
+        for (int i = 0; i < 16; i++) {
+            store.put("key" + i, new byte[] { (byte) i, (byte) i, (byte) i, (byte) i, (byte) i, (byte) i, (byte) i, (byte) i });
+        }
+        long mappedSize = store.getMappedSize();
+
+        // Leaves one byte array in every full segment, which moves it to the current segment
+        for (int i = 0; i < 16; i++) {
+            if (i % 8 != 0) {
+                store.remove("key" + i);
+            }
+        }
+        for (int i = 16; i < 32; i++) {
+            store.put("key" + i, new byte[] { (byte) i, (byte) i, (byte) i, (byte) i, (byte) i, (byte) i, (byte) i, (byte) i });
+        }
+
+        assertThat(store.getMappedSize()).isLessThanOrEqualTo(mappedSize + 64);
+        assertThat(store.get("key0")).containsOnly(0);
+        assertThat(store.get("key8")).containsOnly(8);
+        for (int i = 16; i < 32; i++) {
+            assertThat(store.get("key" + i)).containsOnly(i);
+        }
+    }
+
+    @Test
+    void clearReleasesFileSpace() throws Exception {
+        store.put("key", new byte[] { 1, 2, 3 });
+        store.clear();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.getMappedSize()).isZero();
+        assertThat(Files.size(store.getFile())).isZero();
+
+        store.put("key", new byte[] { 4 });
+        assertThat(store.get("key")).containsExactly(4);
+    }
+
+    @Test
+    void closeDeletesFile() {
+        Path file = store.getFile();
+        assertThat(file).exists();
+
+        store.close();
+        assertThat(file).doesNotExist();
+    }
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ByteArrayCodecTest {
+
+    protected static final byte[] COMPRESSIBLE_BYTES = "java.lang.RuntimeException: failure\n\tat org.flowable.Test.run(Test.java:42)\n".repeat(50)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void compressesAboveThreshold() {
+        byte[] storedBytes = new ByteArrayCodec(100).encode(COMPRESSIBLE_BYTES);
+
+        assertThat(storedBytes).hasSizeLessThan(COMPRESSIBLE_BYTES.length);
+        assertThat(ByteArrayCodec.decode(storedBytes, true)).isEqualTo(COMPRESSIBLE_BYTES);
+    }
+
+    @Test
+    void doesNotCompressBelowThreshold() {
+        byte[] storedBytes = new ByteArrayCodec(COMPRESSIBLE_BYTES.length).encode(COMPRESSIBLE_BYTES);
+
+        assertThat(storedBytes).isSameAs(COMPRESSIBLE_BYTES);
+        assertThat(ByteArrayCodec.decode(storedBytes, false)).isSameAs(COMPRESSIBLE_BYTES);
+    }
+
+    @Test
+    void doesNotCompressWhenDisabled() {
+        assertThat(new ByteArrayCodec(-1).encode(COMPRESSIBLE_BYTES)).isSameAs(COMPRESSIBLE_BYTES);
+        assertThat(new ByteArrayCodec(-1).encode(null)).isNull();
+    }
+
+    @Test
+    void storesIncompressibleBytesAsIs() {
+        byte[] bytes = new byte[512];
+        new Random(42).nextBytes(bytes);
+
+        byte[] storedBytes = new ByteArrayCodec(0).encode(bytes);
+
+        assertThat(storedBytes).isSameAs(bytes);
+    }
+
+    @Test
+    void decodesUncompressedBytes() {
+        byte[] bytes = "plain".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(ByteArrayCodec.decode(bytes, false)).isSameAs(bytes);
+        assertThat(ByteArrayCodec.decode(new byte[0], false)).isEmpty();
+        assertThat(ByteArrayCodec.decode(null, true)).isNull();
+    }
+
+    @Test
+    void decodesUncompressedBytesThatLookCompressed() {
+        // Starts with the GZIP magic number, and with the header compressed byte arrays used to be marked with
+        byte[] gzipLikeBytes = { 0x1f, (byte) 0x8b, 0x08, 0x00, 'r', 'a', 'w' };
+        byte[] headerLikeBytes = { (byte) 0xFB, 'F', 'L', 'Z', 'r', 'a', 'w' };
+
+        assertThat(ByteArrayCodec.decode(gzipLikeBytes, false)).isSameAs(gzipLikeBytes);
+        assertThat(ByteArrayCodec.decode(headerLikeBytes, false)).isSameAs(headerLikeBytes);
+    }
+
+    @Test
+    void byteArrayEntityStoresEncodedBytes() {
+        ByteArrayEntityImpl byteArrayEntity = new ByteArrayEntityImpl();
+        byteArrayEntity.setCodec(new ByteArrayCodec(100));
+        byteArrayEntity.setBytes(COMPRESSIBLE_BYTES);
+
+        byte[] storedBytes = byteArrayEntity.getStoredBytes();
+        assertThat(storedBytes).hasSizeLessThan(COMPRESSIBLE_BYTES.length);
+        assertThat(byteArrayEntity.isCompressed()).isTrue();
+
+        ByteArrayEntityImpl loadedByteArrayEntity = new ByteArrayEntityImpl();
+        loadedByteArrayEntity.setStoredBytes(storedBytes);
+        loadedByteArrayEntity.setCompressed(true);
+        assertThat(loadedByteArrayEntity.getBytes()).isEqualTo(COMPRESSIBLE_BYTES);
+    }
+
+    @Test
+    void byteArrayEntityStoresUncompressedBytesAsIs() {
+        ByteArrayEntityImpl byteArrayEntity = new ByteArrayEntityImpl();
+        byteArrayEntity.setCodec(new ByteArrayCodec(100));
+        byteArrayEntity.setBytes("plain".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(byteArrayEntity.getStoredBytes()).isEqualTo("plain".getBytes(StandardCharsets.UTF_8));
+        assertThat(byteArrayEntity.isCompressed()).isFalse();
+    }
+
+}
@@ -25,6 +25,7 @@ import org.flowable.batch.api.BatchPartQuery;
 import org.flowable.batch.api.BatchQuery;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
+import org.flowable.common.engine.api.management.SqlStatementProfile;
 import org.flowable.common.engine.api.management.TableMetaData;
 import org.flowable.common.engine.api.management.TablePage;
 import org.flowable.common.engine.api.management.TablePageQuery;
@@ -449,6 +450,21 @@ public interface ManagementService {
     /** get the list of properties. */
     Map<String, String> getProperties();
 
+    /**
+     * Returns the SQL statements with the highest total execution time, as recorded by the sampled commands of the
+     * {@link org.flowable.common.engine.impl.db.profiler.SqlStatementProfiler} over the last two profiling windows.
+     * Returns an empty list when no SQL statement profiler is configured.
+     *
+     * @param maxResults
+     *            the maximum number of returned statement profiles, needs to be positive.
+     */
+    List<SqlStatementProfile> getSqlStatementProfiles(int maxResults);
+
+    /**
+     * Clears all statement profiles recorded by the SQL statement profiler.
+     */
+    void resetSqlStatementProfiles();
+
     /**
      * programmatic schema update on a given connection returning feedback about what happened
      */
@@ -159,6 +159,9 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
     protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
     protected Duration cleanInstancesEndedAfter = Duration.ofDays(365);
     protected int cleanInstancesBatchSize = 100;
+    protected int cleanInstancesPartitionCount;
+    protected Duration cleanInstancesPartitionPause = Duration.ZERO;
+    protected boolean enableHistoryTablePartitioning;
     protected HistoryCleaningManager historyCleaningManager;
 
 
@@ -863,6 +866,49 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
         return this;
     }
 
+    public int getCleanInstancesPartitionCount() {
+        return cleanInstancesPartitionCount;
+    }
+
+    /**
+     * Sets the number of partitions in which the history cleanup splits the instances to remove, by their end time.
+     * The partitions are removed concurrently by async jobs, each partition {@link #getCleanInstancesBatchSize() batch size} instances per transaction,
+     * with set based delete statements per history table.
+     * 0 (the default) removes the instances with a sequential batch through the {@link HistoryCleaningManager} instead.
+     */
+    public ProcessEngineConfiguration setCleanInstancesPartitionCount(int cleanInstancesPartitionCount) {
+        this.cleanInstancesPartitionCount = cleanInstancesPartitionCount;
+        return this;
+    }
+
+    public Duration getCleanInstancesPartitionPause() {
+        return cleanInstancesPartitionPause;
+    }
+
+    /**
+     * Sets the time a partition of the history cleanup waits after removing a batch of instances, before it removes the next batch.
+     * Together with the partition count and the batch size, this limits the load the cleanup puts on the database.
+     */
+    public ProcessEngineConfiguration setCleanInstancesPartitionPause(Duration cleanInstancesPartitionPause) {
+        this.cleanInstancesPartitionPause = cleanInstancesPartitionPause;
+        return this;
+    }
+
+    public boolean isEnableHistoryTablePartitioning() {
+        return enableHistoryTablePartitioning;
+    }
+
+    /**
+     * Sets whether the process instance, activity instance and detail history tables are partitioned by month of their start time,
+     * on PostgreSQL and Oracle. The tables are partitioned when the schema is created, so this needs to be enabled before the history tables exist.
+     * The history cleanup then drops the partitions of the months in which all process instances ended before the cleanup time,
+     * instead of deleting their rows.
+     */
+    public ProcessEngineConfiguration setEnableHistoryTablePartitioning(boolean enableHistoryTablePartitioning) {
+        this.enableHistoryTablePartitioning = enableHistoryTablePartitioning;
+        return this;
+    }
+
     public HistoryCleaningManager getHistoryCleaningManager() {
         return historyCleaningManager;
     }
@@ -1150,6 +1150,14 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
         return finishedBefore;
     }
 
+    /**
+     * Whether the history tables are partitioned by start time, in which case an upper bound for the end time is also used as upper bound for the start time,
+     * so the partitions of the later months are not scanned.
+     */
+    public boolean isStartTimePartitioned() {
+        return processEngineConfiguration != null && processEngineConfiguration.isEnableHistoryTablePartitioning();
+    }
+
     public String getActiveActivityId() {
         return activeActivityId;
     }
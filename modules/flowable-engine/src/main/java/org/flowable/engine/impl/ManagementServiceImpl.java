@@ -14,6 +14,7 @@ package org.flowable.engine.impl;
 
 import java.sql.Connection;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,7 @@ import org.flowable.batch.service.impl.BatchPartQueryImpl;
 import org.flowable.batch.service.impl.BatchQueryImpl;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.management.SqlStatementProfile;
 import org.flowable.common.engine.api.management.TableMetaData;
 import org.flowable.common.engine.api.management.TablePageQuery;
 import org.flowable.common.engine.api.tenant.ChangeTenantIdBuilder;
@@ -38,6 +40,7 @@ import org.flowable.common.engine.impl.cmd.GetTableCountCmd;
 import org.flowable.common.engine.impl.cmd.GetTableMetaDataCmd;
 import org.flowable.common.engine.impl.db.DbSqlSession;
 import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.db.profiler.SqlStatementProfiler;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandConfig;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
@@ -391,6 +394,26 @@ public class ManagementServiceImpl extends CommonEngineServiceImpl<ProcessEngine
         return commandExecutor.execute(new GetPropertiesCmd(configuration.getEngineCfgKey()));
     }
 
+    @Override
+    public List<SqlStatementProfile> getSqlStatementProfiles(int maxResults) {
+        if (maxResults <= 0) {
+            throw new FlowableIllegalArgumentException("maxResults must be positive");
+        }
+        SqlStatementProfiler sqlStatementProfiler = configuration.getSqlStatementProfiler();
+        if (sqlStatementProfiler == null) {
+            return Collections.emptyList();
+        }
+        return sqlStatementProfiler.getTopStatements(maxResults);
+    }
+
+    @Override
+    public void resetSqlStatementProfiles() {
+        SqlStatementProfiler sqlStatementProfiler = configuration.getSqlStatementProfiler();
+        if (sqlStatementProfiler != null) {
+            sqlStatementProfiler.reset();
+        }
+    }
+
     @Override
     public String databaseSchemaUpgrade(final Connection connection, final String catalog, final String schema) {
         CommandConfig config = commandExecutor.getDefaultConfig().transactionNotSupported();
@@ -12,16 +12,24 @@
  */
 package org.flowable.engine.impl.agenda;
 
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
 import org.flowable.bpmn.model.FlowElement;
 import org.flowable.bpmn.model.HasExecutionListeners;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.FlowableEngineAgenda;
 import org.flowable.engine.delegate.ExecutionListener;
+import org.flowable.engine.impl.agenda.tracing.AgendaTracingHelper;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.delegate.ActivityBehavior;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.impl.util.ProcessDefinitionUtil;
+import org.flowable.engine.impl.variable.VariableUsageStatistics;
+import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
 
 /**
  * Abstract superclass for all operation interfaces (which are {@link Runnable} instances), exposing some shared helper methods and member fields to subclasses.
@@ -36,6 +44,11 @@ public abstract class AbstractOperation implements Runnable {
     protected FlowableEngineAgenda agenda;
     protected ExecutionEntity execution;
 
+    // Resolved on the first activity behavior invocation of the operation
+    protected Boolean agendaTracingEnabled;
+    protected AgendaTracingHelper agendaTracingHelper;
+    protected VariableUsageStatistics variableUsageStatistics;
+
     public AbstractOperation() {
 
     }
@@ -78,6 +91,44 @@ public abstract class AbstractOperation implements Runnable {
                 .executeExecutionListeners(elementWithExecutionListeners, executionEntity, eventType);
     }
 
+    /**
+     * Invokes the given activity behavior on the given execution, after prefetching the variables it is expected to use.
+     * The invocation is run in a span of the {@link org.flowable.engine.impl.agenda.tracing.AgendaTracer} when agenda tracing is enabled.
+     * The engine configuration is only looked up for the first invocation of the operation, and the invocation
+     * receives the behavior and the execution as arguments, so callers can pass a lambda that doesn't capture anything.
+     */
+    protected <B extends ActivityBehavior> void invokeActivityBehavior(B activityBehavior, FlowElement flowElement, ExecutionEntity executionEntity,
+            BiConsumer<B, ExecutionEntity> behaviorInvocation) {
+
+        if (agendaTracingEnabled == null) {
+            ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+            variableUsageStatistics = processEngineConfiguration.getVariableUsageStatistics();
+            agendaTracingHelper = processEngineConfiguration.getAgendaTracingHelper();
+            agendaTracingEnabled = agendaTracingHelper != null;
+        }
+
+        prefetchVariables(variableUsageStatistics, flowElement, executionEntity);
+        if (agendaTracingEnabled) {
+            agendaTracingHelper.traceActivityBehavior(commandContext, activityBehavior, flowElement, executionEntity,
+                    () -> behaviorInvocation.accept(activityBehavior, executionEntity));
+        } else {
+            behaviorInvocation.accept(activityBehavior, executionEntity);
+        }
+    }
+
+    /**
+     * Fetches the variables that were used the previous times the given activity was executed with one query,
+     * so that the behavior does not need to fetch them one by one.
+     */
+    protected void prefetchVariables(VariableUsageStatistics variableUsageStatistics, FlowElement flowElement, ExecutionEntity executionEntity) {
+        if (variableUsageStatistics != null && executionEntity instanceof VariableScopeImpl) {
+            Collection<String> variableNames = variableUsageStatistics.getUsedVariableNames(executionEntity.getProcessDefinitionId(), flowElement.getId());
+            if (!variableNames.isEmpty()) {
+                ((VariableScopeImpl) executionEntity).prefetchVariables(variableNames);
+            }
+        }
+    }
+
     /**
      * Returns the first parent execution of the provided execution that is a scope.
      */
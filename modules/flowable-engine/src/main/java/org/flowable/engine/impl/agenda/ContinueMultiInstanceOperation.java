@@ -103,7 +103,7 @@ public class ContinueMultiInstanceOperation extends AbstractOperation {
         }
 
         try {
-            activityBehavior.execute(execution);
+            invokeActivityBehavior(activityBehavior, flowNode, execution, ActivityBehavior::execute);
         } catch (BpmnError error) {
             // re-throw business fault so that it can be caught by an Error Intermediate Event or Error Event Sub-Process in the process
             ErrorPropagation.propagateError(error, execution);
@@ -292,10 +292,10 @@ public class ContinueProcessOperation extends AbstractOperation {
 
         try {
             if (migrationContext != null && activityBehavior instanceof ActivityWithMigrationContextBehavior) {
-                ActivityWithMigrationContextBehavior activityWithMigrationContextBehavior = (ActivityWithMigrationContextBehavior) activityBehavior;
-                activityWithMigrationContextBehavior.execute(execution, migrationContext);
+                invokeActivityBehavior(activityBehavior, flowNode, execution,
+                        (behavior, migratedExecution) -> ((ActivityWithMigrationContextBehavior) behavior).execute(migratedExecution, migrationContext));
             } else {
-                activityBehavior.execute(execution);
+                invokeActivityBehavior(activityBehavior, flowNode, execution, ActivityBehavior::execute);
             }
             
         } catch (RuntimeException e) {
@@ -398,7 +398,7 @@ public class ContinueProcessOperation extends AbstractOperation {
                 ExecutionEntity boundaryEventExecution = boundaryEventExecutionsIterator.next();
                 ActivityBehavior boundaryEventBehavior = ((ActivityBehavior) boundaryEvent.getBehavior());
                 LOGGER.debug("Executing boundary event activityBehavior {} with execution {}", boundaryEventBehavior.getClass(), boundaryEventExecution.getId());
-                boundaryEventBehavior.execute(boundaryEventExecution);
+                invokeActivityBehavior(boundaryEventBehavior, boundaryEvent, boundaryEventExecution, ActivityBehavior::execute);
             }
         }
     }
@@ -64,7 +64,8 @@ public class EvaluateConditionalEventsOperation extends AbstractOperation {
                 
                     ActivityBehavior activityBehavior = (ActivityBehavior) ((FlowNode) currentFlowElement).getBehavior();
                     if (activityBehavior instanceof TriggerableActivityBehavior) {
-                        ((TriggerableActivityBehavior) activityBehavior).trigger(childExecutionEntity, null, null);
+                        invokeActivityBehavior((TriggerableActivityBehavior) activityBehavior, currentFlowElement, childExecutionEntity,
+                                (behavior, triggeredExecution) -> behavior.trigger(triggeredExecution, null, null));
                     }
                 }
             
@@ -56,7 +56,8 @@ public class TriggerExecutionOperation extends AbstractOperation {
             if (activityBehavior instanceof TriggerableActivityBehavior) {
 
                 if (!triggerAsync) {
-                    ((TriggerableActivityBehavior) activityBehavior).trigger(execution, null, null);
+                    invokeActivityBehavior((TriggerableActivityBehavior) activityBehavior, currentFlowElement, execution,
+                            (behavior, triggeredExecution) -> behavior.trigger(triggeredExecution, null, null));
                     
                 } else {
                     ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda.tracing;
+
+/**
+ * A span started by an {@link AgendaTracer}.
+ */
+public interface AgendaSpan {
+
+    AgendaSpan setAttribute(String key, String value);
+
+    AgendaSpan setAttribute(String key, long value);
+
+    /**
+     * Marks the span as failed with the given exception.
+     */
+    void recordException(Throwable exception);
+
+    void end();
+
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda.tracing;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * Creates the spans for the agenda operations and the activity behaviors executed by the process engine.
+ * A span is started for every {@link org.flowable.engine.impl.agenda.AbstractOperation} executed by the
+ * {@link org.flowable.common.engine.impl.agenda.AgendaOperationRunner} and for every invocation of an
+ * {@link org.flowable.engine.impl.delegate.ActivityBehavior}, the latter being nested in the span of the operation invoking it.
+ * <p>
+ * The attributes of the spans are named after the OpenTelemetry conventions,
+ * so implementations can pass them on to an OpenTelemetry tracer unchanged.
+ *
+ * @see InMemoryAgendaTracer
+ */
+public interface AgendaTracer {
+
+    String ATTRIBUTE_PROCESS_DEFINITION_KEY = "flowable.process.definition.key";
+    String ATTRIBUTE_PROCESS_DEFINITION_ID = "flowable.process.definition.id";
+    String ATTRIBUTE_PROCESS_INSTANCE_ID = "flowable.process.instance.id";
+    String ATTRIBUTE_EXECUTION_ID = "flowable.execution.id";
+    String ATTRIBUTE_ACTIVITY_ID = "flowable.activity.id";
+    String ATTRIBUTE_ACTIVITY_BEHAVIOR = "flowable.activity.behavior";
+    String ATTRIBUTE_AGENDA_OPERATION = "flowable.agenda.operation";
+
+    /**
+     * The number of SQL statements executed while the span was open, including the ones of its nested spans.
+     */
+    String ATTRIBUTE_DB_STATEMENT_COUNT = "db.statement.count";
+
+    /**
+     * Starts a new span, which is a child of the span that is currently open in the given command context, if any.
+     * The returned span is always ended, also when the traced code throws an exception.
+     */
+    AgendaSpan startSpan(CommandContext commandContext, String spanName);
+
+}
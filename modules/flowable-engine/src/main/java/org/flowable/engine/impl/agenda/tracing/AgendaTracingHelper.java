@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda.tracing;
+
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.agenda.AbstractOperation;
+import org.flowable.engine.impl.delegate.ActivityBehavior;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Runs agenda operations and activity behaviors in a span of the configured {@link AgendaTracer},
+ * adding the process definition, activity and SQL statement count attributes to the span.
+ */
+public class AgendaTracingHelper {
+
+    protected AgendaTracer agendaTracer;
+    protected SqlStatementCountingPlugin sqlStatementCountingPlugin;
+
+    public AgendaTracingHelper(AgendaTracer agendaTracer, SqlStatementCountingPlugin sqlStatementCountingPlugin) {
+        this.agendaTracer = agendaTracer;
+        this.sqlStatementCountingPlugin = sqlStatementCountingPlugin;
+    }
+
+    public void traceOperation(CommandContext commandContext, AbstractOperation operation, Runnable operationInvocation) {
+        String operationName = operation.getClass().getSimpleName();
+        AgendaSpan span = agendaTracer.startSpan(commandContext, operationName);
+        span.setAttribute(AgendaTracer.ATTRIBUTE_AGENDA_OPERATION, operationName);
+
+        ExecutionEntity execution = operation.getExecution();
+        if (execution != null) {
+            addExecutionAttributes(span, execution, execution.getCurrentActivityId());
+        }
+
+        trace(span, operationInvocation);
+    }
+
+    public void traceActivityBehavior(CommandContext commandContext, ActivityBehavior activityBehavior, FlowElement flowElement,
+            ExecutionEntity execution, Runnable behaviorInvocation) {
+
+        String behaviorName = activityBehavior.getClass().getSimpleName();
+        AgendaSpan span = agendaTracer.startSpan(commandContext, behaviorName);
+        span.setAttribute(AgendaTracer.ATTRIBUTE_ACTIVITY_BEHAVIOR, behaviorName);
+        addExecutionAttributes(span, execution, flowElement.getId());
+
+        trace(span, behaviorInvocation);
+    }
+
+    protected void trace(AgendaSpan span, Runnable invocation) {
+        long statementCountBefore = sqlStatementCountingPlugin.getStatementCount();
+        try {
+            invocation.run();
+
+        } catch (RuntimeException | Error e) {
+            span.recordException(e);
+            throw e;
+
+        } finally {
+            span.setAttribute(AgendaTracer.ATTRIBUTE_DB_STATEMENT_COUNT, sqlStatementCountingPlugin.getStatementCount() - statementCountBefore);
+            span.end();
+        }
+    }
+
+    protected void addExecutionAttributes(AgendaSpan span, ExecutionEntity execution, String activityId) {
+        span.setAttribute(AgendaTracer.ATTRIBUTE_EXECUTION_ID, execution.getId());
+        if (execution.getProcessInstanceId() != null) {
+            span.setAttribute(AgendaTracer.ATTRIBUTE_PROCESS_INSTANCE_ID, execution.getProcessInstanceId());
+        }
+        if (execution.getProcessDefinitionId() != null) {
+            span.setAttribute(AgendaTracer.ATTRIBUTE_PROCESS_DEFINITION_ID, execution.getProcessDefinitionId());
+            span.setAttribute(AgendaTracer.ATTRIBUTE_PROCESS_DEFINITION_KEY, execution.getProcessDefinitionKey());
+        }
+        if (activityId != null) {
+            span.setAttribute(AgendaTracer.ATTRIBUTE_ACTIVITY_ID, activityId);
+        }
+    }
+
+    public AgendaTracer getAgendaTracer() {
+        return agendaTracer;
+    }
+
+    public SqlStatementCountingPlugin getSqlStatementCountingPlugin() {
+        return sqlStatementCountingPlugin;
+    }
+}
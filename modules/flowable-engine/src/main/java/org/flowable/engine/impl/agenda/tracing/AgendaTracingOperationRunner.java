@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda.tracing;
+
+import org.flowable.common.engine.impl.agenda.AgendaOperationRunner;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.agenda.AbstractOperation;
+
+/**
+ * An {@link AgendaOperationRunner} that runs every {@link AbstractOperation} in a span of the {@link AgendaTracingHelper}.
+ */
+public class AgendaTracingOperationRunner implements AgendaOperationRunner {
+
+    protected AgendaOperationRunner delegate;
+    protected AgendaTracingHelper agendaTracingHelper;
+
+    public AgendaTracingOperationRunner(AgendaOperationRunner delegate, AgendaTracingHelper agendaTracingHelper) {
+        this.delegate = delegate;
+        this.agendaTracingHelper = agendaTracingHelper;
+    }
+
+    @Override
+    public void executeOperation(CommandContext commandContext, Runnable runnable) {
+        if (runnable instanceof AbstractOperation) {
+            agendaTracingHelper.traceOperation(commandContext, (AbstractOperation) runnable, () -> delegate.executeOperation(commandContext, runnable));
+        } else {
+            delegate.executeOperation(commandContext, runnable);
+        }
+    }
+
+    public AgendaOperationRunner getDelegate() {
+        return delegate;
+    }
+}
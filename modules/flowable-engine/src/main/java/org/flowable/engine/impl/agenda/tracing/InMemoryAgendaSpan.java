@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda.tracing;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A span of the {@link InMemoryAgendaTracer}.
+ */
+public class InMemoryAgendaSpan implements AgendaSpan {
+
+    protected final InMemoryAgendaTracer tracer;
+    protected final Deque<InMemoryAgendaSpan> openSpans;
+    protected final String name;
+    protected final String traceId;
+    protected final String spanId;
+    protected final String parentSpanId;
+    protected final long startEpochNanos;
+    protected final long startNanoTime;
+    protected final Map<String, Object> attributes = new LinkedHashMap<>();
+    protected long endEpochNanos;
+    protected Throwable exception;
+    protected boolean ended;
+
+    public InMemoryAgendaSpan(InMemoryAgendaTracer tracer, Deque<InMemoryAgendaSpan> openSpans, String name, String traceId, String spanId, String parentSpanId) {
+        this.tracer = tracer;
+        this.openSpans = openSpans;
+        this.name = name;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.startEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        this.startNanoTime = System.nanoTime();
+    }
+
+    @Override
+    public AgendaSpan setAttribute(String key, String value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Override
+    public AgendaSpan setAttribute(String key, long value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Override
+    public void recordException(Throwable exception) {
+        this.exception = exception;
+    }
+
+    @Override
+    public void end() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        endEpochNanos = startEpochNanos + (System.nanoTime() - startNanoTime);
+        openSpans.remove(this);
+        tracer.spanEnded(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public long getDurationNanos() {
+        return endEpochNanos - startEpochNanos;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public Object getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    public boolean isError() {
+        return exception != null;
+    }
+
+    public Throwable getException() {
+        return exception;
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryAgendaSpan[name=" + name + ", traceId=" + traceId + ", spanId=" + spanId + ", parentSpanId=" + parentSpanId
+                + ", durationNanos=" + getDurationNanos() + ", attributes=" + attributes + "]";
+    }
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * An {@link AgendaTracer} keeping the most recently finished spans in memory.
+ * <p>
+ * The spans follow the OpenTelemetry data model: all spans of a command context share a 32 hex character trace id,
+ * every span has a 16 hex character span id and refers to the span id of its parent,
+ * and the start and end times are in nanoseconds since the epoch.
+ */
+public class InMemoryAgendaTracer implements AgendaTracer {
+
+    public static final int DEFAULT_MAX_SPANS = 10000;
+
+    protected static final String TRACE_ID_ATTRIBUTE = InMemoryAgendaTracer.class.getName() + ".traceId";
+    protected static final String OPEN_SPANS_ATTRIBUTE = InMemoryAgendaTracer.class.getName() + ".openSpans";
+
+    protected final int maxSpans;
+    protected final Deque<InMemoryAgendaSpan> finishedSpans = new ArrayDeque<>();
+
+    public InMemoryAgendaTracer() {
+        this(DEFAULT_MAX_SPANS);
+    }
+
+    public InMemoryAgendaTracer(int maxSpans) {
+        if (maxSpans <= 0) {
+            throw new FlowableIllegalArgumentException("maxSpans must be positive, but was " + maxSpans);
+        }
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public AgendaSpan startSpan(CommandContext commandContext, String spanName) {
+        String traceId = (String) commandContext.getAttribute(TRACE_ID_ATTRIBUTE);
+        if (traceId == null) {
+            traceId = generateId(2);
+            commandContext.addAttribute(TRACE_ID_ATTRIBUTE, traceId);
+        }
+
+        Deque<InMemoryAgendaSpan> openSpans = (Deque<InMemoryAgendaSpan>) commandContext.getAttribute(OPEN_SPANS_ATTRIBUTE);
+        if (openSpans == null) {
+            openSpans = new ArrayDeque<>();
+            commandContext.addAttribute(OPEN_SPANS_ATTRIBUTE, openSpans);
+        }
+
+        InMemoryAgendaSpan parentSpan = openSpans.peek();
+        InMemoryAgendaSpan span = new InMemoryAgendaSpan(this, openSpans, spanName, traceId, generateId(1), parentSpan != null ? parentSpan.getSpanId() : null);
+        openSpans.push(span);
+        return span;
+    }
+
+    protected synchronized void spanEnded(InMemoryAgendaSpan span) {
+        finishedSpans.addLast(span);
+        if (finishedSpans.size() > maxSpans) {
+            finishedSpans.removeFirst();
+        }
+    }
+
+    /**
+     * Returns the finished spans in the order in which they ended, so nested spans come before their parent.
+     */
+    public synchronized List<InMemoryAgendaSpan> getFinishedSpans() {
+        return new ArrayList<>(finishedSpans);
+    }
+
+    public synchronized void reset() {
+        finishedSpans.clear();
+    }
+
+    public int getMaxSpans() {
+        return maxSpans;
+    }
+
+    protected String generateId(int longs) {
+        StringBuilder id = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            long value;
+            do {
+                // All zero ids are invalid
+                value = ThreadLocalRandom.current().nextLong();
+            } while (value == 0);
+            String hex = Long.toHexString(value);
+            id.append("0".repeat(16 - hex.length())).append(hex);
+        }
+        return id.toString();
+    }
+}
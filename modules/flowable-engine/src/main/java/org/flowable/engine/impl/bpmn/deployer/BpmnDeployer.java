@@ -40,6 +40,7 @@ import org.flowable.engine.DynamicBpmnService;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cmd.DeploymentSettings;
+import org.flowable.engine.impl.history.ProcessHistoryPolicy;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
@@ -83,6 +84,8 @@ public class BpmnDeployer implements EngineDeployer {
                 parsedDeployment.getDeployment(), parsedDeployment.getAllProcessDefinitions());
         bpmnDeploymentHelper.setResourceNamesOnProcessDefinitions(parsedDeployment);
 
+        createHistoryPolicies(parsedDeployment);
+
         createAndPersistNewDiagramsIfNeeded(parsedDeployment);
         setProcessDefinitionDiagramNames(parsedDeployment);
 
@@ -116,6 +119,21 @@ public class BpmnDeployer implements EngineDeployer {
         }
     }
 
+    /**
+     * Resolves the history settings of every process definition up front, so the history manager
+     * doesn't need to look at the process model when deciding what goes into the history.
+     */
+    protected void createHistoryPolicies(ParsedDeployment parsedDeployment) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+            Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
+            if (process != null) {
+                parsedDeployment.setHistoryPolicyForProcessDefinition(processDefinition, ProcessHistoryPolicy.create(process,
+                        processEngineConfiguration.isEnableProcessDefinitionHistoryLevel(), processEngineConfiguration.getActivityTypeHistoryLevels()));
+            }
+        }
+    }
+
     /**
      * Creates new diagrams for process definitions if the deployment is new, the process definition in question supports it, and the engine is configured to make new diagrams.
      *
@@ -345,6 +363,7 @@ public class BpmnDeployer implements EngineDeployer {
                 processDefinition.setSuspensionState(persistedProcessDefinition.getSuspensionState());
                 processDefinition.setHasStartFormKey(persistedProcessDefinition.hasStartFormKey());
                 processDefinition.setGraphicalNotationDefined(persistedProcessDefinition.isGraphicalNotationDefined());
+                processDefinition.setDiagramResourceName(persistedProcessDefinition.getDiagramResourceName());
             }
         }
     }
@@ -15,11 +15,13 @@ package org.flowable.engine.impl.bpmn.deployer;
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.repository.EngineResource;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.engine.impl.persistence.deploy.OffHeapProcessDefinitionCache;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
@@ -50,7 +52,8 @@ public class CachingAndArtifactsManager {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
             ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
-            processDefinitionCache.add(processDefinition.getId(), cacheEntry);
+            cacheEntry.setHistoryPolicy(parsedDeployment.getHistoryPolicyForProcessDefinition(processDefinition));
+            addToProcessDefinitionCache(processDefinitionCache, cacheEntry, parsedDeployment);
             addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
             // Add to deployment for further usage
@@ -69,6 +72,20 @@ public class CachingAndArtifactsManager {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
             ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            cacheEntry.setHistoryPolicy(parsedDeployment.getHistoryPolicyForProcessDefinition(processDefinition));
+            addToProcessDefinitionCache(processDefinitionCache, cacheEntry, parsedDeployment);
+        }
+    }
+
+    protected void addToProcessDefinitionCache(DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache,
+            ProcessDefinitionCacheEntry cacheEntry, ParsedDeployment parsedDeployment) {
+
+        ProcessDefinitionEntity processDefinition = (ProcessDefinitionEntity) cacheEntry.getProcessDefinition();
+        if (processDefinitionCache instanceof OffHeapProcessDefinitionCache) {
+            // The BPMN XML is kept, so the process definition can be hydrated again after it is evicted from the heap
+            EngineResource resource = parsedDeployment.getResourceForProcessDefinition(processDefinition);
+            ((OffHeapProcessDefinitionCache) processDefinitionCache).add(processDefinition.getId(), cacheEntry, resource.getBytes());
+        } else {
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
         }
     }
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.bpmn.deployer;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,7 @@ import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
 import org.flowable.common.engine.api.repository.EngineResource;
 import org.flowable.engine.impl.bpmn.parser.BpmnParse;
+import org.flowable.engine.impl.history.ProcessHistoryPolicy;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 
@@ -36,6 +38,7 @@ public class ParsedDeployment {
     protected List<ProcessDefinitionEntity> processDefinitions;
     protected Map<ProcessDefinitionEntity, BpmnParse> mapProcessDefinitionsToParses;
     protected Map<ProcessDefinitionEntity, EngineResource> mapProcessDefinitionsToResources;
+    protected Map<ProcessDefinitionEntity, ProcessHistoryPolicy> mapProcessDefinitionsToHistoryPolicies = new HashMap<>();
 
     public ParsedDeployment(
             DeploymentEntity entity, List<ProcessDefinitionEntity> processDefinitions,
@@ -75,4 +78,12 @@ public class ParsedDeployment {
         return (model == null ? null : model.getProcessById(processDefinition.getKey()));
     }
 
+    public ProcessHistoryPolicy getHistoryPolicyForProcessDefinition(ProcessDefinitionEntity processDefinition) {
+        return mapProcessDefinitionsToHistoryPolicies.get(processDefinition);
+    }
+
+    public void setHistoryPolicyForProcessDefinition(ProcessDefinitionEntity processDefinition, ProcessHistoryPolicy historyPolicy) {
+        mapProcessDefinitionsToHistoryPolicies.put(processDefinition, historyPolicy);
+    }
+
 }
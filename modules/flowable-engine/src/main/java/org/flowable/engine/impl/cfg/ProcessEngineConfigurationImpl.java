@@ -15,6 +15,7 @@ package org.flowable.engine.impl.cfg;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -43,6 +44,7 @@ import org.apache.ibatis.type.JdbcType;
 import org.flowable.batch.service.BatchServiceConfiguration;
 import org.flowable.batch.service.impl.db.BatchDbSchemaManager;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
 import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
 import org.flowable.common.engine.api.delegate.event.FlowableEventListener;
@@ -57,6 +59,7 @@ import org.flowable.common.engine.impl.ServiceConfigurator;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskInvoker;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
 import org.flowable.common.engine.impl.calendar.BusinessCalendarManager;
 import org.flowable.common.engine.impl.calendar.CycleBusinessCalendar;
 import org.flowable.common.engine.impl.calendar.DueDateBusinessCalendar;
@@ -66,6 +69,7 @@ import org.flowable.common.engine.impl.callback.RuntimeInstanceStateChangeCallba
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.SchemaManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.el.FlowableAstFunctionCreator;
 import org.flowable.common.engine.impl.el.function.VariableBase64ExpressionFunction;
@@ -93,6 +97,7 @@ import org.flowable.common.engine.impl.javax.el.ELResolver;
 import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
+import org.flowable.common.engine.impl.persistence.TimeOrderedUuidGenerator;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
@@ -154,6 +159,10 @@ import org.flowable.engine.impl.SchemaOperationsProcessEngineBuild;
 import org.flowable.engine.impl.TaskServiceImpl;
 import org.flowable.engine.impl.agenda.AgendaSessionFactory;
 import org.flowable.engine.impl.agenda.DefaultFlowableEngineAgendaFactory;
+import org.flowable.engine.impl.agenda.tracing.AgendaTracer;
+import org.flowable.engine.impl.agenda.tracing.AgendaTracingHelper;
+import org.flowable.engine.impl.agenda.tracing.AgendaTracingOperationRunner;
+import org.flowable.engine.impl.agenda.tracing.SqlStatementCountingPlugin;
 import org.flowable.engine.impl.app.AppDeployer;
 import org.flowable.engine.impl.app.AppResourceConverterImpl;
 import org.flowable.engine.impl.bpmn.deployer.BpmnDeployer;
@@ -218,7 +227,10 @@ import org.flowable.engine.impl.cmd.ValidateV5EntitiesCmd;
 import org.flowable.engine.impl.cmmn.CaseInstanceService;
 import org.flowable.engine.impl.db.DbIdGenerator;
 import org.flowable.engine.impl.db.EntityDependencyOrder;
+import org.flowable.engine.impl.db.HistoryTablePartitionManager;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
 import org.flowable.engine.impl.db.ProcessDbSchemaManager;
+import org.flowable.engine.impl.db.ProcessDefinitionKeyResolver;
 import org.flowable.engine.impl.delegate.JsonVariableAggregator;
 import org.flowable.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.flowable.engine.impl.delete.ComputeDeleteHistoricProcessInstanceIdsJobHandler;
@@ -294,6 +306,7 @@ import org.flowable.engine.impl.jobexecutor.AsyncLeaveJobHandler;
 import org.flowable.engine.impl.jobexecutor.AsyncSendEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.AsyncTriggerJobHandler;
 import org.flowable.engine.impl.jobexecutor.BpmnHistoryCleanupJobHandler;
+import org.flowable.engine.impl.jobexecutor.BpmnHistoryCleanupPartitionJobHandler;
 import org.flowable.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.flowable.engine.impl.jobexecutor.ExternalWorkerTaskCompleteJobHandler;
 import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceActivityCompletionJobHandler;
@@ -307,6 +320,7 @@ import org.flowable.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler
 import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.flowable.engine.impl.migration.ProcessInstanceMigrationManagerImpl;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.engine.impl.persistence.deploy.OffHeapProcessDefinitionCache;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
@@ -371,6 +385,7 @@ import org.flowable.engine.impl.scripting.VariableScopeResolverFactory;
 import org.flowable.engine.impl.util.ProcessInstanceHelper;
 import org.flowable.engine.impl.variable.BpmnAggregatedVariableType;
 import org.flowable.engine.impl.variable.ParallelMultiInstanceLoopVariableType;
+import org.flowable.engine.impl.variable.VariableUsageStatistics;
 import org.flowable.engine.interceptor.CreateExternalWorkerJobInterceptor;
 import org.flowable.engine.interceptor.CreateUserTaskInterceptor;
 import org.flowable.engine.interceptor.ExecutionQueryInterceptor;
@@ -410,14 +425,18 @@ import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncRunnableExecutionExceptionHandler;
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
+import org.flowable.job.service.impl.asyncexecutor.JobAcquisitionControllerFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
+import org.flowable.job.service.impl.history.async.AsyncHistoryJobCoalescer;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.HistoryEventLogAsyncHistoryListener;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLog;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.task.api.TaskQueryInterceptor;
 import org.flowable.task.api.history.HistoricTaskQueryInterceptor;
@@ -438,6 +457,7 @@ import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.history.InternalHistoryVariableManager;
 import org.flowable.variable.service.impl.db.IbatisVariableTypeHandler;
 import org.flowable.variable.service.impl.db.VariableDbSchemaManager;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.ByteArrayType;
 import org.flowable.variable.service.impl.types.DateType;
@@ -537,6 +557,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     protected HistoryManager historyManager;
     protected HistoryConfigurationSettings historyConfigurationSettings;
+    protected Map<String, HistoryLevel> activityTypeHistoryLevels;
+    protected Map<String, HistoryLevel> variableHistoryLevels;
 
     protected boolean isAsyncHistoryEnabled;
     protected boolean isAsyncHistoryJsonGzipCompressionEnabled;
@@ -544,6 +566,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int asyncHistoryJsonGroupingThreshold = 10;
     protected AsyncHistoryListener asyncHistoryListener;
 
+    /**
+     * When set, the async history data is appended to a {@link HistoryEventLog} in this directory after every commit,
+     * instead of being written to the history tables by history jobs.
+     * The data is appended at most once: data of a committed transaction that fails to be appended is lost,
+     * see {@link HistoryEventLogAsyncHistoryListener}. Use the history jobs when no history data may be lost.
+     */
+    protected String asyncHistoryEventLogDirectory;
+
+    /**
+     * Whether a history job merges the pending history jobs of the same process instance into its own execution.
+     */
+    protected boolean asyncHistoryJobCoalescingEnabled;
+    protected int asyncHistoryJobCoalescingMaxJobs = 50;
+
     // Change Tenant ID Manager
 
     protected ChangeTenantIdManager changeTenantIdManager;
@@ -558,6 +594,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected DynamicStateManager dynamicStateManager;
 
     protected ProcessInstanceMigrationManager processInstanceMigrationManager;
+
+    protected HistoryTablePartitionManager historyTablePartitionManager;
     
     // Decision table variable manager
     
@@ -596,6 +634,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int processDefinitionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
+    /**
+     * When enabled, the BPMN XML of the deployed process definitions is kept compressed in a memory-mapped file,
+     * and only {@link #processDefinitionCacheLimit} process definitions (1000 when no limit is set) are kept parsed on the heap.
+     */
+    protected boolean offHeapProcessDefinitionCacheEnabled;
+    protected String offHeapProcessDefinitionCacheDirectory; // By default, the temporary directory
+
     protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
     protected DeploymentCache<ProcessDefinitionInfoCacheObject> processDefinitionInfoCache;
 
@@ -622,6 +667,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected ProcessInstanceHelper processInstanceHelper;
     protected ListenerNotificationHelper listenerNotificationHelper;
     protected FormHandlerHelper formHandlerHelper;
+
+    /**
+     * When set, every agenda operation and every activity behavior invocation runs in a span of this tracer.
+     */
+    protected AgendaTracer agendaTracer;
+    protected AgendaTracingHelper agendaTracingHelper;
     
     protected CaseInstanceService caseInstanceService;
 
@@ -651,6 +702,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     /**
      * The thread factory that the async task executor should use.
+     * Also used in virtual thread mode, in which case the jobs are executed on the threads of this factory instead of on virtual threads.
      */
     protected ThreadFactory asyncExecutorThreadFactory;
 
@@ -752,6 +804,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+    /**
+     * When true, getting or setting a single variable only fetches that variable by name, instead of all the variables of the execution and its parents.
+     * <p>
+     * When variable prefetching is enabled as well, the engine keeps track of the variables that are fetched while an execution is in an activity,
+     * and fetches them with one query when that activity is executed the next time.
+     * <p>
+     * By default false for backwards compatibility.
+     */
+    protected boolean lazyVariableLoadingEnabled;
+    protected boolean variablePrefetchEnabled;
+    protected VariableUsageStatistics variableUsageStatistics;
+
     /**
      * This flag determines whether variables of the type 'json' and 'longJson' will be tracked.
      * <p>
@@ -764,6 +828,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean jsonVariableTypeTrackObjects = true;
 
+    /**
+     * When true, new JSON variables are stored in the binary Smile format by the {@link BinaryJsonType}, instead of as text.
+     * Binary JSON variables remain readable when this is switched off again.
+     */
+    protected boolean binaryJsonVariableTypeEnabled;
+
+    /**
+     * The size in bytes above which binary JSON variables are compressed. A negative value (the default) disables the compression.
+     */
+    protected int binaryJsonVariableTypeCompressionThreshold = -1;
+
     /**
      * Whether the Parallel Multi instance should perform the leave operation through an async exclusive job.
      * When this is true then non exclusive parallel multi instances can run in non exclusive asynchronously without an exception being thrown.
@@ -785,6 +860,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected int expressionCompilationThreshold = -1; // negative value to never compile expressions
 
     protected BusinessCalendarManager businessCalendarManager;
 
@@ -808,6 +884,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected List<EventHandler> customEventHandlers;
 
     protected FailedJobCommandFactory failedJobCommandFactory;
+    protected JobAcquisitionControllerFactory jobAcquisitionControllerFactory;
+    protected boolean jobAcquisitionSkipLockedEnabled;
+    protected int jobShardCount;
 
     protected FormFieldHandler formFieldHandler;
     protected boolean isFormFieldValidationEnabled;
@@ -948,6 +1027,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         initProcessDiagramGenerator();
         initCommandContextFactory();
         initTransactionContextFactory();
+        initSqlStatementProfiler();
+        initAgendaTracing();
         initCommandExecutors();
         initIdGenerator();
         initHistoryLevel();
@@ -1035,6 +1116,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         afterInitEventRegistryEventBusConsumer();
         
         initHistoryCleaningManager();
+        initHistoryTablePartitionManager();
         initLocalizationManagers();
     }
 
@@ -1050,6 +1132,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // command executors
     // ////////////////////////////////////////////////////////
 
+    public void initSqlStatementProfiler() {
+        if (sqlStatementProfiler != null && sqlStatementProfiler.getDefinitionKeyResolver() == null) {
+            sqlStatementProfiler.setDefinitionKeyResolver(new ProcessDefinitionKeyResolver());
+        }
+    }
+
+    public void initAgendaTracing() {
+        if (agendaTracer != null && agendaTracingHelper == null) {
+            SqlStatementCountingPlugin sqlStatementCountingPlugin = new SqlStatementCountingPlugin();
+            if (customMybatisInterceptors == null) {
+                customMybatisInterceptors = new ArrayList<>();
+            }
+            customMybatisInterceptors.add(sqlStatementCountingPlugin);
+
+            agendaTracingHelper = new AgendaTracingHelper(agendaTracer, sqlStatementCountingPlugin);
+            agendaOperationRunner = new AgendaTracingOperationRunner(agendaOperationRunner, agendaTracingHelper);
+        }
+    }
+
     @Override
     public void initCommandExecutors() {
         initDefaultCommandConfig();
@@ -1464,7 +1565,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
 
     protected void initDefaultAsyncHistoryListener() {
-        asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
+        if (asyncHistoryEventLogDirectory != null) {
+            asyncHistoryListener = new HistoryEventLogAsyncHistoryListener(new HistoryEventLog(Paths.get(asyncHistoryEventLogDirectory)));
+        } else {
+            asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
+        }
     }
     
     public void configureVariableServiceConfiguration() {
@@ -1484,6 +1589,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.variableServiceConfiguration.setMaxLengthString(this.getMaxLengthString());
         this.variableServiceConfiguration.setSerializableVariableTypeTrackDeserializedObjects(this.isSerializableVariableTypeTrackDeserializedObjects());
         this.variableServiceConfiguration.setLoggingSessionEnabled(isLoggingSessionEnabled());
+        this.variableServiceConfiguration.setLazyVariableLoadingEnabled(this.lazyVariableLoadingEnabled);
+
+        if (lazyVariableLoadingEnabled && variablePrefetchEnabled && variableUsageStatistics == null) {
+            variableUsageStatistics = new VariableUsageStatistics();
+        }
     }
 
     public void initVariableServiceConfiguration() {
@@ -1661,6 +1771,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
+            if (asyncHistoryJobCoalescingEnabled) {
+                jobServiceConfiguration.setAsyncHistoryJobCoalescingGroupField(HistoryJsonConstants.PROCESS_INSTANCE_ID);
+            }
 
             // set the job processors
             this.jobServiceConfiguration.setJobProcessors(this.jobProcessors);
@@ -1681,6 +1794,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.jobServiceConfiguration.setEventDispatcher(this.eventDispatcher);
         this.jobServiceConfiguration.setBusinessCalendarManager(this.businessCalendarManager);
         this.jobServiceConfiguration.setFailedJobCommandFactory(this.failedJobCommandFactory);
+        this.jobServiceConfiguration.setJobAcquisitionControllerFactory(this.jobAcquisitionControllerFactory);
+        this.jobServiceConfiguration.setJobAcquisitionSkipLockedEnabled(this.jobAcquisitionSkipLockedEnabled);
+        this.jobServiceConfiguration.setJobShardCount(this.jobShardCount);
         
         this.jobServiceConfiguration.init();
 
@@ -1766,6 +1882,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    public void initHistoryTablePartitionManager() {
+        if (historyTablePartitionManager == null && enableHistoryTablePartitioning) {
+            historyTablePartitionManager = new HistoryTablePartitionManager(this);
+        }
+        if (historyTablePartitionManager != null && dbSqlSessionFactory != null) {
+            historyTablePartitionManager.initStatementMappings(dbSqlSessionFactory);
+        }
+    }
+
     public void removeHistoryJobHandler(String historyJobHandlerType) {
         this.historyJobHandlers.remove(historyJobHandlerType);
         if (this.jobServiceConfiguration != null) {
@@ -1778,7 +1903,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initProcessDefinitionCache() {
         if (processDefinitionCache == null) {
-            if (processDefinitionCacheLimit <= 0) {
+            if (offHeapProcessDefinitionCacheEnabled) {
+                int hotLimit = processDefinitionCacheLimit > 0 ? processDefinitionCacheLimit : 1000;
+                processDefinitionCache = new OffHeapProcessDefinitionCache(hotLimit,
+                        offHeapProcessDefinitionCacheDirectory != null ? Paths.get(offHeapProcessDefinitionCacheDirectory) : null);
+            } else if (processDefinitionCacheLimit <= 0) {
                 processDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 processDefinitionCache = new DefaultDeploymentCache<>(processDefinitionCacheLimit);
@@ -2081,6 +2210,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         BpmnHistoryCleanupJobHandler bpmnHistoryCleanupJobHandler = new BpmnHistoryCleanupJobHandler();
         jobHandlers.put(bpmnHistoryCleanupJobHandler.getType(), bpmnHistoryCleanupJobHandler);
 
+        BpmnHistoryCleanupPartitionJobHandler bpmnHistoryCleanupPartitionJobHandler = new BpmnHistoryCleanupPartitionJobHandler();
+        jobHandlers.put(bpmnHistoryCleanupPartitionJobHandler.getType(), bpmnHistoryCleanupPartitionJobHandler);
+
         ProcessInstanceMigrationJobHandler processInstanceMigrationJobHandler = new ProcessInstanceMigrationJobHandler();
         jobHandlers.put(processInstanceMigrationJobHandler.getType(), processInstanceMigrationJobHandler);
         
@@ -2131,11 +2263,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY);
             allHistoryJsonTransformers.forEach(asyncHistoryJobHandler::addHistoryJsonTransformer);
             asyncHistoryJobHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+            asyncHistoryJobHandler.setAsyncHistoryJobCoalescer(createAsyncHistoryJobCoalescer());
             historyJobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
 
             AsyncHistoryJobZippedHandler asyncHistoryJobZippedHandler = new AsyncHistoryJobZippedHandler(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED);
             allHistoryJsonTransformers.forEach(asyncHistoryJobZippedHandler::addHistoryJsonTransformer);
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+            asyncHistoryJobZippedHandler.setAsyncHistoryJobCoalescer(createAsyncHistoryJobCoalescer());
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
 
             if (getCustomHistoryJobHandlers() != null) {
@@ -2146,6 +2280,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    protected AsyncHistoryJobCoalescer createAsyncHistoryJobCoalescer() {
+        if (!asyncHistoryJobCoalescingEnabled) {
+            return null;
+        }
+
+        AsyncHistoryJobCoalescer asyncHistoryJobCoalescer = new AsyncHistoryJobCoalescer();
+        asyncHistoryJobCoalescer.setMaxJobs(asyncHistoryJobCoalescingMaxJobs);
+        asyncHistoryJobCoalescer.setIdField(HistoryJsonConstants.ID);
+        asyncHistoryJobCoalescer.setTimeField(HistoryJsonConstants.LAST_UPDATED_TIME);
+        asyncHistoryJobCoalescer.setSupersedingTypes(Collections.singletonList(HistoryJsonConstants.TYPE_VARIABLE_UPDATED));
+        return asyncHistoryJobCoalescer;
+    }
+
     protected List<HistoryJsonTransformer> initDefaultHistoryJsonTransformers() {
         List<HistoryJsonTransformer> historyJsonTransformers = new ArrayList<>();
         historyJsonTransformers.add(new ProcessInstanceStartHistoryJsonTransformer(this));
@@ -2191,6 +2338,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // /////////////////////////////////////////////////////////////
 
     protected void initAsyncTaskExecutor() {
+        if (asyncExecutorThreadFactory != null && asyncExecutorConfiguration.isVirtualThreadsEnabled()) {
+            throw new FlowableIllegalArgumentException("Virtual threads are enabled, they can't be combined with the configured async executor thread factory "
+                    + asyncExecutorThreadFactory);
+        }
+
+        if (this.asyncTaskExecutor == null && asyncExecutorConfiguration.isVirtualThreadsEnabled()) {
+            // The concurrency of virtual threads is bounded by the database connections instead of by a thread pool
+            int maxConcurrentJobs = asyncExecutorConfiguration.getVirtualThreadsMaxConcurrentJobs() > 0
+                    ? asyncExecutorConfiguration.getVirtualThreadsMaxConcurrentJobs() : getDataSourceMaxActiveConnections();
+            VirtualThreadAsyncTaskExecutor virtualThreadAsyncTaskExecutor = new VirtualThreadAsyncTaskExecutor(
+                    getOrCreateAsyncExecutorTaskExecutorConfiguration(), maxConcurrentJobs);
+            virtualThreadAsyncTaskExecutor.start();
+            this.shutdownAsyncTaskExecutor = true;
+
+            this.asyncTaskExecutor = virtualThreadAsyncTaskExecutor;
+        }
+
         if (this.asyncTaskExecutor == null) {
             DefaultAsyncTaskExecutor defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor(getOrCreateAsyncExecutorTaskExecutorConfiguration());
 
@@ -2333,9 +2497,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     @Override
     public void initIdGenerator() {
         if (idGenerator == null) {
-            DbIdGenerator dbIdGenerator = new DbIdGenerator();
-            dbIdGenerator.setIdBlockSize(idBlockSize);
-            idGenerator = dbIdGenerator;
+            if (useTimeOrderedIdGenerator) {
+                idGenerator = new TimeOrderedUuidGenerator();
+            } else {
+                DbIdGenerator dbIdGenerator = new DbIdGenerator();
+                dbIdGenerator.setIdBlockSize(idBlockSize);
+                idGenerator = dbIdGenerator;
+            }
         }
 
         if (idGenerator instanceof DbIdGenerator) {
@@ -2401,9 +2569,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
+            BinaryJsonType binaryJsonType = new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryJsonVariableTypeCompressionThreshold);
+            if (binaryJsonVariableTypeEnabled) {
+                variableTypes.addType(binaryJsonType);
+            }
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             // longJsonType only needed for reading purposes
             variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            if (!binaryJsonVariableTypeEnabled) {
+                // binaryJsonType only needed for reading purposes
+                variableTypes.addType(binaryJsonType);
+            }
             variableTypes.addType(new ParallelMultiInstanceLoopVariableType(this));
             variableTypes.addType(new BpmnAggregatedVariableType(this));
             variableTypes.addType(new ByteArrayType());
@@ -2502,10 +2678,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             ProcessExpressionManager processExpressionManager = new ProcessExpressionManager(delegateInterceptor, beans);
 
             if (isExpressionCacheEnabled) {
-                processExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
+                processExpressionManager.setExpressionCache(new ExpressionCache(expressionCacheSize));
                 processExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
             }
 
+            processExpressionManager.setExpressionCompilationThreshold(expressionCompilationThreshold);
+
             if (preDefaultELResolvers != null) {
                 preDefaultELResolvers.forEach(processExpressionManager::addPreDefaultResolver);
             }
@@ -2750,6 +2928,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
 
         httpClientConfig.close();
+
+        if (processDefinitionCache instanceof OffHeapProcessDefinitionCache) {
+            ((OffHeapProcessDefinitionCache) processDefinitionCache).close();
+        }
+
+        if (idGenerator instanceof PrefetchingDbIdGenerator) {
+            ((PrefetchingDbIdGenerator) idGenerator).close();
+        }
+
+        if (asyncHistoryEventLogDirectory != null && asyncHistoryListener instanceof HistoryEventLogAsyncHistoryListener) {
+            ((HistoryEventLogAsyncHistoryListener) asyncHistoryListener).getHistoryEventLog().close();
+        }
     }
 
 
@@ -3290,6 +3480,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
     }
 
+    public boolean isLazyVariableLoadingEnabled() {
+        return lazyVariableLoadingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setLazyVariableLoadingEnabled(boolean lazyVariableLoadingEnabled) {
+        this.lazyVariableLoadingEnabled = lazyVariableLoadingEnabled;
+        return this;
+    }
+
+    public boolean isVariablePrefetchEnabled() {
+        return variablePrefetchEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setVariablePrefetchEnabled(boolean variablePrefetchEnabled) {
+        this.variablePrefetchEnabled = variablePrefetchEnabled;
+        return this;
+    }
+
+    public VariableUsageStatistics getVariableUsageStatistics() {
+        return variableUsageStatistics;
+    }
+
+    public ProcessEngineConfigurationImpl setVariableUsageStatistics(VariableUsageStatistics variableUsageStatistics) {
+        this.variableUsageStatistics = variableUsageStatistics;
+        return this;
+    }
+
     public boolean isJsonVariableTypeTrackObjects() {
         return jsonVariableTypeTrackObjects;
     }
@@ -3299,6 +3516,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isBinaryJsonVariableTypeEnabled() {
+        return binaryJsonVariableTypeEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setBinaryJsonVariableTypeEnabled(boolean binaryJsonVariableTypeEnabled) {
+        this.binaryJsonVariableTypeEnabled = binaryJsonVariableTypeEnabled;
+        return this;
+    }
+
+    public int getBinaryJsonVariableTypeCompressionThreshold() {
+        return binaryJsonVariableTypeCompressionThreshold;
+    }
+
+    public ProcessEngineConfigurationImpl setBinaryJsonVariableTypeCompressionThreshold(int binaryJsonVariableTypeCompressionThreshold) {
+        this.binaryJsonVariableTypeCompressionThreshold = binaryJsonVariableTypeCompressionThreshold;
+        return this;
+    }
+
     public boolean isParallelMultiInstanceAsyncLeave() {
         return parallelMultiInstanceAsyncLeave;
     }
@@ -3400,6 +3635,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    public ProcessEngineConfigurationImpl setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+        return this;
+    }
+
     public BusinessCalendarManager getBusinessCalendarManager() {
         return businessCalendarManager;
     }
@@ -3558,6 +3802,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public AgendaTracer getAgendaTracer() {
+        return agendaTracer;
+    }
+
+    public ProcessEngineConfigurationImpl setAgendaTracer(AgendaTracer agendaTracer) {
+        this.agendaTracer = agendaTracer;
+        return this;
+    }
+
+    public AgendaTracingHelper getAgendaTracingHelper() {
+        return agendaTracingHelper;
+    }
+
+    public ProcessEngineConfigurationImpl setAgendaTracingHelper(AgendaTracingHelper agendaTracingHelper) {
+        this.agendaTracingHelper = agendaTracingHelper;
+        return this;
+    }
+
     public FormHandlerHelper getFormHandlerHelper() {
         return formHandlerHelper;
     }
@@ -3829,6 +4091,41 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public JobAcquisitionControllerFactory getJobAcquisitionControllerFactory() {
+        return jobAcquisitionControllerFactory;
+    }
+
+    public ProcessEngineConfigurationImpl setJobAcquisitionControllerFactory(JobAcquisitionControllerFactory jobAcquisitionControllerFactory) {
+        this.jobAcquisitionControllerFactory = jobAcquisitionControllerFactory;
+        return this;
+    }
+
+    public boolean isJobAcquisitionSkipLockedEnabled() {
+        return jobAcquisitionSkipLockedEnabled;
+    }
+
+    /**
+     * Acquire async, timer and history jobs with SELECT ... FOR UPDATE SKIP LOCKED on PostgreSQL, Oracle and MySQL 8+,
+     * which avoids optimistic locking exceptions when many nodes are acquiring jobs at the same time.
+     */
+    public ProcessEngineConfigurationImpl setJobAcquisitionSkipLockedEnabled(boolean jobAcquisitionSkipLockedEnabled) {
+        this.jobAcquisitionSkipLockedEnabled = jobAcquisitionSkipLockedEnabled;
+        return this;
+    }
+
+    public int getJobShardCount() {
+        return jobShardCount;
+    }
+
+    /**
+     * The number of shards new async and timer jobs are spread over, based on their process or case instance.
+     * Jobs only get a shard key when this is larger than 0, which is required for sharded job acquisition.
+     */
+    public ProcessEngineConfigurationImpl setJobShardCount(int jobShardCount) {
+        this.jobShardCount = jobShardCount;
+        return this;
+    }
+
     public int getBatchSizeProcessInstances() {
         return batchSizeProcessInstances;
     }
@@ -3860,6 +4157,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return processDefinitionCache;
     }
 
+    public boolean isOffHeapProcessDefinitionCacheEnabled() {
+        return offHeapProcessDefinitionCacheEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setOffHeapProcessDefinitionCacheEnabled(boolean offHeapProcessDefinitionCacheEnabled) {
+        this.offHeapProcessDefinitionCacheEnabled = offHeapProcessDefinitionCacheEnabled;
+        return this;
+    }
+
+    public String getOffHeapProcessDefinitionCacheDirectory() {
+        return offHeapProcessDefinitionCacheDirectory;
+    }
+
+    public ProcessEngineConfigurationImpl setOffHeapProcessDefinitionCacheDirectory(String offHeapProcessDefinitionCacheDirectory) {
+        this.offHeapProcessDefinitionCacheDirectory = offHeapProcessDefinitionCacheDirectory;
+        return this;
+    }
+
     public ProcessEngineConfigurationImpl setProcessDefinitionCache(DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache) {
         this.processDefinitionCache = processDefinitionCache;
         return this;
@@ -4431,6 +4746,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public Map<String, HistoryLevel> getActivityTypeHistoryLevels() {
+        return activityTypeHistoryLevels;
+    }
+
+    /**
+     * Sets the history level per activity type (e.g. serviceTask or exclusiveGateway), used for the historic activity instances
+     * of those activities instead of the history level of the process definition.
+     * A flowable:historyLevel extension element on the activity itself takes precedence when enableProcessDefinitionHistoryLevel is set.
+     * The levels are resolved when a process definition is deployed, so they need to be set before the engine is built.
+     */
+    public ProcessEngineConfigurationImpl setActivityTypeHistoryLevels(Map<String, HistoryLevel> activityTypeHistoryLevels) {
+        this.activityTypeHistoryLevels = activityTypeHistoryLevels;
+        return this;
+    }
+
+    public Map<String, HistoryLevel> getVariableHistoryLevels() {
+        return variableHistoryLevels;
+    }
+
+    /**
+     * Sets the history level per variable name, used for the historic variables and variable updates of those variables
+     * instead of the history level of the process definition.
+     */
+    public ProcessEngineConfigurationImpl setVariableHistoryLevels(Map<String, HistoryLevel> variableHistoryLevels) {
+        this.variableHistoryLevels = variableHistoryLevels;
+        return this;
+    }
+
     public boolean isAsyncHistoryEnabled() {
         return isAsyncHistoryEnabled;
     }
@@ -4478,6 +4821,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncHistoryJobCoalescingEnabled() {
+        return asyncHistoryJobCoalescingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryJobCoalescingEnabled(boolean asyncHistoryJobCoalescingEnabled) {
+        this.asyncHistoryJobCoalescingEnabled = asyncHistoryJobCoalescingEnabled;
+        return this;
+    }
+
+    public int getAsyncHistoryJobCoalescingMaxJobs() {
+        return asyncHistoryJobCoalescingMaxJobs;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryJobCoalescingMaxJobs(int asyncHistoryJobCoalescingMaxJobs) {
+        this.asyncHistoryJobCoalescingMaxJobs = asyncHistoryJobCoalescingMaxJobs;
+        return this;
+    }
+
+    public String getAsyncHistoryEventLogDirectory() {
+        return asyncHistoryEventLogDirectory;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryEventLogDirectory(String asyncHistoryEventLogDirectory) {
+        this.asyncHistoryEventLogDirectory = asyncHistoryEventLogDirectory;
+        return this;
+    }
+
     public JobManager getJobManager() {
         return jobManager;
     }
@@ -4514,6 +4884,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public HistoryTablePartitionManager getHistoryTablePartitionManager() {
+        return historyTablePartitionManager;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryTablePartitionManager(HistoryTablePartitionManager historyTablePartitionManager) {
+        this.historyTablePartitionManager = historyTablePartitionManager;
+        return this;
+    }
+
     public ProcessInstanceMigrationManager getProcessInstanceMigrationManager() {
         return processInstanceMigrationManager;
     }
@@ -48,17 +48,9 @@ public class SetExecutionVariablesCmd extends NeedsActiveExecutionCmd<Object> {
         }
 
         if (isLocal) {
-            if (variables != null) {
-                for (String variableName : variables.keySet()) {
-                    execution.setVariableLocal(variableName, variables.get(variableName), false);
-                }
-            }
+            execution.setVariablesLocal(variables, false);
         } else {
-            if (variables != null) {
-                for (String variableName : variables.keySet()) {
-                    execution.setVariable(variableName, variables.get(variableName), false);
-                }
-            }
+            execution.setVariables(variables, false);
         }
 
         // ACT-1887: Force an update of the execution's revision to prevent
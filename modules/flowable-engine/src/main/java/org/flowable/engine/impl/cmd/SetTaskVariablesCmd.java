@@ -48,18 +48,9 @@ public class SetTaskVariablesCmd extends NeedsActiveTaskCmd<Object> {
         }
 
         if (isLocal) {
-            if (variables != null) {
-                for (String variableName : variables.keySet()) {
-                    task.setVariableLocal(variableName, variables.get(variableName), false);
-                }
-            }
-
+            task.setVariablesLocal(variables, false);
         } else {
-            if (variables != null) {
-                for (String variableName : variables.keySet()) {
-                    task.setVariable(variableName, variables.get(variableName), false);
-                }
-            }
+            task.setVariables(variables, false);
         }
 
         // ACT-1887: Force an update of the task's revision to prevent
@@ -0,0 +1,508 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.history.HistoryCleanupPartition;
+import org.flowable.common.engine.impl.history.PartitionedHistoryCleaner;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manages the monthly partitions of the process history tables that are partitioned by their start time,
+ * when {@link ProcessEngineConfigurationImpl#isEnableHistoryTablePartitioning() history table partitioning} is enabled.
+ * The tables are partitioned by the schema manager when it creates them, with PostgreSQL declarative partitioning or Oracle interval partitioning.
+ * <p>
+ * On PostgreSQL the existing tables are migrated by {@link #partitionTables(DbSqlSession)}: each table becomes the default partition of a new partitioned table
+ * with the same columns, and its indexes are attached to the indexes of the partitioned table. PostgreSQL requires the primary key and unique constraints
+ * of a partitioned table to contain the partition key, so PROC_INST_ID_ is unique per start time there. Oracle keeps its primary key and unique
+ * constraints as global indexes.
+ * <p>
+ * The updates and deletes of single rows are mapped to statements that also restrict the partition key on PostgreSQL, so they only probe the partition of the row.
+ * Selects by id don't know the start time of the row and probe the id index of every partition, which is one index lookup per retained month.
+ * <p>
+ * On PostgreSQL the partitions are created ahead of time by {@link #createPartitions(DbSqlSession)}, Oracle creates its interval partitions itself.
+ * The history cleanup expires a whole month with {@link #expirePartitions(Date)}, by dropping the partitions of the month
+ * instead of deleting their rows. This only happens when none of the rows in the month belong to a process instance that is retained,
+ * and the months are expired in order, so a month is never dropped before the months before it.
+ * Historic details that don't belong to a process instance are dropped together with the month they were recorded in.
+ * The partitions are maintained in transactions of their own, as Oracle commits implicitly when executing DDL.
+ */
+public class HistoryTablePartitionManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryTablePartitionManager.class);
+
+    public static final String TABLE_PROCESS_INSTANCES = "ACT_HI_PROCINST";
+    public static final String TABLE_ACTIVITY_INSTANCES = "ACT_HI_ACTINST";
+    public static final String TABLE_DETAILS = "ACT_HI_DETAIL";
+
+    protected static final List<String> PARTITIONED_TABLES = Arrays.asList(TABLE_PROCESS_INSTANCES, TABLE_ACTIVITY_INSTANCES, TABLE_DETAILS);
+
+    /**
+     * The statements that update or delete a single row by id, which have a variant that also restricts the partition key.
+     */
+    protected static final List<String> PARTITION_KEY_STATEMENTS = Arrays.asList("updateHistoricProcessInstance", "deleteHistoricProcessInstance",
+            "updateHistoricActivityInstance", "deleteHistoricActivityInstance", "deleteHistoricDetailAssignment",
+            "deleteHistoricDetailVariableInstanceUpdate", "deleteHistoricFormProperty");
+
+    protected static final Pattern POSTGRES_PARTITION_NAME_PATTERN = Pattern.compile("_P(\\d{4})(\\d{2})$", Pattern.CASE_INSENSITIVE);
+    protected static final Pattern ORACLE_HIGH_VALUE_PATTERN = Pattern.compile("(\\d{4})-(\\d{2})-01");
+    protected static final YearMonth ORACLE_ANCHOR_PARTITION_MONTH = YearMonth.of(1999, 12);
+
+    protected static final DateTimeFormatter PARTITION_BOUND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+    protected int partitionsAhead = 3;
+
+    public HistoryTablePartitionManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public boolean isPartitioningSupported(String databaseType) {
+        return "postgres".equals(databaseType) || "oracle".equals(databaseType);
+    }
+
+    /**
+     * Maps the single row updates and deletes of the partitioned tables to their variants that restrict the partition key, on PostgreSQL.
+     */
+    public void initStatementMappings(DbSqlSessionFactory dbSqlSessionFactory) {
+        if ("postgres".equals(dbSqlSessionFactory.getDatabaseType())) {
+            addPartitionedStatementMappings(dbSqlSessionFactory);
+        }
+    }
+
+    public void addPartitionedStatementMappings(DbSqlSessionFactory dbSqlSessionFactory) {
+        Map<String, String> statementMappings = new HashMap<>();
+        if (dbSqlSessionFactory.getStatementMappings() != null) {
+            statementMappings.putAll(dbSqlSessionFactory.getStatementMappings());
+        }
+        for (String statement : PARTITION_KEY_STATEMENTS) {
+            statementMappings.put(statement, statement + "Partitioned");
+        }
+        dbSqlSessionFactory.setStatementMappings(statementMappings);
+    }
+
+    /**
+     * Turns the history tables into tables partitioned by month on PostgreSQL, keeping their rows in the default partition.
+     * Tables that are already partitioned are left as they are.
+     */
+    public void partitionTables(DbSqlSession dbSqlSession) {
+        for (String table : PARTITIONED_TABLES) {
+            if (isPostgresPartitionedTable(dbSqlSession, table)) {
+                continue;
+            }
+
+            Map<String, String> constraints = findPostgresConstraints(dbSqlSession, table);
+            Map<String, String> indexes = findPostgresIndexes(dbSqlSession, table);
+            for (String statement : getPartitionTableStatements(table, constraints, indexes)) {
+                executeStatement(dbSqlSession, statement);
+            }
+        }
+    }
+
+    /**
+     * Returns the statements that migrate a table to a partitioned table. The table becomes the default partition of a partitioned table
+     * that is created with the same columns. Its primary key and unique constraints move to the partitioned table with the partition key added,
+     * and its indexes are recreated on the partitioned table, which attaches the existing indexes of the default partition.
+     *
+     * @param constraints the definitions of the primary key and unique constraints of the table by their name
+     * @param indexes the definitions of the other indexes of the table by their name
+     */
+    public List<String> getPartitionTableStatements(String table, Map<String, String> constraints, Map<String, String> indexes) {
+        String tableName = getTableName(table);
+        String defaultPartitionName = tableName + "_DEFAULT";
+        String partitionColumn = getPartitionColumn(table);
+
+        List<String> statements = new ArrayList<>();
+        statements.add("alter table " + tableName + " rename to " + defaultPartitionName.substring(defaultPartitionName.lastIndexOf('.') + 1));
+        for (String constraintName : constraints.keySet()) {
+            statements.add("alter table " + defaultPartitionName + " drop constraint " + constraintName);
+        }
+        for (String indexName : indexes.keySet()) {
+            statements.add("alter index " + getSchemaPrefix() + indexName + " rename to " + indexName + "_default");
+        }
+
+        statements.add("create table " + tableName + " (like " + defaultPartitionName + " including defaults including constraints including comments)"
+                + " partition by range (" + partitionColumn + ")");
+        for (Map.Entry<String, String> constraint : constraints.entrySet()) {
+            statements.add("alter table " + tableName + " add constraint " + constraint.getKey() + " "
+                    + addPartitionColumn(constraint.getValue(), partitionColumn));
+        }
+        statements.add("alter table " + tableName + " attach partition " + defaultPartitionName + " default");
+        statements.addAll(indexes.values());
+        return statements;
+    }
+
+    protected String addPartitionColumn(String constraintDefinition, String partitionColumn) {
+        int columnsEnd = constraintDefinition.lastIndexOf(')');
+        String columns = constraintDefinition.substring(constraintDefinition.indexOf('(') + 1, columnsEnd);
+        for (String column : columns.split(",")) {
+            if (column.trim().equalsIgnoreCase(partitionColumn)) {
+                return constraintDefinition;
+            }
+        }
+        return constraintDefinition.substring(0, columnsEnd) + ", " + partitionColumn + constraintDefinition.substring(columnsEnd);
+    }
+
+    protected Map<String, String> findPostgresConstraints(DbSqlSession dbSqlSession, String table) {
+        return findDefinitions(dbSqlSession, "select conname, pg_get_constraintdef(oid) from pg_constraint"
+                + " where conrelid = to_regclass(?) and contype in ('p', 'u') order by conname", table);
+    }
+
+    protected Map<String, String> findPostgresIndexes(DbSqlSession dbSqlSession, String table) {
+        return findDefinitions(dbSqlSession, "select c.relname, pg_get_indexdef(i.indexrelid) from pg_index i join pg_class c on c.oid = i.indexrelid"
+                + " where i.indrelid = to_regclass(?) and not exists (select 1 from pg_constraint k where k.conindid = i.indexrelid) order by c.relname", table);
+    }
+
+    protected Map<String, String> findDefinitions(DbSqlSession dbSqlSession, String sql, String table) {
+        Map<String, String> definitions = new LinkedHashMap<>();
+        try (PreparedStatement statement = getConnection(dbSqlSession).prepareStatement(sql)) {
+            statement.setString(1, getTableName(table));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    definitions.put(resultSet.getString(1), resultSet.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlowableException("Could not find the constraints and indexes of " + table, e);
+        }
+        return definitions;
+    }
+
+    /**
+     * Creates the partitions for the current month and the months ahead that don't exist yet.
+     * A partition is not created when its default partition already holds rows for the month, as PostgreSQL would reject it.
+     */
+    public void createPartitions(DbSqlSession dbSqlSession) {
+        if (!"postgres".equals(getDatabaseType(dbSqlSession))) {
+            return;
+        }
+
+        YearMonth currentMonth = YearMonth.from(processEngineConfiguration.getClock().getCurrentTime().toInstant().atZone(ZoneId.systemDefault()));
+        for (String table : PARTITIONED_TABLES) {
+            if (!isPostgresPartitionedTable(dbSqlSession, table)) {
+                LOGGER.warn("Not creating partitions for {}, as it was not created as partitioned table", table);
+                continue;
+            }
+
+            Map<YearMonth, String> existingPartitions = findPartitions(dbSqlSession, table);
+            for (int i = 0; i <= partitionsAhead; i++) {
+                YearMonth month = currentMonth.plusMonths(i);
+                if (existingPartitions.containsKey(month)) {
+                    continue;
+                }
+
+                if (hasDefaultPartitionRows(dbSqlSession, table, month)) {
+                    LOGGER.warn("Not creating the partition of {} for {}, as its default partition already has rows for it", table, month);
+                } else {
+                    executeStatement(dbSqlSession, getCreatePartitionStatement(table, month));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the upcoming partitions and expires the months that ended before the given time, in transactions of their own.
+     *
+     * @return the expired months
+     */
+    public List<YearMonth> maintainPartitions(Date endedBefore) {
+        processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), commandContext -> {
+            createPartitions(CommandContextUtil.getDbSqlSession(commandContext));
+            return null;
+        });
+        return expirePartitions(endedBefore);
+    }
+
+    /**
+     * Drops the partitions of the months that ended before the given time and only have rows of process instances that ended before it,
+     * after removing the rows of those process instances from the history tables that are not partitioned.
+     * Each month is expired in a transaction of its own, so the DDL never commits or locks the work of the calling transaction.
+     *
+     * @return the expired months
+     */
+    public List<YearMonth> expirePartitions(Date endedBefore) {
+        List<YearMonth> expiredMonths = new ArrayList<>();
+        YearMonth expiredMonth;
+        do {
+            expiredMonth = processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(),
+                    commandContext -> expireOldestPartition(CommandContextUtil.getDbSqlSession(commandContext), endedBefore));
+            if (expiredMonth != null) {
+                expiredMonths.add(expiredMonth);
+            }
+        } while (expiredMonth != null);
+
+        return expiredMonths;
+    }
+
+    /**
+     * Drops the partitions of the oldest month when it can be expired.
+     *
+     * @return the expired month, or null when the oldest month is retained
+     */
+    protected YearMonth expireOldestPartition(DbSqlSession dbSqlSession, Date endedBefore) {
+        String databaseType = getDatabaseType(dbSqlSession);
+        if (!isPartitioningSupported(databaseType)) {
+            return null;
+        }
+
+        Map<String, Map<YearMonth, String>> partitions = new HashMap<>();
+        SortedSet<YearMonth> months = new TreeSet<>();
+        for (String table : PARTITIONED_TABLES) {
+            Map<YearMonth, String> tablePartitions = findPartitions(dbSqlSession, table);
+            partitions.put(table, tablePartitions);
+            months.addAll(tablePartitions.keySet());
+        }
+        if (months.isEmpty()) {
+            return null;
+        }
+
+        YearMonth month = months.first();
+        Date startedFrom = toDate(month);
+        Date startedBefore = toDate(month.plusMonths(1));
+        if (startedBefore.after(endedBefore) || hasRetainedRows(dbSqlSession, startedFrom, startedBefore, endedBefore)) {
+            return null;
+        }
+
+        // the rows of the other tables are deleted first, Oracle commits them when the partitions are dropped
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("startedFrom", startedFrom);
+        parameters.put("startedBefore", startedBefore);
+        createRelatedHistoryCleaner().cleanAll(dbSqlSession, new HistoryCleanupPartition(new Date(0L), endedBefore, null), parameters);
+
+        for (String table : PARTITIONED_TABLES) {
+            String partitionName = partitions.get(table).get(month);
+            if (partitionName != null) {
+                for (String statement : getDropPartitionStatements(databaseType, table, partitionName)) {
+                    executeStatement(dbSqlSession, statement);
+                }
+            }
+        }
+
+        LOGGER.info("Expired the process history of {}", month);
+        return month;
+    }
+
+    protected boolean hasRetainedRows(DbSqlSession dbSqlSession, Date startedFrom, Date startedBefore, Date endedBefore) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("startedFrom", startedFrom);
+        parameters.put("startedBefore", startedBefore);
+        parameters.put("endedBefore", endedBefore);
+        for (String statement : Arrays.asList("selectHistoryCleanupRetainedProcessInstanceCount",
+                "selectHistoryCleanupRetainedActivityInstanceCount", "selectHistoryCleanupRetainedDetailCount")) {
+
+            Long count = (Long) dbSqlSession.selectOne(statement, parameters);
+            if (count != null && count > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cleaner for the history of the expired process instances that is stored in the tables that are not partitioned.
+     */
+    protected PartitionedHistoryCleaner createRelatedHistoryCleaner() {
+        List<String> deleteStatements = new ArrayList<>();
+        deleteStatements.add("decrementHistoryCleanupHistoricDetailBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricDetailBytes");
+        deleteStatements.add("decrementHistoryCleanupHistoricVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricVariables");
+        deleteStatements.add("deleteHistoryCleanupHistoricTaskIdentityLinks");
+        deleteStatements.add("deleteHistoryCleanupHistoricTaskLogEntries");
+        deleteStatements.add("deleteHistoryCleanupHistoricTasks");
+        deleteStatements.add("deleteHistoryCleanupHistoricIdentityLinks");
+        if (processEngineConfiguration.isEnableEntityLinks()) {
+            deleteStatements.add("deleteHistoryCleanupHistoricEntityLinks");
+        }
+        deleteStatements.add("deleteHistoryCleanupComments");
+        deleteStatements.add("decrementHistoryCleanupAttachmentContents");
+        deleteStatements.add("deleteHistoryCleanupAttachmentContents");
+        deleteStatements.add("deleteHistoryCleanupAttachments");
+        return new PartitionedHistoryCleaner("selectHistoryCleanupProcessInstanceIds", deleteStatements);
+    }
+
+    /**
+     * Returns the names of the monthly partitions of the table by their month.
+     */
+    protected Map<YearMonth, String> findPartitions(DbSqlSession dbSqlSession, String table) {
+        Map<YearMonth, String> partitions = new TreeMap<>();
+        String databaseType = getDatabaseType(dbSqlSession);
+        String sql;
+        String tableName;
+        if ("postgres".equals(databaseType)) {
+            sql = "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass(?)";
+            tableName = getTableName(table);
+        } else {
+            sql = "select PARTITION_NAME, HIGH_VALUE from USER_TAB_PARTITIONS where TABLE_NAME = ?";
+            tableName = getTableName(table).substring(getTableName(table).lastIndexOf('.') + 1).toUpperCase();
+        }
+
+        try (PreparedStatement statement = getConnection(dbSqlSession).prepareStatement(sql)) {
+            statement.setString(1, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String partitionName = resultSet.getString(1);
+                    YearMonth month = "postgres".equals(databaseType) ? parsePostgresPartitionMonth(partitionName)
+                            : parseOraclePartitionMonth(resultSet.getString(2));
+                    if (month != null) {
+                        partitions.put(month, partitionName);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlowableException("Could not find the partitions of " + tableName, e);
+        }
+        return partitions;
+    }
+
+    protected boolean isPostgresPartitionedTable(DbSqlSession dbSqlSession, String table) {
+        try (PreparedStatement statement = getConnection(dbSqlSession).prepareStatement("select relkind from pg_class where oid = to_regclass(?)")) {
+            statement.setString(1, getTableName(table));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && "p".equals(resultSet.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new FlowableException("Could not check whether " + table + " is partitioned", e);
+        }
+    }
+
+    protected boolean hasDefaultPartitionRows(DbSqlSession dbSqlSession, String table, YearMonth month) {
+        String sql = "select count(*) from " + getTableName(table) + "_DEFAULT where " + getPartitionColumn(table) + " >= ? and "
+                + getPartitionColumn(table) + " < ?";
+        try (PreparedStatement statement = getConnection(dbSqlSession).prepareStatement(sql)) {
+            statement.setTimestamp(1, new Timestamp(toDate(month).getTime()));
+            statement.setTimestamp(2, new Timestamp(toDate(month.plusMonths(1)).getTime()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getLong(1) > 0;
+            }
+        } catch (SQLException e) {
+            throw new FlowableException("Could not check the default partition of " + table, e);
+        }
+    }
+
+    public String getPartitionName(String table, YearMonth month) {
+        return getTableName(table) + "_P" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    public String getCreatePartitionStatement(String table, YearMonth month) {
+        return "create table if not exists " + getPartitionName(table, month) + " partition of " + getTableName(table)
+                + " for values from ('" + month.atDay(1).atStartOfDay().format(PARTITION_BOUND_FORMATTER) + "')"
+                + " to ('" + month.plusMonths(1).atDay(1).atStartOfDay().format(PARTITION_BOUND_FORMATTER) + "')";
+    }
+
+    public List<String> getDropPartitionStatements(String databaseType, String table, String partitionName) {
+        if ("postgres".equals(databaseType)) {
+            String qualifiedPartitionName = getSchemaPrefix() + partitionName;
+            return Arrays.asList("alter table " + getTableName(table) + " detach partition " + qualifiedPartitionName,
+                    "drop table " + qualifiedPartitionName);
+        } else {
+            return Arrays.asList("alter table " + getTableName(table) + " drop partition " + partitionName + " update global indexes");
+        }
+    }
+
+    public YearMonth parsePostgresPartitionMonth(String partitionName) {
+        Matcher matcher = POSTGRES_PARTITION_NAME_PATTERN.matcher(partitionName);
+        if (!matcher.find()) {
+            return null; // the default partition
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    /**
+     * Returns the month of an interval partition from the upper bound of its range,
+     * or null for the anchor partition that Oracle needs to keep.
+     */
+    public YearMonth parseOraclePartitionMonth(String highValue) {
+        Matcher matcher = ORACLE_HIGH_VALUE_PATTERN.matcher(highValue);
+        if (!matcher.find()) {
+            return null;
+        }
+        YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))).minusMonths(1);
+        return month.equals(ORACLE_ANCHOR_PARTITION_MONTH) ? null : month;
+    }
+
+    protected String getPartitionColumn(String table) {
+        return TABLE_DETAILS.equals(table) ? "TIME_" : "START_TIME_";
+    }
+
+    protected String getTableName(String table) {
+        return processEngineConfiguration.getDatabaseTablePrefix() + table;
+    }
+
+    protected String getSchemaPrefix() {
+        String tablePrefix = processEngineConfiguration.getDatabaseTablePrefix();
+        return tablePrefix.substring(0, tablePrefix.lastIndexOf('.') + 1);
+    }
+
+    protected Date toDate(YearMonth month) {
+        return Date.from(LocalDateTime.of(month.getYear(), month.getMonth(), 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    protected void executeStatement(DbSqlSession dbSqlSession, String sql) {
+        LOGGER.debug("SQL: {}", sql);
+        try (Statement statement = getConnection(dbSqlSession).createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new FlowableException("Could not execute " + sql, e);
+        }
+    }
+
+    protected Connection getConnection(DbSqlSession dbSqlSession) {
+        return dbSqlSession.getSqlSession().getConnection();
+    }
+
+    protected String getDatabaseType(DbSqlSession dbSqlSession) {
+        return dbSqlSession.getDbSqlSessionFactory().getDatabaseType();
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    /**
+     * Sets the number of months after the current month for which the partitions are created.
+     */
+    public void setPartitionsAhead(int partitionsAhead) {
+        this.partitionsAhead = partitionsAhead;
+    }
+}
@@ -0,0 +1,253 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.db.IdBlock;
+import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DbIdGenerator} that doesn't make threads wait for each other or for the database when generating ids.
+ * <p>
+ * All threads take their ids from the shared id block with an atomic increment. When the shared block is partly used up
+ * (see {@link #setPrefetchThreshold(double)}), the next block is fetched from the database in the background,
+ * so it is normally available by the time the current block runs out. The exhausted block is replaced with a compare-and-set,
+ * no thread holds a lock while a block is fetched.
+ * <p>
+ * The size of the fetched blocks adapts to the rate at which ids are used: a block is sized to last {@link #setTargetIdBlockDuration(Duration)},
+ * but never smaller than the configured id block size nor larger than {@link #setMaxIdBlockSize(int)}.
+ * This keeps the number of updates to the shared next.dbid property low when the engine is busy.
+ * <p>
+ * Ids are unique but, unlike with the {@link DbIdGenerator}, not always handed out in increasing order,
+ * and the unused ids of a block are lost when the engine is stopped.
+ * The background thread is stopped when the process engine is closed, see {@link #close()}.
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingDbIdGenerator.class);
+
+    protected int maxIdBlockSize = 100000;
+    protected double prefetchThreshold = 0.5;
+    protected Duration targetIdBlockDuration = Duration.ofSeconds(60);
+    protected Executor prefetchExecutor;
+    protected ExecutorService createdPrefetchExecutor; // guarded by this
+    protected volatile boolean closed;
+
+    // Starts out as an exhausted block, so that the first id fetches the first block like any other
+    protected final AtomicReference<SharedIdBlock> currentIdBlock = new AtomicReference<>(new SharedIdBlock(0L, -1L, 0L, 0L));
+
+    @Override
+    public String getNextId() {
+        while (true) {
+            SharedIdBlock sharedIdBlock = currentIdBlock.get();
+            long nextId = sharedIdBlock.next.getAndIncrement();
+            if (nextId <= sharedIdBlock.last) {
+                if (sharedIdBlock.last - nextId < sharedIdBlock.prefetchAtRemaining) {
+                    prefetchNextIdBlock(sharedIdBlock);
+                }
+                return Long.toString(nextId);
+            }
+
+            switchIdBlock(sharedIdBlock);
+        }
+    }
+
+    protected void prefetchNextIdBlock(SharedIdBlock sharedIdBlock) {
+        if (closed || sharedIdBlock.nextIdBlock.get() != null) {
+            return;
+        }
+
+        CompletableFuture<IdBlock> nextIdBlock = new CompletableFuture<>();
+        if (sharedIdBlock.nextIdBlock.compareAndSet(null, nextIdBlock)) {
+            int size = determineIdBlockSize(sharedIdBlock);
+            Executor executor = getPrefetchExecutor();
+            if (executor == null) {
+                // Closed in the meantime, the block is fetched when it is needed
+                sharedIdBlock.nextIdBlock.compareAndSet(nextIdBlock, null);
+                return;
+            }
+            executor.execute(() -> {
+                try {
+                    nextIdBlock.complete(fetchIdBlock(size));
+                } catch (Throwable t) {
+                    nextIdBlock.completeExceptionally(t);
+                }
+            });
+        }
+    }
+
+    /**
+     * Replaces the exhausted block with its prefetched successor, or fetches the successor in this thread when no other thread is fetching it.
+     * The threads that find the same block exhausted wait for the same successor.
+     */
+    protected void switchIdBlock(SharedIdBlock exhaustedIdBlock) {
+        CompletableFuture<IdBlock> nextIdBlock = exhaustedIdBlock.nextIdBlock.get();
+        if (nextIdBlock == null) {
+            CompletableFuture<IdBlock> fetchedIdBlock = new CompletableFuture<>();
+            if (exhaustedIdBlock.nextIdBlock.compareAndSet(null, fetchedIdBlock)) {
+                try {
+                    fetchedIdBlock.complete(fetchIdBlock(determineIdBlockSize(exhaustedIdBlock)));
+                } catch (RuntimeException e) {
+                    fetchedIdBlock.completeExceptionally(e);
+                    exhaustedIdBlock.nextIdBlock.compareAndSet(fetchedIdBlock, null);
+                    throw e;
+                }
+            }
+            nextIdBlock = exhaustedIdBlock.nextIdBlock.get();
+            if (nextIdBlock == null) {
+                return; // The fetch of another thread failed, try again
+            }
+        }
+
+        IdBlock idBlock;
+        try {
+            idBlock = nextIdBlock.join();
+        } catch (CompletionException e) {
+            // Fetched again by the next thread that finds the block exhausted
+            LOGGER.warn("Fetching the next id block failed, fetching it again", e.getCause());
+            exhaustedIdBlock.nextIdBlock.compareAndSet(nextIdBlock, null);
+            return;
+        }
+
+        long size = idBlock.getLastId() - idBlock.getNextId() + 1;
+        // Fails when another thread switched already, which then switched to the same block
+        currentIdBlock.compareAndSet(exhaustedIdBlock,
+                new SharedIdBlock(idBlock.getNextId(), idBlock.getLastId(), (long) (size * prefetchThreshold), System.currentTimeMillis()));
+    }
+
+    protected IdBlock fetchIdBlock(int size) {
+        return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(size));
+    }
+
+    /**
+     * Returns the size of the next id block, based on the rate at which the ids of the given block have been used.
+     */
+    protected int determineIdBlockSize(SharedIdBlock sharedIdBlock) {
+        long usedIds = Math.min(sharedIdBlock.next.get(), sharedIdBlock.last + 1) - sharedIdBlock.first;
+        if (usedIds <= 0) {
+            return idBlockSize;
+        }
+        long elapsedMillis = Math.max(1L, System.currentTimeMillis() - sharedIdBlock.startTime);
+        double idsPerMilli = (double) usedIds / elapsedMillis;
+        long size = (long) (idsPerMilli * targetIdBlockDuration.toMillis());
+        return (int) Math.max(idBlockSize, Math.min(maxIdBlockSize, size));
+    }
+
+    /**
+     * Returns the executor that prefetches the id blocks, or null when the generator is closed and blocks are only fetched when needed.
+     */
+    protected synchronized Executor getPrefetchExecutor() {
+        if (prefetchExecutor != null) {
+            return prefetchExecutor;
+        }
+        if (closed) {
+            return null;
+        }
+        if (createdPrefetchExecutor == null) {
+            // At most one thread, which is stopped when no block was prefetched for a while
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "flowable-id-block-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            createdPrefetchExecutor = threadPoolExecutor;
+        }
+        return createdPrefetchExecutor;
+    }
+
+    /**
+     * Stops the prefetch thread of the generator, a prefetch executor that was set is left alone.
+     * Ids can still be generated afterwards, the blocks are then fetched when they are needed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (createdPrefetchExecutor != null) {
+            createdPrefetchExecutor.shutdown();
+            createdPrefetchExecutor = null;
+        }
+    }
+
+    public int getMaxIdBlockSize() {
+        return maxIdBlockSize;
+    }
+
+    /**
+     * Sets the maximum size of the id blocks fetched from the database. Default 100000.
+     */
+    public void setMaxIdBlockSize(int maxIdBlockSize) {
+        this.maxIdBlockSize = maxIdBlockSize;
+    }
+
+    public double getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    /**
+     * Sets the fraction of the current id block that is still unused when the next block is fetched in the background. Default 0.5.
+     */
+    public void setPrefetchThreshold(double prefetchThreshold) {
+        if (prefetchThreshold < 0.0 || prefetchThreshold > 1.0) {
+            throw new FlowableIllegalArgumentException("The prefetch threshold needs to be between 0 and 1");
+        }
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    public Duration getTargetIdBlockDuration() {
+        return targetIdBlockDuration;
+    }
+
+    /**
+     * Sets how long an id block should last at the current id usage rate. Default 60 seconds.
+     */
+    public void setTargetIdBlockDuration(Duration targetIdBlockDuration) {
+        this.targetIdBlockDuration = targetIdBlockDuration;
+    }
+
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    protected static class SharedIdBlock {
+
+        protected final long first;
+        protected final long last;
+        protected final AtomicLong next;
+        protected final long prefetchAtRemaining;
+        protected final long startTime;
+        protected final AtomicReference<CompletableFuture<IdBlock>> nextIdBlock = new AtomicReference<>();
+
+        public SharedIdBlock(long first, long last, long prefetchAtRemaining, long startTime) {
+            this.first = first;
+            this.last = last;
+            this.next = new AtomicLong(first);
+            this.prefetchAtRemaining = prefetchAtRemaining;
+            this.startTime = startTime;
+        }
+    }
+}
@@ -33,6 +33,9 @@ public class ProcessDbSchemaManager extends AbstractSqlScriptBasedDbSchemaManage
     protected static final Pattern CLEAN_VERSION_REGEX = Pattern.compile("\\d\\.\\d*");
 
     protected static final String PROCESS_DB_SCHEMA_LOCK_NAME = "processDbSchemaLock";
+
+    // PostgreSQL reports partitioned tables with their own table type
+    protected static final String[] PARTITIONED_HISTORY_TABLE_TYPES = { "TABLE", "PARTITIONED TABLE" };
     
     @Override
     public void schemaCheckVersion() {
@@ -122,11 +125,33 @@ public class ProcessDbSchemaManager extends AbstractSqlScriptBasedDbSchemaManage
         
         if (CommandContextUtil.getDbSqlSession().getDbSqlSessionFactory().isDbHistoryUsed()) {
             dbSchemaCreateHistory();
+            dbSchemaCreateHistoryPartitions();
         }
     }
 
     protected void dbSchemaCreateHistory() {
         executeMandatorySchemaResource("create", "history");
+        if (getProcessEngineConfiguration().isEnableHistoryTablePartitioning()) {
+            dbSchemaPartitionHistory();
+        }
+    }
+
+    protected void dbSchemaPartitionHistory() {
+        String databaseType = getDbSqlSession().getDbSqlSessionFactory().getDatabaseType();
+        HistoryTablePartitionManager historyTablePartitionManager = getProcessEngineConfiguration().getHistoryTablePartitionManager();
+        if ("postgres".equals(databaseType)) {
+            historyTablePartitionManager.partitionTables(getDbSqlSession());
+        } else if (historyTablePartitionManager.isPartitioningSupported(databaseType)) {
+            executeMandatorySchemaResource("create", "history.partitioning");
+        } else {
+            logger.warn("History table partitioning is not supported on {}, the history tables are not partitioned", databaseType);
+        }
+    }
+
+    protected void dbSchemaCreateHistoryPartitions() {
+        if (getProcessEngineConfiguration().isEnableHistoryTablePartitioning()) {
+            getProcessEngineConfiguration().getHistoryTablePartitionManager().createPartitions(getDbSqlSession());
+        }
     }
 
     protected void dbSchemaCreateEngine() {
@@ -299,6 +324,10 @@ public class ProcessDbSchemaManager extends AbstractSqlScriptBasedDbSchemaManage
                 dbSchemaCreateHistory();
             }
 
+            if (dbSqlSession.getDbSqlSessionFactory().isDbHistoryUsed()) {
+                dbSchemaCreateHistoryPartitions();
+            }
+
             return feedback;
         } finally {
             if (lockManager != null) {
@@ -313,6 +342,9 @@ public class ProcessDbSchemaManager extends AbstractSqlScriptBasedDbSchemaManage
     }
 
     public boolean isHistoryTablePresent() {
+        if (getProcessEngineConfiguration().isEnableHistoryTablePartitioning()) {
+            return isTablePresent("ACT_HI_PROCINST", PARTITIONED_HISTORY_TABLE_TYPES);
+        }
         return isTablePresent("ACT_HI_PROCINST");
     }
 
@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import org.flowable.common.engine.impl.db.profiler.DefinitionKeyResolver;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+/**
+ * Resolves the process definition key from the executions and process definitions the command has loaded or created.
+ * Only the process definition cache is used for the executions, as the resolver is called while the statements are executed.
+ */
+public class ProcessDefinitionKeyResolver implements DefinitionKeyResolver {
+
+    @Override
+    public String resolveDefinitionKey(CommandContext commandContext) {
+        EntityCache entityCache = CommandContextUtil.getEntityCache(commandContext);
+        DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = CommandContextUtil.getProcessEngineConfiguration(commandContext)
+                .getProcessDefinitionCache();
+        for (ExecutionEntity execution : entityCache.findInCache(ExecutionEntity.class)) {
+            if (execution.getProcessDefinitionId() != null) {
+                ProcessDefinitionCacheEntry cacheEntry = processDefinitionCache.get(execution.getProcessDefinitionId());
+                if (cacheEntry != null) {
+                    return cacheEntry.getProcessDefinition().getKey();
+                }
+            }
+        }
+
+        for (ProcessDefinitionEntity processDefinition : entityCache.findInCache(ProcessDefinitionEntity.class)) {
+            if (processDefinition.getKey() != null) {
+                return processDefinition.getKey();
+            }
+        }
+
+        return null;
+    }
+
+}
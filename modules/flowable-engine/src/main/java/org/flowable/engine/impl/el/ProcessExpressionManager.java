@@ -54,4 +54,17 @@ public class ProcessExpressionManager extends VariableScopeExpressionManager {
         return new ProcessVariableScopeELResolver();
     }
 
+    @Override
+    protected boolean useFastPath() {
+        // The fast path doesn't pass through the delegate interceptor, a custom one needs to see all expression evaluations
+        return super.useFastPath() && delegateInterceptor != null && delegateInterceptor.getClass() == DefaultDelegateInterceptor.class;
+    }
+
+    @Override
+    protected boolean isFastPathIdentifier(String identifier) {
+        return super.isFastPathIdentifier(identifier)
+                && !ProcessVariableScopeELResolver.EXECUTION_KEY.equals(identifier)
+                && !ProcessVariableScopeELResolver.TASK_KEY.equals(identifier);
+    }
+
 }
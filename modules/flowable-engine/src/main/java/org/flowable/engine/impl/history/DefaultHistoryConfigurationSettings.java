@@ -12,16 +12,15 @@
  */
 package org.flowable.engine.impl.history;
 
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
-import org.flowable.bpmn.model.BpmnModel;
-import org.flowable.bpmn.model.ExtensionElement;
-import org.flowable.bpmn.model.FlowElement;
-import org.flowable.bpmn.model.Process;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
-import org.flowable.engine.impl.util.ProcessDefinitionUtil;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.ActivityInstance;
 import org.flowable.entitylink.service.impl.persistence.entity.EntityLinkEntity;
@@ -56,36 +55,44 @@ public class DefaultHistoryConfigurationSettings implements HistoryConfiguration
     }
 
     protected HistoryLevel getProcessDefinitionHistoryLevel(String processDefinitionId) {
-        HistoryLevel processDefinitionHistoryLevel = null;
-
-        try {
-            ProcessDefinition processDefinition = ProcessDefinitionUtil.getProcessDefinition(processDefinitionId);
-
-            BpmnModel bpmnModel = ProcessDefinitionUtil.getBpmnModel(processDefinitionId);
+        ProcessHistoryPolicy historyPolicy = getProcessHistoryPolicy(processDefinitionId);
+        if (historyPolicy == null) {
+            return null;
+        }
 
-            Process process = bpmnModel.getProcessById(processDefinition.getKey());
-            if (process.getExtensionElements().containsKey("historyLevel")) {
-                ExtensionElement historyLevelElement = process.getExtensionElements().get("historyLevel").iterator().next();
-                String historyLevelValue = historyLevelElement.getElementText();
-                if (StringUtils.isNotEmpty(historyLevelValue)) {
-                    try {
-                        processDefinitionHistoryLevel = HistoryLevel.getHistoryLevelForKey(historyLevelValue);
+        HistoryLevel processDefinitionHistoryLevel = historyPolicy.getHistoryLevel();
+        if (processDefinitionHistoryLevel == null) {
+            processDefinitionHistoryLevel = this.processEngineConfiguration.getHistoryLevel();
+        }
+        return processDefinitionHistoryLevel;
+    }
 
-                    } catch (Exception e) {
-                        // Shouldn't block anything
-                    }
-                }
+    /**
+     * Returns the history policy that was created for the process definition when it was deployed.
+     */
+    protected ProcessHistoryPolicy getProcessHistoryPolicy(String processDefinitionId) {
+        try {
+            DeploymentManager deploymentManager = processEngineConfiguration.getDeploymentManager();
+            ProcessDefinitionCacheEntry cacheEntry = deploymentManager.getProcessDefinitionCache().get(processDefinitionId);
+            if (cacheEntry == null) {
+                // This will deploy the process definition again, which creates its history policy
+                ProcessDefinition processDefinition = deploymentManager.findDeployedProcessDefinitionById(processDefinitionId);
+                cacheEntry = deploymentManager.resolveProcessDefinition(processDefinition);
             }
 
-            if (processDefinitionHistoryLevel == null) {
-                processDefinitionHistoryLevel = this.processEngineConfiguration.getHistoryLevel();
+            ProcessHistoryPolicy historyPolicy = cacheEntry.getHistoryPolicy();
+            if (historyPolicy == null) {
+                // The process definition was cached without going through the BpmnDeployer
+                historyPolicy = ProcessHistoryPolicy.create(cacheEntry.getProcess(), isEnableProcessDefinitionHistoryLevel(),
+                        processEngineConfiguration.getActivityTypeHistoryLevels());
+                cacheEntry.setHistoryPolicy(historyPolicy);
             }
+            return historyPolicy;
 
         } catch (Exception e) {
             // Shouldn't block anything
+            return null;
         }
-
-        return processDefinitionHistoryLevel;
     }
 
     @Override
@@ -153,62 +160,56 @@ public class DefaultHistoryConfigurationSettings implements HistoryConfiguration
     @Override
     public boolean isHistoryEnabledForActivity(String processDefinitionId, String activityId) {
         HistoryLevel engineHistoryLevel = processEngineConfiguration.getHistoryLevel();
-        if (isEnableProcessDefinitionHistoryLevel() && processDefinitionId != null) {
-            HistoryLevel processDefinitionLevel = getProcessDefinitionHistoryLevel(processDefinitionId);
-            if (processDefinitionLevel != null) {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Current history level: {}, level required: {}", processDefinitionLevel, HistoryLevel.ACTIVITY);
-                }
-
-                if (processDefinitionLevel.isAtLeast(HistoryLevel.ACTIVITY)) {
-                    return true;
-
-                } else if (!HistoryLevel.NONE.equals(processDefinitionLevel) && StringUtils.isNotEmpty(activityId)) {
-                    return includeFlowElementInHistory(processDefinitionId, activityId);
-
-                } else {
-                    return false;
-                }
-
-            } else {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Current history level: {}, level required: {}", engineHistoryLevel, HistoryLevel.ACTIVITY);
-                }
-                return engineHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY);
-            }
+        ProcessHistoryPolicy historyPolicy = null;
+        if (processDefinitionId != null && hasActivityHistoryPolicies(engineHistoryLevel)) {
+            historyPolicy = getProcessHistoryPolicy(processDefinitionId);
+        }
 
-        } else {
+        if (historyPolicy == null) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Current history level: {}, level required: {}", engineHistoryLevel, HistoryLevel.ACTIVITY);
             }
+            return engineHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY);
+        }
+
+        HistoryLevel historyLevel = historyPolicy.getHistoryLevel() != null ? historyPolicy.getHistoryLevel() : engineHistoryLevel;
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Current history level: {}, level required: {}", historyLevel, HistoryLevel.ACTIVITY);
+        }
 
-            if (engineHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY)) {
-                return true;
+        if (HistoryLevel.NONE.equals(historyLevel)) {
+            return false;
+        }
 
-            } else if (!HistoryLevel.NONE.equals(engineHistoryLevel) && StringUtils.isNotEmpty(activityId)) {
-                return includeFlowElementInHistory(processDefinitionId, activityId);
+        if (StringUtils.isNotEmpty(activityId)) {
+            HistoryLevel activityHistoryLevel = historyPolicy.getActivityHistoryLevel(activityId);
+            if (activityHistoryLevel != null) {
+                return activityHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY);
 
-            } else {
-                return false;
+            } else if (!historyLevel.isAtLeast(HistoryLevel.ACTIVITY)) {
+                return historyPolicy.isIncludedInHistory(activityId);
             }
         }
-    }
 
-    protected boolean includeFlowElementInHistory(String processDefinitionId, String activityId) {
-        boolean includeInHistory = false;
+        return historyLevel.isAtLeast(HistoryLevel.ACTIVITY);
+    }
 
-        if (processDefinitionId != null) {
-            BpmnModel bpmnModel = ProcessDefinitionUtil.getBpmnModel(processDefinitionId);
-            FlowElement flowElement = bpmnModel.getFlowElement(activityId);
+    /**
+     * Whether anything else than the engine history level can decide if an activity goes into the history.
+     * When this is not the case, the history policy of the process definition doesn't need to be looked up.
+     */
+    protected boolean hasActivityHistoryPolicies(HistoryLevel engineHistoryLevel) {
+        if (isEnableProcessDefinitionHistoryLevel()) {
+            return true;
+        }
 
-            if (flowElement.getExtensionElements().containsKey("includeInHistory")) {
-                ExtensionElement historyElement = flowElement.getExtensionElements().get("includeInHistory").iterator().next();
-                String historyLevelValue = historyElement.getElementText();
-                includeInHistory = Boolean.valueOf(historyLevelValue);
-            }
+        Map<String, HistoryLevel> activityTypeHistoryLevels = processEngineConfiguration.getActivityTypeHistoryLevels();
+        if (activityTypeHistoryLevels != null && !activityTypeHistoryLevels.isEmpty()) {
+            return true;
         }
 
-        return includeInHistory;
+        // Activities can be included with the includeInHistory extension element when the history level is below activity
+        return !HistoryLevel.NONE.equals(engineHistoryLevel) && !engineHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY);
     }
 
     @Override
@@ -268,6 +269,12 @@ public class DefaultHistoryConfigurationSettings implements HistoryConfiguration
 
     @Override
     public boolean isHistoryEnabledForVariableInstance(VariableInstanceEntity variableInstanceEntity) {
+        HistoryLevel variableHistoryLevel = getVariableHistoryLevel(variableInstanceEntity.getName());
+        if (variableHistoryLevel != null && !variableHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY)) {
+            // No need to look up the process definition of a variable that is never stored in the history
+            return false;
+        }
+
         String processDefinitionId = null;
         if (isEnableProcessDefinitionHistoryLevel() && variableInstanceEntity.getProcessInstanceId() != null) {
             ExecutionEntity processInstanceExecution = processEngineConfiguration.getExecutionEntityManager().findById(variableInstanceEntity.getProcessInstanceId());
@@ -278,9 +285,30 @@ public class DefaultHistoryConfigurationSettings implements HistoryConfiguration
 
     @Override
     public boolean isHistoryEnabledForVariableInstance(String processDefinitionId, VariableInstanceEntity variableInstanceEntity) {
+        HistoryLevel variableHistoryLevel = getVariableHistoryLevel(variableInstanceEntity.getName());
+        if (variableHistoryLevel != null) {
+            return variableHistoryLevel.isAtLeast(HistoryLevel.ACTIVITY) && isHistoryEnabled(processDefinitionId);
+        }
         return isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processDefinitionId);
     }
 
+    @Override
+    public boolean isHistoryEnabledForVariableInstanceDetail(String processDefinitionId, VariableInstanceEntity variableInstanceEntity) {
+        HistoryLevel variableHistoryLevel = getVariableHistoryLevel(variableInstanceEntity.getName());
+        if (variableHistoryLevel != null) {
+            return variableHistoryLevel.isAtLeast(HistoryLevel.FULL) && isHistoryEnabled(processDefinitionId);
+        }
+        return isHistoryLevelAtLeast(HistoryLevel.FULL, processDefinitionId);
+    }
+
+    protected HistoryLevel getVariableHistoryLevel(String variableName) {
+        Map<String, HistoryLevel> variableHistoryLevels = processEngineConfiguration.getVariableHistoryLevels();
+        if (variableHistoryLevels == null || variableHistoryLevels.isEmpty() || variableName == null) {
+            return null;
+        }
+        return variableHistoryLevels.get(variableName);
+    }
+
     @Override
     public boolean isHistoryEnabledForIdentityLink(IdentityLinkEntity identityLink) {
         String processDefinitionId = getProcessDefinitionId(identityLink);
@@ -349,8 +349,7 @@ public class DefaultHistoryManager extends AbstractHistoryManager {
         String activityInstanceId, Date createTime) {
         String processDefinitionId = getProcessDefinitionId(variable, sourceActivityExecution);
 
-        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(processDefinitionId, variable)
-                && isHistoryLevelAtLeast(HistoryLevel.FULL, processDefinitionId)) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstanceDetail(processDefinitionId, variable)) {
 
             HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = getHistoricDetailEntityManager().copyAndInsertHistoricDetailVariableInstanceUpdateEntity(variable, createTime);
 
@@ -81,6 +81,15 @@ public interface HistoryConfigurationSettings {
      */
     boolean isHistoryEnabledForVariableInstance(String processDefinitionId, VariableInstanceEntity variableInstanceEntity);
 
+    /**
+     * Returns whether the historic details (the individual updates) are stored for the provided variable instance.
+     * By default, this is the case when the history is enabled for the variable instance and the history level is full.
+     */
+    default boolean isHistoryEnabledForVariableInstanceDetail(String processDefinitionId, VariableInstanceEntity variableInstanceEntity) {
+        return isHistoryEnabledForVariableInstance(processDefinitionId, variableInstanceEntity)
+                && isHistoryLevelAtLeast(HistoryLevel.FULL, processDefinitionId);
+    }
+
     /**
      * Returns whether history is enabled for the provided identity link.
      */
@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.bpmn.model.ExtensionElement;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+
+/**
+ * The history settings of a process definition, resolved from its process model once when it is deployed,
+ * so checking whether something goes into the history is a lookup instead of a walk over the extension elements.
+ * <p>
+ * Holds the history level of the process definition (the flowable:historyLevel extension element of the process),
+ * the history levels of its activities, and the activities marked with a flowable:includeInHistory extension element.
+ * The history level of an activity comes from its own flowable:historyLevel extension element,
+ * or from the history level configured for its activity type on the engine.
+ */
+public class ProcessHistoryPolicy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String HISTORY_LEVEL_EXTENSION_ELEMENT = "historyLevel";
+    public static final String INCLUDE_IN_HISTORY_EXTENSION_ELEMENT = "includeInHistory";
+
+    protected final HistoryLevel historyLevel;
+    protected final Map<String, HistoryLevel> activityHistoryLevels;
+    protected final Set<String> includedActivityIds;
+
+    public ProcessHistoryPolicy(HistoryLevel historyLevel, Map<String, HistoryLevel> activityHistoryLevels, Set<String> includedActivityIds) {
+        this.historyLevel = historyLevel;
+        this.activityHistoryLevels = activityHistoryLevels;
+        this.includedActivityIds = includedActivityIds;
+    }
+
+    /**
+     * Resolves the history policy of the given process.
+     *
+     * @param processDefinitionHistoryLevelEnabled whether the flowable:historyLevel extension elements of the process and its activities are used
+     * @param activityTypeHistoryLevels the history levels per activity type (e.g. serviceTask), can be null
+     */
+    public static ProcessHistoryPolicy create(Process process, boolean processDefinitionHistoryLevelEnabled, Map<String, HistoryLevel> activityTypeHistoryLevels) {
+        HistoryLevel historyLevel = null;
+        if (processDefinitionHistoryLevelEnabled) {
+            historyLevel = getHistoryLevel(process.getExtensionElements());
+        }
+
+        Map<String, HistoryLevel> activityHistoryLevels = new HashMap<>();
+        Set<String> includedActivityIds = new HashSet<>();
+        for (FlowElement flowElement : process.findFlowElementsOfType(FlowElement.class, true)) {
+            HistoryLevel activityHistoryLevel = null;
+            if (processDefinitionHistoryLevelEnabled) {
+                activityHistoryLevel = getHistoryLevel(flowElement.getExtensionElements());
+            }
+            if (activityHistoryLevel == null && flowElement instanceof FlowNode && activityTypeHistoryLevels != null && !activityTypeHistoryLevels.isEmpty()) {
+                activityHistoryLevel = activityTypeHistoryLevels.get(getActivityType(flowElement));
+            }
+            if (activityHistoryLevel != null) {
+                activityHistoryLevels.put(flowElement.getId(), activityHistoryLevel);
+            }
+
+            List<ExtensionElement> includeInHistoryElements = flowElement.getExtensionElements().get(INCLUDE_IN_HISTORY_EXTENSION_ELEMENT);
+            if (includeInHistoryElements != null && !includeInHistoryElements.isEmpty()
+                    && Boolean.parseBoolean(includeInHistoryElements.get(0).getElementText())) {
+                includedActivityIds.add(flowElement.getId());
+            }
+        }
+
+        return new ProcessHistoryPolicy(historyLevel,
+                activityHistoryLevels.isEmpty() ? Collections.emptyMap() : activityHistoryLevels,
+                includedActivityIds.isEmpty() ? Collections.emptySet() : includedActivityIds);
+    }
+
+    protected static HistoryLevel getHistoryLevel(Map<String, List<ExtensionElement>> extensionElements) {
+        List<ExtensionElement> historyLevelElements = extensionElements.get(HISTORY_LEVEL_EXTENSION_ELEMENT);
+        if (historyLevelElements != null && !historyLevelElements.isEmpty()) {
+            String historyLevelValue = historyLevelElements.get(0).getElementText();
+            if (StringUtils.isNotEmpty(historyLevelValue)) {
+                try {
+                    return HistoryLevel.getHistoryLevelForKey(historyLevelValue.trim());
+
+                } catch (Exception e) {
+                    // Shouldn't block anything
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the activity type of a flow element, the way it is stored on the (historic) activity instances.
+     */
+    public static String getActivityType(FlowElement flowElement) {
+        String elementType = flowElement.getClass().getSimpleName();
+        return elementType.substring(0, 1).toLowerCase() + elementType.substring(1);
+    }
+
+    /**
+     * Returns the history level of the process definition, or null when the engine history level applies.
+     */
+    public HistoryLevel getHistoryLevel() {
+        return historyLevel;
+    }
+
+    /**
+     * Returns the history level of the activity, or null when the history level of the process definition applies.
+     */
+    public HistoryLevel getActivityHistoryLevel(String activityId) {
+        return activityHistoryLevels.get(activityId);
+    }
+
+    public boolean isIncludedInHistory(String activityId) {
+        return includedActivityIds.contains(activityId);
+    }
+
+}
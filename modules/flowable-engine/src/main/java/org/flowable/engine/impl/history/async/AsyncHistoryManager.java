@@ -336,8 +336,7 @@ public class AsyncHistoryManager extends AbstractAsyncHistoryManager {
             String activityInstanceId, Date createTime) {
 
         String processDefinitionId = getProcessDefinitionId(variable, sourceActivityExecution);
-        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(processDefinitionId, variable)
-                && isHistoryLevelAtLeast(HistoryLevel.FULL, processDefinitionId)) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstanceDetail(processDefinitionId, variable)) {
             ObjectNode data = processEngineConfiguration.getObjectMapper().createObjectNode();
             addCommonVariableFields(variable, data);
             
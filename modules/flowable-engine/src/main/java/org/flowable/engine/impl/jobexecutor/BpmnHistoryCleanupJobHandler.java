@@ -12,10 +12,19 @@
  */
 package org.flowable.engine.impl.jobexecutor;
 
+import java.util.Date;
+import java.util.List;
+
 import org.flowable.batch.api.BatchQuery;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.history.HistoryCleanupPartition;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.HistoryCleaningManager;
+import org.flowable.engine.ManagementService;
 import org.flowable.engine.history.HistoricProcessInstanceQuery;
+import org.flowable.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.db.HistoryTablePartitionManager;
 import org.flowable.engine.impl.delete.DeleteProcessInstanceBatchConstants;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.job.service.JobHandler;
@@ -37,24 +46,73 @@ public class BpmnHistoryCleanupJobHandler implements JobHandler {
     public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
         ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
 
-        long inProgressDeletions = processEngineConfiguration.getManagementService()
-                .createBatchQuery()
-                .searchKey(DEFAULT_BATCH_NAME)
-                .status(DeleteProcessInstanceBatchConstants.STATUS_IN_PROGRESS)
-                .count();
-        if (inProgressDeletions > 0) {
-            return;
+        HistoryTablePartitionManager historyTablePartitionManager = processEngineConfiguration.getHistoryTablePartitionManager();
+        if (historyTablePartitionManager != null) {
+            // runs in transactions of its own, before this job touches the history tables
+            historyTablePartitionManager.maintainPartitions(getEndedBefore(processEngineConfiguration));
         }
 
-        int batchSize = processEngineConfiguration.getCleanInstancesBatchSize();
+        if (processEngineConfiguration.getCleanInstancesPartitionCount() > 0) {
+            schedulePartitionedCleanup(processEngineConfiguration, commandContext);
+
+        } else {
+            long inProgressDeletions = processEngineConfiguration.getManagementService()
+                    .createBatchQuery()
+                    .searchKey(DEFAULT_BATCH_NAME)
+                    .status(DeleteProcessInstanceBatchConstants.STATUS_IN_PROGRESS)
+                    .count();
+            if (inProgressDeletions > 0) {
+                return;
+            }
+
+            int batchSize = processEngineConfiguration.getCleanInstancesBatchSize();
 
-        HistoricProcessInstanceQuery query = processEngineConfiguration.getHistoryCleaningManager().createHistoricProcessInstanceCleaningQuery();
-        query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+            HistoricProcessInstanceQuery query = processEngineConfiguration.getHistoryCleaningManager().createHistoricProcessInstanceCleaningQuery();
+            query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        }
 
         BatchQuery batchCleaningQuery = processEngineConfiguration.getHistoryCleaningManager().createBatchCleaningQuery();
         if (batchCleaningQuery != null) {
             batchCleaningQuery.deleteWithRelatedData();
         }
     }
+
+    /**
+     * Splits the process instances that ended before the cleanup time in partitions by end time, and schedules a job per partition.
+     * Nothing is scheduled while the partitions of a previous cleanup are still being removed.
+     */
+    protected void schedulePartitionedCleanup(ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
+        ManagementService managementService = processEngineConfiguration.getManagementService();
+        long partitionsInProgress = managementService.createJobQuery().handlerType(BpmnHistoryCleanupPartitionJobHandler.TYPE).count()
+                + managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupPartitionJobHandler.TYPE).count();
+        if (partitionsInProgress > 0) {
+            return;
+        }
+
+        Date endedBefore = getEndedBefore(processEngineConfiguration);
+        Date earliestEndTime = (Date) CommandContextUtil.getDbSqlSession(commandContext)
+                .selectOne("selectHistoryCleanupEarliestProcessInstanceEndTime", endedBefore);
+
+        List<HistoryCleanupPartition> partitions = HistoryCleanupPartition.create(earliestEndTime, endedBefore,
+                processEngineConfiguration.getCleanInstancesPartitionCount());
+        for (HistoryCleanupPartition partition : partitions) {
+            BpmnHistoryCleanupPartitionJobHandler.schedulePartitionCleanup(processEngineConfiguration, partition, null);
+        }
+    }
+
+    /**
+     * The cleanup time of the partitioned cleanup is the finished before time of the cleaning query of the {@link HistoryCleaningManager},
+     * the set based deletes of the partitioned cleanup don't apply any other criteria of that query.
+     */
+    protected Date getEndedBefore(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        HistoryCleaningManager historyCleaningManager = processEngineConfiguration.getHistoryCleaningManager();
+        HistoricProcessInstanceQuery query = historyCleaningManager.createHistoricProcessInstanceCleaningQuery();
+        Date endedBefore = query instanceof HistoricProcessInstanceQueryImpl ? ((HistoricProcessInstanceQueryImpl) query).getFinishedBefore() : null;
+        if (endedBefore == null) {
+            throw new FlowableException("The partitioned history cleanup needs a cleaning query with a finished before time, which "
+                    + historyCleaningManager.getClass().getName() + " does not create");
+        }
+        return endedBefore;
+    }
     
 }
@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.impl.history.HistoryCleanupPartition;
+import org.flowable.common.engine.impl.history.PartitionedHistoryCleaner;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.JobService;
+import org.flowable.job.service.TimerJobService;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+/**
+ * Removes a batch of the finished process instances of a {@link HistoryCleanupPartition} with their history,
+ * and schedules the job for the next batch of the partition.
+ */
+public class BpmnHistoryCleanupPartitionJobHandler implements JobHandler {
+
+    public static final String TYPE = "bpmn-history-cleanup-partition";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        HistoryCleanupPartition partition = HistoryCleanupPartition.fromJson(processEngineConfiguration.getObjectMapper(), configuration);
+
+        HistoryCleanupPartition remainingPartition = createHistoryCleaner(processEngineConfiguration).cleanChunk(
+                CommandContextUtil.getDbSqlSession(commandContext), partition, processEngineConfiguration.getCleanInstancesBatchSize(),
+                Collections.emptyMap());
+
+        if (remainingPartition != null) {
+            schedulePartitionCleanup(processEngineConfiguration, remainingPartition, processEngineConfiguration.getCleanInstancesPartitionPause());
+        }
+    }
+
+    protected PartitionedHistoryCleaner createHistoryCleaner(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        List<String> deleteStatements = new ArrayList<>();
+        deleteStatements.add("decrementHistoryCleanupHistoricDetailBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricDetailBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricDetails");
+        deleteStatements.add("decrementHistoryCleanupHistoricVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricVariableBytes");
+        deleteStatements.add("deleteHistoryCleanupHistoricVariables");
+        deleteStatements.add("deleteHistoryCleanupHistoricActivities");
+        deleteStatements.add("deleteHistoryCleanupHistoricTaskIdentityLinks");
+        deleteStatements.add("deleteHistoryCleanupHistoricTaskLogEntries");
+        deleteStatements.add("deleteHistoryCleanupHistoricTasks");
+        deleteStatements.add("deleteHistoryCleanupHistoricIdentityLinks");
+        if (processEngineConfiguration.isEnableEntityLinks()) {
+            deleteStatements.add("deleteHistoryCleanupHistoricEntityLinks");
+        }
+        deleteStatements.add("deleteHistoryCleanupComments");
+        deleteStatements.add("decrementHistoryCleanupAttachmentContents");
+        deleteStatements.add("deleteHistoryCleanupAttachmentContents");
+        deleteStatements.add("deleteHistoryCleanupAttachments");
+        deleteStatements.add("deleteHistoryCleanupHistoricProcessInstances");
+        return new PartitionedHistoryCleaner("selectHistoryCleanupProcessInstanceIds", deleteStatements);
+    }
+
+    /**
+     * Schedules an async job that cleans up the partition, or a timer job when the cleanup needs to wait for the given pause first.
+     */
+    public static void schedulePartitionCleanup(ProcessEngineConfigurationImpl processEngineConfiguration, HistoryCleanupPartition partition, Duration pause) {
+        String jobHandlerConfiguration = partition.toJson(processEngineConfiguration.getObjectMapper());
+        if (pause != null && !pause.isZero() && !pause.isNegative()) {
+            TimerJobService timerJobService = processEngineConfiguration.getJobServiceConfiguration().getTimerJobService();
+            TimerJobEntity timerJob = timerJobService.createTimerJob();
+            timerJob.setJobType(JobEntity.JOB_TYPE_TIMER);
+            timerJob.setRevision(1);
+            timerJob.setJobHandlerType(TYPE);
+            timerJob.setJobHandlerConfiguration(jobHandlerConfiguration);
+            timerJob.setDuedate(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + pause.toMillis()));
+            timerJobService.scheduleTimerJob(timerJob);
+
+        } else {
+            JobService jobService = processEngineConfiguration.getJobServiceConfiguration().getJobService();
+            JobEntity cleanupJob = jobService.createJob();
+            cleanupJob.setJobHandlerType(TYPE);
+            cleanupJob.setJobHandlerConfiguration(jobHandlerConfiguration);
+            jobService.createAsyncJob(cleanupJob, false);
+            jobService.scheduleAsyncJob(cleanupJob);
+        }
+    }
+
+}
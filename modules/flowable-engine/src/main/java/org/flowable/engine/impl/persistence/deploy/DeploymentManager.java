@@ -32,6 +32,7 @@ import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntityManager;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
+import org.flowable.engine.impl.persistence.entity.ResourceEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.impl.util.Flowable5Util;
 import org.flowable.engine.repository.ProcessDefinition;
@@ -125,6 +126,11 @@ public class DeploymentManager {
                 return Flowable5Util.getFlowable5CompatibilityHandler().resolveProcessDefinition(processDefinition);
             }
 
+            cachedProcessDefinition = hydrateProcessDefinition(processDefinition);
+            if (cachedProcessDefinition != null) {
+                return cachedProcessDefinition;
+            }
+
             DeploymentEntity deployment = deploymentEntityManager.findById(deploymentId);
             deployment.setNew(false);
             deploy(deployment, null);
@@ -137,6 +143,45 @@ public class DeploymentManager {
         return cachedProcessDefinition;
     }
 
+    /**
+     * Parses the process definition again from the BPMN XML kept by an {@link OffHeapProcessDefinitionCache},
+     * by redeploying a copy of the deployment that only contains the BPMN resource of the process definition.
+     * Returns null when the cache has no BPMN XML for the process definition.
+     */
+    protected ProcessDefinitionCacheEntry hydrateProcessDefinition(ProcessDefinition processDefinition) {
+        if (!(processDefinitionCache instanceof OffHeapProcessDefinitionCache) || processDefinition.getResourceName() == null) {
+            return null;
+        }
+
+        byte[] bpmnBytes = ((OffHeapProcessDefinitionCache) processDefinitionCache).getBpmnBytes(processDefinition.getId());
+        if (bpmnBytes == null) {
+            return null;
+        }
+
+        DeploymentEntity persistedDeployment = deploymentEntityManager.findById(processDefinition.getDeploymentId());
+        DeploymentEntity deployment = deploymentEntityManager.create();
+        deployment.setId(persistedDeployment.getId());
+        deployment.setName(persistedDeployment.getName());
+        deployment.setCategory(persistedDeployment.getCategory());
+        deployment.setKey(persistedDeployment.getKey());
+        deployment.setTenantId(persistedDeployment.getTenantId());
+        deployment.setDeploymentTime(persistedDeployment.getDeploymentTime());
+        deployment.setEngineVersion(persistedDeployment.getEngineVersion());
+        deployment.setDerivedFrom(persistedDeployment.getDerivedFrom());
+        deployment.setDerivedFromRoot(persistedDeployment.getDerivedFromRoot());
+        deployment.setParentDeploymentId(persistedDeployment.getParentDeploymentId());
+        deployment.setNew(false);
+
+        ResourceEntity resource = processEngineConfiguration.getResourceEntityManager().create();
+        resource.setName(processDefinition.getResourceName());
+        resource.setDeploymentId(deployment.getId());
+        resource.setBytes(bpmnBytes);
+        deployment.addResource(resource);
+
+        deploy(deployment, null);
+        return processDefinitionCache.get(processDefinition.getId());
+    }
+
     public Object getAppResourceObject(String deploymentId) {
         Object appResourceObject = appResourceCache.get(deploymentId);
 
@@ -215,6 +260,9 @@ public class DeploymentManager {
         for (ProcessDefinition processDefinition : processDefinitions) {
             processDefinitionCache.remove(processDefinition.getId());
             processDefinitionInfoCache.remove(processDefinition.getId());
+            if (processEngineConfiguration.getVariableUsageStatistics() != null) {
+                processEngineConfiguration.getVariableUsageStatistics().removeProcessDefinition(processDefinition.getId());
+            }
         }
 
         appResourceCache.remove(deploymentId);
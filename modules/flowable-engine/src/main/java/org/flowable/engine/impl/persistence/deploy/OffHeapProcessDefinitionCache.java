@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.FrequencyEvictingCache;
+import org.flowable.common.engine.impl.persistence.deploy.MemoryMappedByteStore;
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayCodec;
+
+/**
+ * A process definition cache with two tiers.
+ * <p>
+ * The hydrated {@link ProcessDefinitionCacheEntry} instances, with their parsed {@link org.flowable.bpmn.model.BpmnModel},
+ * are kept on the heap for at most {@code hotLimit} process definitions.
+ * When there are more, the least frequently used ones are evicted, see {@link FrequencyEvictingCache}.
+ * The process definition that was just added is never evicted:
+ * it can be part of a deployment that is not flushed yet, so it couldn't be hydrated again.
+ * <p>
+ * The compressed BPMN XML of every process definition that was deployed through the {@link org.flowable.engine.impl.bpmn.deployer.BpmnDeployer}
+ * is kept off the heap, in a {@link MemoryMappedByteStore}.
+ * When a process definition is not on the heap, {@link #get(String)} returns null
+ * and the {@link DeploymentManager} hydrates it again from the stored XML, without reading the deployment resources from the database.
+ */
+public class OffHeapProcessDefinitionCache implements DeploymentCache<ProcessDefinitionCacheEntry>, Closeable {
+
+    protected final FrequencyEvictingCache<ProcessDefinitionCacheEntry> hotEntries;
+
+    protected final MemoryMappedByteStore modelStore;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder hydrationCount = new LongAdder();
+
+    /**
+     * @param hotLimit the maximum number of process definitions that are kept hydrated on the heap
+     * @param storeDirectory the directory of the memory-mapped file, or null to use the default temporary directory
+     */
+    public OffHeapProcessDefinitionCache(int hotLimit, Path storeDirectory) {
+        this.hotEntries = new FrequencyEvictingCache<>("Process definition cache", hotLimit);
+        this.modelStore = new MemoryMappedByteStore(storeDirectory, MemoryMappedByteStore.DEFAULT_SEGMENT_SIZE);
+    }
+
+    @Override
+    public ProcessDefinitionCacheEntry get(String id) {
+        ProcessDefinitionCacheEntry cacheEntry = hotEntries.get(id);
+        if (cacheEntry == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        return cacheEntry;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return hotEntries.containsKey(id);
+    }
+
+    /**
+     * Adds a hydrated process definition without its BPMN XML.
+     * When it is evicted from the heap, it is resolved from the deployment resources again.
+     */
+    @Override
+    public void add(String id, ProcessDefinitionCacheEntry cacheEntry) {
+        hotEntries.put(id, cacheEntry);
+    }
+
+    /**
+     * Adds a hydrated process definition, and stores the BPMN XML it was parsed from off the heap.
+     */
+    public void add(String id, ProcessDefinitionCacheEntry cacheEntry, byte[] bpmnBytes) {
+        if (bpmnBytes != null && !modelStore.contains(id)) {
+            modelStore.put(id, ByteArrayCodec.compress(bpmnBytes));
+        }
+        add(id, cacheEntry);
+    }
+
+    /**
+     * Returns the BPMN XML the process definition was deployed with, or null when it is not stored.
+     */
+    public byte[] getBpmnBytes(String id) {
+        byte[] storedBytes = modelStore.get(id);
+        if (storedBytes == null) {
+            return null;
+        }
+        hydrationCount.increment();
+        return ByteArrayCodec.decompress(storedBytes);
+    }
+
+    @Override
+    public void remove(String id) {
+        hotEntries.remove(id);
+        modelStore.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        hotEntries.clear();
+        modelStore.clear();
+    }
+
+    @Override
+    public Collection<ProcessDefinitionCacheEntry> getAll() {
+        return hotEntries.values();
+    }
+
+    /**
+     * The number of process definitions that are hydrated on the heap.
+     */
+    @Override
+    public int size() {
+        return hotEntries.size();
+    }
+
+    /**
+     * The number of process definitions of which the BPMN XML is stored off the heap.
+     */
+    public int getStoredSize() {
+        return modelStore.size();
+    }
+
+    public long getStoredBytes() {
+        return modelStore.getUsedBytes();
+    }
+
+    public int getHotLimit() {
+        return hotEntries.getLimit();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return hotEntries.getEvictionCount();
+    }
+
+    /**
+     * The number of times a process definition was hydrated from the BPMN XML stored off the heap.
+     */
+    public long getHydrationCount() {
+        return hydrationCount.sum();
+    }
+
+    @Override
+    public void close() {
+        hotEntries.clear();
+        modelStore.close();
+    }
+}
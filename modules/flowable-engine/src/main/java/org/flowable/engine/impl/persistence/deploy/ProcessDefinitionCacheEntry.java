@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
+import org.flowable.engine.impl.history.ProcessHistoryPolicy;
 import org.flowable.engine.repository.ProcessDefinition;
 
 /**
@@ -28,6 +29,7 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected ProcessDefinition processDefinition;
     protected BpmnModel bpmnModel;
     protected Process process;
+    protected ProcessHistoryPolicy historyPolicy;
 
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
@@ -59,4 +61,12 @@ public class ProcessDefinitionCacheEntry implements Serializable {
         this.process = process;
     }
 
+    public ProcessHistoryPolicy getHistoryPolicy() {
+        return historyPolicy;
+    }
+
+    public void setHistoryPolicy(ProcessHistoryPolicy historyPolicy) {
+        this.historyPolicy = historyPolicy;
+    }
+
 }
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +33,7 @@ import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.db.SuspensionState;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.variablelistener.VariableListenerSession;
 import org.flowable.common.engine.impl.variablelistener.VariableListenerSessionData;
@@ -39,11 +41,13 @@ import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.delegate.ReadOnlyDelegateExecution;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.delegate.ReadOnlyDelegateExecutionImpl;
+import org.flowable.engine.impl.history.HistoryManager;
 import org.flowable.engine.impl.persistence.CountingExecutionEntity;
 import org.flowable.engine.impl.util.BpmnLoggingSessionUtil;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.impl.util.CountingEntityUtil;
 import org.flowable.engine.impl.util.ProcessDefinitionUtil;
+import org.flowable.engine.impl.variable.VariableUsageStatistics;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntity;
 import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntity;
@@ -63,7 +67,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Joram Barrez
  */
 
-public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity implements ExecutionEntity, CountingExecutionEntity, DirtyTrackingEntity {
 
     private static final long serialVersionUID = 1L;
 
@@ -326,10 +330,10 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     public void setCurrentFlowElement(FlowElement currentFlowElement) {
         this.currentFlowElement = currentFlowElement;
         if (currentFlowElement != null) {
-            this.activityId = currentFlowElement.getId();
+            this.activityId = trackChange("activityId", this.activityId, currentFlowElement.getId());
             this.activityName = currentFlowElement.getName();
         } else {
-            this.activityId = null;
+            this.activityId = trackChange("activityId", this.activityId, null);
             this.activityName = null;
         }
     }
@@ -386,7 +390,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setBusinessKey(String businessKey) {
-        this.businessKey = businessKey;
+        this.businessKey = trackChange("businessKey", this.businessKey, businessKey);
     }
 
     @Override
@@ -396,7 +400,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setBusinessStatus(String businessStatus) {
-        this.businessStatus = businessStatus;
+        this.businessStatus = trackChange("businessStatus", this.businessStatus, businessStatus);
     }
 
     @Override
@@ -413,7 +417,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
-        this.processDefinitionId = processDefinitionId;
+        this.processDefinitionId = trackChange("processDefinitionId", this.processDefinitionId, processDefinitionId);
     }
 
     @Override
@@ -524,9 +528,9 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         this.parent = (ExecutionEntityImpl) parent;
 
         if (parent != null) {
-            this.parentId = parent.getId();
+            this.parentId = trackChange("parentId", this.parentId, parent.getId());
         } else {
-            this.parentId = null;
+            this.parentId = trackChange("parentId", this.parentId, null);
         }
     }
 
@@ -538,7 +542,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     }
     
     public void setSuperExecutionId(String superExecutionId) {
-        this.superExecutionId = superExecutionId;
+        this.superExecutionId = trackChange("superExecution", this.superExecutionId, superExecutionId);
     }
 
     @Override
@@ -555,9 +559,9 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         }
 
         if (superExecution != null) {
-            this.superExecutionId = ((ExecutionEntityImpl) superExecution).getId();
+            this.superExecutionId = trackChange("superExecution", this.superExecutionId, ((ExecutionEntityImpl) superExecution).getId());
         } else {
-            this.superExecutionId = null;
+            this.superExecutionId = trackChange("superExecution", this.superExecutionId, null);
         }
     }
 
@@ -601,9 +605,9 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         this.rootProcessInstance = (ExecutionEntityImpl) rootProcessInstance;
 
         if (rootProcessInstance != null) {
-            this.rootProcessInstanceId = rootProcessInstance.getId();
+            this.rootProcessInstanceId = trackChange("rootProcessInstanceId", this.rootProcessInstanceId, rootProcessInstance.getId());
         } else {
-            this.rootProcessInstanceId = null;
+            this.rootProcessInstanceId = trackChange("rootProcessInstanceId", this.rootProcessInstanceId, null);
         }
     }
 
@@ -614,7 +618,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setRootProcessInstanceId(String rootProcessInstanceId) {
-        this.rootProcessInstanceId = rootProcessInstanceId;
+        this.rootProcessInstanceId = trackChange("rootProcessInstanceId", this.rootProcessInstanceId, rootProcessInstanceId);
     }
 
     // scopes ///////////////////////////////////////////////////////////////////
@@ -630,16 +634,16 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setScope(boolean isScope) {
-        this.isScope = isScope;
+        this.isScope = trackChange("isScope", this.isScope, isScope);
     }
 
     public void setIsScope(boolean isScope) {
-        this.isScope = isScope;
+        this.isScope = trackChange("isScope", this.isScope, isScope);
     }
 
     @Override
     public void forceUpdate() {
-        this.forcedUpdate = true;
+        this.forcedUpdate = trackChange("forcedUpdate", this.forcedUpdate, true);
     }
 
     // VariableScopeImpl methods //////////////////////////////////////////////////////////////////
@@ -782,6 +786,79 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     }
     
+    @Override
+    public void setVariables(Map<String, ? extends Object> variables, boolean fetchAllVariables) {
+        setVariables(variables, this, fetchAllVariables);
+    }
+
+    protected void setVariables(Map<String, ? extends Object> variables, ExecutionEntity sourceExecution, boolean fetchAllVariables) {
+        if (variables == null || variables.isEmpty()) {
+            return;
+        }
+
+        ExecutionEntityImpl parent = getParent();
+        Map<String, Object> parentVariables = new LinkedHashMap<>();
+        Map<String, Object> newVariables = new LinkedHashMap<>();
+
+        if (fetchAllVariables) {
+
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+
+                // If it's in the cache, it's more recent
+                if (usedVariablesCache.containsKey(variableName)) {
+                    updateVariableInstance(usedVariablesCache.get(variableName), variable.getValue(), sourceExecution);
+                }
+
+                if (storeVariableLocal(variableName)) {
+                    setVariableLocal(variableName, variable.getValue(), sourceExecution, true);
+                } else if (parent != null) {
+                    parentVariables.put(variableName, variable.getValue());
+                } else {
+                    newVariables.put(variableName, variable.getValue());
+                }
+            }
+
+            if (!parentVariables.isEmpty()) {
+                FlowElement localFlowElement = getCurrentFlowElement();
+                if (localFlowElement != null) {
+                    parent.setOriginatingCurrentFlowElement(localFlowElement);
+                }
+                parent.setVariables(parentVariables, sourceExecution, true);
+            }
+            if (!newVariables.isEmpty()) {
+                createVariablesLocal(newVariables, sourceExecution);
+            }
+
+        } else {
+
+            Map<String, VariableInstanceEntity> specificVariables = findSpecificVariablesForUpdate(variables);
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+                VariableInstanceEntity variableInstance = specificVariables.get(variableName);
+                if (variableInstance != null) {
+                    updateVariableInstance(variableInstance, variable.getValue(), sourceExecution);
+                    usedVariablesCache.put(variableName, variableInstance);
+                } else if (!specificVariables.containsKey(variableName)) {
+                    updateVariableInstance(getVariableInstanceForUpdate(variableName), variable.getValue(), sourceExecution);
+                } else if (parent != null) {
+                    parentVariables.put(variableName, variable.getValue());
+                } else {
+                    newVariables.put(variableName, variable.getValue());
+                }
+            }
+
+            if (!parentVariables.isEmpty()) {
+                parent.setVariables(parentVariables, sourceExecution, false);
+            }
+            if (!newVariables.isEmpty()) {
+                for (VariableInstanceEntity variableInstance : createVariableInstances(newVariables, sourceExecution)) {
+                    usedVariablesCache.put(variableInstance.getName(), variableInstance);
+                }
+            }
+        }
+    }
+
     @Override
     public Object setVariableLocal(String variableName, Object value, boolean fetchAllVariables) {
         return setVariableLocal(variableName, value, this, fetchAllVariables);
@@ -831,6 +908,118 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         return null;
     }
     
+    @Override
+    public void setVariablesLocal(Map<String, ? extends Object> variables, boolean fetchAllVariables) {
+        setVariablesLocal(variables, this, fetchAllVariables);
+    }
+
+    protected void setVariablesLocal(Map<String, ? extends Object> variables, ExecutionEntity sourceExecution, boolean fetchAllVariables) {
+        if (variables == null || variables.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> newVariables = new LinkedHashMap<>();
+
+        if (fetchAllVariables) {
+
+            ensureVariableInstancesInitialized();
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+
+                // If it's in the cache, it's more recent
+                if (usedVariablesCache.containsKey(variableName)) {
+                    updateVariableInstance(usedVariablesCache.get(variableName), variable.getValue(), sourceExecution);
+                }
+
+                VariableInstanceEntity variableInstance = variableInstances.get(variableName);
+                if (variableInstance == null) {
+                    variableInstance = usedVariablesCache.get(variableName);
+                }
+
+                if (variableInstance == null) {
+                    newVariables.put(variableName, variable.getValue());
+                } else {
+                    updateVariableInstance(variableInstance, variable.getValue(), sourceExecution);
+                }
+            }
+
+            if (!newVariables.isEmpty()) {
+                createVariablesLocal(newVariables, sourceExecution);
+            }
+
+        } else {
+
+            Map<String, VariableInstanceEntity> specificVariables = findSpecificVariablesForUpdate(variables);
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+                VariableInstanceEntity variableInstance = specificVariables.get(variableName);
+                if (variableInstance != null) {
+                    updateVariableInstance(variableInstance, variable.getValue(), sourceExecution);
+                    usedVariablesCache.put(variableName, variableInstance);
+                } else if (!specificVariables.containsKey(variableName)) {
+                    updateVariableInstance(getVariableInstanceForUpdate(variableName), variable.getValue(), sourceExecution);
+                } else {
+                    newVariables.put(variableName, variable.getValue());
+                }
+            }
+
+            if (!newVariables.isEmpty()) {
+                for (VariableInstanceEntity variableInstance : createVariableInstances(newVariables, sourceExecution)) {
+                    usedVariablesCache.put(variableInstance.getName(), variableInstance);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void createVariablesLocal(Map<String, ? extends Object> variables) {
+        if (variables != null && !variables.isEmpty()) {
+            createVariablesLocal(variables, this);
+        }
+    }
+
+    protected void createVariablesLocal(Map<String, ? extends Object> variables, ExecutionEntity sourceExecution) {
+        ensureVariableInstancesInitialized();
+
+        for (String variableName : variables.keySet()) {
+            if (variableInstances.containsKey(variableName)) {
+                throw new FlowableException("variable '" + variableName + "' already exists. Use setVariableLocal if you want to overwrite the value");
+            }
+        }
+
+        createVariableInstances(variables, sourceExecution);
+    }
+
+    @Override
+    protected List<VariableInstanceEntity> createVariableInstances(Map<String, ? extends Object> variables) {
+        return createVariableInstances(variables, this);
+    }
+
+    protected List<VariableInstanceEntity> createVariableInstances(Map<String, ? extends Object> variables, ExecutionEntity sourceExecution) {
+        List<VariableInstanceEntity> createdVariableInstances = new ArrayList<>(variables.size());
+        for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+            VariableInstanceEntity variableInstance = super.createVariableInstance(variable.getKey(), variable.getValue());
+            CountingEntityUtil.handleInsertVariableInstanceEntityCount(variableInstance);
+            createdVariableInstances.add(variableInstance);
+        }
+
+        CommandContext commandContext = Context.getCommandContext();
+        VariableListenerSession variableListenerSession = commandContext.getSession(VariableListenerSession.class);
+        HistoryManager historyManager = CommandContextUtil.getHistoryManager(commandContext);
+        Date createTime = CommandContextUtil.getProcessEngineConfiguration(commandContext).getClock().getCurrentTime();
+
+        // All variables are created for the same source execution, so its activity instance only needs to be looked up once
+        String relatedActivityInstanceId = getRelatedActivityInstanceId(sourceExecution);
+        for (VariableInstanceEntity variableInstance : createdVariableInstances) {
+            variableListenerSession.addVariableData(variableInstance.getName(), VariableListenerSessionData.VARIABLE_CREATE,
+                    variableInstance.getProcessInstanceId(), ScopeTypes.BPMN, variableInstance.getProcessDefinitionId());
+            historyManager.recordVariableCreate(variableInstance, createTime);
+            historyManager.recordHistoricDetailVariableCreate(variableInstance, sourceExecution, true, relatedActivityInstanceId, createTime);
+        }
+
+        return createdVariableInstances;
+    }
+
     @Override
     protected VariableInstanceEntity createVariableInstance(String variableName, Object value) {
         return createVariableInstance(variableName, value, this);
@@ -915,6 +1104,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         }
 
         ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        VariableUsageStatistics variableUsageStatistics = processEngineConfiguration.getVariableUsageStatistics();
+        if (variableUsageStatistics != null && processDefinitionId != null && activityId != null) {
+            variableUsageStatistics.recordVariableFetch(processDefinitionId, activityId, variableName);
+        }
+
         return processEngineConfiguration.getVariableServiceConfiguration().getVariableService()
                 .createInternalVariableInstanceQuery()
                 .executionId(id)
@@ -990,7 +1184,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setParentId(String parentId) {
-        this.parentId = parentId;
+        this.parentId = trackChange("parentId", this.parentId, parentId);
     }
 
     @Override
@@ -999,7 +1193,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     }
     
     public void setActivityId(String activityId) {
-        this.activityId = activityId;
+        this.activityId = trackChange("activityId", this.activityId, activityId);
     }
 
     @Override
@@ -1013,11 +1207,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setConcurrent(boolean isConcurrent) {
-        this.isConcurrent = isConcurrent;
+        this.isConcurrent = trackChange("isConcurrent", this.isConcurrent, isConcurrent);
     }
 
     public void setIsConcurrent(boolean isConcurrent) {
-        this.isConcurrent = isConcurrent;
+        this.isConcurrent = trackChange("isConcurrent", this.isConcurrent, isConcurrent);
     }
 
     @Override
@@ -1031,16 +1225,16 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setActive(boolean isActive) {
-        this.isActive = isActive;
+        this.isActive = trackChange("isActive", this.isActive, isActive);
     }
 
     public void setIsActive(boolean isActive) {
-        this.isActive = isActive;
+        this.isActive = trackChange("isActive", this.isActive, isActive);
     }
 
     @Override
     public void inactivate() {
-        this.isActive = false;
+        this.isActive = trackChange("isActive", this.isActive, false);
     }
 
     @Override
@@ -1088,7 +1282,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setSuspensionState(int suspensionState) {
-        this.suspensionState = suspensionState;
+        this.suspensionState = trackChange("suspensionState", this.suspensionState, suspensionState);
     }
 
     @Override
@@ -1107,11 +1301,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setEventScope(boolean isEventScope) {
-        this.isEventScope = isEventScope;
+        this.isEventScope = trackChange("isEventScope", this.isEventScope, isEventScope);
     }
 
     public void setIsEventScope(boolean isEventScope) {
-        this.isEventScope = isEventScope;
+        this.isEventScope = trackChange("isEventScope", this.isEventScope, isEventScope);
     }
 
     @Override
@@ -1125,11 +1319,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setMultiInstanceRoot(boolean isMultiInstanceRoot) {
-        this.isMultiInstanceRoot = isMultiInstanceRoot;
+        this.isMultiInstanceRoot = trackChange("isMultiInstanceRoot", this.isMultiInstanceRoot, isMultiInstanceRoot);
     }
 
     public void setIsMultiInstanceRoot(boolean isMultiInstanceRoot) {
-        this.isMultiInstanceRoot = isMultiInstanceRoot;
+        this.isMultiInstanceRoot = trackChange("isMultiInstanceRoot", this.isMultiInstanceRoot, isMultiInstanceRoot);
     }
 
     @Override
@@ -1143,11 +1337,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCountEnabled(boolean isCountEnabled) {
-        this.isCountEnabled = isCountEnabled;
+        this.isCountEnabled = trackChange("isCountEnabled", this.isCountEnabled, isCountEnabled);
     }
 
     public void setIsCountEnabled(boolean isCountEnabled) {
-        this.isCountEnabled = isCountEnabled;
+        this.isCountEnabled = trackChange("isCountEnabled", this.isCountEnabled, isCountEnabled);
     }
 
     @Override
@@ -1166,7 +1360,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setName(String name) {
-        this.name = name;
+        this.name = trackChange("name", this.name, name);
     }
 
     @Override
@@ -1220,7 +1414,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setLockTime(Date lockTime) {
-        this.lockTime = lockTime;
+        this.lockTime = trackChange("lockTime", this.lockTime, lockTime);
     }
 
     @Override
@@ -1230,7 +1424,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setLockOwner(String lockOwner) {
-        this.lockOwner = lockOwner;
+        this.lockOwner = trackChange("lockOwner", this.lockOwner, lockOwner);
     }
 
     @Override
@@ -1283,7 +1477,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartActivityId(String startActivityId) {
-        this.startActivityId = startActivityId;
+        this.startActivityId = trackChange("startActivityId", this.startActivityId, startActivityId);
     }
 
     @Override
@@ -1293,7 +1487,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartUserId(String startUserId) {
-        this.startUserId = startUserId;
+        this.startUserId = trackChange("startUserId", this.startUserId, startUserId);
     }
 
     @Override
@@ -1303,7 +1497,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartTime(Date startTime) {
-        this.startTime = startTime;
+        this.startTime = trackChange("startTime", this.startTime, startTime);
     }
 
     @Override
@@ -1313,7 +1507,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setEventSubscriptionCount(int eventSubscriptionCount) {
-        this.eventSubscriptionCount = eventSubscriptionCount;
+        this.eventSubscriptionCount = trackChange("eventSubscriptionCount", this.eventSubscriptionCount, eventSubscriptionCount);
     }
 
     @Override
@@ -1323,7 +1517,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setTaskCount(int taskCount) {
-        this.taskCount = taskCount;
+        this.taskCount = trackChange("taskCount", this.taskCount, taskCount);
     }
 
     @Override
@@ -1333,7 +1527,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setJobCount(int jobCount) {
-        this.jobCount = jobCount;
+        this.jobCount = trackChange("jobCount", this.jobCount, jobCount);
     }
 
     @Override
@@ -1343,7 +1537,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setTimerJobCount(int timerJobCount) {
-        this.timerJobCount = timerJobCount;
+        this.timerJobCount = trackChange("timerJobCount", this.timerJobCount, timerJobCount);
     }
 
     @Override
@@ -1353,7 +1547,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setSuspendedJobCount(int suspendedJobCount) {
-        this.suspendedJobCount = suspendedJobCount;
+        this.suspendedJobCount = trackChange("suspendedJobCount", this.suspendedJobCount, suspendedJobCount);
     }
 
     @Override
@@ -1363,7 +1557,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setDeadLetterJobCount(int deadLetterJobCount) {
-        this.deadLetterJobCount = deadLetterJobCount;
+        this.deadLetterJobCount = trackChange("deadLetterJobCount", this.deadLetterJobCount, deadLetterJobCount);
     }
 
     @Override
@@ -1373,7 +1567,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setExternalWorkerJobCount(int externalWorkerJobCount) {
-        this.externalWorkerJobCount = externalWorkerJobCount;
+        this.externalWorkerJobCount = trackChange("externalWorkerJobCount", this.externalWorkerJobCount, externalWorkerJobCount);
     }
 
     @Override
@@ -1383,7 +1577,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setVariableCount(int variableCount) {
-        this.variableCount = variableCount;
+        this.variableCount = trackChange("variableCount", this.variableCount, variableCount);
     }
 
     @Override
@@ -1393,7 +1587,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
-        this.identityLinkCount = identityLinkCount;
+        this.identityLinkCount = trackChange("identityLinkCount", this.identityLinkCount, identityLinkCount);
     }
     
     @Override
@@ -1403,7 +1597,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCallbackId(String callbackId) {
-        this.callbackId = callbackId;
+        this.callbackId = trackChange("callbackId", this.callbackId, callbackId);
     }
 
     @Override
@@ -1413,7 +1607,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCallbackType(String callbackType) {
-        this.callbackType = callbackType;
+        this.callbackType = trackChange("callbackType", this.callbackType, callbackType);
     }
 
     @Override
@@ -1423,7 +1617,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setReferenceId(String referenceId) {
-        this.referenceId = referenceId;
+        this.referenceId = trackChange("referenceId", this.referenceId, referenceId);
     }
 
     @Override
@@ -1433,12 +1627,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setReferenceType(String referenceType) {
-        this.referenceType = referenceType;
+        this.referenceType = trackChange("referenceType", this.referenceType, referenceType);
     }
 
     @Override
     public void setPropagatedStageInstanceId(String propagatedStageInstanceId) {
-        this.propagatedStageInstanceId = propagatedStageInstanceId;
+        this.propagatedStageInstanceId = trackChange("propagatedStageInstanceId", this.propagatedStageInstanceId, propagatedStageInstanceId);
     }
 
     @Override
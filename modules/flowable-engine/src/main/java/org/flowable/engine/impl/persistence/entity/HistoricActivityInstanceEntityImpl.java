@@ -69,6 +69,7 @@ public class HistoricActivityInstanceEntityImpl extends HistoricScopeInstanceEnt
     @Override
     public Object getPersistentState() {
         Map<String, Object> persistentState = new HashMap<>();
+        persistentState.put("startTime", startTime);
         persistentState.put("endTime", endTime);
         persistentState.put("durationInMillis", durationInMillis);
         persistentState.put("transactionOrder", transactionOrder);
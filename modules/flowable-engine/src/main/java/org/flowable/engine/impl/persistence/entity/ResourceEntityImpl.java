@@ -15,6 +15,8 @@ package org.flowable.engine.impl.persistence.entity;
 
 import java.io.Serializable;
 
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayCodec;
+
 /**
  * @author Tom Baeyens
  * @author Joram Barrez
@@ -25,8 +27,11 @@ public class ResourceEntityImpl extends AbstractBpmnEngineNoRevisionEntity imple
 
     protected String name;
     protected byte[] bytes;
+    protected byte[] storedBytes;
+    protected boolean compressed;
     protected String deploymentId;
     protected boolean generated;
+    protected transient ByteArrayCodec codec;
 
     public ResourceEntityImpl() {
 
@@ -44,12 +49,49 @@ public class ResourceEntityImpl extends AbstractBpmnEngineNoRevisionEntity imple
 
     @Override
     public byte[] getBytes() {
+        if (bytes == null && storedBytes != null) {
+            bytes = ByteArrayCodec.decode(storedBytes, compressed);
+        }
         return bytes;
     }
 
     @Override
     public void setBytes(byte[] bytes) {
         this.bytes = bytes;
+        this.storedBytes = null;
+    }
+
+    /**
+     * The bytes as they are stored in the database, compressed when the codec of this resource compresses them.
+     */
+    public byte[] getStoredBytes() {
+        if (storedBytes == null && bytes != null) {
+            storedBytes = codec != null ? codec.encode(bytes) : bytes;
+            compressed = storedBytes != bytes;
+        }
+        return storedBytes;
+    }
+
+    public void setStoredBytes(byte[] storedBytes) {
+        this.storedBytes = storedBytes;
+        this.bytes = null;
+    }
+
+    public boolean isCompressed() {
+        getStoredBytes();
+        return compressed;
+    }
+
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    public ByteArrayCodec getCodec() {
+        return codec;
+    }
+
+    public void setCodec(ByteArrayCodec codec) {
+        this.codec = codec;
     }
 
     @Override
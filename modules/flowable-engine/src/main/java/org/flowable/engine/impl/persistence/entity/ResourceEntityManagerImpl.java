@@ -15,6 +15,7 @@ package org.flowable.engine.impl.persistence.entity;
 
 import java.util.List;
 
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayCodec;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.data.ResourceDataManager;
 
@@ -30,6 +31,15 @@ public class ResourceEntityManagerImpl
         super(processEngineConfiguration, resourceDataManager);
     }
 
+    @Override
+    public void insert(ResourceEntity resource, boolean fireCreateEvent) {
+        int compressionThreshold = engineConfiguration.getByteArrayCompressionThreshold();
+        if (compressionThreshold >= 0 && resource instanceof ResourceEntityImpl) {
+            ((ResourceEntityImpl) resource).setCodec(new ByteArrayCodec(compressionThreshold));
+        }
+        super.insert(resource, fireCreateEvent);
+    }
+
     @Override
     public void deleteResourcesByDeploymentId(String deploymentId) {
         dataManager.deleteResourcesByDeploymentId(deploymentId);
@@ -249,11 +249,7 @@ public class ProcessInstanceHelper {
         processInstance.setVariables(processDataObjects(process.getDataObjects()));
 
         // Set the variables passed into the start command
-        if (startInstanceBeforeContext.getVariables() != null) {
-            for (String varName : startInstanceBeforeContext.getVariables().keySet()) {
-                processInstance.setVariable(varName, startInstanceBeforeContext.getVariables().get(varName));
-            }
-        }
+        processInstance.setVariables(startInstanceBeforeContext.getVariables());
         
         if (startInstanceBeforeContext.getTransientVariables() != null) {
             
@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the variables that are fetched by name while an execution is in an activity, per process definition.
+ * When lazy variable loading is enabled, these variables are prefetched with one query before the behavior of that activity is executed,
+ * instead of fetching them one by one.
+ * <p>
+ * The number of variables recorded for one activity is bounded, variables used after that limit are fetched one by one.
+ */
+public class VariableUsageStatistics {
+
+    protected final int maxVariablesPerActivity;
+    protected final Map<String, Map<String, Set<String>>> variableNamesByDefinition = new ConcurrentHashMap<>();
+
+    public VariableUsageStatistics() {
+        this(50);
+    }
+
+    public VariableUsageStatistics(int maxVariablesPerActivity) {
+        this.maxVariablesPerActivity = maxVariablesPerActivity;
+    }
+
+    public void recordVariableFetch(String processDefinitionId, String activityId, String variableName) {
+        Set<String> variableNames = variableNamesByDefinition
+                .computeIfAbsent(processDefinitionId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(activityId, key -> ConcurrentHashMap.newKeySet());
+        if (variableNames.size() < maxVariablesPerActivity) {
+            variableNames.add(variableName);
+        }
+    }
+
+    /**
+     * @return the names of the variables that were fetched by name while an execution was in the given activity
+     */
+    public Collection<String> getUsedVariableNames(String processDefinitionId, String activityId) {
+        Map<String, Set<String>> variableNamesByActivity = variableNamesByDefinition.get(processDefinitionId);
+        if (variableNamesByActivity != null) {
+            Set<String> variableNames = variableNamesByActivity.get(activityId);
+            if (variableNames != null) {
+                return Collections.unmodifiableSet(variableNames);
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    public void removeProcessDefinition(String processDefinitionId) {
+        variableNamesByDefinition.remove(processDefinitionId);
+    }
+
+    public void reset() {
+        variableNamesByDefinition.clear();
+    }
+
+    public int getMaxVariablesPerActivity() {
+        return maxVariablesPerActivity;
+    }
+}
@@ -0,0 +1,17 @@
+-- Converts the freshly created process history tables to interval partitioned tables, with a partition per month of their start time.
+-- Oracle creates the partitions itself, the anchor partitions below are never dropped.
+
+alter table ACT_HI_PROCINST modify
+    partition by range (START_TIME_) interval (numtoyminterval(1, 'MONTH'))
+    (partition ACT_HI_PROCINST_P0 values less than (timestamp '2000-01-01 00:00:00'))
+    online update indexes;
+
+alter table ACT_HI_ACTINST modify
+    partition by range (START_TIME_) interval (numtoyminterval(1, 'MONTH'))
+    (partition ACT_HI_ACTINST_P0 values less than (timestamp '2000-01-01 00:00:00'))
+    online update indexes;
+
+alter table ACT_HI_DETAIL modify
+    partition by range (TIME_) interval (numtoyminterval(1, 'MONTH'))
+    (partition ACT_HI_DETAIL_P0 values less than (timestamp '2000-01-01 00:00:00'))
+    online update indexes;
@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.ProcessHistoryPolicy;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.task.api.Task;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.junit.jupiter.api.Test;
+
+public class ActivityHistoryLevelTest extends CustomConfigurationFlowableTestCase {
+
+    public ActivityHistoryLevelTest() {
+        super(ActivityHistoryLevelTest.class.getName());
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        Map<String, HistoryLevel> activityTypeHistoryLevels = new HashMap<>();
+        activityTypeHistoryLevels.put("scriptTask", HistoryLevel.NONE);
+        activityTypeHistoryLevels.put("exclusiveGateway", HistoryLevel.NONE);
+        processEngineConfiguration.setActivityTypeHistoryLevels(activityTypeHistoryLevels);
+
+        Map<String, HistoryLevel> variableHistoryLevels = new HashMap<>();
+        variableHistoryLevels.put("secret", HistoryLevel.NONE);
+        variableHistoryLevels.put("summary", HistoryLevel.ACTIVITY);
+        processEngineConfiguration.setVariableHistoryLevels(variableHistoryLevels);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/history/activityHistoryLevelProcess.bpmn20.xml")
+    public void testHistoryPolicyCreatedOnDeployment() {
+        String processDefinitionId = repositoryService.createProcessDefinitionQuery().processDefinitionKey("activityHistoryLevel").singleResult().getId();
+        ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinitionId);
+
+        ProcessHistoryPolicy historyPolicy = cacheEntry.getHistoryPolicy();
+        assertThat(historyPolicy).isNotNull();
+        assertThat(historyPolicy.getHistoryLevel()).isNull();
+        assertThat(historyPolicy.getActivityHistoryLevel("theScript")).isEqualTo(HistoryLevel.NONE);
+        assertThat(historyPolicy.getActivityHistoryLevel("theGateway")).isEqualTo(HistoryLevel.ACTIVITY);
+        assertThat(historyPolicy.getActivityHistoryLevel("theTask")).isEqualTo(HistoryLevel.NONE);
+        assertThat(historyPolicy.getActivityHistoryLevel("theStart")).isNull();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/history/activityHistoryLevelProcess.bpmn20.xml")
+    public void testActivityHistoryLevels() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("activityHistoryLevel");
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).list())
+                .extracting(HistoricActivityInstance::getActivityId)
+                .contains("theStart", "theGateway", "theEnd")
+                .doesNotContain("theScript", "theTask");
+
+        // The task itself still goes into the history, only its activity instance is left out
+        assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/history/activityHistoryLevelProcess.bpmn20.xml")
+    public void testVariableHistoryLevels() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("activityHistoryLevel");
+        runtimeService.setVariable(processInstance.getId(), "summary", "first");
+        runtimeService.setVariable(processInstance.getId(), "summary", "second");
+        runtimeService.setVariable(processInstance.getId(), "secret", "changed");
+
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).list())
+                .extracting(HistoricVariableInstance::getVariableName)
+                .containsExactlyInAnyOrder("visible", "summary");
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).variableName("summary")
+                .singleResult().getValue()).isEqualTo("second");
+
+        // Only the variables without a variable history level get the details of the engine history level (full)
+        assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).variableUpdates().count()).isEqualTo(1);
+    }
+
+}
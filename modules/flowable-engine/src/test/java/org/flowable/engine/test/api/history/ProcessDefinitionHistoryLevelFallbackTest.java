@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.HistoryConfigurationSettings;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The process definition history level is enabled, but the process has no history level of its own,
+ * and the engine history level is below activity.
+ */
+public class ProcessDefinitionHistoryLevelFallbackTest extends CustomConfigurationFlowableTestCase {
+
+    public ProcessDefinitionHistoryLevelFallbackTest() {
+        super(ProcessDefinitionHistoryLevelFallbackTest.class.getName());
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setHistoryLevel(HistoryLevel.TASK);
+        processEngineConfiguration.setEnableProcessDefinitionHistoryLevel(true);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/history/oneTaskIncludeTaskProcess.bpmn20.xml")
+    public void testEngineHistoryLevelWithIncludeInHistory() {
+        String processDefinitionId = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskIncludeTaskProcess")
+                .singleResult().getId();
+        HistoryConfigurationSettings historyConfigurationSettings = processEngineConfiguration.getHistoryConfigurationSettings();
+
+        managementService.executeCommand(commandContext -> {
+            assertThat(historyConfigurationSettings.isHistoryEnabledForActivity(processDefinitionId, "theTask")).isTrue();
+            assertThat(historyConfigurationSettings.isHistoryEnabledForActivity(processDefinitionId, "theStart")).isFalse();
+            assertThat(historyConfigurationSettings.isHistoryEnabledForActivity(processDefinitionId, "theEnd")).isFalse();
+            assertThat(historyConfigurationSettings.isHistoryEnabledForActivity(processDefinitionId, null)).isFalse();
+
+            // An unknown process definition falls back to the engine history level
+            assertThat(historyConfigurationSettings.isHistoryEnabledForActivity("unknown", "theTask")).isFalse();
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.impl.runtime.Clock;
+import org.flowable.engine.DefaultHistoryCleaningManager;
+import org.flowable.engine.HistoryCleaningManager;
+import org.flowable.engine.impl.jobexecutor.BpmnHistoryCleanupJobHandler;
+import org.flowable.engine.impl.jobexecutor.BpmnHistoryCleanupPartitionJobHandler;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.job.api.Job;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class HistoricDataPartitionedCleanupTest extends ResourceFlowableTestCase {
+
+    public HistoricDataPartitionedCleanupTest() {
+        super("org/flowable/engine/test/bpmn/HistoricDataPartitionedCleanupTest.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
+    public void testHistoryCleanupInPartitions() {
+        List<String> processInstanceIds = new ArrayList<>();
+        try {
+            Clock clock = processEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+
+            for (int i = 0; i < 10; i++) {
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("startToEnd");
+                processInstanceIds.add(processInstance.getId());
+                runtimeService.setVariable(processInstance.getId(), "testVar", "testValue" + i);
+                runtimeService.setVariable(processInstance.getId(), "bytesVar", ("bytes" + i).getBytes(StandardCharsets.UTF_8));
+
+                if (i < 7) {
+                    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+                    taskService.setVariableLocal(task.getId(), "taskVar", "taskValue" + i);
+                    taskService.addComment(task.getId(), processInstance.getId(), "comment " + i);
+                    taskService.complete(task.getId());
+                }
+
+                cal.add(Calendar.DAY_OF_YEAR, 1);
+                clock.setCurrentCalendar(cal);
+            }
+        } finally {
+            processEngineConfiguration.resetClock();
+        }
+
+        // An instance that ended recently is not cleaned up
+        ProcessInstance recentProcessInstance = runtimeService.startProcessInstanceByKey("startToEnd");
+        taskService.complete(taskService.createTaskQuery().processInstanceId(recentProcessInstance.getId()).singleResult().getId());
+
+        long byteArrayCount = managementService.getTableCount().get("ACT_GE_BYTEARRAY");
+
+        Job cleanupJob = managementService.moveTimerToExecutableJob(
+                managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+        managementService.executeJob(cleanupJob.getId());
+
+        assertThat(managementService.createJobQuery().handlerType(BpmnHistoryCleanupPartitionJobHandler.TYPE).count()).isEqualTo(3);
+        assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(11);
+
+        waitForJobExecutorToProcessAllJobs(10000, 200);
+
+        assertThat(managementService.createJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().list())
+                .extracting(historicProcessInstance -> historicProcessInstance.getId())
+                .containsExactlyInAnyOrder(processInstanceIds.get(7), processInstanceIds.get(8), processInstanceIds.get(9), recentProcessInstance.getId());
+
+        for (int i = 0; i < 10; i++) {
+            String processInstanceId = processInstanceIds.get(i);
+            long expectedRows = i < 7 ? 0 : 1;
+            assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(expectedRows);
+            assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(expectedRows * 3);
+            assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(expectedRows * 2);
+            assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstanceId).count()).isEqualTo(expectedRows * 2);
+            assertThat(historyService.createHistoricTaskLogEntryQuery().processInstanceId(processInstanceId).count()).isEqualTo(expectedRows);
+            assertThat(historyService.getHistoricIdentityLinksForProcessInstance(processInstanceId)).hasSize((int) expectedRows);
+            assertThat(taskService.getProcessInstanceComments(processInstanceId)).isEmpty();
+        }
+        assertThat(historyService.createHistoricVariableInstanceQuery().variableName("taskVar").count()).isZero();
+
+        // The bytes of the historic variable and of its historic detail
+        assertThat(managementService.getTableCount().get("ACT_GE_BYTEARRAY")).isEqualTo(byteArrayCount - 7 * 2);
+
+        managementService.deleteTimerJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
+    public void testHistoryCleanupKeepsReferencedDeduplicatedBytes() throws SQLException {
+        byte[] bytes = "shared bytes".getBytes(StandardCharsets.UTF_8);
+        List<String> processInstanceIds = new ArrayList<>();
+        try {
+            Clock clock = processEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+
+            for (int i = 0; i < 2; i++) {
+                processInstanceIds.add(startAndCompleteProcessInstanceWithBytes(bytes));
+            }
+        } finally {
+            processEngineConfiguration.resetClock();
+        }
+
+        // An instance that ended recently is not cleaned up
+        String recentProcessInstanceId = startAndCompleteProcessInstanceWithBytes(bytes);
+        processInstanceIds.add(recentProcessInstanceId);
+
+        // The historic variables of the three instances share one deduplicated byte array
+        String deduplicatedId = "sha224-historic-data-partitioned-cleanup-test";
+        try (Connection connection = processEngineConfiguration.getDataSource().getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("insert into ACT_GE_BYTEARRAY(ID_, REV_, NAME_, BYTES_) values (?, 3, 'hist.var-bytesVar', ?)")) {
+                statement.setString(1, deduplicatedId);
+                statement.setBytes(2, bytes);
+                statement.executeUpdate();
+            }
+            for (String processInstanceId : processInstanceIds) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "delete from ACT_GE_BYTEARRAY where ID_ in (select BYTEARRAY_ID_ from ACT_HI_VARINST where PROC_INST_ID_ = ?)")) {
+                    statement.setString(1, processInstanceId);
+                    statement.executeUpdate();
+                }
+                try (PreparedStatement statement = connection.prepareStatement("update ACT_HI_VARINST set BYTEARRAY_ID_ = ? where PROC_INST_ID_ = ?")) {
+                    statement.setString(1, deduplicatedId);
+                    statement.setString(2, processInstanceId);
+                    statement.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+
+        Job cleanupJob = managementService.moveTimerToExecutableJob(
+                managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+        managementService.executeJob(cleanupJob.getId());
+        waitForJobExecutorToProcessAllJobs(10000, 200);
+
+        assertThat(historyService.createHistoricProcessInstanceQuery().list())
+                .extracting(historicProcessInstance -> historicProcessInstance.getId())
+                .containsExactly(recentProcessInstanceId);
+
+        // Both references of the cleaned up instances are removed, the byte array is kept for the remaining reference
+        try (Connection connection = processEngineConfiguration.getDataSource().getConnection();
+                PreparedStatement statement = connection.prepareStatement("select REV_ from ACT_GE_BYTEARRAY where ID_ = ?")) {
+            statement.setString(1, deduplicatedId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isEqualTo(1);
+            }
+        }
+        assertThat((byte[]) historyService.createHistoricVariableInstanceQuery().processInstanceId(recentProcessInstanceId).singleResult().getValue())
+                .isEqualTo(bytes);
+
+        managementService.deleteTimerJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
+    public void testHistoryCleanupUsesCleaningManagerTime() {
+        try {
+            Clock clock = processEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+            startAndCompleteProcessInstanceWithBytes("old".getBytes(StandardCharsets.UTF_8));
+
+            cal.add(Calendar.DAY_OF_YEAR, 200);
+            clock.setCurrentCalendar(cal);
+            startAndCompleteProcessInstanceWithBytes("newer".getBytes(StandardCharsets.UTF_8));
+        } finally {
+            processEngineConfiguration.resetClock();
+        }
+
+        // Only the instances that ended more than 100 days ago are cleaned up, instead of the configured 365 days
+        HistoryCleaningManager historyCleaningManager = processEngineConfiguration.getHistoryCleaningManager();
+        processEngineConfiguration.setHistoryCleaningManager(new DefaultHistoryCleaningManager(processEngineConfiguration) {
+
+            @Override
+            protected Date getEndedBefore() {
+                return Date.from(Instant.now().minus(Duration.ofDays(100)));
+            }
+        });
+        try {
+            Job cleanupJob = managementService.moveTimerToExecutableJob(
+                    managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+            managementService.executeJob(cleanupJob.getId());
+            waitForJobExecutorToProcessAllJobs(10000, 200);
+        } finally {
+            processEngineConfiguration.setHistoryCleaningManager(historyCleaningManager);
+        }
+
+        assertThat(historyService.createHistoricProcessInstanceQuery().list())
+                .extracting(historicProcessInstance -> historicProcessInstance.getId())
+                .isEmpty();
+
+        managementService.deleteTimerJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+    }
+
+    protected String startAndCompleteProcessInstanceWithBytes(byte[] bytes) {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("startToEnd");
+        runtimeService.setVariable(processInstance.getId(), "bytesVar", bytes);
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+        return processInstance.getId();
+    }
+
+}
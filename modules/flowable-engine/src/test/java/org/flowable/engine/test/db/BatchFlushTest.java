@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class BatchFlushTest extends ResourceFlowableTestCase {
+
+    public BatchFlushTest() {
+        super("org/flowable/engine/test/db/batchflush.test.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testParallelMultiInstanceWithBatchFlush() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertThat(tasks).hasSize(3);
+
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testDeleteProcessInstanceWithBatchFlush() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testConcurrentUpdateWithBatchFlush() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        String firstTaskId = tasks.get(0).getId();
+        String secondTaskId = tasks.get(1).getId();
+
+        assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+            CommandContextUtil.getTaskService(commandContext).getTask(firstTaskId).setName("First");
+            CommandContextUtil.getTaskService(commandContext).getTask(secondTaskId).setName("Second");
+
+            // Update the second task in another transaction, the batched update of the second task needs to fail
+            processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), newCommandContext -> {
+                CommandContextUtil.getTaskService(newCommandContext).getTask(secondTaskId).setName("Concurrent");
+                return null;
+            });
+
+            return null;
+        })).isInstanceOf(FlowableOptimisticLockingException.class);
+
+        assertThat(taskService.createTaskQuery().taskId(firstTaskId).singleResult().getName()).isEqualTo(tasks.get(0).getName());
+        assertThat(taskService.createTaskQuery().taskId(secondTaskId).singleResult().getName()).isEqualTo("Concurrent");
+    }
+}
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class DirtyTrackingTest extends ResourceFlowableTestCase {
+
+    public DirtyTrackingTest() {
+        super("org/flowable/engine/test/db/dirtytracking.test.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testParallelMultiInstanceWithDirtyTracking() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertThat(tasks).hasSize(3);
+
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testOnlyChangedExecutionsAreUpdated() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+        String processInstanceId = processInstance.getId();
+        int revision = getRevision(processInstanceId);
+
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            assertThat(((DirtyTrackingEntity) execution).isDirtyTrackingActive()).isTrue();
+            assertThat(((DirtyTrackingEntity) execution).isDirty()).isFalse();
+
+            // Changing a property back to its original value is not a change
+            execution.setName("Changed");
+            execution.setName(null);
+            assertThat(((DirtyTrackingEntity) execution).isDirty()).isFalse();
+            return null;
+        });
+        assertThat(getRevision(processInstanceId)).isEqualTo(revision);
+
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            execution.setName("Changed");
+            assertThat(((DirtyTrackingEntity) execution).isDirty()).isTrue();
+            return null;
+        });
+        assertThat(getRevision(processInstanceId)).isEqualTo(revision + 1);
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getName()).isEqualTo("Changed");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testPropertySetToNull() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+        runtimeService.setProcessInstanceName(processInstance.getId(), "myName");
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getName()).isEqualTo("myName");
+
+        runtimeService.setProcessInstanceName(processInstance.getId(), null);
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getName()).isNull();
+    }
+
+    protected int getRevision(String executionId) {
+        return managementService.executeCommand(commandContext -> ((ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext)
+                .findById(executionId)).getRevision());
+    }
+}
@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.YearMonth;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.db.HistoryTablePartitionManager;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class HistoryTablePartitioningTest extends CustomConfigurationFlowableTestCase {
+
+    public HistoryTablePartitioningTest() {
+        super(HistoryTablePartitioningTest.class.getName());
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableHistoryTablePartitioning(true);
+    }
+
+    @Test
+    public void testPostgresPartitionStatements() {
+        HistoryTablePartitionManager partitionManager = processEngineConfiguration.getHistoryTablePartitionManager();
+
+        assertThat(partitionManager.getCreatePartitionStatement("ACT_HI_ACTINST", YearMonth.of(2024, 12)))
+                .isEqualTo("create table if not exists ACT_HI_ACTINST_P202412 partition of ACT_HI_ACTINST"
+                        + " for values from ('2024-12-01 00:00:00') to ('2025-01-01 00:00:00')");
+        assertThat(partitionManager.getDropPartitionStatements("postgres", "ACT_HI_ACTINST", "act_hi_actinst_p202412"))
+                .containsExactly("alter table ACT_HI_ACTINST detach partition act_hi_actinst_p202412", "drop table act_hi_actinst_p202412");
+
+        assertThat(partitionManager.parsePostgresPartitionMonth("act_hi_procinst_p202402")).isEqualTo(YearMonth.of(2024, 2));
+        assertThat(partitionManager.parsePostgresPartitionMonth("act_hi_procinst_default")).isNull();
+    }
+
+    @Test
+    public void testOraclePartitionStatements() {
+        HistoryTablePartitionManager partitionManager = processEngineConfiguration.getHistoryTablePartitionManager();
+
+        assertThat(partitionManager.getDropPartitionStatements("oracle", "ACT_HI_DETAIL", "SYS_P1234"))
+                .containsExactly("alter table ACT_HI_DETAIL drop partition SYS_P1234 update global indexes");
+
+        assertThat(partitionManager.parseOraclePartitionMonth("TIMESTAMP' 2024-03-01 00:00:00'")).isEqualTo(YearMonth.of(2024, 2));
+        assertThat(partitionManager.parseOraclePartitionMonth("TIMESTAMP' 2000-01-01 00:00:00'")).isNull();
+    }
+
+    @Test
+    public void testPartitioningNotSupported() {
+        HistoryTablePartitionManager partitionManager = processEngineConfiguration.getHistoryTablePartitionManager();
+        assertThat(partitionManager.isPartitioningSupported(processEngineConfiguration.getDatabaseType())).isFalse();
+
+        assertThat(partitionManager.maintainPartitions(new Date())).isEmpty();
+    }
+
+    @Test
+    public void testPostgresMigrationStatements() {
+        HistoryTablePartitionManager partitionManager = processEngineConfiguration.getHistoryTablePartitionManager();
+
+        Map<String, String> constraints = new LinkedHashMap<>();
+        constraints.put("act_hi_procinst_pkey", "PRIMARY KEY (id_)");
+        constraints.put("act_hi_procinst_proc_inst_id__key", "UNIQUE (proc_inst_id_)");
+        Map<String, String> indexes = new LinkedHashMap<>();
+        indexes.put("act_idx_hi_pro_inst_end", "CREATE INDEX act_idx_hi_pro_inst_end ON public.act_hi_procinst USING btree (end_time_)");
+
+        assertThat(partitionManager.getPartitionTableStatements("ACT_HI_PROCINST", constraints, indexes)).containsExactly(
+                "alter table ACT_HI_PROCINST rename to ACT_HI_PROCINST_DEFAULT",
+                "alter table ACT_HI_PROCINST_DEFAULT drop constraint act_hi_procinst_pkey",
+                "alter table ACT_HI_PROCINST_DEFAULT drop constraint act_hi_procinst_proc_inst_id__key",
+                "alter index act_idx_hi_pro_inst_end rename to act_idx_hi_pro_inst_end_default",
+                "create table ACT_HI_PROCINST (like ACT_HI_PROCINST_DEFAULT including defaults including constraints including comments)"
+                        + " partition by range (START_TIME_)",
+                "alter table ACT_HI_PROCINST add constraint act_hi_procinst_pkey PRIMARY KEY (id_, START_TIME_)",
+                "alter table ACT_HI_PROCINST add constraint act_hi_procinst_proc_inst_id__key UNIQUE (proc_inst_id_, START_TIME_)",
+                "alter table ACT_HI_PROCINST attach partition ACT_HI_PROCINST_DEFAULT default",
+                "CREATE INDEX act_idx_hi_pro_inst_end ON public.act_hi_procinst USING btree (end_time_)");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testPartitionKeyStatements() {
+        DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+        Map<String, String> statementMappings = dbSqlSessionFactory.getStatementMappings();
+        try {
+            processEngineConfiguration.getHistoryTablePartitionManager().addPartitionedStatementMappings(dbSqlSessionFactory);
+            assertThat(dbSqlSessionFactory.mapStatement("updateHistoricActivityInstance")).isEqualTo("updateHistoricActivityInstancePartitioned");
+
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+            runtimeService.setVariable(processInstance.getId(), "var", "value");
+            taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+
+            if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+                HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+                        .processInstanceId(processInstance.getId()).singleResult();
+                assertThat(historicProcessInstance.getEndTime()).isNotNull();
+                assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).unfinished().count()).isZero();
+
+                historyService.deleteHistoricProcessInstance(processInstance.getId());
+                assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+                assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+                assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count()).isZero();
+            }
+        } finally {
+            dbSqlSessionFactory.setStatementMappings(statementMappings);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testFinishedBeforeQuery() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            HistoricProcessInstanceQueryImpl query = (HistoricProcessInstanceQueryImpl) historyService.createHistoricProcessInstanceQuery()
+                    .finishedBefore(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 1000));
+            assertThat(query.isStartTimePartitioned()).isTrue();
+            assertThat(query.singleResult().getId()).isEqualTo(processInstance.getId());
+
+            assertThat(historyService.createHistoricProcessInstanceQuery()
+                    .finishedBefore(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() - 60000)).count()).isZero();
+        }
+    }
+
+}
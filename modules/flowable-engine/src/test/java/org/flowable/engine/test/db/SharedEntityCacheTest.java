@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.flowable.common.engine.impl.persistence.cache.SharedEntityCacheImpl;
+import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
+import org.flowable.engine.impl.persistence.entity.DeploymentEntityImpl;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedEntityCacheTest extends PluggableFlowableTestCase {
+
+    protected SharedEntityCacheImpl sharedEntityCache;
+
+    @BeforeEach
+    protected void enableSharedEntityCache() {
+        sharedEntityCache = new SharedEntityCacheImpl().addCachedEntityClass(DeploymentEntityImpl.class, Duration.ofMinutes(10), 100,
+                "resources", "deployedArtifacts");
+        processEngineConfiguration.getDbSqlSessionFactory().setSharedEntityCache(sharedEntityCache);
+    }
+
+    @AfterEach
+    protected void disableSharedEntityCache() {
+        processEngineConfiguration.getDbSqlSessionFactory().setSharedEntityCache(null);
+    }
+
+    @Test
+    public void testEntityIsSharedBetweenTransactions() {
+        String deploymentId = deploy();
+
+        DeploymentEntity first = findDeployment(deploymentId);
+        assertThat(sharedEntityCache.size(DeploymentEntityImpl.class)).isEqualTo(1);
+
+        DeploymentEntity second = findDeployment(deploymentId);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(deploymentId);
+        assertThat(second.getName()).isEqualTo("shared");
+        assertThat(second.getDeploymentTime()).isEqualTo(first.getDeploymentTime());
+    }
+
+    @Test
+    public void testUpdatedEntityIsInvalidated() {
+        String deploymentId = deploy();
+        assertThat(findDeployment(deploymentId).getCategory()).isNull();
+
+        repositoryService.setDeploymentCategory(deploymentId, "newCategory");
+        assertThat(sharedEntityCache.size(DeploymentEntityImpl.class)).isZero();
+        assertThat(findDeployment(deploymentId).getCategory()).isEqualTo("newCategory");
+    }
+
+    @Test
+    public void testDeletedEntityIsInvalidated() {
+        String deploymentId = repositoryService.createDeployment()
+                .addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+                .deploy()
+                .getId();
+        assertThat(findDeployment(deploymentId)).isNotNull();
+
+        repositoryService.deleteDeployment(deploymentId, true);
+        assertThat(findDeployment(deploymentId)).isNull();
+    }
+
+    @Test
+    public void testChangeInFailedTransactionIsNotVisible() {
+        String deploymentId = deploy();
+        findDeployment(deploymentId);
+
+        try {
+            managementService.executeCommand(commandContext -> {
+                CommandContextUtil.getDeploymentEntityManager(commandContext).findById(deploymentId).setCategory("newCategory");
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertThat(findDeployment(deploymentId).getCategory()).isNull();
+    }
+
+    protected String deploy() {
+        String deploymentId = repositoryService.createDeployment()
+                .name("shared")
+                .addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+                .deploy()
+                .getId();
+        deploymentIdsForAutoCleanup.add(deploymentId);
+        return deploymentId;
+    }
+
+    protected DeploymentEntity findDeployment(String deploymentId) {
+        return managementService.executeCommand(commandContext -> CommandContextUtil.getDeploymentEntityManager(commandContext).findById(deploymentId));
+    }
+}
@@ -19,14 +19,24 @@ import static org.awaitility.Awaitility.await;
 
 import java.time.Duration;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.session.Configuration;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.api.delegate.event.FlowableEvent;
 import org.flowable.common.engine.api.delegate.event.FlowableEventListener;
+import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.JavaDelegate;
@@ -36,6 +46,7 @@ import org.flowable.engine.impl.test.JobTestHelper;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.job.api.Job;
 import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.junit.Assert;
@@ -343,6 +354,198 @@ public class AsyncExecutorTest {
         }
     }
 
+    @Test
+    public void testAsyncExecutionWithVirtualThreads() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(true);
+        processEngineConfiguration.setJdbcMaxActiveConnections(4);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setVirtualThreadsEnabled(true);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setDefaultAsyncJobAcquireWaitTime(Duration.ofMillis(50));
+
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            // The concurrency is bound to the number of database connections
+            AsyncTaskExecutor taskExecutor = processEngine.getProcessEngineConfiguration().getAsyncExecutor().getTaskExecutor();
+            assertThat(taskExecutor).isInstanceOf(VirtualThreadAsyncTaskExecutor.class);
+            assertThat(((VirtualThreadAsyncTaskExecutor) taskExecutor).getMaxConcurrentTasks()).isEqualTo(4);
+            assertThat(taskExecutor.getRemainingCapacity()).isEqualTo(4);
+
+            deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+            ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            waitForAllJobsBeingExecuted(processEngine);
+
+            assertThat(processEngine.getManagementService().createJobQuery().count()).isZero();
+            assertThat(processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).taskName("Task after script").count())
+                    .isEqualTo(1);
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsConcurrencyFollowsDataSourcePool() {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver", "jdbc:h2:mem:flowable-AsyncExecutorTest;DB_CLOSE_DELAY=1000", "sa", "");
+        dataSource.setPoolMaximumActiveConnections(3);
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setDataSource(dataSource);
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setVirtualThreadsEnabled(true);
+
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            AsyncTaskExecutor taskExecutor = processEngine.getProcessEngineConfiguration().getAsyncExecutor().getTaskExecutor();
+            assertThat(((VirtualThreadAsyncTaskExecutor) taskExecutor).getMaxConcurrentTasks()).isEqualTo(3);
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsWithThreadFactory() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncExecutorThreadFactory(Thread::new);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setVirtualThreadsEnabled(true);
+
+        assertThatThrownBy(processEngineConfiguration::buildProcessEngine)
+                .isInstanceOf(FlowableIllegalArgumentException.class)
+                .hasMessageContaining("thread factory");
+    }
+
+    @Test
+    public void testVirtualThreadsWithPlatformThreadTaskExecutor() {
+        DefaultAsyncTaskExecutor taskExecutor = new DefaultAsyncTaskExecutor();
+        taskExecutor.start();
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncTaskExecutor(taskExecutor);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setVirtualThreadsEnabled(true);
+
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            AsyncExecutor asyncExecutor = processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+            assertThatThrownBy(asyncExecutor::start)
+                    .isInstanceOf(FlowableIllegalArgumentException.class)
+                    .hasMessageContaining("is not a VirtualThreadAsyncTaskExecutor");
+
+        } finally {
+            cleanup(processEngine);
+            taskExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncExecutionWithSkipLockedAcquisition() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(true);
+        processEngineConfiguration.setJobAcquisitionSkipLockedEnabled(true);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setDefaultAsyncJobAcquireWaitTime(Duration.ofMillis(50));
+
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            JobServiceConfiguration jobServiceConfiguration = processEngineConfiguration.getJobServiceConfiguration();
+            assertThat(jobServiceConfiguration.isJobAcquisitionSkipLockedEnabled()).isTrue();
+            assertThat(jobServiceConfiguration.isJobAcquisitionSkipLocked("h2")).isFalse();
+            assertThat(jobServiceConfiguration.isJobAcquisitionSkipLocked("postgres")).isTrue();
+
+            // H2 has no specific SKIP LOCKED statement, so the generic one is used
+            jobServiceConfiguration.getJobAcquisitionSkipLockedDatabaseTypes().add("h2");
+
+            deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+            ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            waitForAllJobsBeingExecuted(processEngine);
+
+            assertThat(processEngine.getManagementService().createJobQuery().count()).isZero();
+            assertThat(processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).taskName("Task after script").count())
+                    .isEqualTo(1);
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testSkipLockedAcquisitionStatements() {
+        for (String databaseType : List.of("postgres", "oracle")) {
+            ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+            processEngineConfiguration.setDatabaseType(databaseType);
+            processEngineConfiguration.setDataSource(new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:flowable-AsyncExecutorTest", "sa", ""));
+            processEngineConfiguration.initTransactionFactory();
+            processEngineConfiguration.initSqlSessionFactory();
+
+            Configuration configuration = processEngineConfiguration.getSqlSessionFactory().getConfiguration();
+            for (String statement : List.of("selectJobsToExecuteSkipLocked", "selectTimerJobsToExecuteSkipLocked", "selectHistoryJobsToExecuteSkipLocked")) {
+                ListQueryParameterObject parameter = new ListQueryParameterObject(new HashMap<>(), 0, 10);
+                parameter.setDatabaseType(databaseType);
+                String sql = configuration.getMappedStatement(statement).getBoundSql(parameter).getSql().replaceAll("\\s+", " ");
+
+                assertThat(sql)
+                        .as("%s on %s", statement, databaseType)
+                        .contains("order by RES.ID_ asc")
+                        .endsWith("FOR UPDATE SKIP LOCKED")
+                        .doesNotContainIgnoringCase("ROWNUM");
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncExecutionWithShardedAcquisition() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setJobShardCount(64);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setJobShardingEnabled(true);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setJobShardLeaseGroupCount(4);
+        processEngineConfiguration.getAsyncExecutorConfiguration().setDefaultAsyncJobAcquireWaitTime(Duration.ofMillis(50));
+
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+            ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstance.getId()).singleResult();
+            Integer shardKey = processEngine.getManagementService().executeCommand(commandContext -> processEngineConfiguration
+                    .getJobServiceConfiguration().getJobEntityManager().findById(job.getId()).getShardKey());
+            assertThat(shardKey).isEqualTo(Math.floorMod(processInstance.getId().hashCode(), 64));
+
+            processEngine.getProcessEngineConfiguration().getAsyncExecutor().start();
+            waitForAllJobsBeingExecuted(processEngine);
+
+            assertThat(processEngine.getManagementService().createJobQuery().count()).isZero();
+            assertThat(processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).taskName("Task after script").count())
+                    .isEqualTo(1);
+
+            // A single node holds all leases
+            String lockOwner = processEngineConfiguration.getAsyncExecutor().getLockOwner();
+            assertThat(processEngine.getManagementService().getProperties())
+                    .hasEntrySatisfying("jobShardLease-bpmn-0", value -> assertThat(value).endsWith(" " + lockOwner))
+                    .hasEntrySatisfying("jobShardLease-bpmn-3", value -> assertThat(value).endsWith(" " + lockOwner));
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
     // Helpers ////////////////////////////////////////////////////////
 
     private ProcessEngine createProcessEngine(boolean enableAsyncExecutor) {
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.json;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class BinaryJsonTest extends ResourceFlowableTestCase {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    public BinaryJsonTest() {
+        super("org/flowable/engine/test/json/binaryjson.test.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/json/JsonTest.testUpdateJsonValueDuringExecution.bpmn20.xml")
+    public void testUpdateBinaryJsonValueDuringExecution() {
+        ObjectNode customer = objectMapper.createObjectNode();
+        customer.put("name", "Kermit");
+        JavaDelegate javaDelegate = new JavaDelegate() {
+
+            @Override
+            public void execute(DelegateExecution execution) {
+                execution.getVariable("customer", ObjectNode.class)
+                        .putObject("address")
+                        .put("street", "Sesame Street");
+            }
+        };
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("updateJsonValue")
+                .variable("customer", customer)
+                .transientVariable("jsonBean", javaDelegate)
+                .start();
+
+        VariableInstance customerVarInstance = runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(customerVarInstance.getTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+        assertThatJson(customerVarInstance.getValue())
+                .isEqualTo("{"
+                        + "  name: 'Kermit',"
+                        + "  address: {"
+                        + "    street: 'Sesame Street'"
+                        + "  }"
+                        + "}");
+
+        // The stored value is not compressed and is accessible in expressions like any other json value
+        Object street = managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            VariableInstanceEntity variableInstance = (VariableInstanceEntity) execution.getVariableInstance("customer");
+            assertThat(variableInstance.getTextValue()).isNull();
+            assertThat(new String(variableInstance.getBytes(), 0, 2)).isEqualTo(":)");
+
+            return processEngineConfiguration.getExpressionManager().createExpression("${customer.address.street}").getValue(execution);
+        });
+        assertThat(street).isEqualTo("Sesame Street");
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            HistoricVariableInstance customerHistoricVarInstance = historyService.createHistoricVariableInstanceQuery()
+                    .processInstanceId(processInstance.getId())
+                    .variableName("customer")
+                    .singleResult();
+            assertThat(customerHistoricVarInstance.getVariableTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+            assertThatJson(customerHistoricVarInstance.getValue())
+                    .isEqualTo("{"
+                            + "  name: 'Kermit',"
+                            + "  address: {"
+                            + "    street: 'Sesame Street'"
+                            + "  }"
+                            + "}");
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/json/JsonTest.testUpdateJsonValueDuringExecution.bpmn20.xml")
+    public void testLargeBinaryJsonValueIsCompressed() {
+        ArrayNode orders = objectMapper.createArrayNode();
+        for (int i = 0; i < 100; i++) {
+            orders.addObject()
+                    .put("id", i)
+                    .put("description", "Order number " + i);
+        }
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("updateJsonValue")
+                .variable("orders", orders)
+                .transientVariable("jsonBean", (JavaDelegate) execution -> {})
+                .start();
+
+        byte[] bytes = managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            return ((VariableInstanceEntity) execution.getVariableInstance("orders")).getBytes();
+        });
+        assertThat(bytes[0] & 0xff).isEqualTo(0x1f);
+        assertThat(bytes[1] & 0xff).isEqualTo(0x8b);
+
+        JsonNode value = (JsonNode) runtimeService.getVariable(processInstance.getId(), "orders");
+        assertThat(value).isEqualTo(orders);
+    }
+}
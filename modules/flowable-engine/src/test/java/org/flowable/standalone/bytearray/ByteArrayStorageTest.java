@@ -0,0 +1,185 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.bytearray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntity;
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityImpl;
+import org.flowable.common.engine.impl.util.IoUtil;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.job.api.Job;
+import org.junit.jupiter.api.Test;
+
+public class ByteArrayStorageTest extends ResourceFlowableTestCase {
+
+    public ByteArrayStorageTest() {
+        super("org/flowable/standalone/bytearray/bytearray.test.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment
+    public void testFailingJob() {
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("failingJob");
+        }
+
+        for (Job job : managementService.createJobQuery().list()) {
+            assertThatThrownBy(() -> managementService.executeJob(job.getId()))
+                    .isInstanceOf(FlowableException.class)
+                    .hasMessageContaining("Failing on purpose");
+        }
+
+        List<Job> timerJobs = managementService.createTimerJobQuery().list();
+        assertThat(timerJobs).hasSize(3);
+        for (Job timerJob : timerJobs) {
+            assertThat(managementService.getTimerJobExceptionStacktrace(timerJob.getId())).contains("Failing on purpose");
+        }
+
+        // The identical stacktraces of the three jobs are stored once
+        List<ByteArrayEntity> stacktraces = getStacktraceByteArrays();
+        assertThat(stacktraces).hasSize(1);
+        assertThat(stacktraces.get(0).getId()).startsWith("sha224-");
+        assertThat(stacktraces.get(0).getRevision()).isEqualTo(3);
+        assertThat(((ByteArrayEntityImpl) stacktraces.get(0)).isCompressed()).isTrue();
+
+        // Failing again with the same stacktrace keeps the reference
+        Job timerJob = timerJobs.get(0);
+        managementService.moveTimerToExecutableJob(timerJob.getId());
+        assertThatThrownBy(() -> managementService.executeJob(timerJob.getId()))
+                .isInstanceOf(FlowableException.class);
+        assertThat(getStacktraceByteArrays())
+                .extracting(ByteArrayEntity::getRevision)
+                .containsExactly(3);
+
+        // The stacktrace is deleted together with its last reference
+        List<ProcessInstance> processInstances = runtimeService.createProcessInstanceQuery().list();
+        runtimeService.deleteProcessInstance(processInstances.get(0).getId(), null);
+        assertThat(getStacktraceByteArrays())
+                .extracting(ByteArrayEntity::getRevision)
+                .containsExactly(2);
+
+        runtimeService.deleteProcessInstance(processInstances.get(1).getId(), null);
+        runtimeService.deleteProcessInstance(processInstances.get(2).getId(), null);
+        assertThat(getStacktraceByteArrays()).isEmpty();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/standalone/bytearray/ByteArrayStorageTest.testFailingJob.bpmn20.xml")
+    public void testCompressedValuesAreReadBack() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("failingJob");
+        byte[] bytes = "Some repetitive content. ".repeat(100).getBytes(StandardCharsets.UTF_8);
+        runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+        assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")).isEqualTo(bytes);
+
+        // The deployed resource is larger than the threshold as well
+        String deploymentId = repositoryService.createDeploymentQuery().singleResult().getId();
+        String resourceName = "org/flowable/standalone/bytearray/ByteArrayStorageTest.testFailingJob.bpmn20.xml";
+        InputStream resourceStream = repositoryService.getResourceAsStream(deploymentId, resourceName);
+        byte[] resourceBytes = IoUtil.readInputStream(resourceStream, resourceName);
+        assertThat(new String(resourceBytes, StandardCharsets.UTF_8)).contains("<process id=\"failingJob\">");
+
+        List<ByteArrayEntity> byteArrays = managementService.executeCommand(commandContext -> processEngineConfiguration.getByteArrayEntityManager()
+                .findAll());
+        assertThat(byteArrays)
+                .filteredOn(byteArray -> resourceName.equals(byteArray.getName()) || "var-bytes".equals(byteArray.getName()))
+                .hasSize(2)
+                .allSatisfy(byteArray -> assertThat(((ByteArrayEntityImpl) byteArray).isCompressed()).isTrue());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/standalone/bytearray/ByteArrayStorageTest.testFailingJob.bpmn20.xml")
+    public void testUncompressedValuesStartingWithCompressionHeaderAreReadBack() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("failingJob");
+
+        // Raw content that starts with the header compressed byte arrays used to be marked with, below and above the threshold
+        byte[] smallBytes = { (byte) 0xFB, 'F', 'L', 'Z', 'r', 'a', 'w' };
+        byte[] largeBytes = new byte[1024];
+        new Random(42).nextBytes(largeBytes);
+        System.arraycopy(smallBytes, 0, largeBytes, 0, smallBytes.length);
+        runtimeService.setVariable(processInstance.getId(), "smallBytes", smallBytes);
+        runtimeService.setVariable(processInstance.getId(), "largeBytes", largeBytes);
+
+        assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "smallBytes")).isEqualTo(smallBytes);
+        assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "largeBytes")).isEqualTo(largeBytes);
+
+        List<ByteArrayEntity> byteArrays = managementService.executeCommand(commandContext -> processEngineConfiguration.getByteArrayEntityManager()
+                .findAll());
+        assertThat(byteArrays)
+                .filteredOn(byteArray -> "var-smallBytes".equals(byteArray.getName()) || "var-largeBytes".equals(byteArray.getName()))
+                .hasSize(2)
+                .allSatisfy(byteArray -> assertThat(((ByteArrayEntityImpl) byteArray).isCompressed()).isFalse());
+    }
+
+    @Test
+    public void testConcurrentInsertOfDeduplicatedByteArray() {
+        byte[] bytes = "Concurrent stacktrace".getBytes(StandardCharsets.UTF_8);
+        ByteArrayEntity byteArray = managementService.executeCommand(commandContext -> processEngineConfiguration.getByteArrayEntityManager()
+                .insertDeduplicated("stacktrace", bytes));
+        assertThat(byteArray.getId()).startsWith("sha224-");
+
+        // Another transaction that didn't see the byte array yet inserts it as well, without failing its transaction
+        boolean inserted = managementService.executeCommand(commandContext -> {
+            ByteArrayEntity concurrentByteArray = processEngineConfiguration.getByteArrayDataManager().create();
+            concurrentByteArray.setId(byteArray.getId());
+            concurrentByteArray.setName("stacktrace");
+            concurrentByteArray.setBytes(bytes);
+            return processEngineConfiguration.getByteArrayDataManager().insertDeduplicated(concurrentByteArray);
+        });
+        assertThat(inserted).isFalse();
+        assertThat(getStacktraceByteArrays())
+                .extracting(ByteArrayEntity::getRevision)
+                .containsExactly(1);
+
+        // Which then adds a reference instead
+        managementService.executeCommand(commandContext -> processEngineConfiguration.getByteArrayEntityManager().insertDeduplicated("stacktrace", bytes));
+        assertThat(getStacktraceByteArrays())
+                .extracting(ByteArrayEntity::getRevision)
+                .containsExactly(2);
+
+        managementService.executeCommand(commandContext -> {
+            processEngineConfiguration.getByteArrayEntityManager().deleteByteArrayById(byteArray.getId());
+            processEngineConfiguration.getByteArrayEntityManager().deleteByteArrayById(byteArray.getId());
+            return null;
+        });
+        assertThat(getStacktraceByteArrays()).isEmpty();
+    }
+
+    protected List<ByteArrayEntity> getStacktraceByteArrays() {
+        return managementService.executeCommand(commandContext -> processEngineConfiguration.getByteArrayEntityManager().findAll()
+                .stream()
+                .filter(byteArray -> "stacktrace".equals(byteArray.getName()))
+                .collect(Collectors.toList()));
+    }
+
+    public static class FailingDelegate implements JavaDelegate {
+
+        @Override
+        public void execute(DelegateExecution execution) {
+            throw new FlowableException("Failing on purpose");
+        }
+    }
+}
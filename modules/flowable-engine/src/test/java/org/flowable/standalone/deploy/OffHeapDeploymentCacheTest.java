@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+
+import org.flowable.engine.impl.persistence.deploy.OffHeapProcessDefinitionCache;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapDeploymentCacheTest extends ResourceFlowableTestCase {
+
+    public OffHeapDeploymentCacheTest() {
+        super("org/flowable/standalone/deploy/offheap.deployment.cache.test.flowable.cfg.xml");
+    }
+
+    @AfterEach
+    protected void deleteDeployments() {
+        for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+            repositoryService.deleteDeployment(deployment.getId(), true);
+        }
+    }
+
+    @Test
+    public void testEvictedProcessDefinitionsAreHydratedFromStoredModel() throws IOException {
+        OffHeapProcessDefinitionCache processDefinitionCache = (OffHeapProcessDefinitionCache) processEngineConfiguration.getProcessDefinitionCache();
+        assertThat(processDefinitionCache.getHotLimit()).isEqualTo(3);
+
+        String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/flowable/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+        for (int i = 1; i <= 10; i++) {
+            repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+        }
+
+        assertThat(processDefinitionCache.size()).isLessThanOrEqualTo(3);
+        assertThat(processDefinitionCache.getStoredSize()).isEqualTo(10);
+        assertThat(processDefinitionCache.getStoredBytes()).isPositive();
+
+        for (int i = 1; i <= 10; i++) {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("myProcess" + i);
+            Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+            assertThat(task.getName()).isEqualTo("my task");
+            taskService.complete(task.getId());
+            assertProcessEnded(processInstance.getId());
+        }
+
+        assertThat(processDefinitionCache.size()).isLessThanOrEqualTo(3);
+        assertThat(processDefinitionCache.getEvictionCount()).isPositive();
+        assertThat(processDefinitionCache.getHydrationCount()).isPositive();
+
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("myProcess1").singleResult();
+        assertThat(repositoryService.getBpmnModel(processDefinition.getId()).getMainProcess().getId()).isEqualTo("myProcess1");
+    }
+
+    @Test
+    public void testDeletedDeploymentIsRemovedFromStore() throws IOException {
+        OffHeapProcessDefinitionCache processDefinitionCache = (OffHeapProcessDefinitionCache) processEngineConfiguration.getProcessDefinitionCache();
+
+        String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/flowable/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+        Deployment deployment = repositoryService.createDeployment().addString("Process.bpmn20.xml", MessageFormat.format(processDefinitionTemplate, 1)).deploy();
+        assertThat(processDefinitionCache.getStoredSize()).isEqualTo(1);
+
+        repositoryService.deleteDeployment(deployment.getId(), true);
+        assertThat(processDefinitionCache.size()).isZero();
+        assertThat(processDefinitionCache.getStoredSize()).isZero();
+    }
+
+}
@@ -0,0 +1,159 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class AsyncHistoryJobCoalescingTest extends CustomConfigurationFlowableTestCase {
+
+    protected static final AtomicInteger VARIABLE_UPDATES = new AtomicInteger();
+
+    public AsyncHistoryJobCoalescingTest() {
+        super("asyncHistoryJobCoalescingTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGroupingEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGroupingThreshold(1);
+        processEngineConfiguration.setAsyncHistoryJobCoalescingEnabled(true);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncHistoryExecutorActivate(false);
+        processEngineConfiguration.setCustomHistoryJsonTransformers(Collections.singletonList(new VariableUpdateCountingTransformer()));
+    }
+
+    @AfterEach
+    protected void resetClock() {
+        processEngineConfiguration.getClock().reset();
+        VARIABLE_UPDATES.set(0);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testPendingHistoryJobsOfProcessInstanceAreMerged() {
+        long time = processEngineConfiguration.getClock().getCurrentTime().getTime();
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("counter", 0));
+        for (int i = 1; i <= 3; i++) {
+            processEngineConfiguration.getClock().setCurrentTime(new Date(time + i * 1000L));
+            runtimeService.setVariable(processInstance.getId(), "counter", i);
+        }
+
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertThat(historyJobs).hasSize(4);
+
+        HistoryJob oldestJob = historyJobs.stream().min(Comparator.comparing(HistoryJob::getCreateTime)).get();
+        managementService.executeHistoryJob(oldestJob.getId());
+
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+        HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstance.getId()).variableName("counter").singleResult();
+        assertThat(historicVariable.getValue()).isEqualTo(3);
+
+        // The three updates of the variable collapsed into the last one
+        assertThat(VARIABLE_UPDATES.get()).isEqualTo(1);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testHistoryJobsOfOtherProcessInstancesAreNotMerged() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertThat(historyJobs).hasSize(2);
+        managementService.executeHistoryJob(historyJobs.get(0).getId());
+
+        assertThat(managementService.createHistoryJobQuery().list())
+                .extracting(HistoryJob::getId)
+                .containsExactly(historyJobs.get(1).getId());
+        assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+
+        managementService.executeHistoryJob(historyJobs.get(1).getId());
+        assertThat(historyService.createHistoricProcessInstanceQuery().list())
+                .extracting(HistoricProcessInstance::getId)
+                .containsExactlyInAnyOrder(processInstance.getId(), otherProcessInstance.getId());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testLockedHistoryJobsAreNotMerged() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("counter", 0));
+        processEngineConfiguration.getClock().setCurrentTime(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 1000L));
+        runtimeService.setVariable(processInstance.getId(), "counter", 1);
+
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().orderByJobId().asc().list();
+        assertThat(historyJobs)
+                .extracting(HistoryJob::getJobHandlerConfiguration)
+                .containsOnly(processInstance.getId());
+
+        HistoryJob oldestJob = historyJobs.stream().min(Comparator.comparing(HistoryJob::getCreateTime)).get();
+        HistoryJob lockedJob = historyJobs.stream().filter(job -> !job.getId().equals(oldestJob.getId())).findFirst().get();
+        managementService.executeCommand(commandContext -> {
+            HistoryJobEntity historyJob = processEngineConfiguration.getJobServiceConfiguration().getHistoryJobEntityManager().findById(lockedJob.getId());
+            historyJob.setLockOwner("otherExecutor");
+            historyJob.setLockExpirationTime(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 60000L));
+            return null;
+        });
+
+        managementService.executeHistoryJob(oldestJob.getId());
+
+        assertThat(managementService.createHistoryJobQuery().lockOwner("otherExecutor").list())
+                .extracting(HistoryJob::getId)
+                .containsExactly(lockedJob.getId());
+        assertThat(managementService.createHistoryJobQuery().count()).isEqualTo(1);
+        assertThat(VARIABLE_UPDATES.get()).isZero();
+    }
+
+    protected static class VariableUpdateCountingTransformer implements HistoryJsonTransformer {
+
+        @Override
+        public List<String> getTypes() {
+            return Collections.singletonList(HistoryJsonConstants.TYPE_VARIABLE_UPDATED);
+        }
+
+        @Override
+        public boolean isApplicable(ObjectNode historicalData, CommandContext commandContext) {
+            return true;
+        }
+
+        @Override
+        public void transformJson(HistoryJobEntity job, ObjectNode historicalData, CommandContext commandContext) {
+            VARIABLE_UPDATES.incrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.service.impl.history.async.HistoryEventLogAsyncHistoryListener;
+import org.flowable.job.service.impl.history.async.HistoryEventLogReplayer;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLog;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLogPosition;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLogRecord;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class HistoryEventLogTest extends CustomConfigurationFlowableTestCase {
+
+    protected List<byte[]> reversedPayloads;
+
+    public HistoryEventLogTest() {
+        super("historyEventLogTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        try {
+            processEngineConfiguration.setAsyncHistoryEventLogDirectory(Files.createTempDirectory("flowable-history-").toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncHistoryExecutorActivate(false);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testHistoryIsReplayedFromEventLog() {
+        HistoryEventLog historyEventLog = getHistoryEventLog();
+        HistoryEventLogPosition startPosition = historyEventLog.getEndPosition();
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        // Nothing is written to the history tables until the log is replayed
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(historyEventLog.read(startPosition, 100)).isNotEmpty();
+
+        HistoryEventLogReplayer replayer = new HistoryEventLogReplayer(processEngineConfiguration.getJobServiceConfiguration(), historyEventLog);
+        replayer.setBatchSize(1);
+        HistoryEventLogPosition replayedPosition = replayer.replay(startPosition);
+        assertThat(replayedPosition).isEqualTo(historyEventLog.getEndPosition());
+
+        HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(historicProcessInstance.getEndTime()).isNotNull();
+        assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getEndTime()).isNotNull();
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(5);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testRolledBackHistoryIsNotLogged() {
+        HistoryEventLog historyEventLog = getHistoryEventLog();
+        HistoryEventLogPosition startPosition = historyEventLog.getEndPosition();
+
+        assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+            runtimeService.startProcessInstanceByKey("oneTaskProcess");
+            throw new FlowableException("rollback");
+        })).hasMessage("rollback");
+
+        assertThat(historyEventLog.getEndPosition()).isEqualTo(startPosition);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testHistoryAppendedOutOfOrderIsReplayedAfterTheRestOfTheBatch() throws IOException {
+        ProcessInstance processInstance = startAndCompleteOneTaskProcess();
+        try (HistoryEventLog reversedEventLog = createReversedEventLog()) {
+            HistoryEventLogReplayer replayer = new HistoryEventLogReplayer(processEngineConfiguration.getJobServiceConfiguration(), reversedEventLog);
+            assertThat(replayer.replay(HistoryEventLogPosition.START)).isEqualTo(reversedEventLog.getEndPosition());
+        }
+
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getEndTime()).isNotNull();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testHistoryThatIsNotApplicableIsDeferredToHistoryJobs() throws IOException {
+        ProcessInstance processInstance = startAndCompleteOneTaskProcess();
+        try (HistoryEventLog reversedEventLog = createReversedEventLog()) {
+            // The completion is in a batch of its own, before the start of the process instance, and doesn't stop the replay
+            HistoryEventLogReplayer replayer = new HistoryEventLogReplayer(processEngineConfiguration.getJobServiceConfiguration(), reversedEventLog);
+            replayer.setBatchSize(1);
+            assertThat(replayer.replay(HistoryEventLogPosition.START)).isEqualTo(reversedEventLog.getEndPosition());
+        }
+
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getEndTime()).isNull();
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertThat(historyJobs).isNotEmpty();
+        for (HistoryJob historyJob : historyJobs) {
+            managementService.executeHistoryJob(historyJob.getId());
+        }
+
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getEndTime()).isNotNull();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testPositionIsStoredWithEveryBatch() throws IOException {
+        ProcessInstance processInstance = startAndCompleteOneTaskProcess();
+        List<byte[]> payloads = new ArrayList<>(reversedPayloads);
+        Collections.reverse(payloads);
+
+        try (HistoryEventLog eventLog = new HistoryEventLog(Files.createTempDirectory("flowable-history-failing-"))) {
+            HistoryEventLogPosition failingPosition = eventLog.append(payloads);
+            eventLog.append(Collections.singletonList("not json".getBytes(StandardCharsets.UTF_8)));
+
+            HistoryEventLogReplayer replayer = new HistoryEventLogReplayer(processEngineConfiguration.getJobServiceConfiguration(), eventLog);
+            replayer.setBatchSize(1);
+            replayer.setPositionPropertyName("historyEventLogTest.position");
+            try {
+                assertThat(replayer.getStoredPosition()).isNull();
+                assertThatThrownBy(replayer::replay)
+                        .isInstanceOf(FlowableException.class)
+                        .hasMessageContaining("Could not deserialize history event log record at " + failingPosition);
+
+                // The batches before the failing record are committed together with their position
+                assertThat(replayer.getStoredPosition()).isEqualTo(failingPosition);
+                assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getEndTime())
+                        .isNotNull();
+
+            } finally {
+                managementService.executeCommand(commandContext -> {
+                    PropertyEntityManager propertyEntityManager = processEngineConfiguration.getPropertyEntityManager();
+                    propertyEntityManager.delete(propertyEntityManager.findById(replayer.getPositionPropertyName()));
+                    return null;
+                });
+            }
+        }
+    }
+
+    protected ProcessInstance startAndCompleteOneTaskProcess() {
+        HistoryEventLog historyEventLog = getHistoryEventLog();
+        HistoryEventLogPosition startPosition = historyEventLog.getEndPosition();
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+        reversedPayloads = historyEventLog.read(startPosition, 100).stream()
+                .map(HistoryEventLogRecord::getPayload)
+                .collect(Collectors.toList());
+        Collections.reverse(reversedPayloads);
+        return processInstance;
+    }
+
+    protected HistoryEventLog createReversedEventLog() throws IOException {
+        HistoryEventLog reversedEventLog = new HistoryEventLog(Files.createTempDirectory("flowable-history-reversed-"));
+        reversedEventLog.append(reversedPayloads);
+        return reversedEventLog;
+    }
+
+    protected HistoryEventLog getHistoryEventLog() {
+        return ((HistoryEventLogAsyncHistoryListener) processEngineConfiguration.getAsyncHistoryListener()).getHistoryEventLog();
+    }
+
+}
@@ -0,0 +1,174 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.idgenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.flowable.common.engine.impl.db.IdBlock;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class PrefetchingDbIdGeneratorTest extends PluggableFlowableTestCase {
+
+    @Test
+    public void testConcurrentIdsAreUnique() throws Exception {
+        PrefetchingDbIdGenerator idGenerator = createIdGenerator();
+        idGenerator.setIdBlockSize(100);
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 5000; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(ids).hasSize(40000);
+
+        long maxId = ids.stream().mapToLong(Long::parseLong).max().getAsLong();
+        long nextDbId = Long.parseLong(managementService.getProperties().get("next.dbid"));
+        assertThat(maxId).isLessThan(nextDbId);
+    }
+
+    @Test
+    public void testIdBlockSizeAdaptsToUsage() {
+        List<Integer> fetchedSizes = new CopyOnWriteArrayList<>();
+        PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+
+            @Override
+            protected IdBlock fetchIdBlock(int size) {
+                fetchedSizes.add(size);
+                return super.fetchIdBlock(size);
+            }
+        };
+        initIdGenerator(idGenerator);
+        idGenerator.setIdBlockSize(100);
+        idGenerator.setMaxIdBlockSize(5000);
+        idGenerator.setTargetIdBlockDuration(Duration.ofHours(1));
+
+        for (int i = 0; i < 20000; i++) {
+            idGenerator.getNextId();
+        }
+
+        assertThat(fetchedSizes.get(0)).isEqualTo(100);
+        assertThat(fetchedSizes).contains(5000);
+        assertThat(fetchedSizes).allSatisfy(size -> assertThat(size).isBetween(100, 5000));
+    }
+
+    @Test
+    public void testConcurrentIdsOfSmallBlocksAreUnique() throws Exception {
+        List<Integer> fetchedSizes = new CopyOnWriteArrayList<>();
+        PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+
+            @Override
+            protected IdBlock fetchIdBlock(int size) {
+                fetchedSizes.add(size);
+                return super.fetchIdBlock(size);
+            }
+        };
+        initIdGenerator(idGenerator);
+        idGenerator.setIdBlockSize(10);
+        idGenerator.setMaxIdBlockSize(10);
+
+        // The blocks run out all the time, so the threads often find the same block exhausted
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+            idGenerator.close();
+        }
+
+        assertThat(ids).hasSize(4000);
+        // Every exhausted block is replaced by one fetched block
+        assertThat(fetchedSizes.size() * 10).isLessThan(4000 + 10 * 10);
+    }
+
+    @Test
+    public void testIdsAreGeneratedAfterClose() {
+        List<Executor> prefetchExecutors = new CopyOnWriteArrayList<>();
+        PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+
+            @Override
+            protected synchronized Executor getPrefetchExecutor() {
+                Executor prefetchExecutor = super.getPrefetchExecutor();
+                if (prefetchExecutor != null) {
+                    prefetchExecutors.add(prefetchExecutor);
+                }
+                return prefetchExecutor;
+            }
+        };
+        initIdGenerator(idGenerator);
+        idGenerator.setIdBlockSize(10);
+        for (int i = 0; i < 10; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(prefetchExecutors).isNotEmpty();
+        ExecutorService createdPrefetchExecutor = (ExecutorService) prefetchExecutors.get(0);
+
+        idGenerator.close();
+        assertThat(createdPrefetchExecutor.isShutdown()).isTrue();
+
+        // The blocks are fetched when they are needed
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(idGenerator.getNextId());
+        }
+        assertThat(ids).hasSize(100);
+    }
+
+    protected PrefetchingDbIdGenerator createIdGenerator() {
+        PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator();
+        initIdGenerator(idGenerator);
+        return idGenerator;
+    }
+
+    protected void initIdGenerator(PrefetchingDbIdGenerator idGenerator) {
+        idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+    }
+}
@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.profiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.flowable.common.engine.api.management.SqlStatementProfile;
+import org.flowable.engine.impl.cmd.StartProcessInstanceCmd;
+import org.flowable.engine.impl.db.ProcessDefinitionKeyResolver;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SqlStatementProfilerTest extends ResourceFlowableTestCase {
+
+    public SqlStatementProfilerTest() throws Exception {
+        super("org/flowable/standalone/profiler/sqlstatementprofiler.test.flowable.cfg.xml");
+    }
+
+    @AfterEach
+    protected void resetProfiles() {
+        managementService.resetSqlStatementProfiles();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testStatementsAreAttributedToCommandAndProcessDefinition() {
+        assertThat(processEngineConfiguration.getSqlStatementProfiler().getDefinitionKeyResolver()).isInstanceOf(ProcessDefinitionKeyResolver.class);
+        managementService.resetSqlStatementProfiles();
+
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        List<SqlStatementProfile> profiles = managementService.getSqlStatementProfiles(1000);
+        List<SqlStatementProfile> startProfiles = profiles.stream()
+                .filter(profile -> StartProcessInstanceCmd.class.getName().equals(profile.getCommandName()))
+                .toList();
+        assertThat(startProfiles).isNotEmpty();
+        assertThat(startProfiles).extracting(SqlStatementProfile::getDefinitionKey).containsOnly("oneTaskProcess");
+        assertThat(startProfiles).extracting(SqlStatementProfile::getCommandCount).containsOnly(2L);
+        assertThat(startProfiles).extracting(SqlStatementProfile::getStatementId).anyMatch(statementId -> statementId.endsWith("InsertExecution"));
+
+        assertThat(managementService.getSqlStatementProfiles(1)).hasSize(1);
+        assertThat(profiles).isSortedAccordingTo((first, second) -> Long.compare(second.getTotalTimeNanos(), first.getTotalTimeNanos()));
+
+        managementService.resetSqlStatementProfiles();
+        assertThat(managementService.getSqlStatementProfiles(10)).isEmpty();
+    }
+}
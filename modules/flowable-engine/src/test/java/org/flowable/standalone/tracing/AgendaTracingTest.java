@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.impl.agenda.tracing.AgendaTracer;
+import org.flowable.engine.impl.agenda.tracing.InMemoryAgendaSpan;
+import org.flowable.engine.impl.agenda.tracing.InMemoryAgendaTracer;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AgendaTracingTest extends ResourceFlowableTestCase {
+
+    protected InMemoryAgendaTracer agendaTracer;
+
+    public AgendaTracingTest() throws Exception {
+        super("org/flowable/standalone/tracing/agendatracing.test.flowable.cfg.xml");
+    }
+
+    @BeforeEach
+    protected void resetTracer() {
+        agendaTracer = (InMemoryAgendaTracer) processEngineConfiguration.getAgendaTracer();
+        agendaTracer.reset();
+    }
+
+    @Test
+    @Deployment
+    public void testTracing() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("tracingProcess");
+
+        List<InMemoryAgendaSpan> spans = agendaTracer.getFinishedSpans();
+        assertThat(spans).isNotEmpty();
+        assertThat(spans).extracting(InMemoryAgendaSpan::getTraceId).containsOnly(spans.get(0).getTraceId());
+        assertThat(spans).allSatisfy(span -> {
+            assertThat(span.getTraceId()).hasSize(32);
+            assertThat(span.getSpanId()).hasSize(16);
+            assertThat(span.getEndEpochNanos()).isGreaterThanOrEqualTo(span.getStartEpochNanos());
+            assertThat(span.getAttribute(AgendaTracer.ATTRIBUTE_DB_STATEMENT_COUNT)).isInstanceOf(Long.class);
+        });
+
+        Map<String, InMemoryAgendaSpan> spansById = spans.stream().collect(Collectors.toMap(InMemoryAgendaSpan::getSpanId, Function.identity()));
+        InMemoryAgendaSpan serviceTaskSpan = spans.stream()
+                .filter(span -> "serviceTask".equals(span.getAttribute(AgendaTracer.ATTRIBUTE_ACTIVITY_ID))
+                        && span.getAttribute(AgendaTracer.ATTRIBUTE_ACTIVITY_BEHAVIOR) != null)
+                .findFirst()
+                .orElseThrow();
+        assertThat(serviceTaskSpan.getName()).isEqualTo("ServiceTaskExpressionActivityBehavior");
+        assertThat(serviceTaskSpan.getAttributes())
+                .containsEntry(AgendaTracer.ATTRIBUTE_PROCESS_DEFINITION_KEY, "tracingProcess")
+                .containsEntry(AgendaTracer.ATTRIBUTE_PROCESS_INSTANCE_ID, processInstance.getId());
+        assertThat(serviceTaskSpan.isError()).isFalse();
+
+        // The behavior span is nested in the span of the operation executing it
+        InMemoryAgendaSpan operationSpan = spansById.get(serviceTaskSpan.getParentSpanId());
+        assertThat(operationSpan.getName()).isEqualTo("ContinueProcessOperation");
+        assertThat(operationSpan.getAttributes())
+                .containsEntry(AgendaTracer.ATTRIBUTE_AGENDA_OPERATION, "ContinueProcessOperation")
+                .containsEntry(AgendaTracer.ATTRIBUTE_ACTIVITY_ID, "serviceTask");
+        assertThat((Long) operationSpan.getAttribute(AgendaTracer.ATTRIBUTE_DB_STATEMENT_COUNT))
+                .isGreaterThanOrEqualTo((Long) serviceTaskSpan.getAttribute(AgendaTracer.ATTRIBUTE_DB_STATEMENT_COUNT));
+
+        agendaTracer.reset();
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+
+        assertThat(agendaTracer.getFinishedSpans())
+                .filteredOn(span -> "theTask".equals(span.getAttribute(AgendaTracer.ATTRIBUTE_ACTIVITY_ID)))
+                .extracting(InMemoryAgendaSpan::getName)
+                .contains("TriggerExecutionOperation", "UserTaskActivityBehavior");
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Test
+    @Deployment
+    public void testFailingActivity() {
+        assertThatThrownBy(() -> runtimeService.startProcessInstanceByKey("failingProcess"))
+                .isInstanceOf(FlowableException.class);
+
+        List<InMemoryAgendaSpan> failedSpans = agendaTracer.getFinishedSpans().stream()
+                .filter(InMemoryAgendaSpan::isError)
+                .collect(Collectors.toList());
+        assertThat(failedSpans).extracting(InMemoryAgendaSpan::getName)
+                .containsExactly("ServiceTaskExpressionActivityBehavior", "ContinueProcessOperation");
+        assertThat(failedSpans).allSatisfy(span -> assertThat(span.getAttribute(AgendaTracer.ATTRIBUTE_ACTIVITY_ID)).isEqualTo("failingTask"));
+    }
+
+    @Test
+    public void testMaxSpans() {
+        InMemoryAgendaTracer tracer = new InMemoryAgendaTracer(2);
+        managementService.executeCommand(commandContext -> {
+            for (int i = 0; i < 3; i++) {
+                tracer.startSpan(commandContext, "span" + i).end();
+            }
+            return null;
+        });
+
+        assertThat(tracer.getFinishedSpans()).extracting(InMemoryAgendaSpan::getName).containsExactly("span1", "span2");
+    }
+}
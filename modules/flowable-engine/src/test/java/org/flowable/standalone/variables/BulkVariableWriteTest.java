@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.management.SqlStatementProfile;
+import org.flowable.engine.impl.cmd.SetExecutionVariablesCmd;
+import org.flowable.engine.impl.cmd.SetTaskVariablesCmd;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class BulkVariableWriteTest extends ResourceFlowableTestCase {
+
+    public BulkVariableWriteTest() {
+        super("org/flowable/standalone/variables/bulkvariablewrite.test.flowable.cfg.xml");
+    }
+
+    @AfterEach
+    protected void resetProfiles() {
+        managementService.resetSqlStatementProfiles();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testStartProcessInstanceWithManyVariables() {
+        Map<String, Object> variables = createVariables("var", 200);
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+        assertThat(runtimeService.getVariables(processInstance.getId())).containsExactlyInAnyOrderEntriesOf(variables);
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(200);
+        assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).variableUpdates().count()).isEqualTo(200);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testSetVariablesLooksUpVariablesOnce() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Map.of("existing", "old"));
+
+        Map<String, Object> variables = createVariables("var", 50);
+        variables.put("existing", "new");
+        managementService.resetSqlStatementProfiles();
+        runtimeService.setVariables(processInstance.getId(), variables);
+
+        assertThat(getStatementCount(SetExecutionVariablesCmd.class.getName(), "selectVariable")).isEqualTo(1);
+        assertThat(runtimeService.getVariables(processInstance.getId())).containsExactlyInAnyOrderEntriesOf(variables);
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(51);
+        assertThat(historyService.createHistoricVariableInstanceQuery().variableName("existing").singleResult().getValue()).isEqualTo("new");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testSetTaskVariablesFollowsScopeHierarchy() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Map.of("processVar", "old"));
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.setVariableLocal(task.getId(), "taskVar", "old");
+
+        Map<String, Object> variables = createVariables("newVar", 10);
+        variables.put("processVar", "new");
+        variables.put("taskVar", "new");
+        managementService.resetSqlStatementProfiles();
+        taskService.setVariables(task.getId(), variables);
+
+        // One lookup for each scope: the task, its execution and the process instance
+        assertThat(getStatementCount(SetTaskVariablesCmd.class.getName(), "selectVariable")).isEqualTo(3);
+        assertThat(taskService.getVariablesLocal(task.getId())).containsOnly(entry("taskVar", "new"));
+
+        Map<String, Object> expectedProcessVariables = createVariables("newVar", 10);
+        expectedProcessVariables.put("processVar", "new");
+        assertThat(runtimeService.getVariablesLocal(processInstance.getId())).containsExactlyInAnyOrderEntriesOf(expectedProcessVariables);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testSetVariablesLocal() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Map.of("existing", "old"));
+
+        Map<String, Object> variables = createVariables("var", 20);
+        variables.put("existing", "new");
+        runtimeService.setVariablesLocal(processInstance.getId(), variables);
+
+        assertThat(runtimeService.getVariablesLocal(processInstance.getId())).containsExactlyInAnyOrderEntriesOf(variables);
+        assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).variableUpdates().count()).isEqualTo(22);
+    }
+
+    protected Map<String, Object> createVariables(String prefix, int count) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            variables.put(prefix + i, i % 2 == 0 ? "value" + i : i);
+        }
+        return variables;
+    }
+
+    protected long getStatementCount(String commandName, String statementIdPart) {
+        return managementService.getSqlStatementProfiles(1000).stream()
+                .filter(profile -> commandName.equals(profile.getCommandName()))
+                .filter(profile -> profile.getStatementId().contains(statementIdPart))
+                .mapToLong(SqlStatementProfile::getStatementCount)
+                .sum();
+    }
+}
@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.variable.VariableUsageStatistics;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class LazyVariableLoadingTest extends ResourceFlowableTestCase {
+
+    protected static Set<String> prefetchedVariableNames;
+
+    public LazyVariableLoadingTest() throws Exception {
+        super("org/flowable/standalone/variables/lazyvariableloading.test.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/standalone/variables/LazyVariableLoadingTest.testPrefetchVariables.bpmn20.xml")
+    public void testOnlyRequestedVariableIsFetched() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("prefetchProcess", Map.of("a", 1, "b", 2, "c", 3));
+
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntityImpl execution = (ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext)
+                    .findById(processInstance.getId());
+            assertThat(execution.getVariable("b")).isEqualTo(2);
+            assertThat(execution.hasVariableLocal("c")).isTrue();
+            assertThat(execution.hasVariableLocal("d")).isFalse();
+            assertThat(execution.getUsedVariablesCache()).containsOnlyKeys("b", "c");
+
+            execution.setVariable("a", 10);
+            assertThat(execution.getUsedVariablesCache()).containsOnlyKeys("a", "b", "c");
+            return null;
+        });
+
+        assertThat(runtimeService.getVariables(processInstance.getId())).containsOnly(entry("a", 10), entry("b", 2), entry("c", 3));
+    }
+
+    @Test
+    @Deployment
+    public void testPrefetchVariables() {
+        VariableUsageStatistics variableUsageStatistics = processEngineConfiguration.getVariableUsageStatistics();
+        assertThat(variableUsageStatistics).isNotNull();
+
+        ProcessInstance processInstance = startAndCompleteFirstTask();
+        assertThat(prefetchedVariableNames).doesNotContain("a", "b");
+        assertThat(runtimeService.getVariable(processInstance.getId(), "sum")).isEqualTo(3);
+        assertThat(variableUsageStatistics.getUsedVariableNames(processInstance.getProcessDefinitionId(), "serviceTask"))
+                .contains("a", "b")
+                .doesNotContain("c");
+
+        // The variables used by the service task the previous time are fetched before its behavior is executed
+        processInstance = startAndCompleteFirstTask();
+        assertThat(prefetchedVariableNames).contains("a", "b").doesNotContain("c");
+        assertThat(runtimeService.getVariable(processInstance.getId(), "sum")).isEqualTo(3);
+    }
+
+    protected ProcessInstance startAndCompleteFirstTask() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("prefetchProcess", Map.of("a", 1, "b", 2, "c", 3));
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+        return processInstance;
+    }
+
+    public static class SumDelegate implements JavaDelegate {
+
+        @Override
+        public void execute(DelegateExecution execution) {
+            prefetchedVariableNames = new HashSet<>();
+            ExecutionEntity scope = (ExecutionEntity) execution;
+            while (scope != null) {
+                prefetchedVariableNames.addAll(((ExecutionEntityImpl) scope).getUsedVariablesCache().keySet());
+                scope = scope.getParent();
+            }
+
+            execution.setVariable("sum", (Integer) execution.getVariable("a") + (Integer) execution.getVariable("b"));
+        }
+    }
+}
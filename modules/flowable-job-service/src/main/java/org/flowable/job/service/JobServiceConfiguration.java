@@ -17,9 +17,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.AbstractServiceConfiguration;
 import org.flowable.common.engine.impl.ServiceConfigurator;
 import org.flowable.common.engine.impl.calendar.BusinessCalendarManager;
@@ -33,6 +36,7 @@ import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
 import org.flowable.job.service.impl.asyncexecutor.DefaultJobManager;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
+import org.flowable.job.service.impl.asyncexecutor.JobAcquisitionControllerFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
 import org.flowable.job.service.impl.asyncexecutor.TimerJobScheduler;
 import org.flowable.job.service.impl.asyncexecutor.TimerJobSchedulerImpl;
@@ -122,6 +126,25 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected String jobExecutionScope;
     protected Map<String, JobHandler> jobHandlers;
     protected FailedJobCommandFactory failedJobCommandFactory;
+    protected JobAcquisitionControllerFactory jobAcquisitionControllerFactory;
+
+    /**
+     * When enabled, async, timer and history jobs are acquired with a SELECT ... FOR UPDATE SKIP LOCKED query
+     * on the database types in {@link #jobAcquisitionSkipLockedDatabaseTypes}.
+     * Rows that are being acquired by another node are skipped instead of leading to an optimistic locking exception.
+     * MySQL is not in the default database types, as it only supports SKIP LOCKED as of version 8.0 (MariaDB as of 10.6).
+     */
+    protected boolean jobAcquisitionSkipLockedEnabled;
+    protected Set<String> jobAcquisitionSkipLockedDatabaseTypes = new HashSet<>(List.of(AbstractEngineConfiguration.DATABASE_TYPE_POSTGRES,
+            AbstractEngineConfiguration.DATABASE_TYPE_ORACLE));
+
+    /**
+     * The number of shards async and timer jobs are distributed over. When greater than 0, every new job gets a shard key
+     * in [0, jobShardCount) based on the hash of its process instance id (or scope id), which async executors with job sharding enabled
+     * use to only acquire jobs from the shards they own. Should not be changed once jobs with a shard key exist.
+     */
+    protected int jobShardCount;
+
     protected List<AsyncRunnableExecutionExceptionHandler> asyncRunnableExecutionExceptionHandlers;
     protected List<JobProcessor> jobProcessors;
     
@@ -141,6 +164,13 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected boolean asyncHistoryJsonGroupingEnabled;
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+
+    /**
+     * When set, the value of this field in the data of a new history job is stored as the job handler configuration,
+     * when all data of the job refers to the same value. Pending history jobs with the same value can then be
+     * coalesced with an {@link org.flowable.job.service.impl.history.async.AsyncHistoryJobCoalescer}.
+     */
+    protected String asyncHistoryJobCoalescingGroupField;
     
     public JobServiceConfiguration(String engineName) {
         super(engineName);
@@ -529,6 +559,50 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         return this;
     }
 
+    public JobAcquisitionControllerFactory getJobAcquisitionControllerFactory() {
+        return jobAcquisitionControllerFactory;
+    }
+
+    public JobServiceConfiguration setJobAcquisitionControllerFactory(JobAcquisitionControllerFactory jobAcquisitionControllerFactory) {
+        this.jobAcquisitionControllerFactory = jobAcquisitionControllerFactory;
+        return this;
+    }
+
+    public boolean isJobAcquisitionSkipLockedEnabled() {
+        return jobAcquisitionSkipLockedEnabled;
+    }
+
+    public JobServiceConfiguration setJobAcquisitionSkipLockedEnabled(boolean jobAcquisitionSkipLockedEnabled) {
+        this.jobAcquisitionSkipLockedEnabled = jobAcquisitionSkipLockedEnabled;
+        return this;
+    }
+
+    public Set<String> getJobAcquisitionSkipLockedDatabaseTypes() {
+        return jobAcquisitionSkipLockedDatabaseTypes;
+    }
+
+    public JobServiceConfiguration setJobAcquisitionSkipLockedDatabaseTypes(Set<String> jobAcquisitionSkipLockedDatabaseTypes) {
+        this.jobAcquisitionSkipLockedDatabaseTypes = jobAcquisitionSkipLockedDatabaseTypes;
+        return this;
+    }
+
+    public int getJobShardCount() {
+        return jobShardCount;
+    }
+
+    public JobServiceConfiguration setJobShardCount(int jobShardCount) {
+        this.jobShardCount = jobShardCount;
+        return this;
+    }
+
+    /**
+     * @return whether jobs should be acquired with SKIP LOCKED for the given database type
+     */
+    public boolean isJobAcquisitionSkipLocked(String databaseType) {
+        return jobAcquisitionSkipLockedEnabled && jobAcquisitionSkipLockedDatabaseTypes != null
+                && jobAcquisitionSkipLockedDatabaseTypes.contains(databaseType);
+    }
+
     public List<AsyncRunnableExecutionExceptionHandler> getAsyncRunnableExecutionExceptionHandlers() {
         return asyncRunnableExecutionExceptionHandlers;
     }
@@ -713,5 +787,13 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     public void setAsyncHistoryJsonGroupingThreshold(int asyncHistoryJsonGroupingThreshold) {
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
+
+    public String getAsyncHistoryJobCoalescingGroupField() {
+        return asyncHistoryJobCoalescingGroupField;
+    }
+
+    public void setAsyncHistoryJobCoalescingGroupField(String asyncHistoryJobCoalescingGroupField) {
+        this.asyncHistoryJobCoalescingGroupField = asyncHistoryJobCoalescingGroupField;
+    }
     
 }
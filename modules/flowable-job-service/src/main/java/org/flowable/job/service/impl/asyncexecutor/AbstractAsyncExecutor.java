@@ -15,8 +15,12 @@ package org.flowable.job.service.impl.asyncexecutor;
 import java.time.Duration;
 import java.util.LinkedList;
 
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardAssignment;
+import org.flowable.job.service.impl.asyncexecutor.sharding.LeasedJobShardAssignment;
+import org.flowable.job.service.impl.asyncexecutor.sharding.StaticJobShardAssignment;
 import org.flowable.job.service.impl.cmd.UnacquireOwnedJobsCmd;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
@@ -40,6 +44,7 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     protected AcquireAsyncJobsDueRunnable asyncJobsDueRunnable;
     protected AcquireAsyncJobsDueLifecycleListener asyncJobsDueLifecycleListener;
     protected ResetExpiredJobsRunnable resetExpiredJobsRunnable;
+    protected JobShardAssignment jobShardAssignment;
 
     protected ExecuteAsyncRunnableFactory executeAsyncRunnableFactory;
     
@@ -120,9 +125,19 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     }
 
     protected void initializeRunnables() {
+        if (configuration.isJobShardingEnabled() && jobShardAssignment == null) {
+            jobShardAssignment = createJobShardAssignment();
+        }
+
         if (configuration.isTimerRunnableNeeded() && timerJobRunnable == null) {
             timerJobRunnable = new AcquireTimerJobsRunnable(this, jobServiceConfiguration.getJobManager(),
                 timerLifecycleListener, new AcquireTimerRunnableConfiguration(), configuration.getMoveTimerExecutorPoolSize());
+
+            JobAcquisitionControllerFactory jobAcquisitionControllerFactory = jobServiceConfiguration.getJobAcquisitionControllerFactory();
+            if (jobAcquisitionControllerFactory != null) {
+                timerJobRunnable.setAcquisitionController(jobAcquisitionControllerFactory.createTimerJobAcquisitionController(this));
+            }
+            timerJobRunnable.setShardAssignment(jobShardAssignment);
         }
 
         JobInfoEntityManager<? extends JobInfoEntity> jobEntityManagerToUse = jobEntityManager != null
@@ -142,9 +157,33 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
             asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(acquireJobsRunnableName, this, jobEntityManagerToUse,
                 asyncJobsDueLifecycleListener, new AcquireAsyncJobsDueRunnableConfiguration());
 
+            JobAcquisitionControllerFactory jobAcquisitionControllerFactory = jobServiceConfiguration.getJobAcquisitionControllerFactory();
+            if (jobAcquisitionControllerFactory != null) {
+                asyncJobsDueRunnable.setAcquisitionController(jobAcquisitionControllerFactory.createAsyncJobAcquisitionController(this));
+            }
+            asyncJobsDueRunnable.setShardAssignment(jobShardAssignment);
+
         }
     }
 
+    protected JobShardAssignment createJobShardAssignment() {
+        if (configuration.getJobShardRanges() != null) {
+            return new StaticJobShardAssignment(configuration.getJobShardRanges());
+        }
+
+        int jobShardCount = jobServiceConfiguration.getJobShardCount();
+        if (jobShardCount <= 0) {
+            throw new FlowableIllegalArgumentException("Job sharding requires a job shard count, but the job shard count for engine "
+                    + jobServiceConfiguration.getEngineName() + " is " + jobShardCount);
+        }
+
+        String jobExecutionScope = jobServiceConfiguration.getJobExecutionScope();
+        String leaseNamePrefix = configuration.getGlobalAcquireLockPrefix() + "jobShardLease-"
+                + (jobExecutionScope != null ? jobExecutionScope : jobServiceConfiguration.getEngineName()) + "-";
+        return new LeasedJobShardAssignment(jobServiceConfiguration.getCommandExecutor(), leaseNamePrefix, configuration.getJobShardLeaseGroupCount(),
+                jobShardCount, configuration.getJobShardLeaseDuration(), configuration.getLockOwner(), jobServiceConfiguration.getEngineName());
+    }
+
     protected abstract ResetExpiredJobsRunnable createResetExpiredJobsRunnable(String resetRunnableName);
 
     protected abstract void startAdditionalComponents();
@@ -181,9 +220,14 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
             resetExpiredJobsRunnable.stop();
         }
 
+        if (jobShardAssignment != null) {
+            jobShardAssignment.release();
+        }
+
         timerJobRunnable = null;
         asyncJobsDueRunnable = null;
         resetExpiredJobsRunnable = null;
+        jobShardAssignment = null;
     }
 
     protected abstract void shutdownAdditionalComponents();
@@ -394,10 +438,14 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         configuration.setAcquireRunnableThreadName(acquireRunnableThreadName);
     }
 
+    public JobInfoEntityManager<? extends JobInfoEntity> getJobEntityManager() {
+        return jobEntityManager;
+    }
+
     public void setJobEntityManager(JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
         this.jobEntityManager = jobEntityManager;
     }
-    
+
     public void setResetExpiredRunnableName(String resetExpiredRunnableName) {
         configuration.setResetExpiredRunnableName(resetExpiredRunnableName);
     }
@@ -509,6 +557,11 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         public Duration getLockForceAcquireAfter() {
             return configuration.getTimerLockForceAcquireAfter();
         }
+
+        @Override
+        public boolean isVirtualThreadsEnabled() {
+            return configuration.isVirtualThreadsEnabled();
+        }
     }
 
     public class AcquireAsyncJobsDueRunnableConfiguration implements AcquireJobsRunnableConfiguration {
@@ -537,5 +590,10 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         public Duration getLockForceAcquireAfter() {
             return configuration.getAsyncJobsGlobalLockForceAcquireAfter();
         }
+
+        @Override
+        public boolean isVirtualThreadsEnabled() {
+            return configuration.isVirtualThreadsEnabled();
+        }
     }
 }
@@ -21,6 +21,8 @@ import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.common.engine.impl.lock.LockManager;
 import org.flowable.common.engine.impl.lock.LockManagerImpl;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardAssignment;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
 import org.flowable.job.service.impl.cmd.AcquireJobsWithGlobalAcquireLockCmd;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
@@ -80,6 +82,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     protected final JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
 
     protected AcquireAsyncJobsDueLifecycleListener lifecycleListener;
+    protected JobAcquisitionController acquisitionController;
+    protected JobShardAssignment shardAssignment;
 
     protected AcquireJobsRunnableConfiguration configuration;
     protected LockManager lockManager;
@@ -149,7 +153,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long executeAcquireCycle(CommandExecutor commandExecutor) {
         int remainingCapacity = asyncExecutor.getTaskExecutor().getRemainingCapacity();
-        lifecycleListener.startAcquiring(getEngineName(), remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+        lifecycleListener.startAcquiring(getEngineName(), remainingCapacity, getMaxJobsPerAcquisition());
 
         final long millisToWait;
         if (remainingCapacity > 0) {
@@ -173,35 +177,52 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
         boolean globalAcquireLockEnabled = configuration.isGlobalAcquireLockEnabled();
+        int maxJobsPerAcquisition = getMaxJobsPerAcquisition();
+        int maxJobsToAcquire = Math.min(remainingCapacity, maxJobsPerAcquisition);
+
+        List<JobShardRange> shardRanges = getShardRanges();
+        if (shardRanges != null && shardRanges.isEmpty()) {
+            // This node currently doesn't own any job shard, nothing to acquire
+            return getAcquireWaitTimeInMillis();
+        }
+
         try {
             List<? extends JobInfoEntity> acquiredJobs;
             if (globalAcquireLockEnabled) {
-                acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+                acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, maxJobsToAcquire, jobEntityManager, shardRanges));
 
             } else {
-                acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+                acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, maxJobsToAcquire, jobEntityManager, shardRanges));
 
             }
 
-            lifecycleListener.acquiredJobs(getEngineName(), acquiredJobs.size(), asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+            lifecycleListener.acquiredJobs(getEngineName(), acquiredJobs.size(), maxJobsPerAcquisition);
 
             List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
 
+            if (acquisitionController != null) {
+                acquisitionController.acquiredJobs(remainingCapacity, acquiredJobs.size(), rejectedJobs.size());
+            }
+
             LOGGER.debug("Jobs acquired: {}, rejected: {}, for engine {}", acquiredJobs.size(), rejectedJobs.size(), getEngineName());
             if (rejectedJobs.size() > 0) {
 
-                lifecycleListener.rejectedJobs(getEngineName(), rejectedJobs.size(), acquiredJobs.size(), asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+                lifecycleListener.rejectedJobs(getEngineName(), rejectedJobs.size(), acquiredJobs.size(), maxJobsPerAcquisition);
 
                 // some jobs were rejected, so the queue was full; wait until attempting to acquire more.
                 return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
             }
-            if (acquiredJobs.size() >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
+            if (acquiredJobs.size() >= maxJobsPerAcquisition) {
                 return 0L; // the maximum amount of jobs were acquired, so we can expect more.
             }
 
         } catch (FlowableOptimisticLockingException optimisticLockingException) {
 
-            lifecycleListener.optimistLockingException(getEngineName(), asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+            lifecycleListener.optimistLockingException(getEngineName(), maxJobsPerAcquisition);
+
+            if (acquisitionController != null) {
+                acquisitionController.optimisticLockingException();
+            }
 
             if (globalAcquireLockEnabled) {
                 LOGGER.warn("Optimistic locking exception (using global acquire lock) for engine {}", getEngineName(), optimisticLockingException);
@@ -220,6 +241,20 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             LOGGER.warn("exception for engine {} during async job acquisition: {}", getEngineName(), e.getMessage(), e);
         }
 
+        return getAcquireWaitTimeInMillis();
+    }
+
+    protected int getMaxJobsPerAcquisition() {
+        if (acquisitionController != null) {
+            return acquisitionController.getMaxJobsPerAcquisition();
+        }
+        return asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+    }
+
+    protected long getAcquireWaitTimeInMillis() {
+        if (acquisitionController != null) {
+            return acquisitionController.getAcquireWaitTimeInMillis();
+        }
         return asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
     }
 
@@ -271,6 +306,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
     }
 
+    protected List<JobShardRange> getShardRanges() {
+        return shardAssignment != null ? shardAssignment.getShardRanges() : null;
+    }
+
     protected String getEngineName() {
         return asyncExecutor.getJobServiceConfiguration().getEngineName();
     }
@@ -283,6 +322,22 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         this.lifecycleListener = lifecycleListener;
     }
 
+    public JobAcquisitionController getAcquisitionController() {
+        return acquisitionController;
+    }
+
+    public void setAcquisitionController(JobAcquisitionController acquisitionController) {
+        this.acquisitionController = acquisitionController;
+    }
+
+    public JobShardAssignment getShardAssignment() {
+        return shardAssignment;
+    }
+
+    public void setShardAssignment(JobShardAssignment shardAssignment) {
+        this.shardAssignment = shardAssignment;
+    }
+
     public void setConfiguration(AcquireJobsRunnableConfiguration configuration) {
         this.configuration = configuration;
     }
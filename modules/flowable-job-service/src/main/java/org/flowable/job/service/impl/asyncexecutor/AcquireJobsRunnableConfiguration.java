@@ -60,4 +60,11 @@ public interface AcquireJobsRunnableConfiguration {
     Duration getLockPollRate();
 
     Duration getLockForceAcquireAfter();
+
+    /**
+     * Whether the runnable should use virtual threads for the work it hands off to other threads.
+     */
+    default boolean isVirtualThreadsEnabled() {
+        return false;
+    }
 }
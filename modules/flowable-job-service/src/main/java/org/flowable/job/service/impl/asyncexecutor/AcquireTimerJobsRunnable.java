@@ -17,6 +17,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -24,9 +26,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.common.engine.impl.lock.LockManager;
 import org.flowable.common.engine.impl.lock.LockManagerImpl;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardAssignment;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.cmd.AcquireTimerJobsCmd;
 import org.flowable.job.service.impl.cmd.AcquireTimerJobsWithGlobalAcquireLockCmd;
 import org.flowable.job.service.impl.cmd.BulkMoveTimerJobsToExecutableJobsCmd;
@@ -74,6 +79,8 @@ public class AcquireTimerJobsRunnable implements Runnable {
     protected final AsyncExecutor asyncExecutor;
     protected final JobManager jobManager;
     protected final AcquireTimerLifecycleListener lifecycleListener;
+    protected JobAcquisitionController acquisitionController;
+    protected JobShardAssignment shardAssignment;
 
     protected AcquireJobsRunnableConfiguration configuration;
     protected LockManager lockManager;
@@ -85,6 +92,11 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
     protected ExecutorService moveTimerJobsExecutorService;
 
+    /**
+     * Bounds the concurrent moves when the moves are executed on virtual threads, {@code null} when a thread pool is used.
+     */
+    protected Semaphore moveTimerJobsPermits;
+
     protected CommandExecutor commandExecutor;
 
     public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager, int moveExecutorPoolSize) {
@@ -136,9 +148,22 @@ public class AcquireTimerJobsRunnable implements Runnable {
     }
 
     protected void createTimerMoveExecutorService(String threadName) {
-        BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
+        if (configuration.isVirtualThreadsEnabled()) {
+            ThreadFactory virtualThreadFactory = VirtualThreadAsyncTaskExecutor.createVirtualThreadFactory(threadName + "-move-%d");
+            ExecutorService threadPerTaskExecutor = virtualThreadFactory != null
+                    ? VirtualThreadAsyncTaskExecutor.createThreadPerTaskExecutor(virtualThreadFactory) : null;
+            if (threadPerTaskExecutor != null) {
+                // Virtual threads are not pooled: every move gets its own thread and the permits bound the concurrent moves
+                this.moveTimerJobsExecutorService = threadPerTaskExecutor;
+                this.moveTimerJobsPermits = new Semaphore(moveExecutorPoolSize);
+                return;
+            }
+        }
+
+        ThreadFactory threadFactory = new BasicThreadFactory.Builder()
             .namingPattern(threadName + "-move")
             .build();
+
         // We are using really low queue size since if we have a lot of move operations
         // we need to complete some of them before acquiring again.
         // This should leave some time to other nodes to pick up and lock the timer jobs
@@ -148,12 +173,45 @@ public class AcquireTimerJobsRunnable implements Runnable {
         this.moveTimerJobsExecutorService = executor;
     }
 
+    protected void executeMoveTimerJobs(Runnable moveTimerJobs) {
+        if (moveTimerJobsPermits == null) {
+            moveTimerJobsExecutorService.execute(moveTimerJobs);
+
+        } else if (moveTimerJobsPermits.tryAcquire()) {
+            try {
+                moveTimerJobsExecutorService.execute(() -> {
+                    try {
+                        moveTimerJobs.run();
+                    } finally {
+                        moveTimerJobsPermits.release();
+                    }
+                });
+
+            } catch (RuntimeException e) {
+                moveTimerJobsPermits.release();
+                throw e;
+            }
+
+        } else {
+            // All permits are in use, the acquire thread moves the jobs itself (same as the caller runs policy of the thread pool)
+            moveTimerJobs.run();
+        }
+    }
+
     protected long executeAcquireAndMoveCycle() {
-        lifecycleListener.startAcquiring(getEngineName(), asyncExecutor.getMaxTimerJobsPerAcquisition());
+        int maxTimerJobsPerAcquisition = getMaxTimerJobsPerAcquisition();
+        lifecycleListener.startAcquiring(getEngineName(), maxTimerJobsPerAcquisition);
 
         List<TimerJobEntity> timerJobs = Collections.emptyList();
         long millisToWait = 0L;
 
+        List<JobShardRange> shardRanges = getShardRanges();
+        if (shardRanges != null && shardRanges.isEmpty()) {
+            // This node currently doesn't own any job shard, nothing to acquire
+            lifecycleListener.stopAcquiring(getEngineName());
+            return getAcquireWaitTimeInMillis();
+        }
+
         try {
 
             boolean globalAcquireLockEnabled = configuration.isGlobalAcquireLockEnabled();
@@ -163,7 +221,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 // In the move phase, other nodes can already acquire timer jobs themselves (as the lock is free).
                 try {
                     timerJobs = lockManager.waitForLockRunAndRelease(configuration.getLockWaitTime(), () -> {
-                        return commandExecutor.execute(new AcquireTimerJobsWithGlobalAcquireLockCmd(asyncExecutor));
+                        return commandExecutor.execute(new AcquireTimerJobsWithGlobalAcquireLockCmd(asyncExecutor, maxTimerJobsPerAcquisition, shardRanges));
                     });
 
                 } catch (Exception e) {
@@ -175,23 +233,28 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 }
 
             } else {
-                timerJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+                timerJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, maxTimerJobsPerAcquisition, shardRanges));
 
             }
 
             if (!timerJobs.isEmpty()) {
                 List<TimerJobEntity> finalTimerJobs = timerJobs;
-                moveTimerJobsExecutorService.execute(() -> {
+                executeMoveTimerJobs(() -> {
                     executeMoveTimerJobsToExecutableJobs(finalTimerJobs);
                 });
             }
 
             // if all jobs were executed
-            millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
             int nrOfJobsAcquired = timerJobs.size();
-            lifecycleListener.acquiredJobs(getEngineName(), nrOfJobsAcquired, asyncExecutor.getMaxTimerJobsPerAcquisition());
+            lifecycleListener.acquiredJobs(getEngineName(), nrOfJobsAcquired, maxTimerJobsPerAcquisition);
 
-            if (nrOfJobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+            if (acquisitionController != null) {
+                // Timer jobs are moved by a caller-runs executor, so there is no capacity limit and no rejection
+                acquisitionController.acquiredJobs(Integer.MAX_VALUE, nrOfJobsAcquired, 0);
+            }
+            millisToWait = getAcquireWaitTimeInMillis();
+
+            if (nrOfJobsAcquired >= maxTimerJobsPerAcquisition) {
 
                 if (globalAcquireLockEnabled) {
                     // Always wait when running with global acquire lock, to let other nodes have the ability to fill the queue
@@ -209,6 +272,10 @@ public class AcquireTimerJobsRunnable implements Runnable {
         } catch (FlowableOptimisticLockingException optimisticLockingException) {
             logOptimisticLockingException(optimisticLockingException);
 
+            if (acquisitionController != null) {
+                acquisitionController.optimisticLockingException();
+            }
+
         } catch (Throwable e) {
             LOGGER.warn("exception during timer job acquisition for engine {}. Exception message: {}", getEngineName(), e.getMessage(), e);
             millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
@@ -220,6 +287,20 @@ public class AcquireTimerJobsRunnable implements Runnable {
         return millisToWait;
     }
 
+    protected int getMaxTimerJobsPerAcquisition() {
+        if (acquisitionController != null) {
+            return acquisitionController.getMaxJobsPerAcquisition();
+        }
+        return asyncExecutor.getMaxTimerJobsPerAcquisition();
+    }
+
+    protected long getAcquireWaitTimeInMillis() {
+        if (acquisitionController != null) {
+            return acquisitionController.getAcquireWaitTimeInMillis();
+        }
+        return asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+    }
+
     protected void executeMoveTimerJobsToExecutableJobs(List<TimerJobEntity> timerJobs) {
         try {
             if (configuration.isGlobalAcquireLockEnabled()) {
@@ -282,6 +363,10 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
     }
 
+    protected List<JobShardRange> getShardRanges() {
+        return shardAssignment != null ? shardAssignment.getShardRanges() : null;
+    }
+
     protected String getEngineName() {
         return asyncExecutor.getJobServiceConfiguration().getEngineName();
     }
@@ -307,6 +392,22 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
     }
 
+    public JobAcquisitionController getAcquisitionController() {
+        return acquisitionController;
+    }
+
+    public void setAcquisitionController(JobAcquisitionController acquisitionController) {
+        this.acquisitionController = acquisitionController;
+    }
+
+    public JobShardAssignment getShardAssignment() {
+        return shardAssignment;
+    }
+
+    public void setShardAssignment(JobShardAssignment shardAssignment) {
+        this.shardAssignment = shardAssignment;
+    }
+
     public void setConfiguration(AcquireJobsRunnableConfiguration configuration) {
         this.configuration = configuration;
     }
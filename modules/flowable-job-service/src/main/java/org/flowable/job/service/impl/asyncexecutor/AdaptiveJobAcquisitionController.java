@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+/**
+ * A {@link JobAcquisitionController} that adapts the acquisition page size and the wait time
+ * between acquisition cycles at runtime:
+ * <ul>
+ *     <li>The page size grows additively when a full page is acquired and the task executor has capacity left,
+ *     and is halved when jobs are rejected or an optimistic locking exception occurs (i.e. another node acquired the same jobs).</li>
+ *     <li>The wait time is doubled when nothing is acquired, halved when some jobs are acquired
+ *     and reset to the minimum when a full page is acquired.</li>
+ * </ul>
+ * The page size never exceeds the configured maximum and the wait time never exceeds the configured default wait time,
+ * so the controller never acquires more or polls less often than a non-adaptive executor would.
+ */
+public class AdaptiveJobAcquisitionController implements JobAcquisitionController {
+
+    protected final int minJobsPerAcquisition;
+    protected final int maxJobsPerAcquisition;
+    protected final int jobsPerAcquisitionIncrement;
+    protected final long minAcquireWaitTimeInMillis;
+    protected final long maxAcquireWaitTimeInMillis;
+
+    protected volatile int currentJobsPerAcquisition;
+    protected volatile long currentAcquireWaitTimeInMillis;
+
+    public AdaptiveJobAcquisitionController(int minJobsPerAcquisition, int maxJobsPerAcquisition, int jobsPerAcquisitionIncrement,
+            long minAcquireWaitTimeInMillis, long maxAcquireWaitTimeInMillis) {
+        this.minJobsPerAcquisition = Math.max(1, Math.min(minJobsPerAcquisition, maxJobsPerAcquisition));
+        this.maxJobsPerAcquisition = Math.max(this.minJobsPerAcquisition, maxJobsPerAcquisition);
+        this.jobsPerAcquisitionIncrement = Math.max(1, jobsPerAcquisitionIncrement);
+        this.minAcquireWaitTimeInMillis = Math.max(0, Math.min(minAcquireWaitTimeInMillis, maxAcquireWaitTimeInMillis));
+        this.maxAcquireWaitTimeInMillis = Math.max(this.minAcquireWaitTimeInMillis, maxAcquireWaitTimeInMillis);
+
+        // Start with the same behaviour as a non-adaptive executor
+        this.currentJobsPerAcquisition = this.maxJobsPerAcquisition;
+        this.currentAcquireWaitTimeInMillis = this.maxAcquireWaitTimeInMillis;
+    }
+
+    @Override
+    public int getMaxJobsPerAcquisition() {
+        return currentJobsPerAcquisition;
+    }
+
+    @Override
+    public long getAcquireWaitTimeInMillis() {
+        return currentAcquireWaitTimeInMillis;
+    }
+
+    @Override
+    public void acquiredJobs(int remainingCapacity, int jobsAcquired, int jobsRejected) {
+        if (jobsRejected > 0) {
+            // The task executor could not keep up, acquiring more would only lead to more rejections
+            shrinkJobsPerAcquisition();
+
+        } else if (jobsAcquired >= currentJobsPerAcquisition) {
+            // There is probably more work available
+            if (remainingCapacity - jobsAcquired >= currentJobsPerAcquisition) {
+                currentJobsPerAcquisition = Math.min(maxJobsPerAcquisition, currentJobsPerAcquisition + jobsPerAcquisitionIncrement);
+            }
+            currentAcquireWaitTimeInMillis = minAcquireWaitTimeInMillis;
+
+        } else if (jobsAcquired > 0) {
+            currentAcquireWaitTimeInMillis = Math.max(minAcquireWaitTimeInMillis, currentAcquireWaitTimeInMillis / 2);
+
+        } else {
+            // Idle polling, back off
+            currentAcquireWaitTimeInMillis = Math.min(maxAcquireWaitTimeInMillis, Math.max(1L, currentAcquireWaitTimeInMillis) * 2);
+
+        }
+    }
+
+    @Override
+    public void optimisticLockingException() {
+        // Another node is acquiring the same jobs, smaller pages reduce the chance of overlapping
+        shrinkJobsPerAcquisition();
+    }
+
+    protected void shrinkJobsPerAcquisition() {
+        currentJobsPerAcquisition = Math.max(minJobsPerAcquisition, currentJobsPerAcquisition / 2);
+    }
+
+    public int getMinJobsPerAcquisition() {
+        return minJobsPerAcquisition;
+    }
+
+    public int getJobsPerAcquisitionIncrement() {
+        return jobsPerAcquisitionIncrement;
+    }
+
+    public long getMinAcquireWaitTimeInMillis() {
+        return minAcquireWaitTimeInMillis;
+    }
+
+    public long getMaxAcquireWaitTimeInMillis() {
+        return maxAcquireWaitTimeInMillis;
+    }
+}
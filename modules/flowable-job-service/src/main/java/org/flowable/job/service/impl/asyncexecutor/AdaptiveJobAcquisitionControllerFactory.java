@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+/**
+ * Creates {@link AdaptiveJobAcquisitionController} instances, bounded by the maximum page size and default wait time
+ * configured on the {@link AsyncExecutor}.
+ */
+public class AdaptiveJobAcquisitionControllerFactory implements JobAcquisitionControllerFactory {
+
+    protected int minJobsPerAcquisition = 1;
+    protected int jobsPerAcquisitionIncrement = 8;
+    protected long minAcquireWaitTimeInMillis = 100L;
+
+    @Override
+    public JobAcquisitionController createAsyncJobAcquisitionController(AsyncExecutor asyncExecutor) {
+        return new AdaptiveJobAcquisitionController(minJobsPerAcquisition, asyncExecutor.getMaxAsyncJobsDuePerAcquisition(), jobsPerAcquisitionIncrement,
+                minAcquireWaitTimeInMillis, asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+    }
+
+    @Override
+    public JobAcquisitionController createTimerJobAcquisitionController(AsyncExecutor asyncExecutor) {
+        return new AdaptiveJobAcquisitionController(minJobsPerAcquisition, asyncExecutor.getMaxTimerJobsPerAcquisition(), jobsPerAcquisitionIncrement,
+                minAcquireWaitTimeInMillis, asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+    }
+
+    public int getMinJobsPerAcquisition() {
+        return minJobsPerAcquisition;
+    }
+
+    public void setMinJobsPerAcquisition(int minJobsPerAcquisition) {
+        this.minJobsPerAcquisition = minJobsPerAcquisition;
+    }
+
+    public int getJobsPerAcquisitionIncrement() {
+        return jobsPerAcquisitionIncrement;
+    }
+
+    public void setJobsPerAcquisitionIncrement(int jobsPerAcquisitionIncrement) {
+        this.jobsPerAcquisitionIncrement = jobsPerAcquisitionIncrement;
+    }
+
+    public long getMinAcquireWaitTimeInMillis() {
+        return minAcquireWaitTimeInMillis;
+    }
+
+    public void setMinAcquireWaitTimeInMillis(long minAcquireWaitTimeInMillis) {
+        this.minAcquireWaitTimeInMillis = minAcquireWaitTimeInMillis;
+    }
+}
@@ -13,8 +13,11 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
+
 /**
  * @author Filip Hrisafov
  */
@@ -45,6 +48,22 @@ public class AsyncJobExecutorConfiguration {
      */
     private boolean timerRunnableNeeded = true; // default true for backwards compatibility (History Async executor came later)
 
+    /**
+     * Whether async jobs should be executed on virtual threads instead of on a thread pool.
+     * When enabled, the acquisition, timer and reset expired jobs threads are virtual threads as well.
+     * Requires Java 21+, platform threads are used as a fallback on older JVMs.
+     * When the engine is configured with an async executor thread factory, that thread factory takes precedence
+     * and is used to create the threads executing the jobs instead of virtual threads.
+     */
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * The maximum number of async jobs executed concurrently when {@link #virtualThreadsEnabled} is set.
+     * When not set (i.e. 0 or less), the engine uses the maximum number of active connections of its data source,
+     * see {@link org.flowable.common.engine.impl.AbstractEngineConfiguration#getDataSourceMaxActiveConnections()}.
+     */
+    private int virtualThreadsMaxConcurrentJobs;
+
     /**
      * The name of the thread in which async jobs will be acquired.
      */
@@ -160,6 +179,28 @@ public class AsyncJobExecutorConfiguration {
      */
     private String tenantId;
 
+    /**
+     * Whether async and timer jobs should only be acquired from the job shards owned by this executor.
+     * Requires the job shard count to be set on the job service configuration, so that jobs get a shard key when they are created.
+     * Jobs without a shard key are acquired by the owner of shard 0.
+     */
+    private boolean jobShardingEnabled;
+    /**
+     * The fixed shard key ranges this executor acquires jobs from.
+     * When not set, the shards are distributed over the executors through leases.
+     */
+    private List<JobShardRange> jobShardRanges;
+    /**
+     * The number of lease groups the shard key space is split into when the shards are distributed through leases.
+     * This is the maximum number of nodes that can acquire jobs concurrently.
+     */
+    private int jobShardLeaseGroupCount = 16;
+    /**
+     * The amount of time a job shard lease is valid. Leases are renewed at a third of this duration,
+     * and the leases of a node that crashed are taken over by other nodes after this duration.
+     */
+    private Duration jobShardLeaseDuration = Duration.ofMinutes(1);
+
     public boolean isAsyncJobAcquisitionEnabled() {
         return asyncJobAcquisitionEnabled;
     }
@@ -200,6 +241,22 @@ public class AsyncJobExecutorConfiguration {
         this.timerRunnableNeeded = timerRunnableNeeded;
     }
 
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public int getVirtualThreadsMaxConcurrentJobs() {
+        return virtualThreadsMaxConcurrentJobs;
+    }
+
+    public void setVirtualThreadsMaxConcurrentJobs(int virtualThreadsMaxConcurrentJobs) {
+        this.virtualThreadsMaxConcurrentJobs = virtualThreadsMaxConcurrentJobs;
+    }
+
     public String getAcquireRunnableThreadName() {
         return acquireRunnableThreadName;
     }
@@ -406,4 +463,36 @@ public class AsyncJobExecutorConfiguration {
         this.tenantId = tenantId;
     }
 
+    public boolean isJobShardingEnabled() {
+        return jobShardingEnabled;
+    }
+
+    public void setJobShardingEnabled(boolean jobShardingEnabled) {
+        this.jobShardingEnabled = jobShardingEnabled;
+    }
+
+    public List<JobShardRange> getJobShardRanges() {
+        return jobShardRanges;
+    }
+
+    public void setJobShardRanges(List<JobShardRange> jobShardRanges) {
+        this.jobShardRanges = jobShardRanges;
+    }
+
+    public int getJobShardLeaseGroupCount() {
+        return jobShardLeaseGroupCount;
+    }
+
+    public void setJobShardLeaseGroupCount(int jobShardLeaseGroupCount) {
+        this.jobShardLeaseGroupCount = jobShardLeaseGroupCount;
+    }
+
+    public Duration getJobShardLeaseDuration() {
+        return jobShardLeaseDuration;
+    }
+
+    public void setJobShardLeaseDuration(Duration jobShardLeaseDuration) {
+        this.jobShardLeaseDuration = jobShardLeaseDuration;
+    }
+
 }
@@ -13,11 +13,15 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
 import org.flowable.common.engine.impl.cfg.TransactionPropagation;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandConfig;
@@ -56,6 +60,11 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected AsyncTaskExecutor taskExecutor;
     protected boolean shutdownTaskExecutor;
 
+    /**
+     * The thread factory used for the acquisition and reset expired jobs threads when virtual threads are enabled.
+     */
+    protected ThreadFactory virtualThreadFactory;
+
     public DefaultAsyncJobExecutor() {
         super();
     }
@@ -145,7 +154,24 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     }
 
     protected void initAsyncJobExecutionThreadPool() {
+        if (taskExecutor != null && configuration.isVirtualThreadsEnabled() && !(taskExecutor instanceof VirtualThreadAsyncTaskExecutor)) {
+            throw new FlowableIllegalArgumentException("Virtual threads are enabled, but the configured task executor " + taskExecutor
+                    + " is not a " + VirtualThreadAsyncTaskExecutor.class.getSimpleName());
+        }
+
         if (taskExecutor == null) {
+            if (configuration.isVirtualThreadsEnabled()) {
+                // Without a configured limit, the same number of jobs as with the default thread pool can run concurrently
+                AsyncTaskExecutorConfiguration taskExecutorConfiguration = new AsyncTaskExecutorConfiguration();
+                int maxConcurrentJobs = configuration.getVirtualThreadsMaxConcurrentJobs() > 0
+                        ? configuration.getVirtualThreadsMaxConcurrentJobs() : taskExecutorConfiguration.getMaxPoolSize();
+                VirtualThreadAsyncTaskExecutor virtualThreadAsyncTaskExecutor = new VirtualThreadAsyncTaskExecutor(taskExecutorConfiguration, maxConcurrentJobs);
+                virtualThreadAsyncTaskExecutor.start();
+                this.taskExecutor = virtualThreadAsyncTaskExecutor;
+                this.shutdownTaskExecutor = true;
+                return;
+            }
+
             // This is for backwards compatibility
             // If there is no task executor then use the Default one and start it immediately.
             DefaultAsyncTaskExecutor defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor();
@@ -166,7 +192,7 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected void startJobAcquisitionThread() {
         if (configuration.isAsyncJobAcquisitionEnabled()) {
             if (asyncJobAcquisitionThread == null) {
-                asyncJobAcquisitionThread = new Thread(asyncJobsDueRunnable);
+                asyncJobAcquisitionThread = createThread(asyncJobsDueRunnable);
             }
             asyncJobAcquisitionThread.start();
         }
@@ -175,12 +201,30 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected void startTimerAcquisitionThread() {
         if (configuration.isTimerJobAcquisitionEnabled()) {
             if (timerJobAcquisitionThread == null) {
-                timerJobAcquisitionThread = new Thread(timerJobRunnable);
+                timerJobAcquisitionThread = createThread(timerJobRunnable);
             }
             timerJobAcquisitionThread.start();
         }
     }
 
+    /**
+     * Creates the thread for one of the acquisition or reset expired jobs runnables.
+     * When virtual threads are enabled (and supported by the JVM), a virtual thread is used.
+     */
+    protected Thread createThread(Runnable runnable) {
+        if (configuration.isVirtualThreadsEnabled()) {
+            if (virtualThreadFactory == null) {
+                virtualThreadFactory = VirtualThreadAsyncTaskExecutor.createVirtualThreadFactory(null);
+            }
+
+            if (virtualThreadFactory != null) {
+                return virtualThreadFactory.newThread(runnable);
+            }
+        }
+
+        return new Thread(runnable);
+    }
+
     /** Stops the acquisition thread */
     protected void stopJobAcquisitionThread() {
         if (asyncJobAcquisitionThread != null) {
@@ -208,7 +252,7 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected void startResetExpiredJobsThread() {
         if (configuration.isResetExpiredJobEnabled()) {
             if (resetExpiredJobThread == null) {
-                resetExpiredJobThread = new Thread(resetExpiredJobsRunnable);
+                resetExpiredJobThread = createThread(resetExpiredJobsRunnable);
             }
             resetExpiredJobThread.start();
         }
@@ -275,6 +319,14 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         this.resetExpiredJobThread = resetExpiredJobThread;
     }
 
+    public boolean isVirtualThreadsEnabled() {
+        return configuration.isVirtualThreadsEnabled();
+    }
+
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        configuration.setVirtualThreadsEnabled(virtualThreadsEnabled);
+    }
+
     public boolean isUnlockOwnedJobs() {
         return configuration.isUnlockOwnedJobs();
     }
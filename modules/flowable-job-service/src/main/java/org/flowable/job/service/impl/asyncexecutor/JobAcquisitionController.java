@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+/**
+ * Controls how many jobs are acquired in one acquisition cycle and how long the acquisition thread waits
+ * between cycles, based on the outcome of the previous cycles.
+ * <p>
+ * An instance is created per acquisition runnable (see {@link JobAcquisitionControllerFactory})
+ * and is only called from the acquisition thread, but its state can be read from other threads for monitoring purposes.
+ */
+public interface JobAcquisitionController {
+
+    /**
+     * @return the maximum number of jobs that should be acquired in the next acquisition cycle
+     */
+    int getMaxJobsPerAcquisition();
+
+    /**
+     * @return the time the acquisition thread should wait before the next cycle when the previous cycle did not acquire a full page of jobs
+     */
+    long getAcquireWaitTimeInMillis();
+
+    /**
+     * Called after a successful acquisition cycle.
+     *
+     * @param remainingCapacity the remaining capacity of the task executor before the jobs were acquired
+     * @param jobsAcquired the number of jobs that were acquired
+     * @param jobsRejected the number of acquired jobs that were rejected by the task executor
+     */
+    void acquiredJobs(int remainingCapacity, int jobsAcquired, int jobsRejected);
+
+    /**
+     * Called when an acquisition cycle failed with an optimistic locking exception,
+     * meaning that another node acquired (some of) the same jobs.
+     */
+    void optimisticLockingException();
+
+}
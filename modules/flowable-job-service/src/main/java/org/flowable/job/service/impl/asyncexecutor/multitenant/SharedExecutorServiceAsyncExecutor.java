@@ -23,6 +23,7 @@ import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.flowable.job.service.impl.asyncexecutor.JobAcquisitionControllerFactory;
 import org.flowable.job.service.impl.cmd.UnacquireOwnedJobsCmd;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,17 +80,25 @@ public class SharedExecutorServiceAsyncExecutor extends DefaultAsyncJobExecutor
 
         TenantAwareAcquireTimerJobsRunnable timerRunnable = new TenantAwareAcquireTimerJobsRunnable(this, tenantInfoHolder, tenantId,
             timerLifecycleListener, new AcquireTimerRunnableConfiguration(), configuration.getMoveTimerExecutorPoolSize());
+        JobAcquisitionControllerFactory jobAcquisitionControllerFactory = jobServiceConfiguration != null
+                ? jobServiceConfiguration.getJobAcquisitionControllerFactory() : null;
+        if (jobAcquisitionControllerFactory != null) {
+            timerRunnable.setAcquisitionController(jobAcquisitionControllerFactory.createTimerJobAcquisitionController(this));
+        }
         timerJobAcquisitionRunnables.put(tenantId, timerRunnable);
-        timerJobAcquisitionThreads.put(tenantId, new Thread(timerRunnable));
+        timerJobAcquisitionThreads.put(tenantId, createThread(timerRunnable));
 
         TenantAwareAcquireAsyncJobsDueRunnable asyncJobsRunnable = new TenantAwareAcquireAsyncJobsDueRunnable(this, tenantInfoHolder, tenantId,
             asyncJobsDueLifecycleListener, new AcquireAsyncJobsDueRunnableConfiguration());
+        if (jobAcquisitionControllerFactory != null) {
+            asyncJobsRunnable.setAcquisitionController(jobAcquisitionControllerFactory.createAsyncJobAcquisitionController(this));
+        }
         asyncJobAcquisitionRunnables.put(tenantId, asyncJobsRunnable);
-        asyncJobAcquisitionThreads.put(tenantId, new Thread(asyncJobsRunnable));
+        asyncJobAcquisitionThreads.put(tenantId, createThread(asyncJobsRunnable));
 
         TenantAwareResetExpiredJobsRunnable resetExpiredJobsRunnable = new TenantAwareResetExpiredJobsRunnable(this, tenantInfoHolder, tenantId);
         resetExpiredJobsRunnables.put(tenantId, resetExpiredJobsRunnable);
-        resetExpiredJobsThreads.put(tenantId, new Thread(resetExpiredJobsRunnable));
+        resetExpiredJobsThreads.put(tenantId, createThread(resetExpiredJobsRunnable));
 
         if (startExecutor) {
             startTimerJobAcquisitionForTenant(tenantId);
@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.sharding;
+
+import java.util.List;
+
+/**
+ * Determines the job shards an async executor acquires jobs from.
+ * <p>
+ * Note that shard ownership only reduces contention during acquisition: when two executors temporarily acquire from the same shard,
+ * the regular (optimistic) job locking still guarantees that a job is only executed once.
+ */
+public interface JobShardAssignment {
+
+    /**
+     * @return the shard key ranges to acquire async and timer jobs from. An empty list means that no jobs should be acquired.
+     */
+    List<JobShardRange> getShardRanges();
+
+    /**
+     * Gives up the ownership of the shards, called when the async executor shuts down.
+     */
+    default void release() {
+
+    }
+}
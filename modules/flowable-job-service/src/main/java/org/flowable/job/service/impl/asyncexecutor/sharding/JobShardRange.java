@@ -0,0 +1,127 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+
+/**
+ * An inclusive range of job shard keys.
+ */
+public class JobShardRange {
+
+    protected final int start;
+    protected final int end;
+
+    public JobShardRange(int start, int end) {
+        if (start < 0 || end < start) {
+            throw new FlowableIllegalArgumentException("Invalid job shard range [" + start + ", " + end + "]");
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public boolean contains(int shardKey) {
+        return shardKey >= start && shardKey <= end;
+    }
+
+    /**
+     * Whether jobs without a shard key (e.g. jobs created before sharding was enabled) should be acquired with the given ranges.
+     * Those jobs are acquired by the owner of shard 0.
+     */
+    public static boolean includesUnsharded(Collection<JobShardRange> shardRanges) {
+        if (shardRanges == null) {
+            return false;
+        }
+        for (JobShardRange shardRange : shardRanges) {
+            if (shardRange.contains(0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ranges of shard keys covered by the given lease groups, merging adjacent groups.
+     * The shard key space [0, shardCount) is split into groupCount groups of (almost) equal size.
+     */
+    public static List<JobShardRange> fromGroups(Collection<Integer> groups, int groupCount, int shardCount) {
+        List<JobShardRange> shardRanges = new ArrayList<>();
+        SortedSet<Integer> sortedGroups = new TreeSet<>(groups);
+        int rangeStart = -1;
+        int rangeEnd = -1;
+        for (Integer group : sortedGroups) {
+            int groupStart = getGroupStart(group, groupCount, shardCount);
+            int groupEnd = getGroupStart(group + 1, groupCount, shardCount) - 1;
+            if (groupEnd < groupStart) {
+                // More groups than shards, this group is empty
+                continue;
+            }
+
+            if (rangeStart >= 0 && groupStart == rangeEnd + 1) {
+                rangeEnd = groupEnd;
+            } else {
+                if (rangeStart >= 0) {
+                    shardRanges.add(new JobShardRange(rangeStart, rangeEnd));
+                }
+                rangeStart = groupStart;
+                rangeEnd = groupEnd;
+            }
+        }
+
+        if (rangeStart >= 0) {
+            shardRanges.add(new JobShardRange(rangeStart, rangeEnd));
+        }
+        return shardRanges;
+    }
+
+    protected static int getGroupStart(int group, int groupCount, int shardCount) {
+        return (int) ((long) group * shardCount / groupCount);
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JobShardRange that = (JobShardRange) o;
+        return start == that.start && end == that.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + "]";
+    }
+}
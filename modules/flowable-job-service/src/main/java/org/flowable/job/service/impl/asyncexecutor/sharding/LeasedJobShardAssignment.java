@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.sharding;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.flowable.common.engine.impl.cfg.TransactionPropagation;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.impl.cmd.AcquireJobShardLeasesCmd;
+import org.flowable.job.service.impl.cmd.ReleaseJobShardLeasesCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link JobShardAssignment} where the shard key space is split into a number of lease groups,
+ * which are distributed over the nodes through leases stored in the property table (similar to the global acquire lock).
+ * <p>
+ * Every node renews its leases at a third of the lease duration. When a node joins, the existing nodes release their surplus leases
+ * on their next renewal. When a node leaves, its leases are released on shutdown, or expire after the lease duration when it crashed.
+ */
+public class LeasedJobShardAssignment implements JobShardAssignment {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeasedJobShardAssignment.class);
+
+    protected CommandExecutor commandExecutor;
+    protected CommandConfig commandConfig;
+    protected String leaseNamePrefix;
+    protected int groupCount;
+    protected int shardCount;
+    protected Duration leaseDuration;
+    protected String lockOwner;
+    protected String engineType;
+
+    protected List<JobShardRange> shardRanges = Collections.emptyList();
+    protected Instant leasesValidUntil;
+    protected Instant nextRenewalTime;
+    protected boolean released;
+
+    public LeasedJobShardAssignment(CommandExecutor commandExecutor, String leaseNamePrefix, int groupCount, int shardCount,
+            Duration leaseDuration, String lockOwner, String engineType) {
+        this.commandExecutor = commandExecutor;
+        this.commandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW);
+        this.leaseNamePrefix = leaseNamePrefix;
+        this.groupCount = groupCount;
+        this.shardCount = shardCount;
+        this.leaseDuration = leaseDuration;
+        this.lockOwner = lockOwner;
+        this.engineType = engineType;
+    }
+
+    @Override
+    public synchronized List<JobShardRange> getShardRanges() {
+        if (released) {
+            return Collections.emptyList();
+        }
+
+        Instant now = Instant.now();
+        if (nextRenewalTime == null || !now.isBefore(nextRenewalTime)) {
+            renewLeases(now);
+        }
+
+        if (leasesValidUntil == null || now.isAfter(leasesValidUntil)) {
+            // The leases could not be renewed in time, another node might have taken them over
+            return Collections.emptyList();
+        }
+        return shardRanges;
+    }
+
+    protected void renewLeases(Instant now) {
+        nextRenewalTime = now.plus(leaseDuration.dividedBy(3));
+        try {
+            Set<Integer> ownedGroups = executeCommand(new AcquireJobShardLeasesCmd(leaseNamePrefix, groupCount, leaseDuration, lockOwner, engineType));
+            shardRanges = JobShardRange.fromGroups(ownedGroups, groupCount, shardCount);
+            leasesValidUntil = now.plus(leaseDuration);
+            LOGGER.debug("Job shard leases {} renewed for lock owner {}, acquiring from shards {}", leaseNamePrefix, lockOwner, shardRanges);
+
+        } catch (RuntimeException e) {
+            // Typically an optimistic locking exception or constraint violation because another node changed the leases concurrently.
+            // The current leases remain valid until they expire, the next renewal will retry.
+            LOGGER.debug("Could not renew job shard leases {} for lock owner {}", leaseNamePrefix, lockOwner, e);
+        }
+    }
+
+    @Override
+    public synchronized void release() {
+        released = true;
+        try {
+            executeCommand(new ReleaseJobShardLeasesCmd(leaseNamePrefix, groupCount, lockOwner, engineType));
+        } catch (RuntimeException e) {
+            LOGGER.info("Could not release job shard leases {} for lock owner {}, they will expire after {}", leaseNamePrefix, lockOwner, leaseDuration, e);
+        }
+        shardRanges = Collections.emptyList();
+        leasesValidUntil = null;
+        nextRenewalTime = null;
+    }
+
+    protected <T> T executeCommand(Command<T> command) {
+        return commandExecutor.execute(commandConfig, command);
+    }
+
+    public String getLeaseNamePrefix() {
+        return leaseNamePrefix;
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+}
@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link JobShardAssignment} with a fixed set of shard ranges, e.g. when every node is configured with its own range.
+ */
+public class StaticJobShardAssignment implements JobShardAssignment {
+
+    protected final List<JobShardRange> shardRanges;
+
+    public StaticJobShardAssignment(List<JobShardRange> shardRanges) {
+        this.shardRanges = Collections.unmodifiableList(new ArrayList<>(shardRanges));
+    }
+
+    @Override
+    public List<JobShardRange> getShardRanges() {
+        return shardRanges;
+    }
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.cmd;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
+
+/**
+ * Renews the job shard group leases owned by the given lock owner, and acquires or releases leases
+ * so that every live owner holds a fair share of the groups.
+ * <p>
+ * Every lease is stored as a property with as value the lease expiration time in ISO8601 followed by the lock owner.
+ * Concurrent changes to the same lease are detected through the optimistic locking of the property.
+ * The command returns the groups that are owned after its execution.
+ */
+public class AcquireJobShardLeasesCmd implements Command<Set<Integer>> {
+
+    protected String leaseNamePrefix;
+    protected int groupCount;
+    protected Duration leaseDuration;
+    protected String lockOwner;
+    protected String engineType;
+
+    public AcquireJobShardLeasesCmd(String leaseNamePrefix, int groupCount, Duration leaseDuration, String lockOwner, String engineType) {
+        this.leaseNamePrefix = leaseNamePrefix;
+        this.groupCount = groupCount;
+        this.leaseDuration = leaseDuration;
+        this.lockOwner = lockOwner;
+        this.engineType = engineType;
+    }
+
+    @Override
+    public Set<Integer> execute(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = commandContext.getEngineConfigurations().get(engineType).getPropertyEntityManager();
+        Instant now = Instant.now();
+
+        PropertyEntity[] leases = new PropertyEntity[groupCount];
+        Set<String> liveOwners = new HashSet<>();
+        liveOwners.add(lockOwner);
+        TreeSet<Integer> ownedGroups = new TreeSet<>();
+        List<Integer> freeGroups = new ArrayList<>();
+
+        for (int group = 0; group < groupCount; group++) {
+            PropertyEntity lease = propertyEntityManager.findById(leaseNamePrefix + group);
+            leases[group] = lease;
+
+            String value = lease != null ? lease.getValue() : null;
+            if (value == null) {
+                freeGroups.add(group);
+                continue;
+            }
+
+            int separatorIndex = value.indexOf(' ');
+            Instant expirationTime = Instant.parse(value.substring(0, separatorIndex));
+            String owner = value.substring(separatorIndex + 1);
+            if (lockOwner.equals(owner)) {
+                // An expired lease that nobody took over yet can still be renewed
+                ownedGroups.add(group);
+            } else if (expirationTime.isBefore(now)) {
+                freeGroups.add(group);
+            } else {
+                liveOwners.add(owner);
+            }
+        }
+
+        int fairShare = (groupCount + liveOwners.size() - 1) / liveOwners.size();
+
+        while (ownedGroups.size() > fairShare) {
+            Integer group = ownedGroups.pollLast();
+            leases[group].setValue(null);
+        }
+
+        for (Integer group : freeGroups) {
+            if (ownedGroups.size() >= fairShare) {
+                break;
+            }
+
+            if (leases[group] == null) {
+                PropertyEntity lease = propertyEntityManager.create();
+                lease.setName(leaseNamePrefix + group);
+                propertyEntityManager.insert(lease);
+                leases[group] = lease;
+            }
+            ownedGroups.add(group);
+        }
+
+        String leaseValue = now.plus(leaseDuration).toString() + " " + lockOwner;
+        for (Integer group : ownedGroups) {
+            leases[group].setValue(leaseValue);
+        }
+
+        return ownedGroups;
+    }
+}
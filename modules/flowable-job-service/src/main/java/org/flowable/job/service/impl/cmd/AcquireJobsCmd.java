@@ -21,6 +21,7 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
 
@@ -34,22 +35,29 @@ public class AcquireJobsCmd implements Command<List<? extends JobInfoEntity>> {
     protected AsyncExecutor asyncExecutor;
     protected int remainingCapacity;
     protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected List<JobShardRange> shardRanges;
 
     public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
         this(asyncExecutor, Integer.MAX_VALUE, asyncExecutor.getJobServiceConfiguration().getJobEntityManager());
     }
 
     public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        this(asyncExecutor, remainingCapacity, jobEntityManager, null);
+    }
+
+    public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
+            List<JobShardRange> shardRanges) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = remainingCapacity;
         this.jobEntityManager = jobEntityManager;
+        this.shardRanges = shardRanges;
     }
 
     @Override
     public List<? extends JobInfoEntity> execute(CommandContext commandContext) {
         int maxResults = Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
         List<String> enabledCategories = asyncExecutor.getJobServiceConfiguration().getEnabledJobCategories();
-        List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(enabledCategories, new Page(0, maxResults));
+        List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(enabledCategories, shardRanges, new Page(0, maxResults));
 
         for (JobInfoEntity job : jobs) {
             lockJob(job, asyncExecutor.getAsyncJobLockTimeInMillis(), asyncExecutor.getJobServiceConfiguration());
@@ -21,6 +21,7 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
 
@@ -34,11 +35,18 @@ public class AcquireJobsWithGlobalAcquireLockCmd implements Command<List<? exten
     protected AsyncExecutor asyncExecutor;
     protected int remainingCapacity;
     protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected List<JobShardRange> shardRanges;
 
     public AcquireJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        this(asyncExecutor, remainingCapacity, jobEntityManager, null);
+    }
+
+    public AcquireJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
+            List<JobShardRange> shardRanges) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = remainingCapacity;
         this.jobEntityManager = jobEntityManager;
+        this.shardRanges = shardRanges;
     }
 
     @Override
@@ -51,7 +59,7 @@ public class AcquireJobsWithGlobalAcquireLockCmd implements Command<List<? exten
         GregorianCalendar jobExpirationTime = calculateLockExpirationTime(asyncExecutor.getAsyncJobLockTimeInMillis(), asyncExecutor.getJobServiceConfiguration());
 
         return jobEntityManager
-            .findJobsToExecuteAndLockInBulk(enabledCategories, new Page(0, maxResults), asyncExecutor.getLockOwner(), jobExpirationTime.getTime());
+            .findJobsToExecuteAndLockInBulk(enabledCategories, shardRanges, new Page(0, maxResults), asyncExecutor.getLockOwner(), jobExpirationTime.getTime());
     }
 
     protected GregorianCalendar calculateLockExpirationTime(int lockTimeInMillis, JobServiceConfiguration jobServiceConfiguration) {
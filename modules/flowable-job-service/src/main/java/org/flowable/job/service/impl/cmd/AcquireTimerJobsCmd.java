@@ -21,6 +21,7 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 
 /**
@@ -30,9 +31,21 @@ import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsCmd implements Command<List<TimerJobEntity>> {
 
     protected AsyncExecutor asyncExecutor;
+    protected int maxTimerJobsPerAcquisition;
+    protected List<JobShardRange> shardRanges;
 
     public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+        this(asyncExecutor, asyncExecutor.getMaxTimerJobsPerAcquisition());
+    }
+
+    public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, int maxTimerJobsPerAcquisition) {
+        this(asyncExecutor, maxTimerJobsPerAcquisition, null);
+    }
+
+    public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, int maxTimerJobsPerAcquisition, List<JobShardRange> shardRanges) {
         this.asyncExecutor = asyncExecutor;
+        this.maxTimerJobsPerAcquisition = maxTimerJobsPerAcquisition;
+        this.shardRanges = shardRanges;
     }
 
     @Override
@@ -40,7 +53,7 @@ public class AcquireTimerJobsCmd implements Command<List<TimerJobEntity>> {
         JobServiceConfiguration jobServiceConfiguration = asyncExecutor.getJobServiceConfiguration();
         List<String> enabledCategories = jobServiceConfiguration.getEnabledJobCategories();
         List<TimerJobEntity> timerJobs = jobServiceConfiguration.getTimerJobEntityManager()
-            .findJobsToExecute(enabledCategories, new Page(0, asyncExecutor.getMaxTimerJobsPerAcquisition()));
+            .findJobsToExecute(enabledCategories, shardRanges, new Page(0, maxTimerJobsPerAcquisition));
 
         for (TimerJobEntity job : timerJobs) {
             lockJob(commandContext, job, asyncExecutor.getTimerLockTimeInMillis(), jobServiceConfiguration);
@@ -21,6 +21,7 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 
 /**
@@ -31,9 +32,21 @@ import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsWithGlobalAcquireLockCmd implements Command<List<TimerJobEntity>> {
 
     protected AsyncExecutor asyncExecutor;
+    protected int maxTimerJobsPerAcquisition;
+    protected List<JobShardRange> shardRanges;
 
     public AcquireTimerJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor) {
+        this(asyncExecutor, asyncExecutor.getMaxTimerJobsPerAcquisition());
+    }
+
+    public AcquireTimerJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor, int maxTimerJobsPerAcquisition) {
+        this(asyncExecutor, maxTimerJobsPerAcquisition, null);
+    }
+
+    public AcquireTimerJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor, int maxTimerJobsPerAcquisition, List<JobShardRange> shardRanges) {
         this.asyncExecutor = asyncExecutor;
+        this.maxTimerJobsPerAcquisition = maxTimerJobsPerAcquisition;
+        this.shardRanges = shardRanges;
     }
 
     @Override
@@ -41,7 +54,7 @@ public class AcquireTimerJobsWithGlobalAcquireLockCmd implements Command<List<Ti
         JobServiceConfiguration jobServiceConfiguration = asyncExecutor.getJobServiceConfiguration();
         List<String> enabledCategories = jobServiceConfiguration.getEnabledJobCategories();
         List<TimerJobEntity> timerJobs = jobServiceConfiguration.getTimerJobEntityManager()
-            .findJobsToExecute(enabledCategories, new Page(0, asyncExecutor.getMaxTimerJobsPerAcquisition()));
+            .findJobsToExecute(enabledCategories, shardRanges, new Page(0, maxTimerJobsPerAcquisition));
 
         if (!timerJobs.isEmpty()) {
 
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.cmd;
+
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
+
+/**
+ * Releases all job shard group leases owned by the given lock owner, so that other nodes can take them over immediately.
+ */
+public class ReleaseJobShardLeasesCmd implements Command<Void> {
+
+    protected String leaseNamePrefix;
+    protected int groupCount;
+    protected String lockOwner;
+    protected String engineType;
+
+    public ReleaseJobShardLeasesCmd(String leaseNamePrefix, int groupCount, String lockOwner, String engineType) {
+        this.leaseNamePrefix = leaseNamePrefix;
+        this.groupCount = groupCount;
+        this.lockOwner = lockOwner;
+        this.engineType = engineType;
+    }
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = commandContext.getEngineConfigurations().get(engineType).getPropertyEntityManager();
+        for (int group = 0; group < groupCount; group++) {
+            PropertyEntity lease = propertyEntityManager.findById(leaseNamePrefix + group);
+            if (lease != null && lease.getValue() != null && lease.getValue().endsWith(" " + lockOwner)) {
+                lease.setValue(null);
+            }
+        }
+        return null;
+    }
+}
@@ -36,6 +36,7 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     
     protected boolean isAsyncHistoryJsonGroupingEnabled;
+    protected AsyncHistoryJobCoalescer asyncHistoryJobCoalescer;
     protected String jobType;
     
     public AbstractAsyncHistoryJobHandler(String jobType) {
@@ -63,7 +64,11 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
                 throw new FlowableException("Could not deserialize async history json for job (id=" + job.getId() + ")", e);
             }
 
-            if (isAsyncHistoryJsonGroupingEnabled() && historyNode.isArray()) {
+            if (asyncHistoryJobCoalescer != null) {
+                historyNode = asyncHistoryJobCoalescer.coalesce(job, historyNode, this::getJobBytes, commandContext, jobServiceConfiguration);
+            }
+
+            if ((isAsyncHistoryJsonGroupingEnabled() || asyncHistoryJobCoalescer != null) && historyNode.isArray()) {
                 List<ObjectNode> failedNodes = null;
                 Exception exception = null;
                 ArrayNode arrayNode = (ArrayNode) historyNode;
@@ -146,5 +151,13 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
     public void setAsyncHistoryJsonGroupingEnabled(boolean isAsyncHistoryJsonGroupingEnabled) {
         this.isAsyncHistoryJsonGroupingEnabled = isAsyncHistoryJsonGroupingEnabled;
     }
+
+    public AsyncHistoryJobCoalescer getAsyncHistoryJobCoalescer() {
+        return asyncHistoryJobCoalescer;
+    }
+
+    public void setAsyncHistoryJobCoalescer(AsyncHistoryJobCoalescer asyncHistoryJobCoalescer) {
+        this.asyncHistoryJobCoalescer = asyncHistoryJobCoalescer;
+    }
     
 }
@@ -0,0 +1,228 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Merges the pending history jobs of the same process instance into the history job that is being executed,
+ * so that the history data of several transactions is written in one transaction.
+ * <p>
+ * The process instance of a history job is stored as its job handler configuration when the job is created
+ * (see {@link JobServiceConfiguration#setAsyncHistoryJobCoalescingGroupField(String)}).
+ * Only history jobs that are not locked, have the same job handler configuration, handler type, tenant and scope type
+ * as the executed job are merged. They are selected and locked in the database, so only their data is read,
+ * and jobs that are acquired by another executor in the meantime are skipped instead of failing the execution.
+ * The merged jobs are deleted in the transaction that executes their data.
+ * <p>
+ * Of the data with a {@link #setSupersedingTypes(Collection) superseding type}, only the entry with the latest
+ * {@link #setTimeField(String) time} is kept per {@link #setIdField(String) id}.
+ */
+public class AsyncHistoryJobCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryJobCoalescer.class);
+
+    protected int maxJobs = 50;
+    protected String idField = "id";
+    protected String timeField = "lastUpdatedTime";
+    protected Set<String> supersedingTypes = new HashSet<>();
+
+    /**
+     * Returns the history data of the given job together with the data of the pending jobs that could be merged into it.
+     * The merged jobs are deleted.
+     */
+    public ArrayNode coalesce(HistoryJobEntity job, JsonNode historyNode, Function<HistoryJobEntity, byte[]> jobBytesProvider,
+            CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration) {
+
+        ObjectMapper objectMapper = commandContext.getObjectMapper();
+        ArrayNode jobNodes = toArrayNode(historyNode, objectMapper);
+        if (job.getJobHandlerConfiguration() == null) {
+            return jobNodes;
+        }
+
+        HistoryJobEntityManager historyJobEntityManager = jobServiceConfiguration.getHistoryJobEntityManager();
+        List<HistoryJobEntity> mergedJobs = new ArrayList<>();
+        Map<String, ArrayNode> mergedJobNodes = new HashMap<>();
+        for (HistoryJobEntity candidate : historyJobEntityManager.findAndLockHistoryJobsToCoalesce(job, maxJobs)) {
+            try {
+                mergedJobNodes.put(candidate.getId(), toArrayNode(objectMapper.readTree(jobBytesProvider.apply(candidate)), objectMapper));
+                mergedJobs.add(candidate);
+            } catch (Exception e) {
+                // The job is unlocked again and will fail on its own when it's executed
+                LOGGER.debug("Could not read history job {} for coalescing", candidate.getId(), e);
+                candidate.setLockOwner(null);
+                candidate.setLockExpirationTime(null);
+            }
+        }
+
+        if (mergedJobs.isEmpty()) {
+            return jobNodes;
+        }
+
+        // The data of the jobs is processed in the order in which the jobs were created
+        List<HistoryJobEntity> orderedJobs = new ArrayList<>(mergedJobs);
+        orderedJobs.add(job);
+        mergedJobNodes.put(job.getId(), jobNodes);
+        orderedJobs.sort(Comparator.comparing(HistoryJobEntity::getCreateTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        List<JsonNode> nodes = new ArrayList<>();
+        for (HistoryJobEntity orderedJob : orderedJobs) {
+            mergedJobNodes.get(orderedJob.getId()).forEach(nodes::add);
+        }
+
+        for (HistoryJobEntity mergedJob : mergedJobs) {
+            historyJobEntityManager.delete(mergedJob);
+        }
+
+        ArrayNode result = objectMapper.createArrayNode();
+        result.addAll(removeSupersededNodes(nodes));
+
+        LOGGER.debug("Coalesced {} history jobs into history job {}, {} of {} history entries remaining", mergedJobs.size(), job.getId(),
+                result.size(), nodes.size());
+
+        return result;
+    }
+
+    protected ArrayNode toArrayNode(JsonNode historyNode, ObjectMapper objectMapper) {
+        if (historyNode.isArray()) {
+            return (ArrayNode) historyNode;
+        }
+
+        ArrayNode arrayNode = objectMapper.createArrayNode();
+        arrayNode.add(historyNode);
+        return arrayNode;
+    }
+
+    /**
+     * Returns the only value of the given field in the data of the given history entries, or null if there is none or more than one.
+     * Entries without the field, like an entity link, don't count.
+     */
+    public static String getGroup(Iterable<? extends JsonNode> nodes, String groupField) {
+        String group = null;
+        for (JsonNode node : nodes) {
+            String nodeGroup = getDataText(node, groupField);
+            if (nodeGroup != null) {
+                if (group != null && !group.equals(nodeGroup)) {
+                    return null;
+                }
+                group = nodeGroup;
+            }
+        }
+        return group;
+    }
+
+    protected List<JsonNode> removeSupersededNodes(List<JsonNode> nodes) {
+        Map<String, Integer> latestIndexes = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            String key = getSupersedingKey(nodes.get(i));
+            if (key != null) {
+                Integer latestIndex = latestIndexes.get(key);
+                if (latestIndex == null || !isBefore(nodes.get(i), nodes.get(latestIndex))) {
+                    latestIndexes.put(key, i);
+                }
+            }
+        }
+
+        List<JsonNode> result = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            String key = getSupersedingKey(nodes.get(i));
+            if (key == null || latestIndexes.get(key) == i) {
+                result.add(nodes.get(i));
+            }
+        }
+        return result;
+    }
+
+    protected String getSupersedingKey(JsonNode node) {
+        JsonNode typeNode = node.get(HistoryJsonTransformer.FIELD_NAME_TYPE);
+        if (typeNode == null || !supersedingTypes.contains(typeNode.asText())) {
+            return null;
+        }
+
+        String id = getDataText(node, idField);
+        return id != null ? typeNode.asText() + ":" + id : null;
+    }
+
+    protected boolean isBefore(JsonNode node, JsonNode otherNode) {
+        Date time = AsyncHistoryDateUtil.parseDate(getDataText(node, timeField));
+        Date otherTime = AsyncHistoryDateUtil.parseDate(getDataText(otherNode, timeField));
+        return time != null && otherTime != null && time.before(otherTime);
+    }
+
+    protected static String getDataText(JsonNode node, String field) {
+        JsonNode dataNode = node.get(HistoryJsonTransformer.FIELD_NAME_DATA);
+        if (dataNode == null) {
+            return null;
+        }
+
+        JsonNode valueNode = dataNode.get(field);
+        return valueNode != null && !valueNode.isNull() ? valueNode.asText() : null;
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    /**
+     * Sets the number of pending history jobs that are looked at for merging into an executed job.
+     */
+    public void setMaxJobs(int maxJobs) {
+        this.maxJobs = maxJobs;
+    }
+
+    public String getIdField() {
+        return idField;
+    }
+
+    public void setIdField(String idField) {
+        this.idField = idField;
+    }
+
+    public String getTimeField() {
+        return timeField;
+    }
+
+    public void setTimeField(String timeField) {
+        this.timeField = timeField;
+    }
+
+    public Set<String> getSupersedingTypes() {
+        return supersedingTypes;
+    }
+
+    public void setSupersedingTypes(Collection<String> supersedingTypes) {
+        this.supersedingTypes = new HashSet<>(supersedingTypes);
+    }
+
+}
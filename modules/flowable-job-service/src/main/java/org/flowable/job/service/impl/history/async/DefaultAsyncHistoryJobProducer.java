@@ -53,6 +53,7 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
                 arrayNode.add(historyJsonNode);
             }
             addJsonToJob(commandContext, jobServiceConfiguration, jobEntity, arrayNode, jobServiceConfiguration.isAsyncHistoryJsonGzipCompressionEnabled());
+            addCoalescingGroupToJob(jobServiceConfiguration, jobEntity, arrayNode);
             return Collections.singletonList(jobEntity);
             
         } else {
@@ -61,6 +62,7 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
             for (ObjectNode historyJsonNode : historyObjectNodes) {
                 HistoryJobEntity jobEntity = createJob(commandContext, asyncHistorySession, jobServiceConfiguration, jobType);
                 addJsonToJob(commandContext, jobServiceConfiguration, jobEntity, historyJsonNode, false);
+                addCoalescingGroupToJob(jobServiceConfiguration, jobEntity, Collections.singletonList(historyJsonNode));
                 historyJobEntities.add(jobEntity);
             }
             return historyJobEntities;
@@ -97,6 +99,13 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
         }
     }
 
+    protected void addCoalescingGroupToJob(JobServiceConfiguration jobServiceConfiguration, HistoryJobEntity jobEntity, Iterable<? extends JsonNode> historyJsonNodes) {
+        String groupField = jobServiceConfiguration.getAsyncHistoryJobCoalescingGroupField();
+        if (groupField != null) {
+            jobEntity.setJobHandlerConfiguration(AsyncHistoryJobCoalescer.getGroup(historyJsonNodes, groupField));
+        }
+    }
+
     protected byte[] compress(final byte[] bytes) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
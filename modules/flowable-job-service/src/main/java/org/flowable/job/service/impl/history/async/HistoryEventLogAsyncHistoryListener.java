@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLog;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An {@link AsyncHistoryListener} that appends the history data of a transaction to a {@link HistoryEventLog}
+ * once the transaction is committed, instead of creating history jobs.
+ * The history tables are then only written when the log is replayed, for example with a {@link HistoryEventLogReplayer}.
+ * <p>
+ * Every record of the log is a JSON array with the same type and data objects as the async history jobs.
+ * <p>
+ * The history data is appended at most once. It is appended after the commit, so that rolled back transactions leave nothing in the log,
+ * which also means that the data of a committed transaction is lost when the append fails, for example because the disk is full.
+ * Such a failure is logged as an error with the directory of the log.
+ * The records are appended in the order in which this listener sees the commits, which is not necessarily the order
+ * of the commits in the database, not even for the transactions of one process instance.
+ * The {@link HistoryEventLogReplayer} allows for history data that comes before the data it depends on.
+ * <p>
+ * This listener doesn't replace the history jobs when history data must never be lost: those are written in the transaction itself.
+ */
+public class HistoryEventLogAsyncHistoryListener implements AsyncHistoryListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryEventLogAsyncHistoryListener.class);
+
+    protected HistoryEventLog historyEventLog;
+
+    public HistoryEventLogAsyncHistoryListener(HistoryEventLog historyEventLog) {
+        this.historyEventLog = historyEventLog;
+    }
+
+    @Override
+    public List<HistoryJobEntity> historyDataGenerated(JobServiceConfiguration jobServiceConfiguration, List<ObjectNode> historyObjectNodes) {
+        ArrayNode arrayNode = jobServiceConfiguration.getObjectMapper().createArrayNode();
+        arrayNode.addAll(historyObjectNodes);
+
+        byte[] payload;
+        try {
+            payload = jobServiceConfiguration.getObjectMapper().writeValueAsBytes(arrayNode);
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not serialize historic data for the history event log", e);
+        }
+
+        // The history data is generated when the command context closes, after the transaction context was removed from the context
+        AsyncHistorySession asyncHistorySession = Context.getCommandContext().getSession(AsyncHistorySession.class);
+        TransactionContext transactionContext = asyncHistorySession.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> append(payload));
+        } else {
+            append(payload);
+        }
+
+        return Collections.emptyList();
+    }
+
+    protected void append(byte[] payload) {
+        try {
+            historyEventLog.append(Collections.singletonList(payload));
+        } catch (RuntimeException e) {
+            // The transaction is already committed, so failing here wouldn't undo anything: the history data is lost
+            LOGGER.error("Could not append committed history data to history event log {}, the history data of the transaction is lost",
+                    historyEventLog.getDirectory(), e);
+        }
+    }
+
+    public HistoryEventLog getHistoryEventLog() {
+        return historyEventLog;
+    }
+
+    public void setHistoryEventLog(HistoryEventLog historyEventLog) {
+        this.historyEventLog = historyEventLog;
+    }
+}
@@ -0,0 +1,217 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalStateException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLog;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLogPosition;
+import org.flowable.job.service.impl.history.async.log.HistoryEventLogRecord;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Replays the records of a {@link HistoryEventLog} into the history tables,
+ * with the history json transformers of the async history job handler.
+ * <p>
+ * The records are replayed in batches, every batch in its own transaction.
+ * When a {@link #setPositionPropertyName(String) position property} is set, the position after each batch is stored
+ * in that property of ACT_GE_PROPERTY in the transaction of the batch, so the stored position is always the position after
+ * the last committed batch, also when a later batch fails. {@link #replay()} continues from the stored position.
+ * Otherwise the caller keeps the returned position to continue from there the next time.
+ * The segments before the stored or returned position can be deleted.
+ * <p>
+ * History data that can't be applied yet, because the data it depends on comes later in the log, is tried again after the rest of the batch.
+ * When it still can't be applied, it is handed to the {@link #setDeferredHistoryListener(AsyncHistoryListener) deferred history listener},
+ * which by default creates history jobs for it, so that the async history executor retries it like any other history job
+ * and the replay doesn't get stuck on it.
+ */
+public class HistoryEventLogReplayer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryEventLogReplayer.class);
+
+    protected JobServiceConfiguration jobServiceConfiguration;
+    protected HistoryEventLog historyEventLog;
+    protected int batchSize = 100;
+    protected AsyncHistoryListener deferredHistoryListener = new DefaultAsyncHistoryJobProducer();
+    protected String positionPropertyName;
+
+    public HistoryEventLogReplayer(JobServiceConfiguration jobServiceConfiguration, HistoryEventLog historyEventLog) {
+        this.jobServiceConfiguration = jobServiceConfiguration;
+        this.historyEventLog = historyEventLog;
+    }
+
+    /**
+     * Replays all the records from the stored position, or from the start of the log when no position was stored yet,
+     * and returns the position after the last replayed record.
+     */
+    public HistoryEventLogPosition replay() {
+        HistoryEventLogPosition storedPosition = getStoredPosition();
+        return replay(storedPosition != null ? storedPosition : HistoryEventLogPosition.START);
+    }
+
+    /**
+     * Replays all the records from the given position, and returns the position after the last replayed record.
+     */
+    public HistoryEventLogPosition replay(HistoryEventLogPosition from) {
+        AsyncHistoryJobHandler historyJobHandler = getHistoryJobHandler();
+        HistoryEventLogPosition position = from;
+        List<HistoryEventLogRecord> records;
+        while (!(records = historyEventLog.read(position, batchSize)).isEmpty()) {
+            List<HistoryEventLogRecord> batch = records;
+            HistoryEventLogPosition nextPosition = records.get(records.size() - 1).getNextPosition();
+            jobServiceConfiguration.getCommandExecutor().execute(commandContext -> {
+                replayBatch(commandContext, historyJobHandler, batch);
+                if (positionPropertyName != null) {
+                    storePosition(commandContext, nextPosition);
+                }
+                return null;
+            });
+            position = nextPosition;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the position after the last committed batch, or null when no position was stored yet.
+     */
+    public HistoryEventLogPosition getStoredPosition() {
+        if (positionPropertyName == null) {
+            throw new FlowableIllegalStateException("No position property is set for the history event log replay");
+        }
+        return jobServiceConfiguration.getCommandExecutor().execute(commandContext -> {
+            PropertyEntity property = getPropertyEntityManager(commandContext).findById(positionPropertyName);
+            return property != null && property.getValue() != null ? HistoryEventLogPosition.parse(property.getValue()) : null;
+        });
+    }
+
+    protected void storePosition(CommandContext commandContext, HistoryEventLogPosition position) {
+        PropertyEntityManager propertyEntityManager = getPropertyEntityManager(commandContext);
+        PropertyEntity property = propertyEntityManager.findById(positionPropertyName);
+        if (property == null) {
+            property = propertyEntityManager.create();
+            property.setName(positionPropertyName);
+            property.setValue(position.toString());
+            propertyEntityManager.insert(property);
+        } else {
+            property.setValue(position.toString());
+        }
+    }
+
+    protected PropertyEntityManager getPropertyEntityManager(CommandContext commandContext) {
+        return commandContext.getEngineConfigurations().get(jobServiceConfiguration.getEngineName()).getPropertyEntityManager();
+    }
+
+    protected void replayBatch(CommandContext commandContext, AsyncHistoryJobHandler historyJobHandler, List<HistoryEventLogRecord> batch) {
+        HistoryJobEntity job = jobServiceConfiguration.getHistoryJobEntityManager().create();
+        List<ObjectNode> notApplicableNodes = new ArrayList<>();
+        for (HistoryEventLogRecord record : batch) {
+            // The transformers only use the job for logging, so a job that is not persisted identifies the record
+            job.setId("history-event-log-" + record.getPosition());
+            for (JsonNode historyNode : readRecord(record)) {
+                if (!replayHistoryNode(commandContext, historyJobHandler, job, historyNode)) {
+                    notApplicableNodes.add((ObjectNode) historyNode);
+                }
+            }
+        }
+
+        if (notApplicableNodes.isEmpty()) {
+            return;
+        }
+
+        job.setId("history-event-log-" + batch.get(0).getPosition());
+        List<ObjectNode> deferredNodes = new ArrayList<>();
+        for (ObjectNode historyNode : notApplicableNodes) {
+            if (!replayHistoryNode(commandContext, historyJobHandler, job, historyNode)) {
+                deferredNodes.add(historyNode);
+            }
+        }
+
+        if (!deferredNodes.isEmpty()) {
+            LOGGER.info("Deferring {} history events of the history event log batch starting at {} that are not applicable yet",
+                    deferredNodes.size(), batch.get(0).getPosition());
+            deferredHistoryListener.historyDataGenerated(jobServiceConfiguration, deferredNodes);
+        }
+    }
+
+    /**
+     * Returns false when the history data is not applicable yet. Any other failure rolls back the batch.
+     */
+    protected boolean replayHistoryNode(CommandContext commandContext, AsyncHistoryJobHandler historyJobHandler, HistoryJobEntity job, JsonNode historyNode) {
+        try {
+            historyJobHandler.processHistoryJson(commandContext, job, historyNode);
+            return true;
+        } catch (AsyncHistoryJobNotApplicableException e) {
+            return false;
+        }
+    }
+
+    protected JsonNode readRecord(HistoryEventLogRecord record) {
+        try {
+            return jobServiceConfiguration.getObjectMapper().readTree(record.getPayload());
+        } catch (IOException e) {
+            throw new FlowableException("Could not deserialize history event log record at " + record.getPosition(), e);
+        }
+    }
+
+    protected AsyncHistoryJobHandler getHistoryJobHandler() {
+        HistoryJobHandler historyJobHandler = jobServiceConfiguration.getHistoryJobHandlers().get(jobServiceConfiguration.getJobTypeAsyncHistory());
+        if (!(historyJobHandler instanceof AsyncHistoryJobHandler)) {
+            throw new FlowableException("No async history job handler registered for type " + jobServiceConfiguration.getJobTypeAsyncHistory());
+        }
+        return (AsyncHistoryJobHandler) historyJobHandler;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public AsyncHistoryListener getDeferredHistoryListener() {
+        return deferredHistoryListener;
+    }
+
+    /**
+     * Sets the listener that receives the history data that is still not applicable after the rest of its batch was replayed.
+     */
+    public void setDeferredHistoryListener(AsyncHistoryListener deferredHistoryListener) {
+        this.deferredHistoryListener = deferredHistoryListener;
+    }
+
+    public String getPositionPropertyName() {
+        return positionPropertyName;
+    }
+
+    /**
+     * Sets the name of the property in which the position after each replayed batch is stored, in the transaction of that batch.
+     */
+    public void setPositionPropertyName(String positionPropertyName) {
+        this.positionPropertyName = positionPropertyName;
+    }
+}
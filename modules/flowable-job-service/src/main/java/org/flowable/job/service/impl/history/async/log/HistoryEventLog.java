@@ -0,0 +1,357 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of history events, stored as segment files in a directory.
+ * <p>
+ * Every record is written as its length, the CRC32 checksum of its payload and the payload itself.
+ * When a segment would grow beyond the segment size, a new segment is started.
+ * A record that was only partly written when the JVM or the machine stopped is cut off when the log is opened again.
+ * <p>
+ * Appends are written to the file right away, but the file is only forced to the storage device
+ * once {@code syncBatchSize} bytes were appended or {@code syncIntervalMillis} passed since the previous sync,
+ * so the cost of the sync is shared by all the transactions in between.
+ * When no further append follows, a background thread syncs the appends once they are {@code syncIntervalMillis} old,
+ * and {@link #close()} syncs whatever is left.
+ * A crash of the JVM loses nothing, a crash of the operating system can lose the appends since the last sync.
+ * Use 0 for both to sync every append.
+ */
+public class HistoryEventLog implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryEventLog.class);
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    public static final long DEFAULT_SYNC_BATCH_SIZE = 1024 * 1024;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+
+    protected static final String SEGMENT_SUFFIX = ".log";
+    protected static final int HEADER_SIZE = 8;
+
+    protected final Path directory;
+    protected final long segmentSize;
+    protected final long syncBatchSize;
+    protected final long syncIntervalMillis;
+
+    protected FileChannel segmentChannel;
+    protected long segmentId;
+    protected long segmentPosition;
+    protected long unsyncedBytes;
+    protected long lastSyncTime = System.currentTimeMillis();
+    protected ScheduledExecutorService syncExecutor;
+
+    public HistoryEventLog(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_BATCH_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    public HistoryEventLog(Path directory, long segmentSize, long syncBatchSize, long syncIntervalMillis) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new FlowableIllegalArgumentException("segmentSize must be larger than " + HEADER_SIZE + ", but was " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncBatchSize = syncBatchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new FlowableException("Could not create history event log directory " + directory, e);
+        }
+
+        List<Long> segmentIds = getSegmentIds();
+        if (segmentIds.isEmpty()) {
+            openSegment(1);
+        } else {
+            openSegment(segmentIds.get(segmentIds.size() - 1));
+            recoverSegment();
+        }
+
+        if (syncIntervalMillis > 0) {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("flowable-history-event-log-sync-%d")
+                    .daemon(true)
+                    .build());
+            syncExecutor.scheduleWithFixedDelay(this::syncIfDue, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appends the payloads, in order, and returns the position after the last one.
+     */
+    public synchronized HistoryEventLogPosition append(List<byte[]> payloads) {
+        if (segmentChannel == null) {
+            throw new FlowableException("History event log " + directory + " is closed");
+        }
+
+        try {
+            for (byte[] payload : payloads) {
+                long recordSize = HEADER_SIZE + (long) payload.length;
+                if (segmentPosition > 0 && segmentPosition + recordSize > segmentSize) {
+                    rollSegment();
+                }
+
+                ByteBuffer buffer = ByteBuffer.allocate((int) recordSize);
+                buffer.putInt(payload.length);
+                buffer.putInt(checksum(payload));
+                buffer.put(payload);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    segmentChannel.write(buffer, segmentPosition + buffer.position());
+                }
+
+                segmentPosition += recordSize;
+                unsyncedBytes += recordSize;
+            }
+
+            if (unsyncedBytes >= syncBatchSize || System.currentTimeMillis() - lastSyncTime >= syncIntervalMillis) {
+                sync();
+            }
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not append to history event log segment " + getSegmentFile(segmentId), e);
+        }
+
+        return new HistoryEventLogPosition(segmentId, segmentPosition);
+    }
+
+    /**
+     * Forces all the appended records to the storage device.
+     */
+    public synchronized void sync() {
+        if (segmentChannel == null || unsyncedBytes == 0) {
+            return;
+        }
+        try {
+            segmentChannel.force(false);
+        } catch (IOException e) {
+            throw new FlowableException("Could not sync history event log segment " + getSegmentFile(segmentId), e);
+        }
+        unsyncedBytes = 0;
+        lastSyncTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Syncs the appended records when the sync interval passed since the previous sync.
+     * Called from the background sync thread, so failures are logged instead of thrown.
+     */
+    protected synchronized void syncIfDue() {
+        if (unsyncedBytes == 0 || System.currentTimeMillis() - lastSyncTime < syncIntervalMillis) {
+            return;
+        }
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not sync history event log {}", directory, e);
+        }
+    }
+
+    /**
+     * Reads at most maxRecords records, starting at the given position.
+     * Use {@link HistoryEventLogPosition#START} to read from the first segment that is still there.
+     * Reading stops at the end of the log, including a record that is still being written.
+     */
+    public List<HistoryEventLogRecord> read(HistoryEventLogPosition from, int maxRecords) {
+        List<HistoryEventLogRecord> records = new ArrayList<>();
+        List<Long> segmentIds = getSegmentIds();
+        for (int i = 0; i < segmentIds.size() && records.size() < maxRecords; i++) {
+            long readSegmentId = segmentIds.get(i);
+            if (readSegmentId < from.getSegmentId()) {
+                continue;
+            }
+
+            long offset = readSegmentId == from.getSegmentId() ? from.getOffset() : 0;
+            boolean lastSegment = i == segmentIds.size() - 1;
+            readSegment(readSegmentId, offset, lastSegment, maxRecords, records);
+        }
+        return records;
+    }
+
+    protected void readSegment(long readSegmentId, long offset, boolean lastSegment, int maxRecords, List<HistoryEventLogRecord> records) {
+        Path segmentFile = getSegmentFile(readSegmentId);
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            long position = offset;
+            while (records.size() < maxRecords) {
+                byte[] payload = readRecord(channel, position);
+                if (payload == null) {
+                    if (!lastSegment && position < channel.size()) {
+                        throw new FlowableException("History event log segment " + segmentFile + " has an invalid record at offset " + position);
+                    }
+                    return;
+                }
+
+                long nextPosition = position + HEADER_SIZE + payload.length;
+                records.add(new HistoryEventLogRecord(new HistoryEventLogPosition(readSegmentId, position),
+                        new HistoryEventLogPosition(readSegmentId, nextPosition), payload));
+                position = nextPosition;
+            }
+        } catch (IOException e) {
+            throw new FlowableException("Could not read history event log segment " + segmentFile, e);
+        }
+    }
+
+    /**
+     * Returns the payload of the record at the position, or null when there is no complete and valid record.
+     */
+    protected byte[] readRecord(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        if (position + HEADER_SIZE > size) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, position);
+        header.flip();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length < 0 || position + HEADER_SIZE + length > size) {
+            return null;
+        }
+
+        ByteBuffer payloadBuffer = ByteBuffer.allocate(length);
+        readFully(channel, payloadBuffer, position + HEADER_SIZE);
+        byte[] payload = payloadBuffer.array();
+        return checksum(payload) == checksum ? payload : null;
+    }
+
+    protected void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments that only contain records before the given position, for example once they were replayed.
+     * The segment that is currently written is never deleted.
+     */
+    public synchronized void deleteSegmentsBefore(HistoryEventLogPosition position) {
+        for (Long deleteSegmentId : getSegmentIds()) {
+            if (deleteSegmentId < position.getSegmentId() && deleteSegmentId != segmentId) {
+                try {
+                    Files.deleteIfExists(getSegmentFile(deleteSegmentId));
+                } catch (IOException e) {
+                    throw new FlowableException("Could not delete history event log segment " + getSegmentFile(deleteSegmentId), e);
+                }
+            }
+        }
+    }
+
+    public synchronized HistoryEventLogPosition getEndPosition() {
+        return new HistoryEventLogPosition(segmentId, segmentPosition);
+    }
+
+    public List<Long> getSegmentIds() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(SEGMENT_SUFFIX))
+                    .map(fileName -> Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new FlowableException("Could not list history event log directory " + directory, e);
+        }
+    }
+
+    protected Path getSegmentFile(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    protected void openSegment(long id) {
+        try {
+            segmentChannel = FileChannel.open(getSegmentFile(id), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segmentId = id;
+            segmentPosition = segmentChannel.size();
+        } catch (IOException e) {
+            throw new FlowableException("Could not open history event log segment " + getSegmentFile(id), e);
+        }
+    }
+
+    protected void rollSegment() throws IOException {
+        segmentChannel.force(false);
+        segmentChannel.close();
+        openSegment(segmentId + 1);
+    }
+
+    /**
+     * Cuts off a record at the end of the current segment that was only partly written.
+     */
+    protected void recoverSegment() {
+        try {
+            long position = 0;
+            byte[] payload;
+            while ((payload = readRecord(segmentChannel, position)) != null) {
+                position += HEADER_SIZE + payload.length;
+            }
+            if (position < segmentChannel.size()) {
+                LOGGER.warn("Truncating incomplete record at offset {} of history event log segment {}", position, getSegmentFile(segmentId));
+                segmentChannel.truncate(position);
+                segmentChannel.force(false);
+            }
+            segmentPosition = position;
+        } catch (IOException e) {
+            throw new FlowableException("Could not recover history event log segment " + getSegmentFile(segmentId), e);
+        }
+    }
+
+    protected int checksum(byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdown();
+            syncExecutor = null;
+        }
+        if (segmentChannel == null) {
+            return;
+        }
+        sync();
+        try {
+            segmentChannel.close();
+        } catch (IOException e) {
+            throw new FlowableException("Could not close history event log segment " + getSegmentFile(segmentId), e);
+        }
+        segmentChannel = null;
+    }
+}
@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+import java.util.Objects;
+
+/**
+ * The position of a record in a {@link HistoryEventLog}: the id of the segment and the byte offset in that segment.
+ */
+public class HistoryEventLogPosition implements Comparable<HistoryEventLogPosition> {
+
+    public static final HistoryEventLogPosition START = new HistoryEventLogPosition(0, 0);
+
+    protected final long segmentId;
+    protected final long offset;
+
+    public HistoryEventLogPosition(long segmentId, long offset) {
+        this.segmentId = segmentId;
+        this.offset = offset;
+    }
+
+    /**
+     * Parses a position that was written with {@link #toString()}.
+     */
+    public static HistoryEventLogPosition parse(String position) {
+        int separatorIndex = position.indexOf(':');
+        return new HistoryEventLogPosition(Long.parseLong(position.substring(0, separatorIndex)), Long.parseLong(position.substring(separatorIndex + 1)));
+    }
+
+    public long getSegmentId() {
+        return segmentId;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int compareTo(HistoryEventLogPosition other) {
+        int segmentComparison = Long.compare(segmentId, other.segmentId);
+        return segmentComparison != 0 ? segmentComparison : Long.compare(offset, other.offset);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof HistoryEventLogPosition)) {
+            return false;
+        }
+        HistoryEventLogPosition position = (HistoryEventLogPosition) other;
+        return segmentId == position.segmentId && offset == position.offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(segmentId, offset);
+    }
+
+    @Override
+    public String toString() {
+        return segmentId + ":" + offset;
+    }
+}
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+/**
+ * A record read from a {@link HistoryEventLog}, with its own position and the position of the record after it.
+ */
+public class HistoryEventLogRecord {
+
+    protected final HistoryEventLogPosition position;
+    protected final HistoryEventLogPosition nextPosition;
+    protected final byte[] payload;
+
+    public HistoryEventLogRecord(HistoryEventLogPosition position, HistoryEventLogPosition nextPosition, byte[] payload) {
+        this.position = position;
+        this.nextPosition = nextPosition;
+        this.payload = payload;
+    }
+
+    public HistoryEventLogPosition getPosition() {
+        return position;
+    }
+
+    public HistoryEventLogPosition getNextPosition() {
+        return nextPosition;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -350,7 +350,7 @@ public abstract class AbstractJobEntityImpl extends AbstractJobServiceEntity imp
             exceptionByteArrayRef = new ByteArrayRef();
         }
 
-        exceptionByteArrayRef.setValue("stacktrace", exception, getEngineType());
+        exceptionByteArrayRef.setDeduplicatedValue("stacktrace", exception, getEngineType());
     }
 
     @Override
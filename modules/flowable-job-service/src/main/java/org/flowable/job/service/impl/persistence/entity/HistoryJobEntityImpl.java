@@ -182,7 +182,7 @@ public class HistoryJobEntityImpl extends AbstractJobServiceEntity implements Hi
         if (exceptionByteArrayRef == null) {
             exceptionByteArrayRef = new ByteArrayRef();
         }
-        exceptionByteArrayRef.setValue("stacktrace", exception, getEngineType());
+        exceptionByteArrayRef.setDeduplicatedValue("stacktrace", exception, getEngineType());
     }
 
     @Override
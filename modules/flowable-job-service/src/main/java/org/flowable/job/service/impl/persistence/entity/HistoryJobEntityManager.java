@@ -35,6 +35,13 @@ public interface HistoryJobEntityManager extends EntityManager<HistoryJobEntity>
      */
     long findHistoryJobCountByQueryCriteria(HistoryJobQueryImpl jobQuery);
 
+    /**
+     * Returns at most maxResults pending history jobs with the same job handler configuration, handler type, scope type and tenant
+     * as the given history job, in the order in which they were created. The returned jobs are locked in the current transaction,
+     * pending jobs that are locked by an executor are skipped.
+     */
+    List<HistoryJobEntity> findAndLockHistoryJobsToCoalesce(HistoryJobEntity historyJob, int maxResults);
+
     /**
      * The default delete method will cascade to the references entities.
      * This delete doesn't delete the referenced byte array entities (configuration and exception).
@@ -60,6 +60,11 @@ public class HistoryJobEntityManagerImpl
         return dataManager.findHistoryJobCountByQueryCriteria(jobQuery);
     }
 
+    @Override
+    public List<HistoryJobEntity> findAndLockHistoryJobsToCoalesce(HistoryJobEntity historyJob, int maxResults) {
+        return dataManager.findAndLockHistoryJobsToCoalesce(historyJob, maxResults);
+    }
+
     @Override
     public void delete(HistoryJobEntity jobEntity) {
         super.delete(jobEntity, false);
@@ -27,6 +27,7 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
 
     protected String lockOwner;
     protected Date lockExpirationTime;
+    protected Integer shardKey;
 
     @Override
     @SuppressWarnings("unchecked")
@@ -60,6 +61,16 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
         this.lockExpirationTime = claimedUntil;
     }
 
+    @Override
+    public Integer getShardKey() {
+        return shardKey;
+    }
+
+    @Override
+    public void setShardKey(Integer shardKey) {
+        this.shardKey = shardKey;
+    }
+
     @Override
     public String toString() {
         return "JobEntity [id=" + id + "]";
@@ -22,6 +22,7 @@ import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
 import org.flowable.job.service.impl.JobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.data.JobDataManager;
+import org.flowable.job.service.impl.util.JobShardUtil;
 
 /**
  * @author Tom Baeyens
@@ -58,6 +59,9 @@ public class JobEntityManagerImpl
         if (jobEntity.getCorrelationId() == null) {
             jobEntity.setCorrelationId(serviceConfiguration.getIdGenerator().getNextId());
         }
+        if (jobEntity.getShardKey() == null) {
+            jobEntity.setShardKey(JobShardUtil.determineShardKey(jobEntity, serviceConfiguration.getJobShardCount()));
+        }
         super.insert(jobEntity, fireCreateEvent);
         return true;
     }
@@ -17,6 +17,7 @@ import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.persistence.entity.EntityManager;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
 
 public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityManager<T> {
@@ -28,6 +29,14 @@ public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityMa
      */
     List<T> findJobsToExecute(List<String> enabledCategories, Page page);
 
+    /**
+     * Returns {@link JobEntity} that are eligible to be executed and have a shard key in one of the given ranges.
+     * When the shard ranges are null, all jobs are eligible. Job types that are not sharded ignore the shard ranges.
+     */
+    default List<T> findJobsToExecute(List<String> enabledCategories, List<JobShardRange> shardRanges, Page page) {
+        return findJobsToExecute(enabledCategories, page);
+    }
+
     /**
      * Returns all {@link JobEntity} instances related to on ExecutionEntity.
      */
@@ -55,7 +64,12 @@ public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityMa
 
     // Done with a default method, as otherwise the generics make the code hard to follow in the AcquireJobsCmd
     default List<T> findJobsToExecuteAndLockInBulk(List<String> enabledCategories, Page page, String lockOwner, Date lockExpirationTime) {
-        List<T> jobs = findJobsToExecute(enabledCategories, page);
+        return findJobsToExecuteAndLockInBulk(enabledCategories, null, page, lockOwner, lockExpirationTime);
+    }
+
+    default List<T> findJobsToExecuteAndLockInBulk(List<String> enabledCategories, List<JobShardRange> shardRanges, Page page,
+            String lockOwner, Date lockExpirationTime) {
+        List<T> jobs = findJobsToExecute(enabledCategories, shardRanges, page);
 
         if (!jobs.isEmpty()) {
             bulkUpdateJobLockWithoutRevisionCheck(jobs, lockOwner, lockExpirationTime);
@@ -18,6 +18,7 @@ import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.data.JobInfoDataManager;
 
 /**
@@ -38,6 +39,11 @@ public abstract class JobInfoEntityManagerImpl<T extends JobInfoEntity, DM exten
         return dataManager.findJobsToExecute(enabledCategories, page);
     }
 
+    @Override
+    public List<T> findJobsToExecute(List<String> enabledCategories, List<JobShardRange> shardRanges, Page page) {
+        return dataManager.findJobsToExecute(enabledCategories, shardRanges, page);
+    }
+
     @Override
     public List<T> findJobsByExecutionId(String executionId) {
         return dataManager.findJobsByExecutionId(executionId);
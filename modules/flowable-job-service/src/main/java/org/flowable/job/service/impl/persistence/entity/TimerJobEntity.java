@@ -20,4 +20,11 @@ package org.flowable.job.service.impl.persistence.entity;
  */
 public interface TimerJobEntity extends JobInfoEntity, AbstractRuntimeJobEntity {
 
+    /**
+     * The shard key used for acquiring the job when job sharding is enabled, null when the job is not sharded.
+     */
+    Integer getShardKey();
+
+    void setShardKey(Integer shardKey);
+
 }
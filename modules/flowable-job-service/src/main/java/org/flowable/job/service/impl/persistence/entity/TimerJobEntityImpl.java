@@ -26,6 +26,7 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
 
     protected String lockOwner;
     protected Date lockExpirationTime;
+    protected Integer shardKey;
 
     @SuppressWarnings("unchecked")
     @Override
@@ -59,6 +60,16 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
         this.lockExpirationTime = claimedUntil;
     }
 
+    @Override
+    public Integer getShardKey() {
+        return shardKey;
+    }
+
+    @Override
+    public void setShardKey(Integer shardKey) {
+        this.shardKey = shardKey;
+    }
+
     @Override
     public String toString() {
         return "TimerJobEntity [id=" + id + "]";
@@ -27,6 +27,7 @@ import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
 import org.flowable.job.service.impl.TimerJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.data.TimerJobDataManager;
+import org.flowable.job.service.impl.util.JobShardUtil;
 import org.flowable.variable.api.delegate.VariableScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -138,6 +139,9 @@ public class TimerJobEntityManagerImpl
         if (jobEntity.getCorrelationId() == null) {
             jobEntity.setCorrelationId(serviceConfiguration.getIdGenerator().getNextId());
         }
+        if (jobEntity.getShardKey() == null) {
+            jobEntity.setShardKey(JobShardUtil.determineShardKey(jobEntity, serviceConfiguration.getJobShardCount()));
+        }
         super.insert(jobEntity, fireCreateEvent);
         return true;
     }
@@ -27,5 +27,7 @@ public interface HistoryJobDataManager extends DataManager<HistoryJobEntity>, Jo
     List<HistoryJob> findHistoryJobsByQueryCriteria(HistoryJobQueryImpl query);
 
     long findHistoryJobCountByQueryCriteria(HistoryJobQueryImpl query);
+
+    List<HistoryJobEntity> findAndLockHistoryJobsToCoalesce(HistoryJobEntity historyJob, int maxResults);
     
 }
@@ -17,12 +17,17 @@ import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 
 public interface JobInfoDataManager<T extends JobInfoEntity> extends DataManager<T> {
 
     List<T> findJobsToExecute(List<String> enabledCategories, Page page);
 
+    default List<T> findJobsToExecute(List<String> enabledCategories, List<JobShardRange> shardRanges, Page page) {
+        return findJobsToExecute(enabledCategories, page);
+    }
+
     List<T> findJobsByExecutionId(final String executionId);
 
     List<T> findJobsByProcessInstanceId(final String processInstanceId);
@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,7 @@ import org.flowable.job.service.impl.HistoryJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntityImpl;
 import org.flowable.job.service.impl.persistence.entity.data.HistoryJobDataManager;
+import org.flowable.job.service.impl.util.JobAcquisitionQueryUtil;
 
 /**
  * @author Tijs Rademakers
@@ -59,7 +61,7 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         // Needed for db2/sqlserver (see limitBetween in mssql.properties), otherwise ordering will be incorrect
         params.setFirstResult(page.getFirstResult());
         params.setMaxResults(page.getMaxResults());
-        return getDbSqlSession().selectList("selectHistoryJobsToExecute", params);
+        return JobAcquisitionQueryUtil.selectJobsToExecute(getDbSqlSession(), jobServiceConfiguration, "selectHistoryJobsToExecute", params);
     }
 
     @Override
@@ -101,6 +103,37 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         return (Long) getDbSqlSession().selectOne("selectHistoryJobCountByQueryCriteria", jobQuery);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoryJobEntity> findAndLockHistoryJobsToCoalesce(HistoryJobEntity historyJob, int maxResults) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", historyJob.getId());
+        params.put("jobHandlerConfiguration", historyJob.getJobHandlerConfiguration());
+        params.put("jobHandlerType", historyJob.getJobHandlerType());
+        params.put("scopeType", historyJob.getScopeType());
+        params.put("tenantId", historyJob.getTenantId());
+
+        ListQueryParameterObject parameter = new ListQueryParameterObject(params, 0, maxResults);
+        parameter.addOrder("RES.CREATE_TIME_", ListQueryParameterObject.SORTORDER_ASC, null);
+        List<String> historyJobIds = getDbSqlSession().selectList("selectHistoryJobIdsToCoalesce", parameter);
+        if (historyJobIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Only the jobs that are still not locked are locked, jobs acquired by an executor in the meantime are skipped.
+        // The lock owner is unique for the executed job, as the lock is only visible in its transaction.
+        Map<String, Object> lockParams = new HashMap<>();
+        lockParams.put("historyJobIds", historyJobIds);
+        lockParams.put("lockOwner", "coalesce-" + historyJob.getId());
+        lockParams.put("lockExpirationTime", historyJob.getLockExpirationTime() != null
+                ? historyJob.getLockExpirationTime() : jobServiceConfiguration.getClock().getCurrentTime());
+        if (getDbSqlSession().directUpdate("updateHistoryJobLocksToCoalesce", lockParams) == 0) {
+            return Collections.emptyList();
+        }
+
+        return getDbSqlSession().selectList("selectHistoryJobsByLockOwner", lockParams);
+    }
+
     @Override
     public void updateJobTenantIdForDeployment(String deploymentId, String newTenantId) {
         HashMap<String, Object> params = new HashMap<>();
@@ -21,16 +21,19 @@ import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.common.engine.impl.db.SingleCachedEntityMatcher;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcher;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.JobQueryImpl;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.job.service.impl.persistence.entity.JobEntityImpl;
 import org.flowable.job.service.impl.persistence.entity.data.JobDataManager;
 import org.flowable.job.service.impl.persistence.entity.data.impl.cachematcher.JobByCorrelationIdMatcher;
 import org.flowable.job.service.impl.persistence.entity.data.impl.cachematcher.JobsByExecutionIdMatcher;
+import org.flowable.job.service.impl.util.JobAcquisitionQueryUtil;
 
 /**
  * @author Joram Barrez
@@ -58,15 +61,25 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<JobEntity> findJobsToExecute(List<String> enabledCategories, Page page) {
+        return findJobsToExecute(enabledCategories, null, page);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsToExecute(List<String> enabledCategories, List<JobShardRange> shardRanges, Page page) {
         HashMap<String, Object> params = new HashMap<>();
         params.put("jobExecutionScope", jobServiceConfiguration.getJobExecutionScope());
         
         if (enabledCategories != null && enabledCategories.size() > 0) {
             params.put("enabledCategories", enabledCategories);
         }
-        return getDbSqlSession().selectList("selectJobsToExecute", params, page);
+        if (shardRanges != null) {
+            params.put("shardRanges", shardRanges);
+            params.put("includeUnsharded", JobShardRange.includesUnsharded(shardRanges));
+        }
+        return JobAcquisitionQueryUtil.selectJobsToExecute(getDbSqlSession(), jobServiceConfiguration, "selectJobsToExecute",
+                new ListQueryParameterObject(params, page.getFirstResult(), page.getMaxResults()));
     }
 
     @Override
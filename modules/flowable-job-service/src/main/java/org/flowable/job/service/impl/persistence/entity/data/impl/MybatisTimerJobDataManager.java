@@ -21,17 +21,20 @@ import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.common.engine.impl.db.SingleCachedEntityMatcher;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcher;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.TimerJobQueryImpl;
+import org.flowable.job.service.impl.asyncexecutor.sharding.JobShardRange;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntityImpl;
 import org.flowable.job.service.impl.persistence.entity.data.TimerJobDataManager;
 import org.flowable.job.service.impl.persistence.entity.data.impl.cachematcher.JobByCorrelationIdMatcher;
 import org.flowable.job.service.impl.persistence.entity.data.impl.cachematcher.TimerJobsByExecutionIdMatcher;
 import org.flowable.job.service.impl.persistence.entity.data.impl.cachematcher.TimerJobsByScopeIdAndSubScopeIdMatcher;
+import org.flowable.job.service.impl.util.JobAcquisitionQueryUtil;
 
 /**
  * @author Tijs Rademakers
@@ -101,8 +104,13 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<TimerJobEntity> findJobsToExecute(List<String> enabledCategories, Page page) {
+        return findJobsToExecute(enabledCategories, null, page);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimerJobEntity> findJobsToExecute(List<String> enabledCategories, List<JobShardRange> shardRanges, Page page) {
         Map<String, Object> params = new HashMap<>(2);
         String jobExecutionScope = jobServiceConfiguration.getJobExecutionScope();
         params.put("jobExecutionScope", jobExecutionScope);
@@ -113,7 +121,12 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         if (enabledCategories != null && enabledCategories.size() > 0) {
             params.put("enabledCategories", enabledCategories);
         }
-        return getDbSqlSession().selectList("selectTimerJobsToExecute", params, page);
+        if (shardRanges != null) {
+            params.put("shardRanges", shardRanges);
+            params.put("includeUnsharded", JobShardRange.includesUnsharded(shardRanges));
+        }
+        return JobAcquisitionQueryUtil.selectJobsToExecute(getDbSqlSession(), jobServiceConfiguration, "selectTimerJobsToExecute",
+                new ListQueryParameterObject(params, page.getFirstResult(), page.getMaxResults()));
     }
 
     @Override
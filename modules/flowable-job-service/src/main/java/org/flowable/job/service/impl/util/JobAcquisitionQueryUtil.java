@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.util;
+
+import java.util.List;
+
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
+import org.flowable.job.service.JobServiceConfiguration;
+
+public class JobAcquisitionQueryUtil {
+
+    /**
+     * Selects the jobs to acquire with the given statement, or with its SKIP LOCKED variant
+     * when {@link JobServiceConfiguration#isJobAcquisitionSkipLocked(String) enabled} for the database.
+     * On Oracle the SKIP LOCKED statement can't restrict the number of rows in SQL, so only the needed rows are fetched from its result.
+     */
+    @SuppressWarnings("rawtypes")
+    public static List selectJobsToExecute(DbSqlSession dbSqlSession, JobServiceConfiguration jobServiceConfiguration, String statement,
+            ListQueryParameterObject parameter) {
+
+        String databaseType = dbSqlSession.getDbSqlSessionFactory().getDatabaseType();
+        if (!jobServiceConfiguration.isJobAcquisitionSkipLocked(databaseType)) {
+            return dbSqlSession.selectList(statement, parameter);
+        }
+
+        String skipLockedStatement = statement + "SkipLocked";
+        if (AbstractEngineConfiguration.DATABASE_TYPE_ORACLE.equals(databaseType)) {
+            return dbSqlSession.selectListWithRowLimit(skipLockedStatement, parameter, parameter.getMaxResults());
+        }
+        return dbSqlSession.selectList(skipLockedStatement, parameter);
+    }
+
+}
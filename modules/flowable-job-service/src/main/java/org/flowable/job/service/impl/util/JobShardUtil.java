@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.util;
+
+import org.flowable.job.service.impl.persistence.entity.AbstractRuntimeJobEntity;
+
+public class JobShardUtil {
+
+    /**
+     * Determines the shard key of a job. All jobs of the same process or case instance get the same shard key,
+     * which means that the shard key stays the same when a job moves between the job tables (e.g. a timer job becoming an async job).
+     *
+     * @return the shard key in [0, shardCount), or null when sharding is disabled
+     */
+    public static Integer determineShardKey(AbstractRuntimeJobEntity job, int shardCount) {
+        if (shardCount <= 0) {
+            return null;
+        }
+
+        String shardSource = job.getProcessInstanceId();
+        if (shardSource == null) {
+            shardSource = job.getScopeId();
+        }
+        if (shardSource == null) {
+            shardSource = job.getCorrelationId();
+        }
+        if (shardSource == null) {
+            return null;
+        }
+
+        return Math.floorMod(shardSource.hashCode(), shardCount);
+    }
+
+}
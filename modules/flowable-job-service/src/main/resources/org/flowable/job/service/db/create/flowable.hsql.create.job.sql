@@ -16,6 +16,7 @@ create table ACT_RU_JOB (
     SCOPE_TYPE_ varchar(255),
     SCOPE_DEFINITION_ID_ varchar(255),
     CORRELATION_ID_ varchar(255),
+    SHARD_KEY_ integer,
     RETRIES_ integer,
     EXCEPTION_STACK_ID_ varchar(64),
     EXCEPTION_MSG_ varchar(4000),
@@ -47,6 +48,7 @@ create table ACT_RU_TIMER_JOB (
     SCOPE_TYPE_ varchar(255),
     SCOPE_DEFINITION_ID_ varchar(255),
     CORRELATION_ID_ varchar(255),
+    SHARD_KEY_ integer,
     RETRIES_ integer,
     EXCEPTION_STACK_ID_ varchar(64),
     EXCEPTION_MSG_ varchar(4000),
@@ -257,4 +259,6 @@ create index ACT_IDX_EJOB_SCOPE on ACT_RU_EXTERNAL_JOB(SCOPE_ID_, SCOPE_TYPE_);
 create index ACT_IDX_EJOB_SUB_SCOPE on ACT_RU_EXTERNAL_JOB(SUB_SCOPE_ID_, SCOPE_TYPE_);
 create index ACT_IDX_EJOB_SCOPE_DEF on ACT_RU_EXTERNAL_JOB(SCOPE_DEFINITION_ID_, SCOPE_TYPE_);
 
+create index ACT_IDX_HJOB_HANDLER on ACT_RU_HISTORY_JOB(HANDLER_CFG_, HANDLER_TYPE_);
+
 insert into ACT_GE_PROPERTY values ('job.schema.version', '6.8.1.0', 1);
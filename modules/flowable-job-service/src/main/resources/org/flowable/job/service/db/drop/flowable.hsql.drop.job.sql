@@ -10,6 +10,7 @@ drop index if exists ACT_IDX_SJOB_SCOPE_DEF;
 drop index if exists ACT_IDX_DJOB_SCOPE;
 drop index if exists ACT_IDX_DJOB_SUB_SCOPE;
 drop index if exists ACT_IDX_DJOB_SCOPE_DEF;
+drop index if exists ACT_IDX_HJOB_HANDLER;
 
 drop table if exists ACT_RU_JOB cascade;
 drop table if exists ACT_RU_TIMER_JOB cascade;
@@ -13,6 +13,7 @@ drop index ACT_IDX_DJOB_SCOPE_DEF on ACT_RU_DEADLETTER_JOB;
 drop index ACT_IDX_EJOB_SCOPE on ACT_RU_EXTERNAL_JOB;
 drop index ACT_IDX_EJOB_SUB_SCOPE on ACT_RU_EXTERNAL_JOB;
 drop index ACT_IDX_EJOB_SCOPE_DEF on ACT_RU_EXTERNAL_JOB;
+drop index ACT_IDX_HJOB_HANDLER on ACT_RU_HISTORY_JOB;
 
 alter table ACT_RU_JOB
     drop foreign key ACT_FK_JOB_EXCEPTION;
@@ -0,0 +1,4 @@
+alter table ACT_RU_JOB add column SHARD_KEY_ integer;
+alter table ACT_RU_TIMER_JOB add column SHARD_KEY_ integer;
+
+create index ACT_IDX_HJOB_HANDLER on ACT_RU_HISTORY_JOB(HANDLER_CFG_, HANDLER_TYPE_);
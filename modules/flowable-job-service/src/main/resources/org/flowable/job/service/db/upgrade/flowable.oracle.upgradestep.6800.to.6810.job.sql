@@ -0,0 +1,4 @@
+alter table ACT_RU_JOB add SHARD_KEY_ INTEGER;
+alter table ACT_RU_TIMER_JOB add SHARD_KEY_ INTEGER;
+
+create index ACT_IDX_HJOB_HANDLER on ACT_RU_HISTORY_JOB(HANDLER_CFG_, HANDLER_TYPE_);
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveJobAcquisitionControllerTest {
+
+    @Test
+    void startsWithConfiguredValues() {
+        AdaptiveJobAcquisitionController controller = new AdaptiveJobAcquisitionController(1, 512, 8, 100, 10000);
+
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(512);
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(10000);
+    }
+
+    @Test
+    void optimisticLockingExceptionShrinksPageSize() {
+        AdaptiveJobAcquisitionController controller = new AdaptiveJobAcquisitionController(16, 512, 8, 100, 10000);
+
+        controller.optimisticLockingException();
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(256);
+
+        for (int i = 0; i < 10; i++) {
+            controller.optimisticLockingException();
+        }
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(16);
+    }
+
+    @Test
+    void rejectedJobsShrinkPageSize() {
+        AdaptiveJobAcquisitionController controller = new AdaptiveJobAcquisitionController(1, 100, 8, 100, 10000);
+
+        controller.acquiredJobs(100, 100, 10);
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(50);
+    }
+
+    @Test
+    void fullPageGrowsPageSizeAndPollsImmediately() {
+        AdaptiveJobAcquisitionController controller = new AdaptiveJobAcquisitionController(1, 100, 8, 100, 10000);
+        controller.optimisticLockingException();
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(50);
+
+        controller.acquiredJobs(1000, 50, 0);
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(58);
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(100);
+
+        // Not enough remaining capacity to grow
+        controller.acquiredJobs(60, 58, 0);
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(58);
+
+        for (int i = 0; i < 10; i++) {
+            controller.acquiredJobs(1000, controller.getMaxJobsPerAcquisition(), 0);
+        }
+        assertThat(controller.getMaxJobsPerAcquisition()).isEqualTo(100);
+    }
+
+    @Test
+    void idlePollingBacksOff() {
+        AdaptiveJobAcquisitionController controller = new AdaptiveJobAcquisitionController(1, 100, 8, 100, 10000);
+        controller.acquiredJobs(1000, 100, 0);
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(100);
+
+        controller.acquiredJobs(1000, 0, 0);
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(200);
+        controller.acquiredJobs(1000, 0, 0);
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(400);
+
+        controller.acquiredJobs(1000, 10, 0);
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(200);
+
+        for (int i = 0; i < 10; i++) {
+            controller.acquiredJobs(1000, 0, 0);
+        }
+        assertThat(controller.getAcquireWaitTimeInMillis()).isEqualTo(10000);
+    }
+}
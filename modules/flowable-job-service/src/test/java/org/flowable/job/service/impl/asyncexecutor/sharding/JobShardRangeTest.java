@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+class JobShardRangeTest {
+
+    @Test
+    void fromGroupsMergesAdjacentGroups() {
+        assertThat(JobShardRange.fromGroups(Arrays.asList(0, 1, 3), 4, 64))
+                .containsExactly(new JobShardRange(0, 31), new JobShardRange(48, 63));
+    }
+
+    @Test
+    void fromGroupsWithUnevenGroups() {
+        assertThat(JobShardRange.fromGroups(Arrays.asList(0, 1, 2), 3, 10))
+                .containsExactly(new JobShardRange(0, 9));
+        assertThat(JobShardRange.fromGroups(Collections.singletonList(1), 3, 10))
+                .containsExactly(new JobShardRange(3, 5));
+    }
+
+    @Test
+    void fromGroupsWithMoreGroupsThanShards() {
+        assertThat(JobShardRange.fromGroups(Arrays.asList(0, 1, 2, 3), 4, 2))
+                .containsExactly(new JobShardRange(0, 1));
+        assertThat(JobShardRange.fromGroups(Collections.singletonList(0), 4, 2)).isEmpty();
+    }
+
+    @Test
+    void includesUnsharded() {
+        assertThat(JobShardRange.includesUnsharded(Arrays.asList(new JobShardRange(0, 3), new JobShardRange(8, 9)))).isTrue();
+        assertThat(JobShardRange.includesUnsharded(Collections.singletonList(new JobShardRange(4, 7)))).isFalse();
+        assertThat(JobShardRange.includesUnsharded(null)).isFalse();
+    }
+
+    @Test
+    void invalidRange() {
+        assertThatThrownBy(() -> new JobShardRange(5, 4))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+        assertThatThrownBy(() -> new JobShardRange(-1, 4))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HistoryEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAndReadsAcrossSegments() {
+        try (HistoryEventLog historyEventLog = new HistoryEventLog(directory, 64, 0, 0)) {
+            for (int i = 0; i < 10; i++) {
+                historyEventLog.append(List.of(bytes("event " + i)));
+            }
+
+            assertThat(historyEventLog.getSegmentIds()).hasSizeGreaterThan(1);
+            assertThat(readAll(historyEventLog, HistoryEventLogPosition.START)).containsExactly(
+                    "event 0", "event 1", "event 2", "event 3", "event 4", "event 5", "event 6", "event 7", "event 8", "event 9");
+        }
+    }
+
+    @Test
+    void readsFromPosition() {
+        try (HistoryEventLog historyEventLog = new HistoryEventLog(directory, 64, 0, 0)) {
+            historyEventLog.append(Arrays.asList(bytes("first"), bytes("second"), bytes("third")));
+
+            List<HistoryEventLogRecord> records = historyEventLog.read(HistoryEventLogPosition.START, 2);
+            assertThat(records).hasSize(2);
+
+            HistoryEventLogPosition position = HistoryEventLogPosition.parse(records.get(1).getNextPosition().toString());
+            assertThat(readAll(historyEventLog, position)).containsExactly("third");
+            assertThat(historyEventLog.read(historyEventLog.getEndPosition(), 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void truncatesIncompleteRecordOnOpen() throws IOException {
+        HistoryEventLogPosition endPosition;
+        try (HistoryEventLog historyEventLog = new HistoryEventLog(directory)) {
+            endPosition = historyEventLog.append(List.of(bytes("complete")));
+        }
+
+        // A record of which only the header and part of the payload were written
+        Path segmentFile = directory.resolve(String.format("%020d.log", endPosition.getSegmentId()));
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(10).putInt(100).putInt(42).put((byte) 1).put((byte) 2).flip());
+        }
+
+        try (HistoryEventLog historyEventLog = new HistoryEventLog(directory)) {
+            assertThat(historyEventLog.getEndPosition()).isEqualTo(endPosition);
+            assertThat(readAll(historyEventLog, HistoryEventLogPosition.START)).containsExactly("complete");
+
+            historyEventLog.append(List.of(bytes("after restart")));
+            assertThat(readAll(historyEventLog, HistoryEventLogPosition.START)).containsExactly("complete", "after restart");
+        }
+    }
+
+    @Test
+    void deletesReplayedSegments() {
+        try (HistoryEventLog historyEventLog = new HistoryEventLog(directory, 64, 0, 0)) {
+            for (int i = 0; i < 10; i++) {
+                historyEventLog.append(List.of(bytes("event " + i)));
+            }
+
+            List<HistoryEventLogRecord> records = historyEventLog.read(HistoryEventLogPosition.START, 5);
+            historyEventLog.deleteSegmentsBefore(records.get(4).getNextPosition());
+
+            assertThat(historyEventLog.getSegmentIds().get(0)).isEqualTo(records.get(4).getNextPosition().getSegmentId());
+            assertThat(readAll(historyEventLog, HistoryEventLogPosition.START)).contains("event 5", "event 9");
+        }
+    }
+
+    @Test
+    void syncsIdleLogInTheBackground() throws InterruptedException {
+        try (HistoryEventLog historyEventLog = new HistoryEventLog(directory, 1024, Long.MAX_VALUE, 50)) {
+            historyEventLog.append(List.of(bytes("event")));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (historyEventLog.unsyncedBytes > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(historyEventLog.unsyncedBytes).isZero();
+        }
+    }
+
+    protected List<String> readAll(HistoryEventLog historyEventLog, HistoryEventLogPosition from) {
+        List<String> payloads = new ArrayList<>();
+        for (HistoryEventLogRecord record : historyEventLog.read(from, Integer.MAX_VALUE)) {
+            payloads.add(new String(record.getPayload(), StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+
+    protected byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
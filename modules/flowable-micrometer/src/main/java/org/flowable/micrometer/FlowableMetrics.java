@@ -0,0 +1,150 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.api.Engine;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.common.engine.api.engine.EngineLifecycleListener;
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
+import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AbstractAsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Registers the Micrometer instrumentation of an engine:
+ * <ul>
+ * <li>the execution time of every command, per command class ({@value MetricsCommandInterceptor#METRIC_NAME})</li>
+ * <li>the duration and the number of written entities of every flush of the database session
+ * ({@value MetricsDbSqlSessionFlushListener#FLUSH_METRIC_NAME}, {@value MetricsDbSqlSessionFlushListener#FLUSH_ENTITIES_METRIC_NAME})</li>
+ * <li>the queue of the async executors ({@value #QUEUE_SIZE_METRIC_NAME}, {@value #QUEUE_REMAINING_CAPACITY_METRIC_NAME})</li>
+ * <li>the acquisition cycles of the async executors, see {@link MetricsAcquireAsyncJobsDueLifecycleListener}</li>
+ * <li>the execution time and the failures of jobs, per job handler type
+ * ({@value MetricsExecuteAsyncRunnableFactory#METRIC_NAME}, {@value MetricsAsyncRunnableExecutionExceptionHandler#METRIC_NAME})</li>
+ * </ul>
+ * All meters are tagged with the scope type of the engine ({@code engine}), and the ones of the async executors with the executor
+ * ({@code executor}, either {@code async} or {@code asyncHistory}).
+ * <p>
+ * {@link #configure(AbstractEngineConfiguration)} needs to be called before the engine is built.
+ * The command interceptor is added to the custom pre command interceptors, everything else is registered once the engine is built,
+ * before the async executors are started.
+ */
+public class FlowableMetrics {
+
+    public static final String QUEUE_SIZE_METRIC_NAME = "flowable.async.executor.queue.size";
+    public static final String QUEUE_REMAINING_CAPACITY_METRIC_NAME = "flowable.async.executor.queue.remaining.capacity";
+
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+
+    public FlowableMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, Tags.empty());
+    }
+
+    public FlowableMetrics(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = Tags.of(tags);
+    }
+
+    public void configure(AbstractEngineConfiguration engineConfiguration) {
+        Tags engineTags = tags.and("engine", engineConfiguration.getEngineScopeType());
+
+        List<CommandInterceptor> customPreCommandInterceptors = engineConfiguration.getCustomPreCommandInterceptors();
+        if (customPreCommandInterceptors == null) {
+            customPreCommandInterceptors = new ArrayList<>();
+            engineConfiguration.setCustomPreCommandInterceptors(customPreCommandInterceptors);
+        }
+        customPreCommandInterceptors.add(new MetricsCommandInterceptor(meterRegistry, engineTags));
+
+        engineConfiguration.addEngineLifecycleListener(new EngineLifecycleListener() {
+
+            @Override
+            public void onEngineBuilt(Engine engine) {
+                bindEngine(engineConfiguration, engineTags);
+            }
+
+            @Override
+            public void onEngineClosed(Engine engine) {
+                // The meters stay registered, the registry is owned by the application
+            }
+        });
+    }
+
+    protected void bindEngine(AbstractEngineConfiguration engineConfiguration, Tags engineTags) {
+        if (engineConfiguration.getDbSqlSessionFactory() != null) {
+            engineConfiguration.getDbSqlSessionFactory().addFlushListener(new MetricsDbSqlSessionFlushListener(meterRegistry, engineTags));
+        }
+
+        JobServiceConfiguration jobServiceConfiguration = (JobServiceConfiguration) engineConfiguration.getServiceConfigurations()
+                .get(EngineConfigurationConstants.KEY_JOB_SERVICE_CONFIG);
+        if (jobServiceConfiguration == null) {
+            return;
+        }
+
+        List<AsyncRunnableExecutionExceptionHandler> exceptionHandlers = jobServiceConfiguration.getAsyncRunnableExecutionExceptionHandlers();
+        if (exceptionHandlers == null) {
+            exceptionHandlers = new ArrayList<>();
+            jobServiceConfiguration.setAsyncRunnableExecutionExceptionHandlers(exceptionHandlers);
+        }
+        exceptionHandlers.add(0, new MetricsAsyncRunnableExecutionExceptionHandler(meterRegistry, engineTags));
+
+        bindAsyncExecutor(jobServiceConfiguration.getAsyncExecutor(), engineTags.and("executor", "async"));
+        bindAsyncExecutor(jobServiceConfiguration.getAsyncHistoryExecutor(), engineTags.and("executor", "asyncHistory"));
+    }
+
+    protected void bindAsyncExecutor(AsyncExecutor asyncExecutor, Tags executorTags) {
+        if (asyncExecutor == null) {
+            return;
+        }
+
+        Gauge.builder(QUEUE_REMAINING_CAPACITY_METRIC_NAME, asyncExecutor, executor -> {
+                    AsyncTaskExecutor taskExecutor = executor.getTaskExecutor();
+                    return executor.isActive() && taskExecutor != null ? taskExecutor.getRemainingCapacity() : Double.NaN;
+                })
+                .description("The number of jobs that can still be queued by the async executor")
+                .tags(executorTags)
+                .register(meterRegistry);
+
+        // The queue size is only known for the default task executor, which is created when the async executor is started
+        Gauge.builder(QUEUE_SIZE_METRIC_NAME, asyncExecutor, executor -> {
+                    AsyncTaskExecutor taskExecutor = executor.getTaskExecutor();
+                    if (executor.isActive() && taskExecutor instanceof DefaultAsyncTaskExecutor) {
+                        return ((DefaultAsyncTaskExecutor) taskExecutor).getQueueSize() - taskExecutor.getRemainingCapacity();
+                    }
+                    return Double.NaN;
+                })
+                .description("The number of jobs waiting in the queue of the async executor")
+                .tags(executorTags)
+                .register(meterRegistry);
+
+        if (asyncExecutor instanceof AbstractAsyncExecutor) {
+            AbstractAsyncExecutor abstractAsyncExecutor = (AbstractAsyncExecutor) asyncExecutor;
+            abstractAsyncExecutor.setAsyncJobsDueLifecycleListener(new MetricsAcquireAsyncJobsDueLifecycleListener(meterRegistry, executorTags,
+                    abstractAsyncExecutor.getAsyncJobsDueLifecycleListener()));
+            abstractAsyncExecutor.setExecuteAsyncRunnableFactory(new MetricsExecuteAsyncRunnableFactory(meterRegistry, executorTags,
+                    abstractAsyncExecutor, abstractAsyncExecutor.getExecuteAsyncRunnableFactory()));
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.job.service.impl.asyncexecutor.AcquireAsyncJobsDueLifecycleListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the duration of the acquisition cycles of an async executor, and the number of acquired and rejected jobs.
+ * The calls are passed on to the listener that was configured on the async executor before, if any.
+ * <p>
+ * An async executor has a single acquire thread, so one instance is used per async executor.
+ */
+public class MetricsAcquireAsyncJobsDueLifecycleListener implements AcquireAsyncJobsDueLifecycleListener {
+
+    public static final String ACQUISITION_METRIC_NAME = "flowable.async.executor.acquisition";
+    public static final String ACQUIRED_JOBS_METRIC_NAME = "flowable.async.executor.jobs.acquired";
+    public static final String REJECTED_JOBS_METRIC_NAME = "flowable.async.executor.jobs.rejected";
+    public static final String OPTIMISTIC_LOCKING_METRIC_NAME = "flowable.async.executor.acquisition.optimistic.locking";
+
+    protected final AcquireAsyncJobsDueLifecycleListener delegate;
+    protected final Timer acquisitionTimer;
+    protected final Counter acquiredJobsCounter;
+    protected final Counter rejectedJobsCounter;
+    protected final Counter optimisticLockingCounter;
+
+    protected long acquisitionStart;
+
+    public MetricsAcquireAsyncJobsDueLifecycleListener(MeterRegistry meterRegistry, Tags tags, AcquireAsyncJobsDueLifecycleListener delegate) {
+        this.delegate = delegate;
+        this.acquisitionTimer = Timer.builder(ACQUISITION_METRIC_NAME)
+                .description("The duration of an acquisition cycle of the async executor")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.acquiredJobsCounter = Counter.builder(ACQUIRED_JOBS_METRIC_NAME)
+                .description("The number of jobs acquired by the async executor")
+                .tags(tags)
+                .register(meterRegistry);
+        this.rejectedJobsCounter = Counter.builder(REJECTED_JOBS_METRIC_NAME)
+                .description("The number of acquired jobs that were rejected because the queue of the async executor was full")
+                .tags(tags)
+                .register(meterRegistry);
+        this.optimisticLockingCounter = Counter.builder(OPTIMISTIC_LOCKING_METRIC_NAME)
+                .description("The number of acquisition cycles that failed because another node acquired the same jobs")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void startAcquiring(String engineName, int remainingCapacity, int maxAsyncJobsDuePerAcquisition) {
+        acquisitionStart = System.nanoTime();
+        if (delegate != null) {
+            delegate.startAcquiring(engineName, remainingCapacity, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void stopAcquiring(String engineName) {
+        acquisitionTimer.record(System.nanoTime() - acquisitionStart, TimeUnit.NANOSECONDS);
+        if (delegate != null) {
+            delegate.stopAcquiring(engineName);
+        }
+    }
+
+    @Override
+    public void acquiredJobs(String engineName, int jobsAcquired, int maxAsyncJobsDuePerAcquisition) {
+        acquiredJobsCounter.increment(jobsAcquired);
+        if (delegate != null) {
+            delegate.acquiredJobs(engineName, jobsAcquired, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void rejectedJobs(String engineName, int jobsRejected, int jobsAcquired, int maxAsyncJobsDuePerAcquisition) {
+        rejectedJobsCounter.increment(jobsRejected);
+        if (delegate != null) {
+            delegate.rejectedJobs(engineName, jobsRejected, jobsAcquired, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void optimistLockingException(String engineName, int maxAsyncJobsDuePerAcquisition) {
+        optimisticLockingCounter.increment();
+        if (delegate != null) {
+            delegate.optimistLockingException(engineName, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void startWaiting(String engineName, long millisToWait) {
+        if (delegate != null) {
+            delegate.startWaiting(engineName, millisToWait);
+        }
+    }
+
+}
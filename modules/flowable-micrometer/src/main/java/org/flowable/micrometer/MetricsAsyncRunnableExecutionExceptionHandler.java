@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Counts the failed job executions per job handler type. It never handles the exception itself,
+ * so it needs to be the first of the exception handlers for the other handlers to still be called.
+ */
+public class MetricsAsyncRunnableExecutionExceptionHandler implements AsyncRunnableExecutionExceptionHandler {
+
+    public static final String METRIC_NAME = "flowable.job.failures";
+
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+
+    public MetricsAsyncRunnableExecutionExceptionHandler(MeterRegistry meterRegistry, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+    }
+
+    @Override
+    public boolean handleException(JobServiceConfiguration jobServiceConfiguration, JobInfo job, Throwable exception) {
+        Counter.builder(METRIC_NAME)
+                .description("The number of failed job executions")
+                .tags(tags)
+                .tag("handlerType", job.getJobHandlerType() != null ? job.getJobHandlerType() : "unknown")
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        return false;
+    }
+
+}
@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.interceptor.AbstractCommandInterceptor;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A command interceptor that records the execution time of every command in a {@link Timer} per command class.
+ * Failed executions are recorded in a separate timer, tagged with the class of the exception.
+ * <p>
+ * Meant to be added as one of the custom pre command interceptors, so that the time of the transaction
+ * and of the flush of the command context is included.
+ */
+public class MetricsCommandInterceptor extends AbstractCommandInterceptor {
+
+    public static final String METRIC_NAME = "flowable.command";
+
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+    protected final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+    public MetricsCommandInterceptor(MeterRegistry meterRegistry, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+    }
+
+    @Override
+    public <T> T execute(CommandConfig config, Command<T> command, CommandExecutor commandExecutor) {
+        long start = System.nanoTime();
+        try {
+            T result = next.execute(config, command, commandExecutor);
+            getTimer(command.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+
+        } catch (RuntimeException | Error e) {
+            Timer.builder(METRIC_NAME)
+                    .tags(tags)
+                    .tag("command", getCommandName(command.getClass()))
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    protected Timer getTimer(Class<?> commandClass) {
+        return timers.computeIfAbsent(commandClass, key -> Timer.builder(METRIC_NAME)
+                .description("The execution time of Flowable commands")
+                .tags(tags)
+                .tag("command", getCommandName(key))
+                .tag("exception", "none")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    protected String getCommandName(Class<?> commandClass) {
+        String name = commandClass.getName();
+        // Every lambda gets its own generated class, they are grouped under the class that declares them
+        int lambdaIndex = name.indexOf("$$Lambda");
+        return lambdaIndex > 0 ? name.substring(0, lambdaIndex) : name;
+    }
+
+}
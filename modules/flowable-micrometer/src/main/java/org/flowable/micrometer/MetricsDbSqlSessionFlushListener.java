@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.db.DbSqlSessionFlushListener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the duration of every flush of a DbSqlSession, and the number of inserted, updated and deleted entities per flush.
+ */
+public class MetricsDbSqlSessionFlushListener implements DbSqlSessionFlushListener {
+
+    public static final String FLUSH_METRIC_NAME = "flowable.db.flush";
+    public static final String FLUSH_ENTITIES_METRIC_NAME = "flowable.db.flush.entities";
+
+    protected final Timer flushTimer;
+    protected final DistributionSummary insertSummary;
+    protected final DistributionSummary updateSummary;
+    protected final DistributionSummary deleteSummary;
+
+    public MetricsDbSqlSessionFlushListener(MeterRegistry meterRegistry, Tags tags) {
+        this.flushTimer = Timer.builder(FLUSH_METRIC_NAME)
+                .description("The time it takes to flush the changes of a command to the database")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.insertSummary = createEntitiesSummary(meterRegistry, tags, "insert");
+        this.updateSummary = createEntitiesSummary(meterRegistry, tags, "update");
+        this.deleteSummary = createEntitiesSummary(meterRegistry, tags, "delete");
+    }
+
+    protected DistributionSummary createEntitiesSummary(MeterRegistry meterRegistry, Tags tags, String operation) {
+        return DistributionSummary.builder(FLUSH_ENTITIES_METRIC_NAME)
+                .description("The number of entities written by a flush")
+                .baseUnit("entities")
+                .tags(tags)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void flushed(int insertCount, int updateCount, int deleteCount, long durationNanos) {
+        flushTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        insertSummary.record(insertCount);
+        updateSummary.record(updateCount);
+        deleteSummary.record(deleteCount);
+    }
+
+}
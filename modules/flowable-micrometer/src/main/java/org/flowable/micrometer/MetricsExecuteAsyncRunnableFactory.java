@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AbstractAsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the execution time of the jobs executed by an async executor, in a {@link Timer} per job handler type.
+ * The runnables are created by the factory that was configured on the async executor before,
+ * or as {@link ExecuteAsyncRunnable} in the same way the async executor does when no factory is configured.
+ */
+public class MetricsExecuteAsyncRunnableFactory implements ExecuteAsyncRunnableFactory {
+
+    public static final String METRIC_NAME = "flowable.job.execution";
+
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+    protected final AbstractAsyncExecutor asyncExecutor;
+    protected final ExecuteAsyncRunnableFactory delegate;
+    protected final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public MetricsExecuteAsyncRunnableFactory(MeterRegistry meterRegistry, Tags tags, AbstractAsyncExecutor asyncExecutor,
+            ExecuteAsyncRunnableFactory delegate) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+        this.asyncExecutor = asyncExecutor;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Runnable createExecuteAsyncRunnable(JobInfo job, JobServiceConfiguration jobServiceConfiguration) {
+        Runnable runnable;
+        if (delegate != null) {
+            runnable = delegate.createExecuteAsyncRunnable(job, jobServiceConfiguration);
+        } else {
+            runnable = new ExecuteAsyncRunnable(job, jobServiceConfiguration, asyncExecutor.getJobEntityManager(),
+                    asyncExecutor.getAsyncRunnableExecutionExceptionHandler());
+        }
+
+        Timer timer = getTimer(job.getJobHandlerType());
+        return () -> timer.record(runnable);
+    }
+
+    protected Timer getTimer(String jobHandlerType) {
+        String handlerType = jobHandlerType != null ? jobHandlerType : "unknown";
+        return timers.computeIfAbsent(handlerType, key -> Timer.builder(METRIC_NAME)
+                .description("The execution time of jobs executed by the async executor")
+                .tags(tags)
+                .tag("handlerType", key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+}
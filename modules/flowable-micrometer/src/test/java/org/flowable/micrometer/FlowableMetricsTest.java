@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FlowableMetricsTest {
+
+    protected static MeterRegistry meterRegistry;
+    protected static ProcessEngine processEngine;
+
+    @BeforeAll
+    static void createProcessEngine() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        StandaloneInMemProcessEngineConfiguration engineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        engineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-metrics;DB_CLOSE_DELAY=1000");
+        engineConfiguration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+        engineConfiguration.setEngineName("metrics");
+        engineConfiguration.setAsyncExecutorActivate(true);
+        engineConfiguration.getAsyncExecutorConfiguration().setDefaultAsyncJobAcquireWaitTime(Duration.ofMillis(100));
+        engineConfiguration.setAsyncExecutorNumberOfRetries(1);
+        new FlowableMetrics(meterRegistry).configure(engineConfiguration);
+        processEngine = engineConfiguration.buildProcessEngine();
+
+        processEngine.getRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/micrometer/FlowableMetricsTest.bpmn20.xml")
+                .deploy();
+    }
+
+    @AfterAll
+    static void closeProcessEngine() {
+        processEngine.close();
+    }
+
+    @Test
+    void commandsAndFlushesAreRecorded() {
+        processEngine.getRuntimeService().startProcessInstanceByKey("asyncProcess");
+
+        Timer startTimer = meterRegistry.find(MetricsCommandInterceptor.METRIC_NAME)
+                .tags("engine", "bpmn", "command", "org.flowable.engine.impl.cmd.StartProcessInstanceCmd", "exception", "none")
+                .timer();
+        assertThat(startTimer).isNotNull();
+        assertThat(startTimer.count()).isPositive();
+
+        assertThat(meterRegistry.get(MetricsDbSqlSessionFlushListener.FLUSH_METRIC_NAME).timer().count()).isPositive();
+        assertThat(meterRegistry.get(MetricsDbSqlSessionFlushListener.FLUSH_ENTITIES_METRIC_NAME).tag("operation", "insert")
+                .summary().totalAmount()).isPositive();
+    }
+
+    @Test
+    void failedCommandsAreRecordedWithTheException() {
+        try {
+            processEngine.getRuntimeService().startProcessInstanceByKey("unknown");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        assertThat(meterRegistry.get(MetricsCommandInterceptor.METRIC_NAME)
+                .tags("command", "org.flowable.engine.impl.cmd.StartProcessInstanceCmd", "exception", "FlowableObjectNotFoundException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void jobExecutionsAndFailuresAreRecorded() throws InterruptedException {
+        processEngine.getRuntimeService().startProcessInstanceByKey("asyncProcess");
+        processEngine.getRuntimeService().startProcessInstanceByKey("failingProcess");
+
+        // The execution time is recorded once the job is done, which can be right after the job is deleted
+        waitFor(() -> processEngine.getManagementService().createJobQuery().count() == 0
+                && meterRegistry.find(MetricsExecuteAsyncRunnableFactory.METRIC_NAME).timers().stream().mapToLong(Timer::count).sum() == 2);
+
+        Timer jobTimer = meterRegistry.find(MetricsExecuteAsyncRunnableFactory.METRIC_NAME)
+                .tags("engine", "bpmn", "executor", "async", "handlerType", "async-continuation")
+                .timer();
+        assertThat(jobTimer).isNotNull();
+        assertThat(jobTimer.count()).isEqualTo(2);
+
+        Counter failureCounter = meterRegistry.find(MetricsAsyncRunnableExecutionExceptionHandler.METRIC_NAME)
+                .tags("handlerType", "async-continuation")
+                .counter();
+        assertThat(failureCounter).isNotNull();
+        assertThat(failureCounter.count()).isEqualTo(1);
+
+        // The failed job is still handled by the default exception handler
+        assertThat(processEngine.getManagementService().createDeadLetterJobQuery().count()).isEqualTo(1);
+
+        assertThat(meterRegistry.get(MetricsAcquireAsyncJobsDueLifecycleListener.ACQUISITION_METRIC_NAME).timer().count()).isPositive();
+        // Jobs created while the async executor is running are handed over directly, they only go through the acquisition when they are due later
+        assertThat(meterRegistry.find(MetricsAcquireAsyncJobsDueLifecycleListener.ACQUIRED_JOBS_METRIC_NAME).counter()).isNotNull();
+        assertThat(meterRegistry.get(FlowableMetrics.QUEUE_REMAINING_CAPACITY_METRIC_NAME).tag("executor", "async").gauge().value()).isPositive();
+        assertThat(meterRegistry.get(FlowableMetrics.QUEUE_SIZE_METRIC_NAME).tag("executor", "async").gauge().value()).isZero();
+    }
+
+    protected void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (System.currentTimeMillis() < end && !condition.getAsBoolean()) {
+            Thread.sleep(100);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+}
@@ -64,6 +64,7 @@ public final class RestUrls {
     public static final String SEGMENT_FORM_DATA = "form-data";
     public static final String SEGMENT_TABLES = "tables";
     public static final String SEGMENT_ENGINE_PROPERTIES = "engine-properties";
+    public static final String SEGMENT_SQL_STATEMENT_PROFILES = "sql-statement-profiles";
     public static final String SEGMENT_COLUMNS = "columns";
     public static final String SEGMENT_DATA = "data";
     public static final String SEGMENT_JOBS = "jobs";
@@ -503,6 +504,11 @@ public final class RestUrls {
      */
     public static final String[] URL_ENGINE_PROPERTIES = { SEGMENT_MANAGEMENT_RESOURCES, SEGMENT_ENGINE_PROPERTIES };
 
+    /**
+     * URL template for the collection of SQL statement profiles: <i>management/sql-statement-profiles</i>
+     */
+    public static final String[] URL_SQL_STATEMENT_PROFILES = { SEGMENT_MANAGEMENT_RESOURCES, SEGMENT_SQL_STATEMENT_PROFILES };
+
     /**
      * URL template for form data: <i>form/form-data</i>
      */
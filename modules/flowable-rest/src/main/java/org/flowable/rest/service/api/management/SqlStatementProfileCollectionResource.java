@@ -0,0 +1,81 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.rest.service.api.management;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.management.SqlStatementProfile;
+import org.flowable.engine.ManagementService;
+import org.flowable.rest.service.api.BpmnRestApiInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.Authorization;
+
+@RestController
+@Api(tags = { "Engine" }, description = "Manage Engine", authorizations = { @Authorization(value = "basicAuth") })
+public class SqlStatementProfileCollectionResource {
+
+    @Autowired
+    protected ManagementService managementService;
+
+    @Autowired(required=false)
+    protected BpmnRestApiInterceptor restApiInterceptor;
+
+    @ApiOperation(value = "List the SQL statements with the highest total execution time", tags = { "Engine" },
+            notes = "Only the commands sampled by the SQL statement profiler are included. The list is empty when no profiler is configured.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Indicates the statement profiles are returned."),
+            @ApiResponse(code = 400, message = "Indicates the size is not a positive number.")
+    })
+    @GetMapping(value = "/management/sql-statement-profiles", produces = "application/json")
+    public List<SqlStatementProfile> getSqlStatementProfiles(@ApiParam(name = "size", value = "The maximum number of returned statement profiles, 20 by default.")
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size) {
+
+        if (restApiInterceptor != null) {
+            restApiInterceptor.accessManagementInfo();
+        }
+
+        if (size <= 0) {
+            throw new FlowableIllegalArgumentException("size must be positive");
+        }
+
+        return managementService.getSqlStatementProfiles(size);
+    }
+
+    @ApiOperation(value = "Reset the recorded SQL statement profiles", tags = { "Engine" })
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Indicates the statement profiles were reset. Response-body is intentionally empty.")
+    })
+    @DeleteMapping(value = "/management/sql-statement-profiles")
+    public void resetSqlStatementProfiles(HttpServletResponse response) {
+        if (restApiInterceptor != null) {
+            restApiInterceptor.accessManagementInfo();
+        }
+
+        managementService.resetSqlStatementProfiles();
+        response.setStatus(HttpStatus.NO_CONTENT.value());
+    }
+}
@@ -0,0 +1,28 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.rest.conf.engine;
+
+import org.flowable.common.engine.impl.db.profiler.SqlStatementProfiler;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class EngineConfigurationWithSqlStatementProfiler extends EngineConfiguration {
+
+    @Override
+    protected void configureProcessEngine(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        super.configureProcessEngine(processEngineConfiguration);
+        processEngineConfiguration.setSqlStatementProfiler(new SqlStatementProfiler().setSampleRate(1.0));
+    }
+}
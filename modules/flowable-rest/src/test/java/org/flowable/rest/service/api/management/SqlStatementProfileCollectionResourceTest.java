@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.rest.service.api.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.flowable.engine.impl.cmd.StartProcessInstanceCmd;
+import org.flowable.engine.test.Deployment;
+import org.flowable.rest.conf.ApplicationWithSqlStatementProfiler;
+import org.flowable.rest.service.BaseSpringRestTestCase;
+import org.flowable.rest.service.api.RestUrls;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class SqlStatementProfileCollectionResourceTest extends BaseSpringRestTestCase {
+
+    @Override
+    protected Class<?> getConfigurationClass() {
+        return ApplicationWithSqlStatementProfiler.class;
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/rest/service/api/oneTaskProcess.bpmn20.xml" })
+    public void testGetProfiles() throws Exception {
+        managementService.resetSqlStatementProfiles();
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        JsonNode responseNode = getProfiles("?size=1000");
+        assertThat(responseNode.isArray()).isTrue();
+
+        List<JsonNode> startProfiles = new ArrayList<>();
+        for (JsonNode profileNode : responseNode) {
+            if (StartProcessInstanceCmd.class.getName().equals(profileNode.path("commandName").asText())) {
+                startProfiles.add(profileNode);
+            }
+        }
+        assertThat(startProfiles).isNotEmpty();
+        assertThat(startProfiles).extracting(profileNode -> profileNode.path("definitionKey").asText()).containsOnly("oneTaskProcess");
+        assertThat(startProfiles).extracting(profileNode -> profileNode.path("commandCount").asLong()).containsOnly(2L);
+        assertThat(startProfiles).extracting(profileNode -> profileNode.path("statementId").asText())
+                .anyMatch(statementId -> statementId.endsWith("InsertExecution"));
+        for (JsonNode profileNode : startProfiles) {
+            assertThat(profileNode.path("statementCount").asLong()).isPositive();
+            assertThat(profileNode.path("totalTimeNanos").asLong()).isPositive();
+            assertThat(profileNode.path("maxTimeNanos").asLong())
+                    .isPositive()
+                    .isLessThanOrEqualTo(profileNode.path("totalTimeNanos").asLong());
+            assertThat(profileNode.path("averageTimeNanos").asLong()).isPositive();
+        }
+
+        List<Long> totalTimes = new ArrayList<>();
+        for (JsonNode profileNode : responseNode) {
+            totalTimes.add(profileNode.path("totalTimeNanos").asLong());
+        }
+        assertThat(totalTimes).isSortedAccordingTo((first, second) -> Long.compare(second, first));
+
+        assertThat(getProfiles("?size=1")).hasSize(1);
+    }
+
+    @Test
+    public void testGetProfilesWithInvalidSize() throws Exception {
+        closeResponse(executeRequest(new HttpGet(SERVER_URL_PREFIX
+                + RestUrls.createRelativeResourceUrl(RestUrls.URL_SQL_STATEMENT_PROFILES) + "?size=0"), HttpStatus.SC_BAD_REQUEST));
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/rest/service/api/oneTaskProcess.bpmn20.xml" })
+    public void testResetProfiles() throws Exception {
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        assertThat(getProfiles("")).isNotEmpty();
+
+        closeResponse(executeRequest(new HttpDelete(SERVER_URL_PREFIX
+                + RestUrls.createRelativeResourceUrl(RestUrls.URL_SQL_STATEMENT_PROFILES)), HttpStatus.SC_NO_CONTENT));
+
+        JsonNode responseNode = getProfiles("");
+        assertThat(responseNode.isArray()).isTrue();
+        assertThat(responseNode).isEmpty();
+    }
+
+    protected JsonNode getProfiles(String queryString) throws Exception {
+        CloseableHttpResponse response = executeRequest(new HttpGet(SERVER_URL_PREFIX
+                + RestUrls.createRelativeResourceUrl(RestUrls.URL_SQL_STATEMENT_PROFILES) + queryString), HttpStatus.SC_OK);
+        JsonNode responseNode = objectMapper.readTree(response.getEntity().getContent());
+        closeResponse(response);
+        return responseNode;
+    }
+}
@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.spring.boot.actuate.metrics;
+
+import org.flowable.app.spring.SpringAppEngineConfiguration;
+import org.flowable.cmmn.spring.SpringCmmnEngineConfiguration;
+import org.flowable.micrometer.FlowableMetrics;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.flowable.spring.boot.ProcessEngineAutoConfiguration;
+import org.flowable.spring.boot.app.AppEngineAutoConfiguration;
+import org.flowable.spring.boot.cmmn.CmmnEngineAutoConfiguration;
+import org.flowable.spring.boot.condition.ConditionalOnAppEngine;
+import org.flowable.spring.boot.condition.ConditionalOnCmmnEngine;
+import org.flowable.spring.boot.condition.ConditionalOnProcessEngine;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the Micrometer metrics of the Flowable engines with the {@link MeterRegistry} of the actuator.
+ * The metrics can be disabled with {@code flowable.metrics.enabled=false}.
+ *
+ * @see FlowableMetrics
+ */
+@AutoConfiguration(
+        after = {
+                MetricsAutoConfiguration.class,
+                CompositeMeterRegistryAutoConfiguration.class
+        },
+        before = {
+                AppEngineAutoConfiguration.class,
+                ProcessEngineAutoConfiguration.class,
+                CmmnEngineAutoConfiguration.class
+        }
+)
+@ConditionalOnClass({
+        MeterRegistry.class,
+        FlowableMetrics.class
+})
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "flowable.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlowableMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FlowableMetrics flowableMetrics(MeterRegistry meterRegistry) {
+        return new FlowableMetrics(meterRegistry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProcessEngine
+    public static class ProcessEngineMetricsConfiguration {
+
+        @Bean
+        public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> processEngineMetricsConfigurer(FlowableMetrics flowableMetrics) {
+            return flowableMetrics::configure;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnCmmnEngine
+    public static class CmmnEngineMetricsConfiguration {
+
+        @Bean
+        public EngineConfigurationConfigurer<SpringCmmnEngineConfiguration> cmmnEngineMetricsConfigurer(FlowableMetrics flowableMetrics) {
+            return flowableMetrics::configure;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnAppEngine
+    public static class AppEngineMetricsConfiguration {
+
+        @Bean
+        public EngineConfigurationConfigurer<SpringAppEngineConfiguration> appEngineMetricsConfigurer(FlowableMetrics flowableMetrics) {
+            return flowableMetrics::configure;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.test.spring.boot.actuate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.micrometer.FlowableMetrics;
+import org.flowable.micrometer.MetricsCommandInterceptor;
+import org.flowable.spring.boot.ProcessEngineAutoConfiguration;
+import org.flowable.spring.boot.ProcessEngineServicesAutoConfiguration;
+import org.flowable.spring.boot.actuate.metrics.FlowableMetricsAutoConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class FlowableMetricsAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(
+            MetricsAutoConfiguration.class,
+            CompositeMeterRegistryAutoConfiguration.class,
+            SimpleMetricsExportAutoConfiguration.class,
+            FlowableMetricsAutoConfiguration.class,
+            ProcessEngineServicesAutoConfiguration.class,
+            ProcessEngineAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            DataSourceAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+        ))
+        .withClassLoader(new FilteredClassLoader(EntityManagerFactory.class));
+
+    @Test
+    public void commandMetricsAreRecorded() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(FlowableMetrics.class);
+
+            ProcessEngine processEngine = context.getBean(ProcessEngine.class);
+            processEngine.getRepositoryService().createDeploymentQuery().list();
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertThat(meterRegistry.find(MetricsCommandInterceptor.METRIC_NAME).tag("engine", "bpmn").timers()).isNotEmpty();
+        });
+    }
+
+    @Test
+    public void metricsCanBeDisabled() {
+        contextRunner.withPropertyValues("flowable.metrics.enabled=false").run(context -> {
+            assertThat(context).doesNotHaveBean(FlowableMetrics.class);
+
+            ProcessEngine processEngine = context.getBean(ProcessEngine.class);
+            processEngine.getRepositoryService().createDeploymentQuery().list();
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertThat(meterRegistry.find(MetricsCommandInterceptor.METRIC_NAME).timers()).isEmpty();
+        });
+    }
+}
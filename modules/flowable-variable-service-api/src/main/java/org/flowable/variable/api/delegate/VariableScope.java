@@ -233,6 +233,31 @@ public interface VariableScope extends VariableContainer {
      */
     void setVariablesLocal(Map<String, ? extends Object> variables);
 
+    /**
+     * Similar to {@link #setVariables(Map)}, but with an extra flag to indicate whether all variables should be fetched while doing this or not
+     * (see {@link #setVariable(String, Object, boolean)}). Variable name expressions are not resolved.
+     * <p>
+     * Implementations can set the variables in bulk, e.g. by looking up the existing variables with one query instead of one query per variable.
+     */
+    default void setVariables(Map<String, ? extends Object> variables, boolean fetchAllVariables) {
+        if (variables != null) {
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                setVariable(variable.getKey(), variable.getValue(), fetchAllVariables);
+            }
+        }
+    }
+
+    /**
+     * Similar to {@link #setVariablesLocal(Map)}, but with an extra flag to indicate whether all variables should be fetched while doing this or not.
+     */
+    default void setVariablesLocal(Map<String, ? extends Object> variables, boolean fetchAllVariables) {
+        if (variables != null) {
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                setVariableLocal(variable.getKey(), variable.getValue(), fetchAllVariables);
+            }
+        }
+    }
+
     /**
      * Returns whether this scope or any parent scope has variables.
      */
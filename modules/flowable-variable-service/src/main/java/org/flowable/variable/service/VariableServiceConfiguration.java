@@ -67,6 +67,13 @@ public class VariableServiceConfiguration extends AbstractServiceConfiguration {
      * By default true for backwards compatibility.
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
+
+    /**
+     * When true, getting or setting a single variable only fetches that variable (by name) instead of all the variables of the scope.
+     * This is the same as passing fetchAllVariables = false to the variable methods of a {@link org.flowable.variable.api.delegate.VariableScope}.
+     * Getting all the variables still fetches them all. By default false for backwards compatibility.
+     */
+    protected boolean lazyVariableLoadingEnabled;
     
     public VariableServiceConfiguration(String engineName) {
         super(engineName);
@@ -214,6 +221,15 @@ public class VariableServiceConfiguration extends AbstractServiceConfiguration {
         return this;
     }
 
+    public boolean isLazyVariableLoadingEnabled() {
+        return lazyVariableLoadingEnabled;
+    }
+
+    public VariableServiceConfiguration setLazyVariableLoadingEnabled(boolean lazyVariableLoadingEnabled) {
+        this.lazyVariableLoadingEnabled = lazyVariableLoadingEnabled;
+        return this;
+    }
+
     public boolean isSerializableVariableTypeTrackDeserializedObjects() {
         return serializableVariableTypeTrackDeserializedObjects;
     }
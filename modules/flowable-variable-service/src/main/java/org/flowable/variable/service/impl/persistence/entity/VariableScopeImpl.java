@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -101,12 +102,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Map<String, Object> getVariables(Collection<String> variableNames) {
-        return getVariables(variableNames, true);
+        return getVariables(variableNames, !isLazyVariableLoading());
     }
 
     @Override
     public Map<String, VariableInstance> getVariableInstances(Collection<String> variableNames) {
-        return getVariableInstances(variableNames, true);
+        return getVariableInstances(variableNames, !isLazyVariableLoading());
     }
 
     @Override
@@ -248,12 +249,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Object getVariable(String variableName) {
-        return getVariable(variableName, true);
+        return getVariable(variableName, !isLazyVariableLoading());
     }
 
     @Override
     public VariableInstance getVariableInstance(String variableName) {
-        return getVariableInstance(variableName, true);
+        return getVariableInstance(variableName, !isLazyVariableLoading());
     }
 
     /**
@@ -326,12 +327,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Object getVariableLocal(String variableName) {
-        return getVariableLocal(variableName, true);
+        return getVariableLocal(variableName, !isLazyVariableLoading());
     }
 
     @Override
     public VariableInstance getVariableInstanceLocal(String variableName) {
-        return getVariableInstanceLocal(variableName, true);
+        return getVariableInstanceLocal(variableName, !isLazyVariableLoading());
     }
 
     @Override
@@ -426,6 +427,9 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         if (transientVariables != null && transientVariables.containsKey(variableName)) {
             return true;
         }
+        if (isLazyVariableLoading()) {
+            return getVariableInstanceLocal(variableName, false) != null;
+        }
         ensureVariableInstancesInitialized();
         return variableInstances.containsKey(variableName);
     }
@@ -487,12 +491,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Map<String, Object> getVariablesLocal(Collection<String> variableNames) {
-        return getVariablesLocal(variableNames, true);
+        return getVariablesLocal(variableNames, !isLazyVariableLoading());
     }
 
     @Override
     public Map<String, VariableInstance> getVariableInstancesLocal(Collection<String> variableNames) {
-        return getVariableInstancesLocal(variableNames, true);
+        return getVariableInstancesLocal(variableNames, !isLazyVariableLoading());
     }
 
     @Override
@@ -567,6 +571,33 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     protected abstract List<VariableInstanceEntity> getSpecificVariables(Collection<String> variableNames);
 
+    /**
+     * Fetches the given variables of this scope and its parents that aren't fetched yet, with one query per scope.
+     * The fetched variables are kept in the used variables cache, so getting them afterwards doesn't need a query.
+     * Does nothing for the variables of a scope of which all variables are fetched already.
+     */
+    public void prefetchVariables(Collection<String> variableNames) {
+        Set<String> variableNamesToFetch = new HashSet<>(variableNames);
+        variableNamesToFetch.removeAll(usedVariablesCache.keySet());
+        if (transientVariables != null) {
+            variableNamesToFetch.removeAll(transientVariables.keySet());
+        }
+
+        if (variableInstances != null) {
+            variableNamesToFetch.removeAll(variableInstances.keySet());
+        } else if (!variableNamesToFetch.isEmpty()) {
+            for (VariableInstanceEntity variable : getSpecificVariables(variableNamesToFetch)) {
+                usedVariablesCache.put(variable.getName(), variable);
+                variableNamesToFetch.remove(variable.getName());
+            }
+        }
+
+        VariableScopeImpl parentScope = getParentVariableScope();
+        if (parentScope != null && !variableNamesToFetch.isEmpty()) {
+            parentScope.prefetchVariables(variableNamesToFetch);
+        }
+    }
+
     @Override
     public Set<String> getVariableNamesLocal() {
         Set<String> variableNames = new HashSet<>();
@@ -597,22 +628,196 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public void setVariables(Map<String, ? extends Object> variables) {
-        if (variables != null) {
-            for (String variableName : variables.keySet()) {
-                setVariable(variableName, variables.get(variableName));
+        if (variables == null || variables.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> variablesToSet = new LinkedHashMap<>(variables.size());
+        for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+            if (isExpression(variable.getKey())) {
+                setVariable(variable.getKey(), variable.getValue());
+            } else {
+                variablesToSet.put(variable.getKey(), variable.getValue());
+            }
+        }
+        setVariables(variablesToSet, !isLazyVariableLoading());
+    }
+
+    /**
+     * Sets every variable like {@link #setVariable(String, Object, boolean)} does, but in one pass over the scope hierarchy:
+     * the variables that aren't known on this scope are looked up with one query, handed over to the parent scope together,
+     * and the new variables are created together on the scope they end up on.
+     */
+    @Override
+    public void setVariables(Map<String, ? extends Object> variables, boolean fetchAllVariables) {
+        if (variables == null || variables.isEmpty()) {
+            return;
+        }
+
+        VariableScopeImpl parentVariableScope = getParentVariableScope();
+        Map<String, Object> parentVariables = new LinkedHashMap<>();
+        Map<String, Object> newVariables = new LinkedHashMap<>();
+
+        if (fetchAllVariables) {
+
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+
+                // If it's in the cache, it's more recent
+                if (usedVariablesCache.containsKey(variableName)) {
+                    updateVariableInstance(usedVariablesCache.get(variableName), variable.getValue());
+                }
+
+                if (storeVariableLocal(variableName)) {
+                    setVariableLocal(variableName, variable.getValue(), true);
+                } else if (parentVariableScope != null) {
+                    parentVariables.put(variableName, variable.getValue());
+                } else {
+                    newVariables.put(variableName, variable.getValue());
+                }
+            }
+
+            if (!parentVariables.isEmpty()) {
+                parentVariableScope.setVariables(parentVariables, !parentVariableScope.isLazyVariableLoading());
+            }
+            if (!newVariables.isEmpty()) {
+                createVariablesLocal(newVariables);
+            }
+
+        } else {
+
+            Map<String, VariableInstanceEntity> specificVariables = findSpecificVariablesForUpdate(variables);
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+                VariableInstanceEntity variableInstance = specificVariables.get(variableName);
+                if (variableInstance != null) {
+                    updateVariableInstance(variableInstance, variable.getValue());
+                    usedVariablesCache.put(variableName, variableInstance);
+                } else if (!specificVariables.containsKey(variableName)) {
+                    // Already known on this scope
+                    updateVariableInstance(getVariableInstanceForUpdate(variableName), variable.getValue());
+                } else if (parentVariableScope != null) {
+                    parentVariables.put(variableName, variable.getValue());
+                } else {
+                    newVariables.put(variableName, variable.getValue());
+                }
+            }
+
+            if (!parentVariables.isEmpty()) {
+                parentVariableScope.setVariables(parentVariables, false);
+            }
+            if (!newVariables.isEmpty()) {
+                for (VariableInstanceEntity variableInstance : createVariableInstances(newVariables)) {
+                    usedVariablesCache.put(variableInstance.getName(), variableInstance);
+                }
             }
         }
     }
 
     @Override
     public void setVariablesLocal(Map<String, ? extends Object> variables) {
-        if (variables != null) {
-            for (String variableName : variables.keySet()) {
-                setVariableLocal(variableName, variables.get(variableName));
+        setVariablesLocal(variables, !isLazyVariableLoading());
+    }
+
+    /**
+     * Sets every variable like {@link #setVariableLocal(String, Object, boolean)} does,
+     * but looks up the unknown variables with one query and creates the new variables together.
+     */
+    @Override
+    public void setVariablesLocal(Map<String, ? extends Object> variables, boolean fetchAllVariables) {
+        if (variables == null || variables.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> newVariables = new LinkedHashMap<>();
+
+        if (fetchAllVariables) {
+
+            ensureVariableInstancesInitialized();
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+
+                // If it's in the cache, it's more recent
+                if (usedVariablesCache.containsKey(variableName)) {
+                    updateVariableInstance(usedVariablesCache.get(variableName), variable.getValue());
+                }
+
+                VariableInstanceEntity variableInstance = variableInstances.get(variableName);
+                if (variableInstance == null) {
+                    variableInstance = usedVariablesCache.get(variableName);
+                }
+
+                if (variableInstance == null) {
+                    newVariables.put(variableName, variable.getValue());
+                } else {
+                    updateVariableInstance(variableInstance, variable.getValue());
+                }
+            }
+
+            if (!newVariables.isEmpty()) {
+                createVariablesLocal(newVariables);
+            }
+
+        } else {
+
+            Map<String, VariableInstanceEntity> specificVariables = findSpecificVariablesForUpdate(variables);
+            for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+                String variableName = variable.getKey();
+                VariableInstanceEntity variableInstance = specificVariables.get(variableName);
+                if (variableInstance != null) {
+                    updateVariableInstance(variableInstance, variable.getValue());
+                    usedVariablesCache.put(variableName, variableInstance);
+                } else if (!specificVariables.containsKey(variableName)) {
+                    updateVariableInstance(getVariableInstanceForUpdate(variableName), variable.getValue());
+                } else {
+                    newVariables.put(variableName, variable.getValue());
+                }
+            }
+
+            if (!newVariables.isEmpty()) {
+                for (VariableInstanceEntity variableInstance : createVariableInstances(newVariables)) {
+                    usedVariablesCache.put(variableInstance.getName(), variableInstance);
+                }
             }
         }
     }
 
+    /**
+     * Looks up the given variables that aren't known on this scope yet with one query.
+     * The returned map has an entry for each of those variables, with a null value when the variable doesn't exist on this scope.
+     * The variables that are known already (see {@link #getVariableInstanceForUpdate(String)}) have no entry.
+     */
+    protected Map<String, VariableInstanceEntity> findSpecificVariablesForUpdate(Map<String, ? extends Object> variables) {
+        List<String> unknownVariableNames = new ArrayList<>();
+        for (String variableName : variables.keySet()) {
+            if (getVariableInstanceForUpdate(variableName) == null) {
+                unknownVariableNames.add(variableName);
+            }
+        }
+
+        Map<String, VariableInstanceEntity> specificVariables = new HashMap<>();
+        if (!unknownVariableNames.isEmpty()) {
+            for (String variableName : unknownVariableNames) {
+                specificVariables.put(variableName, null);
+            }
+            for (VariableInstanceEntity variableInstance : getSpecificVariables(unknownVariableNames)) {
+                specificVariables.put(variableInstance.getName(), variableInstance);
+            }
+        }
+        return specificVariables;
+    }
+
+    /**
+     * @return the variable of this scope with the given name when it's in the cache or when all variables are fetched, null otherwise
+     */
+    protected VariableInstanceEntity getVariableInstanceForUpdate(String variableName) {
+        VariableInstanceEntity variableInstance = usedVariablesCache.get(variableName);
+        if (variableInstance == null && variableInstances != null) {
+            variableInstance = variableInstances.get(variableName);
+        }
+        return variableInstance;
+    }
+
     @Override
     public void removeVariables() {
         ensureVariableInstancesInitialized();
@@ -655,7 +860,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
                     createExpression(variableName).
                     setValue(value, this);
         } else {
-            setVariable(variableName, value, true);
+            setVariable(variableName, value, !isLazyVariableLoading());
         }
     }
 
@@ -730,7 +935,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Object setVariableLocal(String variableName, Object value) {
-        return setVariableLocal(variableName, value, true);
+        return setVariableLocal(variableName, value, !isLazyVariableLoading());
     }
 
     /**
@@ -813,6 +1018,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     @Override
     public void removeVariableLocal(String variableName) {
         ensureVariableInstancesInitialized();
+        usedVariablesCache.remove(variableName);
         VariableInstanceEntity variableInstance = variableInstances.remove(variableName);
         if (variableInstance != null) {
             deleteVariableInstanceForExplicitUserCall(variableInstance);
@@ -873,6 +1079,18 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         }
     }
 
+    /**
+     * Creates new variables on this scope, used when setting several variables at once.
+     * Subclasses can override this to handle the side effects of creating variables once for all of them.
+     */
+    protected List<VariableInstanceEntity> createVariableInstances(Map<String, ? extends Object> variables) {
+        List<VariableInstanceEntity> createdVariableInstances = new ArrayList<>(variables.size());
+        for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+            createdVariableInstances.add(createVariableInstance(variable.getKey(), variable.getValue()));
+        }
+        return createdVariableInstances;
+    }
+
     protected VariableInstanceEntity createVariableInstance(String variableName, Object value) {
         VariableServiceConfiguration variableServiceConfiguration = getVariableServiceConfiguration();
 
@@ -1071,6 +1289,21 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         return variableClass.cast(getVariableLocal(variableName));
     }
 
+    /**
+     * Whether a single variable is fetched by its name, instead of fetching all the variables of the scope,
+     * when the fetchAllVariables parameter isn't given.
+     * Once all the variables of the scope are fetched, they are used as before.
+     *
+     * @see VariableServiceConfiguration#setLazyVariableLoadingEnabled(boolean)
+     */
+    protected boolean isLazyVariableLoading() {
+        if (variableInstances != null || Context.getCommandContext() == null) {
+            return false;
+        }
+        VariableServiceConfiguration variableServiceConfiguration = getVariableServiceConfiguration();
+        return variableServiceConfiguration != null && variableServiceConfiguration.isLazyVariableLoadingEnabled();
+    }
+
     protected boolean isExpression(String variableName) {
         return variableName.startsWith("${") || variableName.startsWith("#{");
     }
@@ -0,0 +1,140 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * A {@link JsonType} that stores the JSON in the binary Smile format in the byte array table, instead of as text.
+ * This avoids the tokenizing of the JSON text when the value is read, which matters for large payloads.
+ * The bytes are only fetched and parsed when the value of the variable is used for the first time.
+ * <p>
+ * When the encoded value is larger than the compression threshold it is compressed with GZIP as well.
+ * Compressed and uncompressed values are told apart by the GZIP header, so the threshold can be changed at any time.
+ */
+public class BinaryJsonType extends JsonType {
+
+    public static final String TYPE_NAME = "binaryJson";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryJsonType.class);
+
+    protected final ObjectMapper smileObjectMapper;
+    protected final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold the size in bytes above which the encoded value is compressed, a negative value to never compress
+     */
+    public BinaryJsonType(ObjectMapper objectMapper, boolean trackObjects, int compressionThreshold) {
+        super(Integer.MAX_VALUE, objectMapper, trackObjects, TYPE_NAME);
+        this.smileObjectMapper = objectMapper.copyWith(new SmileFactory());
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public Object getValue(ValueFields valueFields) {
+        if (valueFields.getCachedValue() != null) {
+            return valueFields.getCachedValue();
+        }
+
+        JsonNode jsonValue = null;
+        byte[] bytes = valueFields.getBytes();
+        if (bytes != null && bytes.length > 0) {
+            try {
+                jsonValue = deserialize(bytes);
+                valueFields.setCachedValue(jsonValue);
+                traceValue(jsonValue, valueFields);
+            } catch (IOException e) {
+                LOGGER.error("Error reading binary json variable {}", valueFields.getName(), e);
+            }
+        }
+        return jsonValue;
+    }
+
+    @Override
+    public void setValue(Object value, ValueFields valueFields) {
+        valueFields.setTextValue(null);
+        if (value == null) {
+            valueFields.setBytes(null);
+            valueFields.setCachedValue(null);
+        } else {
+            JsonNode jsonNode = (JsonNode) value;
+            valueFields.setBytes(serialize(jsonNode));
+            valueFields.setCachedValue(jsonNode);
+            traceValue(jsonNode, valueFields);
+        }
+    }
+
+    @Override
+    public boolean updateValueIfChanged(JsonNode originalNode, JsonNode originalCopyNode, VariableInstanceEntity variableInstanceEntity) {
+        if (!Objects.equals(originalNode, originalCopyNode)) {
+            variableInstanceEntity.setBytes(serialize(originalNode));
+            return true;
+        }
+        return false;
+    }
+
+    protected byte[] serialize(JsonNode jsonNode) {
+        try {
+            byte[] bytes = smileObjectMapper.writeValueAsBytes(jsonNode);
+            if (compressionThreshold >= 0 && bytes.length > compressionThreshold) {
+                bytes = compress(bytes);
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new FlowableException("Could not serialize binary json value", e);
+        }
+    }
+
+    protected JsonNode deserialize(byte[] bytes) throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(bytes);
+        if (isCompressed(bytes)) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+        try (InputStream jsonInputStream = inputStream) {
+            return smileObjectMapper.readTree(jsonInputStream);
+        }
+    }
+
+    protected byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+
+    protected boolean isCompressed(byte[] bytes) {
+        // Smile content starts with the ':)' header, while GZIP content starts with its magic number
+        return bytes.length > 2 && (bytes[0] & 0xff) == (GZIPInputStream.GZIP_MAGIC & 0xff) && (bytes[1] & 0xff) == (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+}